@@ -1,5 +1,6 @@
 plugins {
     id("org.openrewrite.build.recipe-library") version "latest.release"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.openrewrite.recipe"
@@ -219,6 +220,8 @@ dependencies {
 
     "testWithSpringBoot_3_2RuntimeOnly"("org.springframework.boot:spring-boot-starter:3.2.+")
     "testWithSpringBoot_3_2RuntimeOnly"("org.springframework.boot:spring-boot-starter-test:3.2.+")
+    "testWithSpringBoot_3_2RuntimeOnly"("org.springframework:spring-web:6.1.+")
+    "testWithSpringBoot_3_2RuntimeOnly"("org.springframework:spring-webflux:6.1.+")
 
     "testWithSpringSecurity_5_7RuntimeOnly"("org.springframework:spring-context:5.3.+")
     "testWithSpringSecurity_5_7RuntimeOnly"("org.springframework.boot:spring-boot-starter:2.7.+")
@@ -251,6 +254,10 @@ dependencies {
 
     "testWithSpringSecurity_6_2RuntimeOnly"("org.springframework.security:spring-security-config:6.2.+")
     "testWithSpringSecurity_6_2RuntimeOnly"("org.springframework.security:spring-security-web:6.2.+")
+
+    jmh("org.springframework.security:spring-security-core:5.8.+")
+    jmh("org.springframework.security:spring-security-config:5.8.+")
+    jmh("org.springframework.security:spring-security-web:5.8.+")
 }
 
 
@@ -280,4 +287,27 @@ tasks {
         mainClass = "org.openrewrite.java.spring.internal.GeneratePropertiesMigratorConfiguration"
         classpath = sourceSets.getByName("test").runtimeClasspath
     }
+
+    val generatePropertyMigrationPlan by registering(JavaExec::class) {
+        group = "generate"
+        description = "Flatten the Spring Boot property migration recipes into a single migration plan."
+        mainClass = "org.openrewrite.java.spring.internal.GeneratePropertyMigrationPlan"
+        classpath = sourceSets.getByName("test").runtimeClasspath
+    }
+
+    val generateSpringWebConstantCatalog by registering(JavaExec::class) {
+        group = "generate"
+        description = "Extract the MediaType and HttpHeaders constants of the bundled spring-web jars into a catalog."
+        mainClass = "org.openrewrite.java.spring.internal.GenerateSpringWebConstantCatalog"
+        classpath = sourceSets.getByName("test").runtimeClasspath
+        inputs.files(fileTree("src/main/resources/META-INF/rewrite/classpath") { include("spring-web-*.jar") })
+        outputs.file("src/main/resources/META-INF/rewrite/spring-web-constants.tsv")
+    }
+
+    val stripParserClasspath by registering(JavaExec::class) {
+        group = "generate"
+        description = "Strip the jars in META-INF/rewrite/classpath down to the type signatures that templates compile against."
+        mainClass = "org.openrewrite.java.spring.internal.StripParserClasspath"
+        classpath = sourceSets.getByName("test").runtimeClasspath
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.marker.Markers;
+import org.openrewrite.yaml.YamlParser;
+import org.openrewrite.yaml.YamlVisitor;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.singletonList;
+import static org.openrewrite.Tree.randomId;
+
+/**
+ * Expands a synthetic YAML file of 50,000 dotted keys, spread over groups that share prefixes at several levels so
+ * that expansion also has to coalesce the resulting mappings. The {@code expandPerKey} benchmark runs the previous
+ * implementation, which expanded and formatted every dotted key on its own before coalescing in a second pass.
+ */
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ExpandPropertiesBenchmark {
+
+    @Param("50000")
+    int keys;
+
+    Yaml.Documents yaml;
+    TreeVisitor<?, ExecutionContext> expandProperties;
+    TreeVisitor<?, ExecutionContext> expandPerKey;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < keys; i++) {
+            source.append("app.module").append(i % 50)
+                    .append(".component").append(i % 500)
+                    .append(".property").append(i)
+                    .append(": value").append(i)
+                    .append('\n');
+        }
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        yaml = (Yaml.Documents) YamlParser.builder().build().parse(ctx, source.toString()).findFirst().orElseThrow(IllegalStateException::new);
+        expandProperties = new ExpandProperties().getVisitor();
+        expandPerKey = new PerKeyExpandProperties();
+    }
+
+    @Benchmark
+    public void expand(Blackhole blackhole) {
+        blackhole.consume(expandProperties.visit(yaml, new InMemoryExecutionContext()));
+    }
+
+    @Benchmark
+    public void expandPerKey(Blackhole blackhole) {
+        blackhole.consume(expandPerKey.visit(yaml, new InMemoryExecutionContext()));
+    }
+
+    /**
+     * The visitor of {@link ExpandProperties} before dotted keys were expanded in a single coalescing pass.
+     */
+    static class PerKeyExpandProperties extends YamlVisitor<ExecutionContext> {
+        @Override
+        public Yaml visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
+            Yaml docs = super.visitDocuments(documents, ctx);
+            Yaml docsExpanded = new ExpandEntriesVisitor().visitNonNull(docs, ctx);
+            if (docsExpanded != docs) {
+                docs = new CoalesceEntriesVisitor().visitNonNull(docsExpanded, ctx);
+            }
+            return docs;
+        }
+
+        private static class ExpandEntriesVisitor extends YamlVisitor<ExecutionContext> {
+            @Override
+            public Yaml visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+                Yaml.Mapping.Entry e = entry;
+                String key = e.getKey().getValue();
+                if (key.contains(".") && e.getKey() instanceof Yaml.Scalar) {
+                    e = e.withKey(((Yaml.Scalar) e.getKey()).withValue(key.substring(0, key.indexOf('.'))));
+                    e = e.withValue(new Yaml.Mapping(
+                            randomId(),
+                            Markers.EMPTY,
+                            null,
+                            singletonList(
+                                    new Yaml.Mapping.Entry(
+                                            randomId(),
+                                            "",
+                                            Markers.EMPTY,
+                                            new Yaml.Scalar(
+                                                    randomId(),
+                                                    "",
+                                                    Markers.EMPTY,
+                                                    Yaml.Scalar.Style.PLAIN,
+                                                    null,
+                                                    key.substring(key.indexOf('.') + 1)),
+                                            "",
+                                            e.getValue()
+                                    )
+                            ),
+                            null,
+                            null
+                    ));
+                    e = autoFormat(e, ctx, getCursor().getParentOrThrow());
+                }
+                return super.visitMappingEntry(e, ctx);
+            }
+        }
+
+        private static class CoalesceEntriesVisitor extends YamlVisitor<ExecutionContext> {
+            @Override
+            public Yaml visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
+                Map<String, List<Yaml.Mapping>> mappingsByKey = new HashMap<>();
+                for (Yaml.Mapping.Entry entry : mapping.getEntries()) {
+                    if (entry.getValue() instanceof Yaml.Mapping) {
+                        mappingsByKey.computeIfAbsent(entry.getKey().getValue(), v -> new ArrayList<>()).add((Yaml.Mapping) entry.getValue());
+                    }
+                }
+
+                for (Map.Entry<String, List<Yaml.Mapping>> keyMappings : mappingsByKey.entrySet()) {
+                    if (keyMappings.getValue().size() > 1) {
+                        Yaml.Mapping newMapping = new Yaml.Mapping(
+                                randomId(),
+                                Markers.EMPTY,
+                                null,
+                                keyMappings.getValue().stream().flatMap(duplicateMapping -> duplicateMapping.getEntries().stream())
+                                        .collect(Collectors.toList()),
+                                null,
+                                null
+                        );
+                        Yaml.Mapping.Entry newEntry = new Yaml.Mapping.Entry(randomId(),
+                                "",
+                                Markers.EMPTY,
+                                new Yaml.Scalar(randomId(), "", Markers.EMPTY, Yaml.Scalar.Style.PLAIN, null, keyMappings.getKey()),
+                                "", newMapping);
+
+                        AtomicInteger insertIndex = new AtomicInteger(-1);
+                        mapping = mapping.withEntries(ListUtils.map(mapping.getEntries(), (i, ent) -> {
+                            if (ent.getKey().getValue().equals(keyMappings.getKey())) {
+                                if (insertIndex.get() < 0) {
+                                    insertIndex.set(i);
+                                }
+                                return null;
+                            }
+                            return ent;
+                        }));
+                        //noinspection ConstantConditions
+                        mapping = maybeAutoFormat(mapping, mapping.withEntries(ListUtils.insertAll(mapping.getEntries(), insertIndex.get(), Collections.singletonList(newEntry))),
+                                ctx, getCursor().getParent().getValue() instanceof Yaml.Document ? getCursor().getParent() : getCursor());
+                    }
+                }
+                return super.visitMapping(mapping, ctx);
+            }
+        }
+    }
+}
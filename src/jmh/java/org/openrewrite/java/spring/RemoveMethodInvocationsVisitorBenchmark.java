@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Removes invocations from a single {@code HttpSecurity} chain of 500 calls with a matcher list as long as the ones
+ * the Spring Security recipes use, where only the last call of the chain matches. The {@code fromMethodMatchers}
+ * benchmark passes the same matchers as {@link MethodMatcher}s, which are indexed by method name just the same.
+ */
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RemoveMethodInvocationsVisitorBenchmark {
+
+    @Param("500")
+    int calls;
+
+    @Param("100")
+    int matchers;
+
+    J.CompilationUnit cu;
+    RemoveMethodInvocationsVisitor removeMethodInvocations;
+    RemoveMethodInvocationsVisitor fromMethodMatchers;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringBuilder source = new StringBuilder()
+                .append("import org.springframework.security.config.annotation.web.builders.HttpSecurity;\n")
+                .append("class SecurityConfig {\n")
+                .append("    void configure(HttpSecurity http) throws Exception {\n")
+                .append("        http.authorizeRequests()");
+        for (int i = 0; i < calls / 2 - 1; i++) {
+            source.append("\n            .antMatchers(\"/path").append(i).append("\").permitAll()");
+        }
+        source.append("\n            .filterSecurityInterceptorOncePerRequest(false);\n")
+                .append("    }\n")
+                .append("}\n");
+
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        // the jmh classpath has matching 5.8 versions of the three Spring Security artifacts
+        cu = (J.CompilationUnit) JavaParser.fromJavaVersion()
+                .classpath("spring-security-config", "spring-security-web", "spring-security-core")
+                .build()
+                .parse(ctx, source.toString())
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+
+        Map<String, Predicate<List<Expression>>> argumentsMatchers = new LinkedHashMap<>();
+        for (int i = 0; i < matchers - 1; i++) {
+            argumentsMatchers.put("org.springframework.security.config.annotation.web.builders.HttpSecurity method" + i + "(..)", args -> true);
+        }
+        argumentsMatchers.put("org.springframework.security.config.annotation.web.configurers.AbstractInterceptUrlConfigurer.AbstractInterceptUrlRegistry filterSecurityInterceptorOncePerRequest(boolean)",
+                RemoveMethodInvocationsVisitor.isFalseArgument());
+        removeMethodInvocations = RemoveMethodInvocationsVisitor.withSignatures(argumentsMatchers);
+
+        Map<MethodMatcher, Predicate<List<Expression>>> methodMatchers = new LinkedHashMap<>();
+        argumentsMatchers.forEach((signature, argumentsMatcher) -> methodMatchers.put(new MethodMatcher(signature), argumentsMatcher));
+        fromMethodMatchers = new RemoveMethodInvocationsVisitor(methodMatchers);
+    }
+
+    @Benchmark
+    public void removeMethodInvocations(Blackhole blackhole) {
+        blackhole.consume(removeMethodInvocations.visit(cu, new InMemoryExecutionContext()));
+    }
+
+    @Benchmark
+    public void fromMethodMatchers(Blackhole blackhole) {
+        blackhole.consume(fromMethodMatchers.visit(cu, new InMemoryExecutionContext()));
+    }
+}
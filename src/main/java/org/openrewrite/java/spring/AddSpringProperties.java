@@ -0,0 +1,255 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.internal.StringUtils;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.properties.AddProperty;
+import org.openrewrite.properties.PropertiesParser;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.MergeYaml;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Adds several properties to Spring configuration files at once, with the same semantics as applying an
+ * {@link AddSpringProperty} for each of them: a property is only added to a file that does not already define it.
+ * <P>
+ * All properties missing from a YAML file are combined into a single YAML snippet, so the file is merged and formatted
+ * once instead of once per property. Properties that cannot share a snippet, because one property key is a parent of
+ * another, are merged in a further pass. All entries missing from a properties file are inserted into its content at
+ * once, each at the position where {@link AddProperty} would have placed it.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class AddSpringProperties extends Recipe {
+
+    private static final Pattern scalarNeedsAQuote = Pattern.compile("[^a-zA-Z\\d\\s]*");
+
+    @Option(displayName = "Properties",
+            description = "The properties to add. Each property accepts the same `property`, `value` and `comment` " +
+                          "options as `AddSpringProperty`.",
+            example = "[{property: spring.threads.virtual.enabled, value: true}]")
+    List<SpringProperty> properties;
+
+    @Option(displayName = "Optional list of file path matcher",
+            description = "Each value in this list represents a glob expression that is used to match which files will " +
+                          "be modified. If this value is not present, this recipe will query the execution context for " +
+                          "reasonable defaults. (\"**/application.yml\", \"**/application.yml\", and \"**/application.properties\".",
+            required = false,
+            example = "[\"**/application.yml\"]")
+    @Nullable
+    List<String> pathExpressions;
+
+    @Override
+    public String getDisplayName() {
+        return "Add spring configuration properties";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Add several spring configuration properties to a configuration file if they do not already exist in " +
+               "that file, merging them into the file in a single pass.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return sourceFile instanceof Yaml.Documents || sourceFile instanceof Properties.File;
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree t, ExecutionContext ctx) {
+                if (!(t instanceof Yaml.Documents) && !(t instanceof Properties.File) ||
+                    !SpringExecutionContextView.view(ctx).getConfigFileMatcher(pathExpressions).matches(((SourceFile) t).getSourcePath())) {
+                    return t;
+                }
+                SpringPropertyIndex index = SpringExecutionContextView.view(ctx).getPropertyIndex((SourceFile) t);
+                if (t instanceof Yaml.Documents) {
+                    // a multi-document file may still be missing a property in one of its documents
+                    boolean multiDocument = ((Yaml.Documents) t).getDocuments().size() > 1;
+                    List<Snippet> snippets = new ArrayList<>(1);
+                    for (SpringProperty property : properties) {
+                        if (multiDocument || index.find(property.getProperty()).isEmpty()) {
+                            add(snippets, property);
+                        }
+                    }
+                    for (Snippet snippet : snippets) {
+                        t = new MergeYaml("$", snippet.print(), true, null).getVisitor().visit(t, ctx);
+                    }
+                } else {
+                    List<SpringProperty> missing = new ArrayList<>();
+                    for (SpringProperty property : properties) {
+                        if (index.find(property.getProperty()).isEmpty() &&
+                            !StringUtils.isBlank(property.getProperty()) && !StringUtils.isBlank(property.getValue())) {
+                            missing.add(property);
+                        }
+                    }
+                    if (!missing.isEmpty()) {
+                        t = addAll((Properties.File) t, missing, ctx);
+                    }
+                }
+                return t;
+            }
+        };
+    }
+
+    /**
+     * Inserts the entries in the same places as {@link AddProperty} would when applied once per property: each entry,
+     * preceded by its comment, goes before the first entry whose key sorts after its own, or at the end of the file.
+     */
+    private static Properties.File addAll(Properties.File file, List<SpringProperty> missing, ExecutionContext ctx) {
+        StringBuilder text = new StringBuilder();
+        for (SpringProperty property : missing) {
+            if (!StringUtils.isBlank(property.getComment())) {
+                text.append("# ").append(property.getComment().trim()).append('\n');
+            }
+            text.append(property.getProperty()).append('=').append(property.getValue()).append('\n');
+        }
+        Properties.File parsed = (Properties.File) PropertiesParser.builder().build().parse(ctx, text.toString())
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unable to parse the properties to add"));
+
+        List<Properties.Content> content = new ArrayList<>(file.getContent());
+        List<Properties.Content> added = new ArrayList<>(2);
+        for (Properties.Content c : parsed.getContent()) {
+            added.add((Properties.Content) c.withPrefix("\n"));
+            if (c instanceof Properties.Entry) {
+                int insertionIndex = insertionIndex(content, ((Properties.Entry) c).getKey());
+                if (insertionIndex == 0) {
+                    if (!content.isEmpty()) {
+                        content.set(0, (Properties.Content) content.get(0).withPrefix("\n"));
+                    }
+                    added.set(0, (Properties.Content) added.get(0).withPrefix(""));
+                }
+                content.addAll(insertionIndex, added);
+                added.clear();
+            }
+        }
+        return file.withContent(content);
+    }
+
+    private static int insertionIndex(List<Properties.Content> content, String key) {
+        for (int i = 0; i < content.size(); i++) {
+            if (content.get(i) instanceof Properties.Entry && ((Properties.Entry) content.get(i)).getKey().compareTo(key) > 0) {
+                // keep the comments that describe the following entry together with it
+                while (i > 0 && content.get(i - 1) instanceof Properties.Comment) {
+                    i--;
+                }
+                return i;
+            }
+        }
+        return content.size();
+    }
+
+    private static void add(List<Snippet> snippets, SpringProperty property) {
+        for (Snippet snippet : snippets) {
+            if (snippet.add(property)) {
+                return;
+            }
+        }
+        Snippet snippet = new Snippet();
+        snippet.add(property);
+        snippets.add(snippet);
+    }
+
+    @Value
+    public static class SpringProperty {
+        String property;
+        String value;
+
+        @Nullable
+        String comment;
+    }
+
+    /**
+     * A YAML document combining several properties, printed in the same shape that {@link AddSpringProperty} uses for
+     * a single property.
+     */
+    private static class Snippet {
+        final Map<String, Snippet> children = new LinkedHashMap<>();
+
+        @Nullable
+        SpringProperty leaf;
+
+        boolean add(SpringProperty property) {
+            String[] propertyParts = property.getProperty().split("\\.");
+            Snippet node = this;
+            for (String part : propertyParts) {
+                node = node.children.get(part);
+                if (node == null) {
+                    break;
+                } else if (node.leaf != null) {
+                    // the property is already a scalar in this snippet, so it cannot also have children
+                    return false;
+                }
+            }
+            if (node != null) {
+                return false;
+            }
+
+            node = this;
+            for (String part : propertyParts) {
+                node = node.children.computeIfAbsent(part, p -> new Snippet());
+            }
+            node.leaf = property;
+            return true;
+        }
+
+        String print() {
+            StringBuilder yaml = new StringBuilder();
+            print(yaml, "");
+            return yaml.toString();
+        }
+
+        private void print(StringBuilder yaml, String indent) {
+            for (Map.Entry<String, Snippet> child : children.entrySet()) {
+                if (yaml.length() > 0) {
+                    yaml.append("\n");
+                }
+                SpringProperty property = child.getValue().leaf;
+                if (property != null) {
+                    if (!StringUtils.isBlank(property.getComment())) {
+                        yaml.append(indent).append("# ").append(property.getComment()).append("\n");
+                    }
+                    yaml.append(indent).append(child.getKey()).append(":");
+                    if (quoteValue(property.getValue())) {
+                        yaml.append(" \"").append(property.getValue()).append('"');
+                    } else {
+                        yaml.append(" ").append(property.getValue());
+                    }
+                } else {
+                    yaml.append(indent).append(child.getKey()).append(":");
+                    child.getValue().print(yaml, indent + "  ");
+                }
+            }
+        }
+    }
+
+    private static boolean quoteValue(String value) {
+        return scalarNeedsAQuote.matcher(value).matches();
+    }
+}
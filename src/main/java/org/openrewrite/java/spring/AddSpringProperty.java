@@ -17,17 +17,15 @@ package org.openrewrite.java.spring;
 
 import lombok.EqualsAndHashCode;
 import lombok.Value;
-import org.openrewrite.*;
-import org.openrewrite.internal.StringUtils;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
-import org.openrewrite.properties.AddProperty;
-import org.openrewrite.properties.tree.Properties;
-import org.openrewrite.yaml.MergeYaml;
-import org.openrewrite.yaml.tree.Yaml;
 
-import java.nio.file.Path;
 import java.util.List;
-import java.util.regex.Pattern;
+
+import static java.util.Collections.singletonList;
 
 /**
  * A recipe to uniformly add a property to Spring configuration file. This recipe supports adding properties to
@@ -80,71 +78,7 @@ public class AddSpringProperty extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new TreeVisitor<Tree, ExecutionContext>() {
-            @Override
-            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
-                return sourceFile instanceof Yaml.Documents || sourceFile instanceof Properties.File;
-            }
-
-            @Override
-            public @Nullable Tree visit(@Nullable Tree t, ExecutionContext ctx) {
-                if (t instanceof Yaml.Documents && sourcePathMatches(((SourceFile) t).getSourcePath(), ctx)) {
-                    t = createMergeYamlVisitor().getVisitor().visit(t, ctx);
-                } else if (t instanceof Properties.File && sourcePathMatches(((SourceFile) t).getSourcePath(), ctx)) {
-                    t = new AddProperty(property, value, comment, null).getVisitor().visit(t, ctx);
-                }
-                return t;
-            }
-        };
-    }
-
-    private boolean sourcePathMatches(Path sourcePath, ExecutionContext ctx) {
-        List<String> expressions = pathExpressions;
-        if (expressions == null || pathExpressions.isEmpty()) {
-            //If not defined, get reasonable defaults from the execution context.
-            expressions = SpringExecutionContextView.view(ctx).getDefaultApplicationConfigurationPaths();
-        }
-        if (expressions.isEmpty()) {
-            return true;
-        }
-        for (String filePattern : expressions) {
-            if (PathUtils.matchesGlob(sourcePath, filePattern)) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
-    private MergeYaml createMergeYamlVisitor() {
-        String[] propertyParts = property.split("\\.");
-
-        StringBuilder yaml = new StringBuilder();
-
-        String indent = "";
-        for (String part : propertyParts) {
-            if (yaml.length() > 0) {
-                yaml.append("\n");
-            }
-            if (!StringUtils.isBlank(comment)) {
-                //noinspection StringEquality
-                if (part == propertyParts[propertyParts.length - 1]) {
-                    yaml.append(indent).append("# ").append(comment).append("\n");
-                }
-            }
-            yaml.append(indent).append(part).append(":");
-            indent = indent + "  ";
-        }
-        if (quoteValue(value)) {
-            yaml.append(" \"").append(value).append('"');
-        } else {
-            yaml.append(" ").append(value);
-        }
-        return new MergeYaml("$", yaml.toString(), true, null);
-    }
-
-    private static final Pattern scalarNeedsAQuote = Pattern.compile("[^a-zA-Z\\d\\s]*");
-    private boolean quoteValue(String value) {
-        return scalarNeedsAQuote.matcher(value).matches();
+        return new AddSpringProperties(singletonList(new AddSpringProperties.SpringProperty(property, value, comment)), pathExpressions)
+                .getVisitor();
     }
 }
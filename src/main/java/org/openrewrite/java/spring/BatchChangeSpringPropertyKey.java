@@ -0,0 +1,146 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.PropertyKeyRenames;
+import org.openrewrite.java.spring.internal.PropertyKeyTrie;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Applies a whole table of {@link ChangeSpringPropertyKey} changes to Spring configuration files.
+ * <P>
+ * The old keys are compiled once into a prefix trie. Each configuration file is looked up in its {@link SpringPropertyIndex}, and only the
+ * changes whose old key is equal to, or a parent of, a key that actually occurs in the file are applied to it. Changes are
+ * applied in the order in which they are declared, so a later change observes the keys produced by an earlier one.
+ * <P>
+ * The same table renames the keys that Java sources refer to, such as the placeholders of {@code @Value} annotations,
+ * in a single traversal of each compilation unit.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class BatchChangeSpringPropertyKey extends Recipe {
+
+    @Option(displayName = "Property key changes",
+            description = "The property keys to rename, applied in the order given. Each change accepts the same " +
+                          "`oldPropertyKey`, `newPropertyKey` and `except` options as `ChangeSpringPropertyKey`.",
+            example = "[{oldPropertyKey: server.servlet-path, newPropertyKey: server.servlet.path}]")
+    List<PropertyKeyChange> changes;
+
+    @Getter(AccessLevel.NONE)
+    transient AtomicReference<CompiledChanges> compiled = new AtomicReference<>();
+
+    @Override
+    public String getDisplayName() {
+        return "Change the keys of many spring application properties";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Change spring application property keys existing in either Properties or Yaml files, applying a whole " +
+               "table of key changes in a single pass over each file.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        CompiledChanges compiledChanges = compile();
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return sourceFile instanceof Yaml.Documents || sourceFile instanceof Properties.File ||
+                       sourceFile instanceof JavaSourceFile;
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof JavaSourceFile) {
+                    return compiledChanges.getRenames().isEmpty() ? tree :
+                            new PropertyKeyReferencesVisitor(compiledChanges.getRenames()).visit(tree, ctx);
+                } else if (!(tree instanceof Yaml.Documents) && !(tree instanceof Properties.File)) {
+                    return tree;
+                }
+                SortedSet<Integer> candidates = compiledChanges.candidates(tree, 0, ctx);
+                while (!candidates.isEmpty()) {
+                    int index = candidates.first();
+                    Tree changed = compiledChanges.getRecipes().get(index).getVisitor().visitNonNull(tree, ctx);
+                    if (changed != tree) {
+                        // the keys in the file have changed, so later changes may now apply to different entries
+                        tree = changed;
+                        candidates = compiledChanges.candidates(tree, index + 1, ctx);
+                    } else {
+                        candidates = candidates.tailSet(index + 1);
+                    }
+                }
+                return tree;
+            }
+        };
+    }
+
+    private CompiledChanges compile() {
+        CompiledChanges compiledChanges = compiled.get();
+        if (compiledChanges == null) {
+            List<ChangeSpringPropertyKey> recipes = new ArrayList<>(changes.size());
+            PropertyKeyTrie<Integer> trie = new PropertyKeyTrie<>();
+            for (PropertyKeyChange change : changes) {
+                trie.put(change.getOldPropertyKey(), recipes.size());
+                recipes.add(new ChangeSpringPropertyKey(change.getOldPropertyKey(), change.getNewPropertyKey(), change.getExcept()));
+            }
+            compiledChanges = new CompiledChanges(trie, recipes, new PropertyKeyRenames(changes));
+            if (!compiled.compareAndSet(null, compiledChanges)) {
+                compiledChanges = compiled.get();
+            }
+        }
+        return compiledChanges;
+    }
+
+    @Value
+    public static class PropertyKeyChange {
+        String oldPropertyKey;
+        String newPropertyKey;
+
+        @Nullable
+        List<String> except;
+    }
+
+    @Value
+    private static class CompiledChanges {
+        PropertyKeyTrie<Integer> trie;
+        List<ChangeSpringPropertyKey> recipes;
+        PropertyKeyRenames renames;
+
+        SortedSet<Integer> candidates(Tree tree, int from, ExecutionContext ctx) {
+            SortedSet<Integer> candidates = new TreeSet<>();
+            for (String key : SpringExecutionContextView.view(ctx).getPropertyIndex((SourceFile) tree).getKeys()) {
+                for (Integer index : trie.findPrefixesOf(key)) {
+                    if (index >= from) {
+                        candidates.add(index);
+                    }
+                }
+            }
+            return candidates;
+        }
+    }
+}
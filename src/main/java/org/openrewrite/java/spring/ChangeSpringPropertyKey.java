@@ -15,21 +15,24 @@
  */
 package org.openrewrite.java.spring;
 
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.Value;
 import org.openrewrite.*;
 import org.openrewrite.internal.lang.Nullable;
-import org.openrewrite.properties.search.FindProperties;
 import org.openrewrite.properties.tree.Properties;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 
 /**
  * This composite recipe will change a spring application property key across YAML and properties files.
  * <P>
- * TODO: Add a java visitor to this recipe that will change property keys in @Value, @PropertySource and @TestPropertySource
+ * References to the key from Java sources, such as {@code @Value} placeholders, are changed by
+ * {@link BatchChangeSpringPropertyKey}, which looks up every key of a manifest in one traversal of each Java file.
  */
 @Value
 @EqualsAndHashCode(callSuper = false)
@@ -62,26 +65,30 @@ public class ChangeSpringPropertyKey extends Recipe {
     @Nullable
     List<String> except;
 
+    @Getter(AccessLevel.NONE)
+    transient AtomicReference<Delegates> delegates = new AtomicReference<>();
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        org.openrewrite.yaml.ChangePropertyKey yamlChangePropertyKey =
-                new org.openrewrite.yaml.ChangePropertyKey(oldPropertyKey, newPropertyKey, true, except);
-        org.openrewrite.properties.ChangePropertyKey propertiesChangePropertyKey =
-                new org.openrewrite.properties.ChangePropertyKey(oldPropertyKey, newPropertyKey, true, false);
-        org.openrewrite.properties.ChangePropertyKey subpropertiesChangePropertyKey =
-                new org.openrewrite.properties.ChangePropertyKey(Pattern.quote(oldPropertyKey + ".") + exceptRegex() + "(.+)", newPropertyKey + ".$1", true, true);
-
+        Delegates d = delegates();
         return new TreeVisitor<Tree, ExecutionContext>() {
             @Override
             public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (!(tree instanceof Yaml.Documents) && !(tree instanceof Properties.File)) {
+                    return tree;
+                }
+                SpringPropertyIndex index = SpringExecutionContextView.view(ctx).getPropertyIndex((SourceFile) tree);
+                if (!index.mayContain(oldPropertyKey)) {
+                    return tree;
+                }
                 if (tree instanceof Yaml.Documents) {
-                    tree = yamlChangePropertyKey.getVisitor().visit(tree, ctx);
-                } else if (tree instanceof Properties.File) {
-                    if (FindProperties.find((Properties.File) tree, newPropertyKey, true).isEmpty()) {
-                        Tree newTree = propertiesChangePropertyKey.getVisitor().visit(tree, ctx);
+                    tree = d.getYamlChangePropertyKey().getVisitor().visit(tree, ctx);
+                } else {
+                    if (index.find(newPropertyKey).isEmpty()) {
+                        Tree newTree = d.getPropertiesChangePropertyKey().getVisitor().visit(tree, ctx);
                         // for compatibility with yaml syntax, a spring property key will never have both a (scalar) value and also subproperties
-                        if (newTree == tree) {
-                            newTree = subpropertiesChangePropertyKey.getVisitor().visit(tree, ctx);
+                        if (newTree == tree && d.hasSubproperties((Properties.File) tree)) {
+                            newTree = d.getSubpropertiesChangePropertyKey().getVisitor().visit(tree, ctx);
                         }
                         tree = newTree;
                     }
@@ -91,9 +98,52 @@ public class ChangeSpringPropertyKey extends Recipe {
         };
     }
 
+    private Delegates delegates() {
+        Delegates d = delegates.get();
+        if (d == null) {
+            String subpropertyPrefix = oldPropertyKey + ".";
+            String subpropertyRegex = Pattern.quote(subpropertyPrefix) + exceptRegex() + "(.+)";
+            d = new Delegates(
+                    new org.openrewrite.yaml.ChangePropertyKey(oldPropertyKey, newPropertyKey, true, except),
+                    new org.openrewrite.properties.ChangePropertyKey(oldPropertyKey, newPropertyKey, true, false),
+                    new org.openrewrite.properties.ChangePropertyKey(subpropertyRegex, newPropertyKey + ".$1", true, true),
+                    subpropertyPrefix,
+                    Pattern.compile(subpropertyRegex));
+            if (!delegates.compareAndSet(null, d)) {
+                d = delegates.get();
+            }
+        }
+        return d;
+    }
+
     private String exceptRegex() {
         return except == null || except.isEmpty()
                 ? ""
                 : "(?!(" + String.join("|", except) + "))";
     }
+
+    @Value
+    private static class Delegates {
+        org.openrewrite.yaml.ChangePropertyKey yamlChangePropertyKey;
+        org.openrewrite.properties.ChangePropertyKey propertiesChangePropertyKey;
+        org.openrewrite.properties.ChangePropertyKey subpropertiesChangePropertyKey;
+        String subpropertyPrefix;
+        Pattern subpropertyPattern;
+
+        /**
+         * Every subproperty key starts with the literal old key, so most entries are rejected with a single string
+         * comparison before the except regex has to be evaluated.
+         */
+        boolean hasSubproperties(Properties.File file) {
+            for (Properties.Content content : file.getContent()) {
+                if (content instanceof Properties.Entry) {
+                    String key = ((Properties.Entry) content).getKey();
+                    if (key.startsWith(subpropertyPrefix) && subpropertyPattern.matcher(key).matches()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
 }
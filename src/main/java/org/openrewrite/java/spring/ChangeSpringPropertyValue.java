@@ -84,6 +84,9 @@ public class ChangeSpringPropertyValue extends Recipe {
         return new TreeVisitor<Tree, ExecutionContext>() {
             @Override
             public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof SourceFile && !SpringExecutionContextView.view(ctx).getPropertyIndex((SourceFile) tree).mayContain(propertyKey)) {
+                    return tree;
+                }
                 if (tree instanceof Properties.File) {
                     tree = changeProperties.getVisitor().visit(tree, ctx);
                 } else if (tree instanceof Yaml.Documents) {
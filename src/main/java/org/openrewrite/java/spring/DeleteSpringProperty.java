@@ -56,6 +56,9 @@ public class DeleteSpringProperty extends Recipe {
 
             @Override
             public @Nullable Tree visit(@Nullable Tree t, ExecutionContext ctx) {
+                if (t instanceof SourceFile && !SpringExecutionContextView.view(ctx).getPropertyIndex((SourceFile) t).mayContain(propertyKey)) {
+                    return t;
+                }
                 if (t instanceof Yaml.Documents) {
                     t = new org.openrewrite.yaml.DeleteProperty(propertyKey, false, true)
                         .getVisitor().visitNonNull(t, ctx);
@@ -20,14 +20,12 @@ import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.marker.Markers;
+import org.openrewrite.yaml.YamlIsoVisitor;
 import org.openrewrite.yaml.YamlVisitor;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
-import static java.util.Collections.singletonList;
 import static org.openrewrite.Tree.randomId;
 
 public class ExpandProperties extends Recipe {
@@ -62,13 +60,23 @@ public class ExpandProperties extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         YamlVisitor<ExecutionContext> visitor = new YamlVisitor<ExecutionContext>() {
             @Override
-            public Yaml visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
-                Yaml docs = super.visitDocuments(documents, ctx);
-                Yaml docsExpanded = new ExpandEntriesVisitor().visitNonNull(docs, ctx);
-                if (docsExpanded != docs) {
-                    docs = new CoalesceEntriesVisitor().visitNonNull(docsExpanded, ctx);
+            public Yaml visitDocument(Yaml.Document document, ExecutionContext ctx) {
+                if (!hasDottedKey(document.getBlock())) {
+                    return document;
                 }
-                return docs;
+                Set<UUID> rebuilt = new HashSet<>();
+                Yaml.Document expanded = document.withBlock(expand(document.getBlock(), rebuilt));
+
+                // only the rebuilt entries move to new indentation levels, so the rest of the document keeps its format
+                return new YamlIsoVisitor<ExecutionContext>() {
+                    @Override
+                    public Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+                        if (rebuilt.contains(entry.getId())) {
+                            return autoFormat(entry, ctx, getCursor().getParentOrThrow());
+                        }
+                        return super.visitMappingEntry(entry, ctx);
+                    }
+                }.visitNonNull(expanded, ctx, getCursor().getParentOrThrow());
             }
         };
         return sourceFileMask != null ?
@@ -76,86 +84,110 @@ public class ExpandProperties extends Recipe {
                 : visitor;
     }
 
-    private static class ExpandEntriesVisitor extends YamlVisitor<ExecutionContext> {
-        @Override
-        public Yaml visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-            Yaml.Mapping.Entry e = entry;
-            String key = e.getKey().getValue();
-            if (key.contains(".") && e.getKey() instanceof Yaml.Scalar) {
-                e = e.withKey(((Yaml.Scalar) e.getKey()).withValue(key.substring(0, key.indexOf('.'))));
-                e = e.withValue(new Yaml.Mapping(
+    private static boolean hasDottedKey(Yaml.Block block) {
+        if (block instanceof Yaml.Mapping) {
+            for (Yaml.Mapping.Entry entry : ((Yaml.Mapping) block).getEntries()) {
+                if (entry.getKey() instanceof Yaml.Scalar && entry.getKey().getValue().indexOf('.') > 0 ||
+                    hasDottedKey(entry.getValue())) {
+                    return true;
+                }
+            }
+        } else if (block instanceof Yaml.Sequence) {
+            for (Yaml.Sequence.Entry entry : ((Yaml.Sequence) block).getEntries()) {
+                if (hasDottedKey(entry.getBlock())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Yaml.Block expand(Yaml.Block block, Set<UUID> rebuilt) {
+        if (block instanceof Yaml.Mapping) {
+            Yaml.Mapping mapping = (Yaml.Mapping) block;
+            return mapping.withEntries(expand(mapping.getEntries(), rebuilt));
+        } else if (block instanceof Yaml.Sequence) {
+            Yaml.Sequence sequence = (Yaml.Sequence) block;
+            return sequence.withEntries(ListUtils.map(sequence.getEntries(), entry -> entry.withBlock(expand(entry.getBlock(), rebuilt))));
+        }
+        return block;
+    }
+
+    /**
+     * Expands the dotted keys of a mapping's entries and, in the same pass, coalesces every entry whose value is a
+     * mapping with the other mappings under the same key, at the position of the first of them. The ids of the entries
+     * that are built anew are added to {@code rebuilt}.
+     */
+    private static List<Yaml.Mapping.Entry> expand(List<Yaml.Mapping.Entry> entries, Set<UUID> rebuilt) {
+        Map<String, Group> groups = new HashMap<>();
+        List<Object> slots = new ArrayList<>(entries.size());
+        for (Yaml.Mapping.Entry entry : entries) {
+            String key = entry.getKey().getValue();
+            int dot = entry.getKey() instanceof Yaml.Scalar ? key.indexOf('.') : -1;
+            if (dot > 0) {
+                group(groups, slots, key.substring(0, dot), entry).addDotted(new Yaml.Mapping.Entry(
                         randomId(),
+                        "",
                         Markers.EMPTY,
-                        null,
-                        singletonList(
-                                new Yaml.Mapping.Entry(
-                                        randomId(),
-                                        "",
-                                        Markers.EMPTY,
-                                        new Yaml.Scalar(
-                                                randomId(),
-                                                "",
-                                                Markers.EMPTY,
-                                                Yaml.Scalar.Style.PLAIN,
-                                                null,
-                                                key.substring(key.indexOf('.') + 1)),
-                                        "",
-                                        e.getValue()
-                                )
-                        ),
-                        null,
-                        null
-                ));
-                e = autoFormat(e, ctx, getCursor().getParentOrThrow());
+                        new Yaml.Scalar(randomId(), "", Markers.EMPTY, Yaml.Scalar.Style.PLAIN, null, key.substring(dot + 1)),
+                        "",
+                        entry.getValue()));
+            } else if (entry.getKey() instanceof Yaml.Scalar && entry.getValue() instanceof Yaml.Mapping) {
+                group(groups, slots, key, entry).addMapping((Yaml.Mapping) entry.getValue());
+            } else {
+                slots.add(entry.withValue(expand(entry.getValue(), rebuilt)));
             }
-            return super.visitMappingEntry(e, ctx);
         }
+
+        List<Yaml.Mapping.Entry> expanded = new ArrayList<>(slots.size());
+        for (Object slot : slots) {
+            expanded.add(slot instanceof Group ? ((Group) slot).toEntry(rebuilt) : (Yaml.Mapping.Entry) slot);
+        }
+        return expanded;
     }
 
-    private static class CoalesceEntriesVisitor extends YamlVisitor<ExecutionContext> {
-        @Override
-        public Yaml visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
-            Map<String, List<Yaml.Mapping>> mappingsByKey = new HashMap<>();
-            for (Yaml.Mapping.Entry entry : mapping.getEntries()) {
-                if (entry.getValue() instanceof Yaml.Mapping) {
-                    mappingsByKey.computeIfAbsent(entry.getKey().getValue(), v -> new ArrayList<>()).add((Yaml.Mapping) entry.getValue());
-                }
-            }
+    private static Group group(Map<String, Group> groups, List<Object> slots, String key, Yaml.Mapping.Entry entry) {
+        Group group = groups.get(key);
+        if (group == null) {
+            group = new Group(key, entry);
+            groups.put(key, group);
+            slots.add(group);
+        }
+        return group;
+    }
 
-            for (Map.Entry<String, List<Yaml.Mapping>> keyMappings : mappingsByKey.entrySet()) {
-                if (keyMappings.getValue().size() > 1) {
-                    Yaml.Mapping newMapping = new Yaml.Mapping(
-                            randomId(),
-                            Markers.EMPTY,
-                            null,
-                            keyMappings.getValue().stream().flatMap(duplicateMapping -> duplicateMapping.getEntries().stream())
-                                    .collect(Collectors.toList()),
-                            null,
-                            null
-                    );
-                    Yaml.Mapping.Entry newEntry = new Yaml.Mapping.Entry(randomId(),
-                            "",
-                            Markers.EMPTY,
-                            new Yaml.Scalar(randomId(), "", Markers.EMPTY, Yaml.Scalar.Style.PLAIN, null, keyMappings.getKey()),
-                            "", newMapping);
-
-                    AtomicInteger insertIndex = new AtomicInteger(-1);
-                    mapping = mapping.withEntries(ListUtils.map(mapping.getEntries(), (i, ent) -> {
-                        if (ent.getKey().getValue().equals(keyMappings.getKey())) {
-                            if (insertIndex.get() < 0) {
-                                insertIndex.set(i);
-                            }
-                            return null;
-                        }
-                        return ent;
-                    }));
-                    //noinspection ConstantConditions
-                    mapping = maybeAutoFormat(mapping, mapping.withEntries(ListUtils.insertAll(mapping.getEntries(), insertIndex.get(), Collections.singletonList(newEntry))),
-                            ctx, getCursor().getParent().getValue() instanceof Yaml.Document ? getCursor().getParent() : getCursor());
-                }
+    private static class Group {
+        final String key;
+        final Yaml.Mapping.Entry first;
+        final List<Yaml.Mapping.Entry> entries = new ArrayList<>();
+        int contributors;
+        boolean dotted;
+
+        Group(String key, Yaml.Mapping.Entry first) {
+            this.key = key;
+            this.first = first;
+        }
+
+        void addDotted(Yaml.Mapping.Entry entry) {
+            entries.add(entry);
+            contributors++;
+            dotted = true;
+        }
+
+        void addMapping(Yaml.Mapping mapping) {
+            entries.addAll(mapping.getEntries());
+            contributors++;
+        }
+
+        Yaml.Mapping.Entry toEntry(Set<UUID> rebuilt) {
+            if (contributors == 1 && !dotted) {
+                // a mapping that is not shared with any other entry keeps its own formatting
+                return first.withValue(expand(first.getValue(), rebuilt));
             }
-            return super.visitMapping(mapping, ctx);
+            rebuilt.add(first.getId());
+            return first
+                    .withKey(((Yaml.Scalar) first.getKey()).withValue(key))
+                    .withValue(new Yaml.Mapping(randomId(), Markers.EMPTY, null, expand(entries, rebuilt), null, null));
         }
     }
 }
-
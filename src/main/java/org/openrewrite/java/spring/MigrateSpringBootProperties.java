@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.spring.internal.PropertyMigrationPlan;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Migrates Spring Boot properties straight to a target version using the precomputed {@link PropertyMigrationPlan},
+ * which collapses the renames of every version up to the target version into a single table.
+ * <P>
+ * This is an opt-in alternative to running the {@code SpringBootProperties_X_Y} recipes one after the other, for
+ * projects that only need their properties migrated. The Spring Boot upgrade recipes do not use it: they interleave
+ * other recipes with the property migration of each version, some of which match on the keys as they are at that
+ * version, so they keep running each version's recipe at its own position in the chain.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class MigrateSpringBootProperties extends Recipe {
+
+    @Option(displayName = "Spring Boot version",
+            description = "The Spring Boot `major.minor` version to migrate the properties to.",
+            example = "3.2")
+    String version;
+
+    @Getter(AccessLevel.NONE)
+    transient AtomicReference<BatchChangeSpringPropertyKey> changes = new AtomicReference<>();
+
+    @Override
+    public String getDisplayName() {
+        return "Migrate Spring Boot properties in a single pass";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Migrate properties found in `application.properties` and `application.yml` to the given Spring Boot version " +
+               "in a single pass, using a table of property key changes that is flattened across all versions. " +
+               "This only migrates properties; use the Spring Boot upgrade recipes to migrate a whole project.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        BatchChangeSpringPropertyKey batch = changes.get();
+        if (batch == null) {
+            batch = new BatchChangeSpringPropertyKey(PlanHolder.PLAN.changesFor(version));
+            if (!changes.compareAndSet(null, batch)) {
+                batch = changes.get();
+            }
+        }
+        return batch.getVisitor();
+    }
+
+    private static class PlanHolder {
+        static final PropertyMigrationPlan PLAN = load();
+
+        private static PropertyMigrationPlan load() {
+            try (InputStream plan = MigrateSpringBootProperties.class.getResourceAsStream(PropertyMigrationPlan.RESOURCE)) {
+                return PropertyMigrationPlan.read(requireNonNull(plan, "Missing " + PropertyMigrationPlan.RESOURCE));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
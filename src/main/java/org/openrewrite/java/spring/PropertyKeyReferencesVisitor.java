@@ -0,0 +1,204 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Tree;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.spring.internal.PropertyKeyRenames;
+import org.openrewrite.java.tree.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Renames the property keys that Java code refers to, using a whole table of renames in a single traversal:
+ * <ul>
+ *     <li>placeholders in {@code @Value}, {@code @PropertySource} and {@code @TestPropertySource} locations,</li>
+ *     <li>the keys of inlined properties in {@code @TestPropertySource} and {@code @SpringBootTest},</li>
+ *     <li>the prefix of {@code @ConfigurationProperties}, and</li>
+ *     <li>the key passed to {@code Environment.getProperty}, {@code getRequiredProperty} and {@code containsProperty}.</li>
+ * </ul>
+ * Only string literals are changed. Keys built from constants or concatenations are left alone.
+ */
+class PropertyKeyReferencesVisitor extends JavaIsoVisitor<ExecutionContext> {
+    private static final String VALUE = "org.springframework.beans.factory.annotation.Value";
+    private static final String PROPERTY_SOURCE = "org.springframework.context.annotation.PropertySource";
+    private static final String TEST_PROPERTY_SOURCE = "org.springframework.test.context.TestPropertySource";
+    private static final String SPRING_BOOT_TEST = "org.springframework.boot.test.context.SpringBootTest";
+    private static final String CONFIGURATION_PROPERTIES = "org.springframework.boot.context.properties.ConfigurationProperties";
+    private static final String PROPERTY_RESOLVER = "org.springframework.core.env.PropertyResolver";
+
+    private static final Set<String> ANNOTATIONS = new HashSet<>(Arrays.asList(
+            VALUE, PROPERTY_SOURCE, TEST_PROPERTY_SOURCE, SPRING_BOOT_TEST, CONFIGURATION_PROPERTIES));
+
+    private static final MethodMatcher PROPERTY_RESOLVER_METHOD = new MethodMatcher(PROPERTY_RESOLVER + " *Property(java.lang.String, ..)", true);
+
+    private final PropertyKeyRenames renames;
+
+    PropertyKeyReferencesVisitor(PropertyKeyRenames renames) {
+        this.renames = renames;
+    }
+
+    /**
+     * @return true if a source file uses any of the annotations or methods that refer to property keys.
+     */
+    static boolean mayReferToPropertyKeys(JavaSourceFile sourceFile) {
+        for (JavaType type : sourceFile.getTypesInUse().getTypesInUse()) {
+            if (type instanceof JavaType.FullyQualified && ANNOTATIONS.contains(((JavaType.FullyQualified) type).getFullyQualifiedName())) {
+                return true;
+            }
+        }
+        for (JavaType.Method method : sourceFile.getTypesInUse().getUsedMethods()) {
+            if (method.getName().endsWith("Property") && TypeUtils.isAssignableTo(PROPERTY_RESOLVER, method.getDeclaringType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public J.Annotation visitAnnotation(J.Annotation annotation, ExecutionContext ctx) {
+        J.Annotation a = super.visitAnnotation(annotation, ctx);
+        String type = annotationType(a);
+        if (type == null || a.getArguments() == null) {
+            return a;
+        }
+        return a.withArguments(ListUtils.map(a.getArguments(), arg -> {
+            String attribute = "value";
+            Expression value = arg;
+            if (arg instanceof J.Assignment && ((J.Assignment) arg).getVariable() instanceof J.Identifier) {
+                attribute = ((J.Identifier) ((J.Assignment) arg).getVariable()).getSimpleName();
+                value = ((J.Assignment) arg).getAssignment();
+            }
+            UnaryOperator<String> rename = renameFor(type, attribute);
+            if (rename == null) {
+                return arg;
+            }
+            Expression renamed = mapLiterals(value, rename);
+            return arg instanceof J.Assignment ? ((J.Assignment) arg).withAssignment(renamed) : renamed;
+        }));
+    }
+
+    @Override
+    public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+        J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+        if (PROPERTY_RESOLVER_METHOD.matches(m)) {
+            m = m.withArguments(ListUtils.mapFirst(m.getArguments(), arg -> mapLiterals(arg, this::renameKey)));
+        }
+        return m;
+    }
+
+    private static @Nullable String annotationType(J.Annotation annotation) {
+        JavaType.FullyQualified type = TypeUtils.asFullyQualified(annotation.getType());
+        return type != null && ANNOTATIONS.contains(type.getFullyQualifiedName()) ? type.getFullyQualifiedName() : null;
+    }
+
+    private @Nullable UnaryOperator<String> renameFor(String annotationType, String attribute) {
+        switch (annotationType) {
+            case VALUE:
+                return this::renamePlaceholders;
+            case PROPERTY_SOURCE:
+                return "value".equals(attribute) ? this::renamePlaceholders : null;
+            case TEST_PROPERTY_SOURCE:
+                return "properties".equals(attribute) ? this::renameInlinedProperty :
+                        "value".equals(attribute) || "locations".equals(attribute) ? this::renamePlaceholders : null;
+            case SPRING_BOOT_TEST:
+                return "properties".equals(attribute) || "value".equals(attribute) ? this::renameInlinedProperty : null;
+            case CONFIGURATION_PROPERTIES:
+                return "prefix".equals(attribute) || "value".equals(attribute) ? this::renameKey : null;
+            default:
+                return null;
+        }
+    }
+
+    private Expression mapLiterals(Expression expression, UnaryOperator<String> rename) {
+        if (expression instanceof J.NewArray) {
+            J.NewArray array = (J.NewArray) expression;
+            return array.withInitializer(ListUtils.map(array.getInitializer(), e -> mapLiterals(e, rename)));
+        } else if (expression instanceof J.Literal) {
+            J.Literal literal = (J.Literal) expression;
+            if (literal.getValue() instanceof String && ("\"" + literal.getValue() + "\"").equals(literal.getValueSource())) {
+                String value = (String) literal.getValue();
+                String renamed = rename.apply(value);
+                if (!value.equals(renamed)) {
+                    return literal.withValue(renamed).withValueSource("\"" + renamed + "\"");
+                }
+            }
+        }
+        return expression;
+    }
+
+    private String renameKey(String key) {
+        String renamed = renames.rename(key);
+        return renamed == null ? key : renamed;
+    }
+
+    /**
+     * Renames the key of every placeholder, including placeholders nested in default values, such as
+     * <code>${a.b:${c.d}}</code>.
+     */
+    private String renamePlaceholders(String value) {
+        int start = value.indexOf("${");
+        if (start < 0) {
+            return value;
+        }
+        StringBuilder renamed = new StringBuilder(value.length());
+        int copied = 0;
+        while (start >= 0) {
+            int keyStart = start + 2;
+            int keyEnd = keyStart;
+            while (keyEnd < value.length() && value.charAt(keyEnd) != ':' && value.charAt(keyEnd) != '}' &&
+                   !value.startsWith("${", keyEnd)) {
+                keyEnd++;
+            }
+            renamed.append(value, copied, keyStart).append(renameKey(value.substring(keyStart, keyEnd)));
+            copied = keyEnd;
+            start = value.indexOf("${", keyEnd);
+        }
+        return renamed.append(value, copied, value.length()).toString();
+    }
+
+    /**
+     * Renames the key of an inlined property of the form "key=value" or "key: value".
+     */
+    private String renameInlinedProperty(String property) {
+        int separator = 0;
+        while (separator < property.length() && property.charAt(separator) != '=' && property.charAt(separator) != ':') {
+            separator++;
+        }
+        String key = property.substring(0, separator).trim();
+        if (key.isEmpty()) {
+            return property;
+        }
+        int keyStart = property.indexOf(key);
+        return property.substring(0, keyStart) + renameKey(key) +
+               renamePlaceholders(property.substring(keyStart + key.length()));
+    }
+
+    @Override
+    public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+        if (tree instanceof JavaSourceFile && !mayReferToPropertyKeys((JavaSourceFile) tree)) {
+            return (J) tree;
+        }
+        return super.visit(tree, ctx);
+    }
+}
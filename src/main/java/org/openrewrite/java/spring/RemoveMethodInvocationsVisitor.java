@@ -37,17 +37,73 @@ import static org.openrewrite.Tree.randomId;
  * Tries to intelligently remove within chains without breaking other methods in the chain.
  */
 public class RemoveMethodInvocationsVisitor extends JavaVisitor<ExecutionContext> {
-    private final Map<MethodMatcher, Predicate<List<Expression>>> matchers;
+    /**
+     * Matchers by the simple name of the methods they match, so that an invocation is only tested against the
+     * matchers of methods with its name.
+     */
+    private final Map<String, Map<MethodMatcher, Predicate<List<Expression>>>> matchersByName = new HashMap<>();
+
+    /**
+     * Matchers whose method name is a pattern or is not known, which every invocation is tested against.
+     */
+    private final Map<MethodMatcher, Predicate<List<Expression>>> unnamedMatchers = new LinkedHashMap<>();
 
     public RemoveMethodInvocationsVisitor(Map<MethodMatcher, Predicate<List<Expression>>> matchers) {
-        this.matchers = matchers;
+        matchers.forEach(this::addMatcher);
     }
 
     public RemoveMethodInvocationsVisitor(List<String> methodSignatures) {
-        matchers = methodSignatures.stream().collect(Collectors.toMap(
-            MethodMatcher::new,
-            signature -> args -> true
-        ));
+        for (String signature : methodSignatures) {
+            addMatcher(signature, args -> true);
+        }
+    }
+
+    private RemoveMethodInvocationsVisitor() {
+    }
+
+    /**
+     * @param argumentsMatchers The method patterns of the methods to remove, each with a predicate on the arguments of
+     *                          an invocation that must also hold for it to be removed.
+     */
+    public static RemoveMethodInvocationsVisitor withSignatures(Map<String, Predicate<List<Expression>>> argumentsMatchers) {
+        RemoveMethodInvocationsVisitor visitor = new RemoveMethodInvocationsVisitor();
+        argumentsMatchers.forEach(visitor::addMatcher);
+        return visitor;
+    }
+
+    private void addMatcher(String signature, Predicate<List<Expression>> argumentsMatcher) {
+        addMatcher(new MethodMatcher(signature), argumentsMatcher);
+    }
+
+    private void addMatcher(MethodMatcher matcher, Predicate<List<Expression>> argumentsMatcher) {
+        String name = methodName(matcher);
+        if (name == null) {
+            unnamedMatchers.put(matcher, argumentsMatcher);
+        } else {
+            matchersByName.computeIfAbsent(name, n -> new LinkedHashMap<>()).put(matcher, argumentsMatcher);
+        }
+    }
+
+    /**
+     * @return The method name that the matcher matches, or null if it matches a name pattern.
+     */
+    @Nullable
+    static String methodName(MethodMatcher matcher) {
+        String name = matcher.getMethodName();
+        return name == null || name.isEmpty() || name.contains("*") ? null : name;
+    }
+
+    /**
+     * @return The method name of a method pattern such as {@code java.util.List add(..)}, or null if the name is
+     * itself a pattern.
+     */
+    @Nullable
+    static String methodName(String signature) {
+        int parenthesis = signature.indexOf('(');
+        String declaration = (parenthesis < 0 ? signature : signature.substring(0, parenthesis)).trim();
+        int separator = Math.max(declaration.lastIndexOf(' '), declaration.lastIndexOf('#'));
+        String name = declaration.substring(separator + 1);
+        return name.isEmpty() || name.contains("*") ? null : name;
     }
 
     @Override
@@ -58,7 +114,9 @@ public class RemoveMethodInvocationsVisitor extends JavaVisitor<ExecutionContext
         }
 
         method = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
-        J j = removeMethods(method, 0, isLambdaBody(), new Stack<>());
+        // this is the outermost invocation of its chain, so the chain is matched and the cursor inspected only here
+        Set<J.MethodInvocation> candidates = candidatesInChain(method);
+        J j = candidates.isEmpty() ? method : removeMethods(method, 0, new Chain(candidates, isStatement(), isLambdaBody()));
         if (j != null) {
             j = j.withPrefix(method.getPrefix());
         }
@@ -70,18 +128,33 @@ public class RemoveMethodInvocationsVisitor extends JavaVisitor<ExecutionContext
         return j;
     }
 
+    /**
+     * @return The invocations of the chain that match a method to remove, in a single walk down the chain.
+     */
+    private Set<J.MethodInvocation> candidatesInChain(J.MethodInvocation method) {
+        Set<J.MethodInvocation> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        Expression select = method;
+        while (select instanceof J.MethodInvocation) {
+            J.MethodInvocation m = (J.MethodInvocation) select;
+            if (matches(m)) {
+                candidates.add(m);
+            }
+            select = m.getSelect();
+        }
+        return candidates;
+    }
+
     @Nullable
-    private J removeMethods(Expression expression, int depth, boolean isLambdaBody, Stack<Space> selectAfter) {
+    private J removeMethods(Expression expression, int depth, Chain chain) {
         if (!(expression instanceof J.MethodInvocation)) {
             return expression;
         }
 
-        boolean isStatement = isStatement();
         J.MethodInvocation m = (J.MethodInvocation) expression;
 
-        if (matchers.entrySet().stream().anyMatch(entry -> matches(m, entry.getKey(), entry.getValue()))) {
+        if (chain.candidates.contains(m)) {
             boolean hasSameReturnType = TypeUtils.isAssignableTo(m.getMethodType().getReturnType(), m.getSelect().getType());
-            boolean removable = (isStatement && depth == 0) || hasSameReturnType;
+            boolean removable = (chain.isStatement && depth == 0) || hasSameReturnType;
             if (!removable) {
                 return expression;
             }
@@ -89,34 +162,44 @@ public class RemoveMethodInvocationsVisitor extends JavaVisitor<ExecutionContext
             if (m.getSelect() instanceof J.Identifier || m.getSelect() instanceof J.NewClass) {
                 boolean keepSelect = depth != 0;
                 if (keepSelect) {
-                    selectAfter.add(getSelectAfter(m));
+                    chain.selectAfter.add(getSelectAfter(m));
                     return m.getSelect();
                 } else {
-                    if (isStatement) {
+                    if (chain.isStatement) {
                         return null;
-                    } else if (isLambdaBody) {
+                    } else if (chain.isLambdaBody) {
                         return ToBeRemoved.withMarker(J.Block.createEmptyBlock());
                     } else {
                         return hasSameReturnType ? m.getSelect() : expression;
                     }
                 }
             } else if (m.getSelect() instanceof J.MethodInvocation) {
-                return removeMethods(m.getSelect(), depth, isLambdaBody, selectAfter);
+                return removeMethods(m.getSelect(), depth, chain);
             }
         }
 
-        J.MethodInvocation method = m.withSelect((Expression) removeMethods(m.getSelect(), depth + 1, isLambdaBody, selectAfter));
+        J.MethodInvocation method = m.withSelect((Expression) removeMethods(m.getSelect(), depth + 1, chain));
 
         // inherit prefix
-        if (!selectAfter.isEmpty()) {
-            method = inheritSelectAfter(method, selectAfter);
+        if (!chain.selectAfter.isEmpty()) {
+            method = inheritSelectAfter(method, chain.selectAfter);
         }
 
         return method;
     }
 
-    private boolean matches(J.MethodInvocation m, MethodMatcher matcher, Predicate<List<Expression>> argsMatches) {
-        return matcher.matches(m) && argsMatches.test(m.getArguments());
+    private boolean matches(J.MethodInvocation m) {
+        Map<MethodMatcher, Predicate<List<Expression>>> named = matchersByName.get(m.getSimpleName());
+        return named != null && matches(m, named) || !unnamedMatchers.isEmpty() && matches(m, unnamedMatchers);
+    }
+
+    private static boolean matches(J.MethodInvocation m, Map<MethodMatcher, Predicate<List<Expression>>> matchers) {
+        for (Map.Entry<MethodMatcher, Predicate<List<Expression>>> matcher : matchers.entrySet()) {
+            if (matcher.getKey().matches(m) && matcher.getValue().test(m.getArguments())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private boolean isStatement() {
@@ -237,6 +320,23 @@ public class RemoveMethodInvocationsVisitor extends JavaVisitor<ExecutionContext
         return block;
     }
 
+    /**
+     * What is known about a method call chain while its invocations are removed, which is derived once from its
+     * outermost invocation.
+     */
+    private static class Chain {
+        final Set<J.MethodInvocation> candidates;
+        final boolean isStatement;
+        final boolean isLambdaBody;
+        final Stack<Space> selectAfter = new Stack<>();
+
+        Chain(Set<J.MethodInvocation> candidates, boolean isStatement, boolean isLambdaBody) {
+            this.candidates = candidates;
+            this.isStatement = isStatement;
+            this.isLambdaBody = isLambdaBody;
+        }
+    }
+
     @Value
     @With
     static class ToBeRemoved implements Marker {
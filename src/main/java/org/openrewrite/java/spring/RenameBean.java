@@ -19,11 +19,7 @@ import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
-import org.openrewrite.internal.StringUtils;
 import org.openrewrite.internal.lang.Nullable;
-import org.openrewrite.java.ChangeMethodName;
-import org.openrewrite.java.ChangeType;
-import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.search.DeclaresType;
 import org.openrewrite.java.search.FindAnnotations;
 import org.openrewrite.java.search.UsesType;
@@ -31,11 +27,9 @@ import org.openrewrite.java.tree.*;
 
 import java.util.*;
 
-import static org.openrewrite.java.MethodMatcher.methodPattern;
-
 @EqualsAndHashCode(callSuper = false)
 @Value
-public class RenameBean extends Recipe {
+public class RenameBean extends ScanningRecipe<Map<UUID, SpringBeanIndex>> {
 
     @Option(required = false, example = "foo.MyType")
     @Nullable
@@ -47,19 +41,19 @@ public class RenameBean extends Recipe {
     @Option(example = "barBean")
     String newName;
 
-    private static final String FQN_QUALIFIER = "org.springframework.beans.factory.annotation.Qualifier";
+    static final String FQN_QUALIFIER = "org.springframework.beans.factory.annotation.Qualifier";
 
-    private static final String FQN_BEAN = "org.springframework.context.annotation.Bean";
+    static final String FQN_BEAN = "org.springframework.context.annotation.Bean";
 
-    private static final String FQN_COMPONENT = "org.springframework.stereotype.Component";
+    static final String FQN_COMPONENT = "org.springframework.stereotype.Component";
 
-    private static final Set<String> JUST_QUALIFIER = Collections.singleton(FQN_QUALIFIER);
-    private static final Set<String> BEAN_METHOD_ANNOTATIONS = new HashSet<String>() {{
+    static final Set<String> JUST_QUALIFIER = Collections.singleton(FQN_QUALIFIER);
+    static final Set<String> BEAN_METHOD_ANNOTATIONS = new HashSet<String>() {{
         add(FQN_QUALIFIER);
         add(FQN_BEAN);
     }};
 
-    private static final Set<String> BEAN_TYPE_ANNOTATIONS = new HashSet<String>() {{
+    static final Set<String> BEAN_TYPE_ANNOTATIONS = new HashSet<String>() {{
         add(FQN_QUALIFIER);
         add(FQN_COMPONENT);
     }};
@@ -165,7 +159,7 @@ public class RenameBean extends Recipe {
         return new BeanSearchResult(false, null);
     }
 
-    private static boolean anyAnnotationMatches(J.Annotation type, Set<String> types) {
+    static boolean anyAnnotationMatches(J.Annotation type, Set<String> types) {
         for (String it : types) {
             if (!FindAnnotations.find(type, '@' + it, true).isEmpty()) {
                 return true;
@@ -196,110 +190,64 @@ public class RenameBean extends Recipe {
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(precondition(), new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method,
-                                                              ExecutionContext ctx) {
-                J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
-
-                // handle bean declarations
-                if (m.getMethodType() != null && isRelevantType(m.getMethodType().getReturnType())) {
-                    boolean maybeRenameMethodDeclaration = maybeRenameBean(m.getAllAnnotations(),
-                            BEAN_METHOD_ANNOTATIONS);
-                    if (maybeRenameMethodDeclaration && m.getSimpleName().equals(oldName)) {
-                        doAfterVisit(new ChangeMethodName(methodPattern(m), newName, false, false).getVisitor());
-                    }
-                }
-
-                // handle bean references (method params)
-                for (Statement statement : m.getParameters()) {
-                    renameMatchingQualifierAnnotations(statement);
-                }
-
-                return m;
-            }
-
-            @Override
-            public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl,
-                                                            ExecutionContext ctx) {
-                J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
-
-                // handle bean declarations
-                if (cd.getType() != null && isRelevantType(cd.getType())) {
-                    boolean maybeRenameClass = maybeRenameBean(cd.getAllAnnotations(), BEAN_TYPE_ANNOTATIONS);
-                    if (maybeRenameClass && StringUtils.uncapitalize(cd.getSimpleName()).equals(oldName)) {
-                        String newFullyQualifiedTypeName = cd.getType().getFullyQualifiedName()
-                                .replaceAll("^((.+\\.)*)[^.]+$", "$1" + StringUtils.capitalize(newName));
-                        doAfterVisit(new ChangeType(cd.getType().getFullyQualifiedName(), newFullyQualifiedTypeName, false).getVisitor());
-                    }
-                }
+    public Map<UUID, SpringBeanIndex> getInitialValue(ExecutionContext ctx) {
+        return renameBeans().getInitialValue(ctx);
+    }
 
-                // handle bean references (fields)
-                for (Statement statement : cd.getBody().getStatements()) {
-                    renameMatchingQualifierAnnotations(statement);
-                }
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Map<UUID, SpringBeanIndex> acc) {
+        return renameBeans().getScanner(acc);
+    }
 
-                return cd;
-            }
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Map<UUID, SpringBeanIndex> acc) {
+        return Preconditions.check(precondition(), renameBeans().getVisitor(acc));
+    }
 
-            private void renameMatchingQualifierAnnotations(Statement statement) {
-                if (statement instanceof J.VariableDeclarations) {
-                    J.VariableDeclarations varDecls = (J.VariableDeclarations) statement;
-                    for (J.VariableDeclarations.NamedVariable namedVar : varDecls.getVariables()) {
-                        if (isRelevantType(namedVar.getType())) {
-                            maybeRenameBean(varDecls.getAllAnnotations(), JUST_QUALIFIER);
-                            break;
-                        }
-                    }
-                }
-            }
+    private RenameBeans renameBeans() {
+        return new RenameBeans(Collections.singletonList(new RenameBeans.BeanRename(type, oldName, newName)));
+    }
 
-            /**
-             * Checks for presence of a bean-like annotation in the list of annotations,
-             * and queues up a visitor to change that annotation's arguments if they match the oldName.
-             *
-             * @return true in the specific case where there are bean-like annotations,
-             * but they don't determine the name of the bean, and therefore the J element itself should be renamed
-             */
-            private boolean maybeRenameBean(Collection<J.Annotation> annotations, Set<String> types) {
-                J.Annotation beanAnnotation = null;
-                J.Literal literalBeanName = null;
-                J.Assignment beanNameAssignment = null;
-                outer:
-                for (J.Annotation annotation : annotations) {
-                    if (anyAnnotationMatches(annotation, types)) {
-                        beanAnnotation = annotation;
-                        if (beanAnnotation.getArguments() != null && !beanAnnotation.getArguments().isEmpty()) {
-                            for (Expression expr : beanAnnotation.getArguments()) {
-                                if (expr instanceof J.Literal) {
-                                    literalBeanName = (J.Literal) expr;
-                                    break outer;
-                                }
-                                beanNameAssignment = asBeanNameAssignment(expr);
-                                if (beanNameAssignment != null) {
-                                    break outer;
-                                }
-                            }
-                        }
-                    }
-                }
-                if (beanAnnotation != null) {
-                    if (literalBeanName != null) {
-                        if (oldName.equals(literalBeanName.getValue())) {
-                            doAfterVisit(renameBeanAnnotationValue(beanAnnotation));
+    /**
+     * @return The last of the annotations that declares or qualifies a bean, unless an earlier one names the bean, in
+     * which case that one, along with the argument that names the bean, or null if none of them does.
+     */
+    @Nullable
+    static BeanAnnotation findBeanAnnotation(Collection<J.Annotation> annotations, Set<String> types) {
+        J.Annotation beanAnnotation = null;
+        for (J.Annotation annotation : annotations) {
+            if (anyAnnotationMatches(annotation, types)) {
+                beanAnnotation = annotation;
+                if (beanAnnotation.getArguments() != null && !beanAnnotation.getArguments().isEmpty()) {
+                    for (Expression expr : beanAnnotation.getArguments()) {
+                        if (expr instanceof J.Literal) {
+                            return new BeanAnnotation(beanAnnotation, (J.Literal) expr, null);
                         }
-                    } else if (beanNameAssignment != null) {
-                        if (contains(beanNameAssignment.getAssignment(), oldName)) {
-                            doAfterVisit(renameBeanAnnotationValue(beanAnnotation, beanNameAssignment));
+                        J.Assignment beanNameAssignment = asBeanNameAssignment(expr);
+                        if (beanNameAssignment != null) {
+                            return new BeanAnnotation(beanAnnotation, null, beanNameAssignment);
                         }
-                    } else {
-                        return true;
                     }
                 }
-                return false;
             }
-        });
+        }
+        return beanAnnotation == null ? null : new BeanAnnotation(beanAnnotation, null, null);
+    }
+
+    static boolean isNameArray(J.Annotation annotation) {
+        List<Expression> arguments = annotation.getArguments();
+        return arguments != null && arguments.size() == 1 && arguments.get(0) instanceof J.NewArray;
+    }
+
+    @Value
+    static class BeanAnnotation {
+        J.Annotation annotation;
+
+        @Nullable
+        J.Literal literalBeanName;
+
+        @Nullable
+        J.Assignment beanNameAssignment;
     }
 
     @Nullable
@@ -316,40 +264,7 @@ public class RenameBean extends Recipe {
         return null;
     }
 
-    private TreeVisitor<J, ExecutionContext> renameBeanAnnotationValue(J.Annotation beanAnnotation,
-                                                                       J.Assignment beanNameAssignment) {
-        return new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J.Annotation visitAnnotation(J.Annotation annotation, ExecutionContext ctx) {
-                J.Annotation a = super.visitAnnotation(annotation, ctx);
-                if (a == beanAnnotation) {
-                    a = a.withArguments(ListUtils.map(a.getArguments(), arg -> {
-                        if (arg == beanNameAssignment) {
-                            return beanNameAssignment.withAssignment(
-                                    replace(beanNameAssignment.getAssignment(), oldName, newName));
-                        }
-                        return arg;
-                    }));
-                }
-                return a;
-            }
-        };
-    }
-
-    private TreeVisitor<J, ExecutionContext> renameBeanAnnotationValue(J.Annotation beanAnnotation) {
-        return new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J.Annotation visitAnnotation(J.Annotation annotation, ExecutionContext ctx) {
-                J.Annotation a = super.visitAnnotation(annotation, ctx);
-                if (a == beanAnnotation) {
-                    a = a.withArguments(ListUtils.map(a.getArguments(), arg -> replace(arg, oldName, newName)));
-                }
-                return a;
-            }
-        };
-    }
-
-    private Expression replace(Expression assignment, String oldName, String newName) {
+    static Expression replace(Expression assignment, String oldName, String newName) {
         if (assignment instanceof J.Literal) {
             J.Literal literalAssignment = (J.Literal) assignment;
             if (oldName.equals(literalAssignment.getValue())) {
@@ -362,26 +277,4 @@ public class RenameBean extends Recipe {
         }
         return assignment;
     }
-
-    private static boolean contains(Expression assignment, String oldName) {
-        if (assignment instanceof J.Literal) {
-            return oldName.equals(((J.Literal) assignment).getValue());
-        } else if (assignment instanceof J.NewArray) {
-            J.NewArray newArrayAssignment = (J.NewArray) assignment;
-            if (newArrayAssignment.getInitializer() == null) {
-                return false;
-            }
-            for (Expression it : newArrayAssignment.getInitializer()) {
-                if (contains(it, oldName)) {
-                    return true;
-                }
-            }
-            return false;
-        }
-        return false;
-    }
-
-    private boolean isRelevantType(@Nullable JavaType javaType) {
-        return this.type == null || TypeUtils.isOfClassType(javaType, this.type);
-    }
 }
@@ -0,0 +1,416 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.internal.StringUtils;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.ChangeType;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.java.tree.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+
+import static org.openrewrite.java.MethodMatcher.methodPattern;
+import static org.openrewrite.java.spring.RenameBean.*;
+
+/**
+ * Applies a whole table of {@link RenameBean} changes in a single traversal of each compilation unit.
+ * <P>
+ * The renames are indexed by old bean name, so each bean declaration and qualifier is matched against the table with
+ * one lookup, whatever the number of renames. The bean annotation values to change in a compilation unit are all
+ * changed by one visitor, and the methods and types that have to be renamed are all renamed by a second one.
+ * <P>
+ * The scanning phase fills the {@link SpringBeanIndex} of each project, so that a declaration whose names are not in
+ * the table is skipped without looking at its annotations, and so that a qualifier is renamed when it refers to a bean
+ * of the right type that the project declares, whatever the declared type of the qualified field or parameter.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class RenameBeans extends ScanningRecipe<Map<UUID, SpringBeanIndex>> {
+
+    @Option(displayName = "Bean renames",
+            description = "The beans to rename. Each rename accepts the same `type`, `oldName` and `newName` options " +
+                          "as `RenameBean`. Each bean is renamed at most once, according to the name it has before " +
+                          "the recipe runs.",
+            example = "[{oldName: fooBean, newName: barBean}]")
+    List<BeanRename> renames;
+
+    @Getter(AccessLevel.NONE)
+    transient AtomicReference<Map<String, List<BeanRename>>> renamesByOldName = new AtomicReference<>();
+
+    @Override
+    public String getDisplayName() {
+        return "Rename beans";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Renames many Spring beans, both declarations and references, in a single pass over each file.";
+    }
+
+    @Override
+    public Map<UUID, SpringBeanIndex> getInitialValue(ExecutionContext ctx) {
+        return new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Map<UUID, SpringBeanIndex> acc) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof JavaSourceFile) {
+                    JavaSourceFile sourceFile = (JavaSourceFile) tree;
+                    acc.putIfAbsent(projectId(sourceFile), SpringExecutionContextView.view(ctx).getBeanIndex(sourceFile));
+                }
+                return tree;
+            }
+        };
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Map<UUID, SpringBeanIndex> acc) {
+        Map<String, List<BeanRename>> byOldName = renamesByOldName();
+        return new JavaIsoVisitor<ExecutionContext>() {
+            private final Map<J.Annotation, J.Annotation> annotationRenames = new IdentityHashMap<>();
+            private final Map<String, String> methodRenames = new LinkedHashMap<>();
+            private final Map<String, String> typeRenames = new LinkedHashMap<>();
+
+            @Nullable
+            private SpringBeanIndex beans;
+
+            @Override
+            public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+                annotationRenames.clear();
+                methodRenames.clear();
+                typeRenames.clear();
+                beans = acc.get(projectId(cu));
+                if (beans != null) {
+                    // an earlier recipe may have changed the file since it was scanned
+                    beans.scan(cu);
+                }
+                J.CompilationUnit c = super.visitCompilationUnit(cu, ctx);
+                if (!annotationRenames.isEmpty()) {
+                    doAfterVisit(renameAnnotations(new IdentityHashMap<>(annotationRenames)));
+                }
+                if (!methodRenames.isEmpty() || !typeRenames.isEmpty()) {
+                    doAfterVisit(renameDeclarations(new HashMap<>(methodRenames), new LinkedHashMap<>(typeRenames)));
+                }
+                return c;
+            }
+
+            @Override
+            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
+
+                // handle bean declarations
+                if (m.getMethodType() != null && !isIndexedWithoutRenamedName(beans == null ? null : beans.getBeanMethod(m), null)) {
+                    JavaType returnType = m.getMethodType().getReturnType();
+                    if (maybeRenameBean(m.getAllAnnotations(), BEAN_METHOD_ANNOTATIONS, returnType, false)) {
+                        BeanRename rename = find(m.getSimpleName(), returnType, false);
+                        if (rename != null) {
+                            methodRenames.putIfAbsent(methodPattern(m), rename.getNewName());
+                        }
+                    }
+                }
+
+                // handle bean references (method params)
+                for (Statement statement : m.getParameters()) {
+                    renameMatchingQualifierAnnotations(statement);
+                }
+
+                return m;
+            }
+
+            @Override
+            public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+                J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
+
+                // handle bean declarations
+                if (cd.getType() != null &&
+                    !isIndexedWithoutRenamedName(beans == null ? null : beans.getComponent(cd.getType()), StringUtils.uncapitalize(cd.getSimpleName())) &&
+                    maybeRenameBean(cd.getAllAnnotations(), BEAN_TYPE_ANNOTATIONS, cd.getType(), false)) {
+                    BeanRename rename = find(StringUtils.uncapitalize(cd.getSimpleName()), cd.getType(), false);
+                    if (rename != null) {
+                        String newFullyQualifiedTypeName = cd.getType().getFullyQualifiedName()
+                                .replaceAll("^((.+\\.)*)[^.]+$", "$1" + StringUtils.capitalize(rename.getNewName()));
+                        typeRenames.putIfAbsent(cd.getType().getFullyQualifiedName(), newFullyQualifiedTypeName);
+                    }
+                }
+
+                // handle bean references (fields)
+                for (Statement statement : cd.getBody().getStatements()) {
+                    renameMatchingQualifierAnnotations(statement);
+                }
+
+                return cd;
+            }
+
+            private void renameMatchingQualifierAnnotations(Statement statement) {
+                if (statement instanceof J.VariableDeclarations) {
+                    J.VariableDeclarations varDecls = (J.VariableDeclarations) statement;
+                    if (!varDecls.getVariables().isEmpty()) {
+                        maybeRenameBean(varDecls.getAllAnnotations(), JUST_QUALIFIER, varDecls.getVariables().get(0).getType(), true);
+                    }
+                }
+            }
+
+            /**
+             * @param bean        The indexed bean of a declaration, or null if the index does not know it as a bean.
+             * @param impliedName A further name the declaration could be renamed by, or null.
+             * @return true if none of the bean's names, aliases, qualifiers and the implied name are in the table.
+             */
+            private boolean isIndexedWithoutRenamedName(@Nullable SpringBeanIndex.Bean bean, @Nullable String impliedName) {
+                if (bean == null || byOldName.containsKey(bean.getName()) ||
+                    (impliedName != null && byOldName.containsKey(impliedName))) {
+                    return false;
+                }
+                for (String alias : bean.getAliases()) {
+                    if (byOldName.containsKey(alias)) {
+                        return false;
+                    }
+                }
+                for (String qualifier : bean.getQualifiers()) {
+                    if (byOldName.containsKey(qualifier)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            /**
+             * Renames the bean named by a bean-like annotation in the list of annotations if it is in the table.
+             *
+             * @param reference Whether the annotations qualify a reference to a bean rather than declare one.
+             * @return true in the specific case where there are bean-like annotations,
+             * but they don't determine the name of the bean, and therefore the J element itself should be renamed
+             */
+            private boolean maybeRenameBean(Collection<J.Annotation> annotations, Set<String> types, @Nullable JavaType beanType, boolean reference) {
+                BeanAnnotation beanAnnotation = findBeanAnnotation(annotations, types);
+                if (beanAnnotation == null) {
+                    return false;
+                }
+                J.Literal literalBeanName = beanAnnotation.getLiteralBeanName();
+                J.Assignment beanNameAssignment = beanAnnotation.getBeanNameAssignment();
+                if (literalBeanName != null) {
+                    renameNames(beanAnnotation.getAnnotation(), literalBeanName, beanType, reference,
+                            (a, rename) -> a.withArguments(ListUtils.map(a.getArguments(),
+                                    arg -> replace(arg, rename.getOldName(), rename.getNewName()))));
+                    return false;
+                } else if (beanNameAssignment != null) {
+                    int index = indexOf(beanAnnotation.getAnnotation().getArguments(), beanNameAssignment);
+                    renameNames(beanAnnotation.getAnnotation(), beanNameAssignment.getAssignment(), beanType, reference,
+                            (a, rename) -> a.withArguments(ListUtils.map(a.getArguments(), (i, arg) -> {
+                                if (i == index) {
+                                    J.Assignment assignment = (J.Assignment) arg;
+                                    return assignment.withAssignment(replace(assignment.getAssignment(), rename.getOldName(), rename.getNewName()));
+                                }
+                                return arg;
+                            })));
+                    return false;
+                } else if (isNameArray(beanAnnotation.getAnnotation())) {
+                    // the aliases of a bean, such as @Bean({"a", "b"}), name it instead of the method
+                    renameNames(beanAnnotation.getAnnotation(), beanAnnotation.getAnnotation().getArguments().get(0), beanType, reference,
+                            (a, rename) -> a.withArguments(ListUtils.mapFirst(a.getArguments(),
+                                    arg -> replace(arg, rename.getOldName(), rename.getNewName()))));
+                    return false;
+                }
+                return true;
+            }
+
+            /**
+             * Queues the rename of every name of a bean, a single name or an array of aliases, that is in the table.
+             */
+            private void renameNames(J.Annotation annotation, Expression names, @Nullable JavaType beanType, boolean reference,
+                                     BiFunction<J.Annotation, BeanRename, J.Annotation> annotationRename) {
+                if (names instanceof J.Literal) {
+                    Object name = ((J.Literal) names).getValue();
+                    BeanRename rename = name instanceof String ? find((String) name, beanType, reference) : null;
+                    if (rename != null) {
+                        annotationRenames.put(annotation,
+                                annotationRename.apply(annotationRenames.getOrDefault(annotation, annotation), rename));
+                    }
+                } else if (names instanceof J.NewArray && ((J.NewArray) names).getInitializer() != null) {
+                    for (Expression name : ((J.NewArray) names).getInitializer()) {
+                        renameNames(annotation, name, beanType, reference, annotationRename);
+                    }
+                }
+            }
+
+            /**
+             * @param beanType  The type of the bean, or the declared type of a reference to it.
+             * @param reference Whether the bean is referred to rather than declared, in which case it also matches a
+             *                  rename of the given type when the project declares a bean of that type with the name.
+             */
+            @Nullable
+            private BeanRename find(String oldName, @Nullable JavaType beanType, boolean reference) {
+                List<BeanRename> candidates = byOldName.get(oldName);
+                if (candidates != null) {
+                    for (BeanRename rename : candidates) {
+                        if (rename.getType() == null || TypeUtils.isOfClassType(beanType, rename.getType()) ||
+                            (reference && declaresBean(oldName, rename.getType()))) {
+                            return rename;
+                        }
+                    }
+                }
+                return null;
+            }
+
+            /**
+             * @return true if the project declares a bean with the name or alias whose type is the given type.
+             */
+            private boolean declaresBean(String name, String type) {
+                if (beans != null) {
+                    for (SpringBeanIndex.Bean bean : beans.getBeansByName(name)) {
+                        if (type.equals(bean.getType())) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    private static UUID projectId(JavaSourceFile sourceFile) {
+        return sourceFile.getMarkers().findFirst(JavaProject.class).map(JavaProject::getId).orElse(new UUID(0, 0));
+    }
+
+    private Map<String, List<BeanRename>> renamesByOldName() {
+        Map<String, List<BeanRename>> byOldName = renamesByOldName.get();
+        if (byOldName == null) {
+            byOldName = new HashMap<>();
+            for (BeanRename rename : renames) {
+                if (!rename.getOldName().equals(rename.getNewName())) {
+                    byOldName.computeIfAbsent(rename.getOldName(), n -> new ArrayList<>(1)).add(rename);
+                }
+            }
+            if (!renamesByOldName.compareAndSet(null, byOldName)) {
+                byOldName = renamesByOldName.get();
+            }
+        }
+        return byOldName;
+    }
+
+    private static int indexOf(@Nullable List<Expression> arguments, Expression argument) {
+        if (arguments != null) {
+            for (int i = 0; i < arguments.size(); i++) {
+                if (arguments.get(i) == argument) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static TreeVisitor<J, ExecutionContext> renameAnnotations(Map<J.Annotation, J.Annotation> annotationRenames) {
+        return new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.Annotation visitAnnotation(J.Annotation annotation, ExecutionContext ctx) {
+                J.Annotation renamed = annotationRenames.get(annotation);
+                return renamed != null ? renamed : super.visitAnnotation(annotation, ctx);
+            }
+        };
+    }
+
+    /**
+     * Renames the bean methods and classes of a compilation unit, along with their references.
+     *
+     * @param methodRenames The new method names by {@link org.openrewrite.java.MethodMatcher#methodPattern} of the
+     *                      method, which are all renamed in one traversal.
+     * @param typeRenames   The new fully qualified names by the fully qualified name of the class. Each is renamed
+     *                      by {@link ChangeType}, which also moves the source file and updates the imports.
+     */
+    private static TreeVisitor<J, ExecutionContext> renameDeclarations(Map<String, String> methodRenames, Map<String, String> typeRenames) {
+        return new JavaVisitor<ExecutionContext>() {
+            @Override
+            public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (!(tree instanceof JavaSourceFile)) {
+                    return super.visit(tree, ctx);
+                }
+                J j = methodRenames.isEmpty() ? (J) tree : new RenameMethods(methodRenames).visit(tree, ctx);
+                for (Map.Entry<String, String> typeRename : typeRenames.entrySet()) {
+                    j = (J) new ChangeType(typeRename.getKey(), typeRename.getValue(), false).getVisitor().visit(j, ctx);
+                }
+                return j;
+            }
+        };
+    }
+
+    /**
+     * Renames the declarations, invocations and references of methods, as {@link org.openrewrite.java.ChangeMethodName} does for a single
+     * method that is not matched on its overrides.
+     */
+    private static class RenameMethods extends JavaIsoVisitor<ExecutionContext> {
+        private final Map<String, String> newNamesByPattern;
+
+        RenameMethods(Map<String, String> newNamesByPattern) {
+            this.newNamesByPattern = newNamesByPattern;
+        }
+
+        @Override
+        public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+            J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
+            JavaType.Method type = renamed(m.getMethodType());
+            return type == null ? m : m.withName(m.getName().withSimpleName(type.getName())).withMethodType(type);
+        }
+
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+            JavaType.Method type = renamed(m.getMethodType());
+            return type == null ? m : m.withName(m.getName().withSimpleName(type.getName())).withMethodType(type);
+        }
+
+        @Override
+        public J.MemberReference visitMemberReference(J.MemberReference memberRef, ExecutionContext ctx) {
+            J.MemberReference m = super.visitMemberReference(memberRef, ctx);
+            JavaType.Method type = renamed(m.getMethodType());
+            return type == null ? m : m.withReference(m.getReference().withSimpleName(type.getName())).withMethodType(type);
+        }
+
+        /**
+         * @return The method type with its new name, or null if the method is not renamed.
+         */
+        private @Nullable JavaType.Method renamed(@Nullable JavaType.Method type) {
+            String newName = type == null ? null : newNamesByPattern.get(methodPattern(type));
+            return newName == null ? null : type.withName(newName);
+        }
+    }
+
+    @Value
+    public static class BeanRename {
+        @Nullable
+        String type;
+
+        String oldName;
+        String newName;
+    }
+}
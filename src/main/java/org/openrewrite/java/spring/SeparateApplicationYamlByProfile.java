@@ -27,6 +27,7 @@ import java.nio.file.Path;
 import java.util.*;
 
 public class SeparateApplicationYamlByProfile extends ScanningRecipe<SeparateApplicationYamlByProfile.ApplicationProfiles> {
+    private static final List<String> APPLICATION_YAML = Arrays.asList("**/application.yml", "**/application.yaml");
 
     @Override
     public String getDisplayName() {
@@ -48,35 +49,21 @@ public class SeparateApplicationYamlByProfile extends ScanningRecipe<SeparateApp
         return new YamlIsoVisitor<ExecutionContext>() {
             @Override
             public Yaml.Documents visitDocuments(Yaml.Documents yaml, ExecutionContext ctx) {
-                if (PathUtils.matchesGlob(yaml.getSourcePath(), "**/application.yml")) {
-                    Set<Yaml.Documents> profiles = new HashSet<>(yaml.getDocuments().size());
-
-                    //noinspection unchecked
-                    Yaml.Documents mainYaml = yaml.withDocuments(ListUtils.map(
-                            (List<Yaml.Document>) yaml.getDocuments(),
-                            doc -> {
-                                String profileName = FindProperty.find(doc, "spring.config.activate.on-profile", true).stream()
-                                        .findAny()
-                                        .map(profile -> ((Yaml.Scalar) profile).getValue())
-                                        .orElse(null);
-
-                                if (profileName != null && profileName.matches("[A-z0-9-]+")) {
-                                    Yaml.Document profileDoc = (Yaml.Document) new DeleteProperty("spring.config.activate.on-profile", true, true)
-                                            .getVisitor().visit(doc, ctx, new Cursor(null, yaml));
-                                    assert profileDoc != null;
-                                    profiles.add(yaml
-                                            .withId(Tree.randomId())
-                                            .withDocuments(Collections.singletonList(profileDoc.withExplicit(false)))
-                                            .withSourcePath(yaml.getSourcePath().resolveSibling("application-" + profileName + ".yml")));
-                                    return null;
-                                }
-
-                                return doc;
-                            }));
-
-                    if (!profiles.isEmpty()) {
-                        acc.getModifiedMainProfileFiles().put(yaml.getSourcePath(), mainYaml);
-                        acc.getNewProfileFiles().addAll(profiles);
+                acc.getExistingSourcePaths().add(yaml.getSourcePath());
+                if (SpringExecutionContextView.view(ctx).getConfigFileMatcher(APPLICATION_YAML).matches(yaml.getSourcePath())) {
+                    Map<Integer, String> profileByDocument = new LinkedHashMap<>();
+                    List<? extends Yaml.Document> documents = yaml.getDocuments();
+                    for (int i = 0; i < documents.size(); i++) {
+                        String profileName = FindProperty.find(documents.get(i), "spring.config.activate.on-profile", true).stream()
+                                .findAny()
+                                .map(profile -> ((Yaml.Scalar) profile).getValue())
+                                .orElse(null);
+                        if (profileName != null && profileName.matches("[A-z0-9-]+")) {
+                            profileByDocument.put(i, profileName);
+                        }
+                    }
+                    if (!profileByDocument.isEmpty()) {
+                        acc.getProfileDocuments().put(yaml.getSourcePath(), new ProfileDocuments(yaml, profileByDocument));
                     }
                 }
                 return yaml;
@@ -86,7 +73,48 @@ public class SeparateApplicationYamlByProfile extends ScanningRecipe<SeparateApp
 
     @Override
     public Collection<SourceFile> generate(ApplicationProfiles acc, ExecutionContext ctx) {
-        return acc.getNewProfileFiles();
+        List<SourceFile> profileFiles = new ArrayList<>();
+        for (ProfileDocuments profileDocuments : acc.getProfileDocuments().values()) {
+            Yaml.Documents yaml = profileDocuments.getYaml();
+            String extension = yaml.getSourcePath().toString().endsWith(".yaml") ? ".yaml" : ".yml";
+
+            Map<Path, List<Yaml.Document>> documentsByPath = new LinkedHashMap<>();
+            for (Iterator<Map.Entry<Integer, String>> it = profileDocuments.getProfileByDocument().entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Integer, String> profile = it.next();
+                Path profilePath = yaml.getSourcePath().resolveSibling("application-" + profile.getValue() + extension);
+                if (hasProfileFile(acc, yaml.getSourcePath(), profile.getValue())) {
+                    // keep the document in the main file rather than overwrite a profile file that already exists
+                    it.remove();
+                    continue;
+                }
+                Yaml.Document profileDoc = (Yaml.Document) new DeleteProperty("spring.config.activate.on-profile", true, true)
+                        .getVisitor().visit(yaml.getDocuments().get(profile.getKey()), ctx, new Cursor(null, yaml));
+                assert profileDoc != null;
+                List<Yaml.Document> documents = documentsByPath.computeIfAbsent(profilePath, p -> new ArrayList<>());
+                documents.add(documents.isEmpty() ? profileDoc.withExplicit(false) : profileDoc);
+            }
+
+            for (Map.Entry<Path, List<Yaml.Document>> profileFile : documentsByPath.entrySet()) {
+                profileFiles.add(yaml
+                        .withId(Tree.randomId())
+                        .withDocuments(profileFile.getValue())
+                        .withSourcePath(profileFile.getKey()));
+            }
+        }
+        return profileFiles;
+    }
+
+    /**
+     * @return true if a profile file exists next to the application YAML file, whichever of the two YAML extensions
+     * either of them has.
+     */
+    private static boolean hasProfileFile(ApplicationProfiles acc, Path applicationYaml, String profile) {
+        for (String extension : Arrays.asList(".yml", ".yaml")) {
+            if (acc.getExistingSourcePaths().contains(applicationYaml.resolveSibling("application-" + profile + extension))) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -94,14 +122,31 @@ public class SeparateApplicationYamlByProfile extends ScanningRecipe<SeparateApp
         return new YamlIsoVisitor<ExecutionContext>() {
             @Override
             public Yaml.Documents visitDocuments(Yaml.Documents yaml, ExecutionContext ctx) {
-                return acc.getModifiedMainProfileFiles().getOrDefault(yaml.getSourcePath(), yaml);
+                ProfileDocuments profileDocuments = acc.getProfileDocuments().get(yaml.getSourcePath());
+                if (profileDocuments == null || profileDocuments.getProfileByDocument().isEmpty() ||
+                    profileDocuments.getYaml().getDocuments().size() != yaml.getDocuments().size()) {
+                    return yaml;
+                }
+                //noinspection unchecked
+                return yaml.withDocuments(ListUtils.map((List<Yaml.Document>) yaml.getDocuments(),
+                        (i, doc) -> profileDocuments.getProfileByDocument().containsKey(i) ? null : doc));
             }
         };
     }
 
     @Value
     public static class ApplicationProfiles {
-        Map<Path, Yaml.Documents> modifiedMainProfileFiles = new HashMap<>();
-        Set<SourceFile> newProfileFiles = new HashSet<>();
+        Map<Path, ProfileDocuments> profileDocuments = new HashMap<>();
+        Set<Path> existingSourcePaths = new HashSet<>();
+    }
+
+    /**
+     * The documents of an application YAML file that belong to a profile. The file itself is the tree that was scanned,
+     * not a rewritten copy, and the profile files are only split from it when they are generated.
+     */
+    @Value
+    public static class ProfileDocuments {
+        Yaml.Documents yaml;
+        Map<Integer, String> profileByDocument;
     }
 }
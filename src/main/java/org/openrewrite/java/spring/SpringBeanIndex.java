@@ -0,0 +1,440 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.Value;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.SourceFileVersion;
+import org.openrewrite.java.tree.*;
+
+import static org.openrewrite.java.MethodMatcher.methodPattern;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The Spring beans that a single project declares, both the classes annotated with a stereotype such as
+ * {@code @Component} or {@code @Service} and the {@code @Bean} methods.
+ * <P>
+ * Use {@link SpringExecutionContextView#getBeanIndex(JavaSourceFile)} to obtain the index of a source file's project,
+ * which scans the file into it. The annotations of each file are read once and again only once the file has been
+ * changed, so every recipe in a run shares the result. A scanning recipe that obtains the index for every Java source
+ * file in its scanning phase can query the beans of the whole project in its editing phase; any other recipe can rely
+ * only on the beans of the files scanned so far, and in particular on those of the file it is visiting.
+ * <P>
+ * Beans can be looked up by name or alias, by any type they are assignable to, and by the class or method that
+ * declares them.
+ */
+public class SpringBeanIndex {
+    public static final String FQN_BEAN = "org.springframework.context.annotation.Bean";
+    public static final String FQN_COMPONENT = "org.springframework.stereotype.Component";
+
+    private static final String FQN_QUALIFIER = "org.springframework.beans.factory.annotation.Qualifier";
+    private static final String FQN_PRIMARY = "org.springframework.context.annotation.Primary";
+
+    private final Map<Path, FileBeans> files = new ConcurrentHashMap<>();
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> stereotypes = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> beanAnnotations = new ConcurrentHashMap<>();
+
+    private final Map<String, List<Bean>> beansByName = new ConcurrentHashMap<>();
+    private final Map<String, List<Bean>> beansByType = new ConcurrentHashMap<>();
+    private final Map<String, Bean> beansByDeclaration = new ConcurrentHashMap<>();
+
+    /**
+     * A bean as it is declared in a source file.
+     */
+    @Value
+    public static class Bean {
+        /**
+         * The name of the bean, which is either given by its annotation or derived from the class or method name.
+         */
+        String name;
+
+        /**
+         * The further names given by a {@code @Bean} annotation that lists more than one name.
+         */
+        List<String> aliases;
+
+        /**
+         * The fully qualified name of the bean's type, which is the declared return type of a {@code @Bean} method.
+         */
+        String type;
+
+        /**
+         * The fully qualified name of the class that declares the bean, which is the bean's type for a component.
+         */
+        String declaringType;
+
+        /**
+         * The name of the {@code @Bean} method, or null for a component.
+         */
+        @Nullable
+        String method;
+
+        /**
+         * The fully qualified name of the annotation that declares the bean, such as
+         * {@code org.springframework.stereotype.Service} or {@link #FQN_BEAN}.
+         */
+        String stereotype;
+
+        List<String> qualifiers;
+
+        boolean primary;
+
+        Path sourcePath;
+
+        public boolean isBeanMethod() {
+            return method != null;
+        }
+    }
+
+    /**
+     * Adds the beans that a Java source file declares to the index, if the index does not already contain this version
+     * of the file.
+     *
+     * @param sourceFile A Java, Kotlin or Groovy source file of the project.
+     * @return true if the index changed.
+     */
+    public synchronized boolean scan(JavaSourceFile sourceFile) {
+        Path sourcePath = sourceFile.getSourcePath();
+        FileBeans existing = files.get(sourcePath);
+        if (existing != null && existing.sourceFile.isOf(sourceFile)) {
+            return false;
+        }
+
+        List<IndexedBean> beans = new ArrayList<>();
+        for (J.ClassDeclaration classDecl : sourceFile.getClasses()) {
+            addBeans(classDecl, sourcePath, beans);
+        }
+        if (existing != null) {
+            for (IndexedBean bean : existing.beans) {
+                unindex(bean);
+            }
+        }
+        for (IndexedBean bean : beans) {
+            index(bean);
+        }
+        files.put(sourcePath, new FileBeans(sourceFile, beans));
+        return existing != null || !beans.isEmpty();
+    }
+
+    /**
+     * @param name The name or an alias of a bean.
+     * @return Every bean declared with the name, usually at most one.
+     */
+    public List<Bean> getBeansByName(String name) {
+        return beansByName.getOrDefault(name, Collections.emptyList());
+    }
+
+    /**
+     * @param fullyQualifiedName The fully qualified name of a class or interface.
+     * @return Every bean whose type is the given type or a subtype of it.
+     */
+    public List<Bean> getBeansByType(String fullyQualifiedName) {
+        return beansByType.getOrDefault(fullyQualifiedName, Collections.emptyList());
+    }
+
+    /**
+     * @param type The type of a class declaration of a file that has been scanned.
+     * @return The component that the class declares, or null if the class has no stereotype annotation.
+     */
+    public @Nullable Bean getComponent(@Nullable JavaType.FullyQualified type) {
+        return type == null ? null : beansByDeclaration.get(type.getFullyQualifiedName());
+    }
+
+    /**
+     * @param method A method declaration of a file that has been scanned.
+     * @return The bean that the method declares, or null if it is not a {@code @Bean} method. Methods are matched by
+     * their signature, so an overload of a {@code @Bean} method is only a bean if it is annotated itself.
+     */
+    public @Nullable Bean getBeanMethod(J.MethodDeclaration method) {
+        return method.getMethodType() == null ? null : beansByDeclaration.get(methodPattern(method));
+    }
+
+    /**
+     * @return Every bean in the index, in no particular order.
+     */
+    public Collection<Bean> getBeans() {
+        return Collections.unmodifiableCollection(beansByDeclaration.values());
+    }
+
+    private void addBeans(J.ClassDeclaration classDecl, Path sourcePath, List<IndexedBean> beans) {
+        JavaType.FullyQualified classType = classDecl.getType();
+        if (classType != null) {
+            String declaringType = intern(classType.getFullyQualifiedName());
+            Bean component = component(classDecl, classType, declaringType, sourcePath);
+            if (component != null) {
+                beans.add(new IndexedBean(component, declaringType, assignableTypes(classType)));
+            }
+            for (Statement statement : classDecl.getBody().getStatements()) {
+                if (statement instanceof J.MethodDeclaration) {
+                    IndexedBean bean = beanMethod((J.MethodDeclaration) statement, declaringType, sourcePath);
+                    if (bean != null) {
+                        beans.add(bean);
+                    }
+                }
+            }
+        }
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.ClassDeclaration) {
+                addBeans((J.ClassDeclaration) statement, sourcePath, beans);
+            }
+        }
+    }
+
+    private @Nullable Bean component(J.ClassDeclaration classDecl, JavaType.FullyQualified classType,
+                                     String declaringType, Path sourcePath) {
+        String stereotype = null;
+        List<String> names = Collections.emptyList();
+        List<String> qualifiers = new ArrayList<>(0);
+        boolean primary = false;
+        for (J.Annotation annotation : classDecl.getAllAnnotations()) {
+            JavaType.FullyQualified annotationType = TypeUtils.asFullyQualified(annotation.getType());
+            if (annotationType == null) {
+                continue;
+            }
+            String fqn = annotationType.getFullyQualifiedName();
+            if (stereotype == null && isMetaAnnotatedWith(annotationType, FQN_COMPONENT, stereotypes)) {
+                stereotype = intern(fqn);
+                names = names(annotation);
+            } else if (FQN_QUALIFIER.equals(fqn)) {
+                qualifiers.addAll(names(annotation));
+            } else if (FQN_PRIMARY.equals(fqn)) {
+                primary = true;
+            }
+        }
+        if (stereotype == null) {
+            return null;
+        }
+        String name = names.isEmpty() ? intern(defaultComponentName(classType.getClassName())) : names.get(0);
+        return new Bean(name, Collections.emptyList(), declaringType, declaringType, null, stereotype,
+                qualifiers(qualifiers), primary, sourcePath);
+    }
+
+    private @Nullable IndexedBean beanMethod(J.MethodDeclaration method, String declaringType, Path sourcePath) {
+        boolean bean = false;
+        List<String> names = Collections.emptyList();
+        List<String> qualifiers = new ArrayList<>(0);
+        boolean primary = false;
+        for (J.Annotation annotation : method.getAllAnnotations()) {
+            JavaType.FullyQualified annotationType = TypeUtils.asFullyQualified(annotation.getType());
+            if (!bean && annotationType != null && isMetaAnnotatedWith(annotationType, FQN_BEAN, beanAnnotations)) {
+                bean = true;
+                names = names(annotation);
+            } else if (TypeUtils.isOfClassType(annotation.getType(), FQN_QUALIFIER)) {
+                qualifiers.addAll(names(annotation));
+            } else if (TypeUtils.isOfClassType(annotation.getType(), FQN_PRIMARY)) {
+                primary = true;
+            }
+        }
+        if (!bean || method.getMethodType() == null) {
+            return null;
+        }
+        String name = names.isEmpty() ? intern(method.getSimpleName()) : names.get(0);
+        List<String> aliases = names.size() > 1 ?
+                Collections.unmodifiableList(new ArrayList<>(names.subList(1, names.size()))) :
+                Collections.emptyList();
+        JavaType.FullyQualified returnType = TypeUtils.asFullyQualified(method.getMethodType().getReturnType());
+        if (returnType == null && method.getReturnTypeExpression() != null) {
+            returnType = TypeUtils.asFullyQualified(method.getReturnTypeExpression().getType());
+        }
+        String type = returnType == null ? "java.lang.Object" : intern(returnType.getFullyQualifiedName());
+        return new IndexedBean(new Bean(name, aliases, type, declaringType, intern(method.getSimpleName()),
+                FQN_BEAN, qualifiers(qualifiers), primary, sourcePath),
+                intern(methodPattern(method)),
+                returnType == null ? Collections.singletonList(type) : assignableTypes(returnType));
+    }
+
+    /**
+     * @return Whether the annotation is the given annotation or, like {@code @Service} for {@code @Component}, is
+     * meta-annotated with it. The verdict for each annotation type is cached.
+     */
+    private static boolean isMetaAnnotatedWith(JavaType.FullyQualified annotationType, String fqn, Map<String, Boolean> verdicts) {
+        Boolean verdict = verdicts.get(annotationType.getFullyQualifiedName());
+        if (verdict == null) {
+            verdict = isMetaAnnotatedWith(annotationType, fqn, new HashSet<>());
+            verdicts.put(annotationType.getFullyQualifiedName(), verdict);
+        }
+        return verdict;
+    }
+
+    private static boolean isMetaAnnotatedWith(JavaType.FullyQualified annotationType, String fqn, Set<String> visited) {
+        if (fqn.equals(annotationType.getFullyQualifiedName())) {
+            return true;
+        }
+        if (!visited.add(annotationType.getFullyQualifiedName())) {
+            return false;
+        }
+        for (JavaType.FullyQualified metaAnnotation : annotationType.getAnnotations()) {
+            if (isMetaAnnotatedWith(metaAnnotation, fqn, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The string literals given as the {@code value} or {@code name} of the annotation.
+     */
+    private List<String> names(J.Annotation annotation) {
+        if (annotation.getArguments() == null) {
+            return Collections.emptyList();
+        }
+        List<String> names = new ArrayList<>(1);
+        for (Expression argument : annotation.getArguments()) {
+            if (argument instanceof J.Assignment) {
+                J.Assignment assignment = (J.Assignment) argument;
+                if (assignment.getVariable() instanceof J.Identifier) {
+                    String attribute = ((J.Identifier) assignment.getVariable()).getSimpleName();
+                    if ("value".equals(attribute) || "name".equals(attribute)) {
+                        addNames(assignment.getAssignment(), names);
+                    }
+                }
+            } else {
+                addNames(argument, names);
+            }
+        }
+        return names;
+    }
+
+    private void addNames(Expression expression, List<String> names) {
+        if (expression instanceof J.Literal) {
+            Object value = ((J.Literal) expression).getValue();
+            if (value instanceof String && !((String) value).isEmpty()) {
+                names.add(intern((String) value));
+            }
+        } else if (expression instanceof J.NewArray && ((J.NewArray) expression).getInitializer() != null) {
+            for (Expression element : ((J.NewArray) expression).getInitializer()) {
+                addNames(element, names);
+            }
+        }
+    }
+
+    /**
+     * @param className The class name without its package, such as {@code Outer.Inner} for a nested class.
+     * @return The name Spring derives from a class name, which is the class name with its first letter lower-cased,
+     * unless its first two letters are upper case.
+     */
+    static String defaultComponentName(String className) {
+        if (className.isEmpty() || (className.length() > 1 && Character.isUpperCase(className.charAt(1)) &&
+                                    Character.isUpperCase(className.charAt(0)))) {
+            return className;
+        }
+        return Character.toLowerCase(className.charAt(0)) + className.substring(1);
+    }
+
+    private static List<String> qualifiers(List<String> qualifiers) {
+        return qualifiers.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(qualifiers);
+    }
+
+    /**
+     * @return The fully qualified names of the type, its superclasses and the interfaces it implements, other than
+     * {@code java.lang.Object}.
+     */
+    private List<String> assignableTypes(JavaType.FullyQualified type) {
+        Set<String> types = new LinkedHashSet<>();
+        addAssignableTypes(type, types);
+        return new ArrayList<>(types);
+    }
+
+    private void addAssignableTypes(@Nullable JavaType.FullyQualified type, Set<String> types) {
+        if (type == null || "java.lang.Object".equals(type.getFullyQualifiedName()) ||
+            !types.add(intern(type.getFullyQualifiedName()))) {
+            return;
+        }
+        addAssignableTypes(type.getSupertype(), types);
+        for (JavaType.FullyQualified anInterface : type.getInterfaces()) {
+            addAssignableTypes(anInterface, types);
+        }
+    }
+
+    private void index(IndexedBean indexed) {
+        Bean bean = indexed.bean;
+        beansByDeclaration.put(indexed.declaration, bean);
+        add(beansByName, bean.getName(), bean);
+        for (String alias : bean.getAliases()) {
+            add(beansByName, alias, bean);
+        }
+        for (String type : indexed.assignableTypes) {
+            add(beansByType, type, bean);
+        }
+    }
+
+    private void unindex(IndexedBean indexed) {
+        Bean bean = indexed.bean;
+        beansByDeclaration.remove(indexed.declaration, bean);
+        remove(beansByName, bean.getName(), bean);
+        for (String alias : bean.getAliases()) {
+            remove(beansByName, alias, bean);
+        }
+        for (String type : indexed.assignableTypes) {
+            remove(beansByType, type, bean);
+        }
+    }
+
+    private static void add(Map<String, List<Bean>> index, String key, Bean bean) {
+        index.merge(key, Collections.singletonList(bean), (existing, added) -> {
+            List<Bean> merged = new ArrayList<>(existing.size() + 1);
+            merged.addAll(existing);
+            merged.add(bean);
+            return Collections.unmodifiableList(merged);
+        });
+    }
+
+    private static void remove(Map<String, List<Bean>> index, String key, Bean bean) {
+        index.computeIfPresent(key, (k, existing) -> {
+            List<Bean> remaining = new ArrayList<>(existing);
+            remaining.remove(bean);
+            return remaining.isEmpty() ? null : Collections.unmodifiableList(remaining);
+        });
+    }
+
+    private String intern(String s) {
+        String interned = strings.putIfAbsent(s, s);
+        return interned == null ? s : interned;
+    }
+
+    private static class IndexedBean {
+        final Bean bean;
+
+        /**
+         * The fully qualified name of a component, or the {@link org.openrewrite.java.MethodMatcher#methodPattern}
+         * of a {@code @Bean} method.
+         */
+        final String declaration;
+
+        final List<String> assignableTypes;
+
+        IndexedBean(Bean bean, String declaration, List<String> assignableTypes) {
+            this.bean = bean;
+            this.declaration = declaration;
+            this.assignableTypes = assignableTypes;
+        }
+    }
+
+    private static class FileBeans {
+        final SourceFileVersion sourceFile;
+
+        final List<IndexedBean> beans;
+
+        FileBeans(JavaSourceFile sourceFile, List<IndexedBean> beans) {
+            this.sourceFile = new SourceFileVersion(sourceFile);
+            this.beans = beans;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.openrewrite.PathUtils;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Matches source paths against the path expressions that identify Spring configuration files.
+ * <P>
+ * The expressions are compiled once: an expression whose file name contains no glob characters, such as
+ * "**&#47;application.yml", can only match a path with that exact file name, so every other path is rejected without
+ * evaluating the glob. The verdict for each path is cached, so a path is matched at most once per set of expressions.
+ * Use {@link SpringExecutionContextView#getConfigFileMatcher(List)} to obtain a matcher that is shared by every recipe
+ * in a run.
+ */
+public class SpringConfigFileMatcher {
+    private final List<String> pathExpressions;
+
+    /**
+     * The file names that a path must have to match, or null if an expression matches any file name.
+     */
+    @Nullable
+    private final Set<String> fileNames;
+
+    private final Map<Path, Boolean> verdicts = new ConcurrentHashMap<>();
+
+    public SpringConfigFileMatcher(List<String> pathExpressions) {
+        this.pathExpressions = new ArrayList<>(pathExpressions);
+        this.fileNames = fileNames(pathExpressions);
+    }
+
+    /**
+     * @param sourcePath The path of a source file.
+     * @return true if the path matches one of the expressions, or if there are no expressions.
+     */
+    public boolean matches(Path sourcePath) {
+        if (pathExpressions.isEmpty()) {
+            return true;
+        }
+        Boolean verdict = verdicts.get(sourcePath);
+        if (verdict == null) {
+            verdict = evaluate(sourcePath);
+            verdicts.put(sourcePath, verdict);
+        }
+        return verdict;
+    }
+
+    private boolean evaluate(Path sourcePath) {
+        if (fileNames != null) {
+            Path fileName = sourcePath.getFileName();
+            if (fileName == null || !fileNames.contains(fileName.toString())) {
+                return false;
+            }
+        }
+        for (String filePattern : pathExpressions) {
+            if (PathUtils.matchesGlob(sourcePath, filePattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static @Nullable Set<String> fileNames(List<String> pathExpressions) {
+        Set<String> fileNames = new HashSet<>();
+        for (String pathExpression : pathExpressions) {
+            String fileName = pathExpression.substring(Math.max(pathExpression.lastIndexOf('/'), pathExpression.lastIndexOf('\\')) + 1);
+            if (fileName.isEmpty() || isGlob(fileName)) {
+                return null;
+            }
+            fileNames.add(fileName);
+        }
+        return fileNames;
+    }
+
+    private static boolean isGlob(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            switch (segment.charAt(i)) {
+                case '*':
+                case '?':
+                case '[':
+                case '{':
+                case '!':
+                    return true;
+            }
+        }
+        return false;
+    }
+}
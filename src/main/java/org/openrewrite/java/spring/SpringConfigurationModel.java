@@ -0,0 +1,273 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.Value;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.PropertyKeyTrie;
+import org.openrewrite.java.spring.internal.SourceFileVersion;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The effective Spring configuration of a single project, merged from its {@code application*.properties},
+ * {@code application*.yml}, {@code application*.yaml} and {@code bootstrap*.yml} files.
+ * <P>
+ * Properties are keyed by profile. A profile is taken from the file name ({@code application-dev.yml}) or, for a
+ * document of a multi-document YAML file, from its {@code spring.config.activate.on-profile} (or legacy
+ * {@code spring.profiles}) key, which may list several profiles separated by commas. Properties outside of any profile
+ * belong to the {@link #DEFAULT_PROFILE default profile}. Within a profile, application files override bootstrap files
+ * and properties files override YAML files, as they do in Spring Boot.
+ * <P>
+ * Use {@link SpringExecutionContextView#getConfigurationModel(SourceFile)} to obtain the model of a source file's
+ * project with that file in it. A file is only read again once it has been changed, so every recipe in a run shares
+ * the result. Keys and values are interned per model.
+ */
+public class SpringConfigurationModel {
+    public static final String DEFAULT_PROFILE = "default";
+
+    private static final Pattern CONFIG_FILE = Pattern.compile("^(application|bootstrap)(?:-(.+))?\\.(properties|ya?ml)$");
+
+    private final Map<Path, FileConfiguration> files = new HashMap<>();
+    private final Map<String, String> strings = new HashMap<>();
+
+    @Nullable
+    private Map<String, Map<String, Property>> propertiesByProfile;
+
+    /**
+     * A property as it is defined in one of the configuration files.
+     */
+    @Value
+    public static class Property {
+        /**
+         * The flattened key, as written in the file.
+         */
+        String key;
+
+        String value;
+
+        String profile;
+
+        Path sourcePath;
+    }
+
+    /**
+     * Adds a source file to the model, if it is a Spring configuration file and the model does not already contain
+     * this version of it.
+     *
+     * @param sourceFile Any source file of the project.
+     * @return true if the model changed.
+     */
+    public synchronized boolean scan(SourceFile sourceFile) {
+        if (!(sourceFile instanceof Yaml.Documents) && !(sourceFile instanceof Properties.File)) {
+            return false;
+        }
+        Path sourcePath = sourceFile.getSourcePath();
+        Path fileName = sourcePath.getFileName();
+        Matcher matcher = CONFIG_FILE.matcher(fileName == null ? "" : fileName.toString());
+        if (!matcher.matches()) {
+            return false;
+        }
+        FileConfiguration existing = files.get(sourcePath);
+        if (existing != null && existing.sourceFile.isOf(sourceFile)) {
+            return false;
+        }
+
+        List<String> fileProfiles = matcher.group(2) == null ? null : Collections.singletonList(intern(matcher.group(2)));
+        int precedence = ("bootstrap".equals(matcher.group(1)) ? 0 : 2) + ("properties".equals(matcher.group(3)) ? 1 : 0);
+        List<Property> properties = new ArrayList<>();
+        if (sourceFile instanceof Yaml.Documents) {
+            for (Yaml.Document document : ((Yaml.Documents) sourceFile).getDocuments()) {
+                Map<String, String> documentProperties = new LinkedHashMap<>();
+                addYaml(document.getBlock(), "", documentProperties);
+                for (String profile : fileProfiles == null ? documentProfiles(documentProperties) : fileProfiles) {
+                    for (Map.Entry<String, String> property : documentProperties.entrySet()) {
+                        properties.add(new Property(property.getKey(), property.getValue(), profile, sourcePath));
+                    }
+                }
+            }
+        } else {
+            String profile = fileProfiles == null ? DEFAULT_PROFILE : fileProfiles.get(0);
+            for (Properties.Content content : ((Properties.File) sourceFile).getContent()) {
+                if (content instanceof Properties.Entry) {
+                    Properties.Entry entry = (Properties.Entry) content;
+                    properties.add(new Property(intern(entry.getKey()), intern(entry.getValue().getText()), profile, sourcePath));
+                }
+            }
+        }
+        files.put(sourcePath, new FileConfiguration(sourceFile, precedence, properties));
+        propertiesByProfile = null;
+        return true;
+    }
+
+    /**
+     * @return The profiles that at least one configuration file defines properties for, including the default profile.
+     */
+    public synchronized Set<String> getProfiles() {
+        Set<String> profiles = new TreeSet<>(merged().keySet());
+        profiles.add(DEFAULT_PROFILE);
+        return profiles;
+    }
+
+    /**
+     * @param profile A profile name, or {@link #DEFAULT_PROFILE}.
+     * @param key     A property key, matched using relaxed binding.
+     * @return The effective value of the property when the profile is active, falling back to the default profile.
+     */
+    public synchronized @Nullable String getValue(String profile, String key) {
+        Property property = find(profile, key);
+        if (property == null && !DEFAULT_PROFILE.equals(profile)) {
+            property = find(DEFAULT_PROFILE, key);
+        }
+        return property == null ? null : property.getValue();
+    }
+
+    /**
+     * @param key A property key, matched using relaxed binding.
+     * @return true if the property is set in any profile, including the default profile.
+     */
+    public synchronized boolean isSetInAnyProfile(String key) {
+        String normalizedKey = PropertyKeyTrie.normalizeKey(key);
+        for (Map<String, Property> properties : merged().values()) {
+            if (properties.containsKey(normalizedKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param sourcePath The path of a configuration file of the project.
+     * @param key        A property key, matched exactly as it is written in the file.
+     * @return true if the file has been scanned into the model and sets the property in any of its documents.
+     */
+    public synchronized boolean isSetIn(Path sourcePath, String key) {
+        FileConfiguration file = files.get(sourcePath);
+        return file != null && file.keys.contains(key);
+    }
+
+    /**
+     * @param key A property key, matched using relaxed binding.
+     * @return Every definition of the property across all files and profiles, including overridden ones.
+     */
+    public synchronized List<Property> findAll(String key) {
+        String normalizedKey = PropertyKeyTrie.normalizeKey(key);
+        List<Property> found = new ArrayList<>();
+        for (FileConfiguration file : sortedFiles()) {
+            for (Property property : file.properties) {
+                if (PropertyKeyTrie.normalizeKey(property.getKey()).equals(normalizedKey)) {
+                    found.add(property);
+                }
+            }
+        }
+        return found;
+    }
+
+    private @Nullable Property find(String profile, String key) {
+        Map<String, Property> properties = merged().get(profile);
+        return properties == null ? null : properties.get(PropertyKeyTrie.normalizeKey(key));
+    }
+
+    private Map<String, Map<String, Property>> merged() {
+        Map<String, Map<String, Property>> merged = propertiesByProfile;
+        if (merged == null) {
+            merged = new HashMap<>();
+            for (FileConfiguration file : sortedFiles()) {
+                // later files have a higher precedence, and so do later documents of the same file
+                for (Property property : file.properties) {
+                    merged.computeIfAbsent(property.getProfile(), p -> new HashMap<>())
+                            .put(intern(PropertyKeyTrie.normalizeKey(property.getKey())), property);
+                }
+            }
+            propertiesByProfile = merged;
+        }
+        return merged;
+    }
+
+    private List<FileConfiguration> sortedFiles() {
+        List<FileConfiguration> sorted = new ArrayList<>(files.values());
+        sorted.sort(Comparator.<FileConfiguration>comparingInt(f -> f.precedence)
+                .thenComparing(f -> f.sourcePath));
+        return sorted;
+    }
+
+    private void addYaml(@Nullable Yaml.Block block, String prefix, Map<String, String> properties) {
+        if (block instanceof Yaml.Mapping) {
+            for (Yaml.Mapping.Entry entry : ((Yaml.Mapping) block).getEntries()) {
+                String key = prefix.isEmpty() ? entry.getKey().getValue() : prefix + "." + entry.getKey().getValue();
+                addYaml(entry.getValue(), key, properties);
+            }
+        } else if (block instanceof Yaml.Sequence) {
+            List<Yaml.Sequence.Entry> entries = ((Yaml.Sequence) block).getEntries();
+            for (int i = 0; i < entries.size(); i++) {
+                addYaml(entries.get(i).getBlock(), prefix + "[" + i + "]", properties);
+            }
+        } else if (block instanceof Yaml.Scalar && !prefix.isEmpty()) {
+            properties.put(intern(prefix), intern(((Yaml.Scalar) block).getValue()));
+        }
+    }
+
+    private List<String> documentProfiles(Map<String, String> documentProperties) {
+        for (Map.Entry<String, String> property : documentProperties.entrySet()) {
+            String key = PropertyKeyTrie.normalizeKey(property.getKey());
+            if ("spring.config.activate.onprofile".equals(key) || "spring.profiles".equals(key)) {
+                List<String> profiles = new ArrayList<>(1);
+                for (String profile : property.getValue().split(",")) {
+                    if (!profile.trim().isEmpty()) {
+                        profiles.add(intern(profile.trim()));
+                    }
+                }
+                if (!profiles.isEmpty()) {
+                    return profiles;
+                }
+            }
+        }
+        return Collections.singletonList(DEFAULT_PROFILE);
+    }
+
+    private String intern(String s) {
+        String interned = strings.putIfAbsent(s, s);
+        return interned == null ? s : interned;
+    }
+
+    private static class FileConfiguration {
+        final SourceFileVersion sourceFile;
+        final Path sourcePath;
+        final int precedence;
+        final List<Property> properties;
+
+        /**
+         * The keys that the file sets, as they are written in it.
+         */
+        final Set<String> keys = new HashSet<>();
+
+        FileConfiguration(SourceFile sourceFile, int precedence, List<Property> properties) {
+            this.sourceFile = new SourceFileVersion(sourceFile);
+            this.sourcePath = sourceFile.getSourcePath();
+            this.precedence = precedence;
+            this.properties = properties;
+            for (Property property : properties) {
+                keys.add(property.getKey());
+            }
+        }
+    }
+}
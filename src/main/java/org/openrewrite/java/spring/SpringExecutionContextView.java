@@ -17,14 +17,30 @@ package org.openrewrite.java.spring;
 
 import org.openrewrite.DelegatingExecutionContext;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.java.tree.JavaSourceFile;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @SuppressWarnings("ALL")
 public class SpringExecutionContextView extends DelegatingExecutionContext {
 
     private static final String DEFAULT_APPLICATION_CONFIGURATION_PATHS = "org.openrewrite.java.spring.defaultApplicationConfigurationPaths";
+    private static final String PROPERTY_INDEXES = "org.openrewrite.java.spring.propertyIndexes";
+    private static final String CONFIG_FILE_MATCHERS = "org.openrewrite.java.spring.configFileMatchers";
+    private static final String CONFIGURATION_MODELS = "org.openrewrite.java.spring.configurationModels";
+    private static final String BEAN_INDEXES = "org.openrewrite.java.spring.beanIndexes";
+    private static final String PARSER_CLASSPATHS = "org.openrewrite.java.spring.parserClasspaths";
+    private static final UUID NO_PROJECT = new UUID(0, 0);
 
     public SpringExecutionContextView(ExecutionContext delegate) {
         super(delegate);
@@ -58,4 +74,103 @@ public class SpringExecutionContextView extends DelegatingExecutionContext {
     public List<String> getDefaultApplicationConfigurationPaths() {
         return getMessage(DEFAULT_APPLICATION_CONFIGURATION_PATHS, Arrays.asList("**/application.yml", "**/application.properties", "**/application.yaml"));
     }
+
+    /**
+     * The matcher for the configuration files selected by a recipe's path expressions. Matchers are shared by every
+     * recipe in a run that uses the same expressions, so that each source path is matched against them only once.
+     *
+     * @param pathExpressions The path expressions of a recipe. If null or empty, the
+     *                        {@link #getDefaultApplicationConfigurationPaths() default configuration paths} are used.
+     * @return A matcher for the configuration files.
+     */
+    public SpringConfigFileMatcher getConfigFileMatcher(@Nullable List<String> pathExpressions) {
+        List<String> expressions = pathExpressions == null || pathExpressions.isEmpty() ?
+                getDefaultApplicationConfigurationPaths() : pathExpressions;
+        Map<List<String>, SpringConfigFileMatcher> matchers = computeMessageIfAbsent(CONFIG_FILE_MATCHERS, k -> new ConcurrentHashMap<>());
+        return matchers.computeIfAbsent(expressions, SpringConfigFileMatcher::new);
+    }
+
+    /**
+     * The index of the property keys defined in a YAML or properties file. The index is built the first time it is
+     * requested for a source file, and it is rebuilt only once the source file has been changed. Indexes do not keep
+     * the source files they were built from.
+     *
+     * @param sourceFile A YAML or properties file. Any other source file has an empty index, which is not cached.
+     * @return The property keys defined in the source file.
+     */
+    public SpringPropertyIndex getPropertyIndex(SourceFile sourceFile) {
+        if (!SpringPropertyIndex.isConfigurationFile(sourceFile)) {
+            return SpringPropertyIndex.EMPTY;
+        }
+        Map<UUID, SpringPropertyIndex> indexes = computeMessageIfAbsent(PROPERTY_INDEXES, k -> new ConcurrentHashMap<>());
+        SpringPropertyIndex index = indexes.get(sourceFile.getId());
+        if (index == null || !index.isIndexOf(sourceFile)) {
+            index = SpringPropertyIndex.build(sourceFile);
+            indexes.put(sourceFile.getId(), index);
+        }
+        return index;
+    }
+
+    /**
+     * The effective Spring configuration of the project that a source file belongs to. There is one model per
+     * {@link JavaProject} for the whole run; source files without a project share a single model.
+     *
+     * @param sourceFile Any source file of the project. A Spring configuration file is scanned into the model unless
+     *                   this version of it already has been.
+     * @return The project's configuration model, which contains this file and the files scanned before it.
+     */
+    public SpringConfigurationModel getConfigurationModel(SourceFile sourceFile) {
+        Map<UUID, SpringConfigurationModel> models = computeMessageIfAbsent(CONFIGURATION_MODELS, k -> new ConcurrentHashMap<>());
+        UUID projectId = sourceFile.getMarkers().findFirst(JavaProject.class).map(JavaProject::getId).orElse(NO_PROJECT);
+        SpringConfigurationModel model = models.computeIfAbsent(projectId, id -> new SpringConfigurationModel());
+        model.scan(sourceFile);
+        return model;
+    }
+
+    /**
+     * The Spring beans declared by the project that a source file belongs to. There is one index per
+     * {@link JavaProject} for the whole run; source files without a project share a single index.
+     *
+     * @param sourceFile A Java, Kotlin or Groovy source file, which is scanned into the index unless this version of
+     *                   it already has been.
+     * @return The project's bean index, which contains the beans of this file and of the files scanned before it.
+     */
+    public SpringBeanIndex getBeanIndex(JavaSourceFile sourceFile) {
+        Map<UUID, SpringBeanIndex> indexes = computeMessageIfAbsent(BEAN_INDEXES, k -> new ConcurrentHashMap<>());
+        UUID projectId = sourceFile.getMarkers().findFirst(JavaProject.class).map(JavaProject::getId).orElse(NO_PROJECT);
+        SpringBeanIndex index = indexes.computeIfAbsent(projectId, id -> new SpringBeanIndex());
+        index.scan(sourceFile);
+        return index;
+    }
+
+    /**
+     * The jars bundled in {@code META-INF/rewrite/classpath} that match the given artifact names. Each artifact name is
+     * resolved, and its jar extracted, once per run, however many recipes and templates parse against it.
+     *
+     * @param artifactNamesWithVersions Artifact names as passed to
+     *                                  {@link JavaParser.Builder#classpathFromResources(ExecutionContext, String...)}.
+     * @return The paths of the matching jars.
+     */
+    public List<Path> getParserClasspath(String... artifactNamesWithVersions) {
+        Map<String, List<Path>> classpaths = computeMessageIfAbsent(PARSER_CLASSPATHS, k -> new ConcurrentHashMap<>());
+        List<Path> classpath = new ArrayList<>();
+        for (String artifactNameWithVersion : artifactNamesWithVersions) {
+            classpath.addAll(classpaths.computeIfAbsent(artifactNameWithVersion,
+                    artifact -> JavaParser.dependenciesFromResources(this, artifact)));
+        }
+        return classpath;
+    }
+
+    /**
+     * A replacement for {@code JavaParser.fromJavaVersion().classpathFromResources(ctx, ...)} that resolves the
+     * classpath through {@link #getParserClasspath(String...)}.
+     *
+     * @param artifactNamesWithVersions Artifact names as passed to
+     *                                  {@link JavaParser.Builder#classpathFromResources(ExecutionContext, String...)}.
+     * @return A parser builder for the matching jars.
+     */
+    public JavaParser.Builder<?, ?> getJavaParser(String... artifactNamesWithVersions) {
+        return JavaParser.fromJavaVersion()
+                .classpath(getParserClasspath(artifactNamesWithVersions));
+    }
 }
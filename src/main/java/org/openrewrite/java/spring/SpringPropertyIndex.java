@@ -0,0 +1,170 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.Value;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.internal.NameCaseConvention;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.PropertyKeyTrie;
+import org.openrewrite.java.spring.internal.SourceFileVersion;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.*;
+
+/**
+ * An index of the property keys defined in a single Spring configuration file, keyed by their flattened, dot-separated
+ * form. YAML mappings are indexed at every level, so both "spring" and "spring.datasource.url" are keys of
+ * <pre>
+ * spring:
+ *   datasource:
+ *     url: jdbc:h2:mem:test
+ * </pre>
+ * Use {@link SpringExecutionContextView#getPropertyIndex(SourceFile)} to obtain an index, which is built once and reused
+ * until the source file is changed.
+ */
+public class SpringPropertyIndex {
+    static final SpringPropertyIndex EMPTY = new SpringPropertyIndex(null);
+
+    private final SourceFileVersion sourceFile;
+
+    private final Map<String, List<Location>> locationsByKey = new HashMap<>();
+    private final Set<String> parentKeys = new HashSet<>();
+
+    private SpringPropertyIndex(@Nullable SourceFile sourceFile) {
+        this.sourceFile = new SourceFileVersion(sourceFile);
+    }
+
+    /**
+     * The place in a configuration file where a property key is defined.
+     */
+    @Value
+    public static class Location {
+        /**
+         * The flattened key, as written in the file.
+         */
+        String key;
+
+        /**
+         * The id of either a {@link Yaml.Mapping.Entry} or a {@link Properties.Entry}.
+         */
+        UUID elementId;
+    }
+
+    /**
+     * @param sourceFile A YAML or properties file.
+     * @return The index of the file, or an empty index shared by every other kind of source file.
+     */
+    public static SpringPropertyIndex build(SourceFile sourceFile) {
+        if (!isConfigurationFile(sourceFile)) {
+            return EMPTY;
+        }
+        SpringPropertyIndex index = new SpringPropertyIndex(sourceFile);
+        if (sourceFile instanceof Yaml.Documents) {
+            for (Yaml.Document document : ((Yaml.Documents) sourceFile).getDocuments()) {
+                index.addYaml(document.getBlock(), "");
+            }
+        } else if (sourceFile instanceof Properties.File) {
+            for (Properties.Content content : ((Properties.File) sourceFile).getContent()) {
+                if (content instanceof Properties.Entry) {
+                    index.add(((Properties.Entry) content).getKey(), content);
+                }
+            }
+        }
+        return index;
+    }
+
+    static boolean isConfigurationFile(SourceFile sourceFile) {
+        return sourceFile instanceof Yaml.Documents || sourceFile instanceof Properties.File;
+    }
+
+    boolean isIndexOf(SourceFile sourceFile) {
+        return this.sourceFile.isOf(sourceFile);
+    }
+
+    /**
+     * @return The flattened keys in this file, in the relaxed form used by {@link PropertyKeyTrie}.
+     */
+    public Set<String> getKeys() {
+        return Collections.unmodifiableSet(locationsByKey.keySet());
+    }
+
+    /**
+     * @param key A property key, which must not be a glob.
+     * @return The locations of the key, matched using relaxed binding.
+     */
+    public List<Location> find(String key) {
+        List<Location> candidates = locationsByKey.get(PropertyKeyTrie.normalizeKey(key));
+        if (candidates == null) {
+            return Collections.emptyList();
+        }
+        List<Location> found = new ArrayList<>(candidates.size());
+        for (Location candidate : candidates) {
+            if (NameCaseConvention.equalsRelaxedBinding(candidate.getKey(), key)) {
+                found.add(candidate);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * A conservative check for whether this file may define a property key, or any key nested below it. It never
+     * returns false for a file that defines a matching key, so a recipe can safely skip files for which it returns false.
+     *
+     * @param keyOrGlob A property key, which may contain globs.
+     * @return true if the file may contain the key.
+     */
+    public boolean mayContain(String keyOrGlob) {
+        String key = keyOrGlob;
+        int glob = key.indexOf('*');
+        if (glob >= 0) {
+            // only the segments before the first glob can be looked up
+            int lastDot = key.lastIndexOf('.', glob);
+            if (lastDot < 0) {
+                return !locationsByKey.isEmpty();
+            }
+            key = key.substring(0, lastDot);
+        }
+        String normalized = PropertyKeyTrie.normalizeKey(key);
+        return locationsByKey.containsKey(normalized) || parentKeys.contains(normalized);
+    }
+
+    private void addYaml(Yaml.Block block, String prefix) {
+        if (block instanceof Yaml.Mapping) {
+            for (Yaml.Mapping.Entry entry : ((Yaml.Mapping) block).getEntries()) {
+                String key = prefix.isEmpty() ? entry.getKey().getValue() : prefix + "." + entry.getKey().getValue();
+                add(key, entry);
+                addYaml(entry.getValue(), key);
+            }
+        } else if (block instanceof Yaml.Sequence) {
+            for (Yaml.Sequence.Entry entry : ((Yaml.Sequence) block).getEntries()) {
+                addYaml(entry.getBlock(), prefix);
+            }
+        }
+    }
+
+    private void add(String key, Tree element) {
+        String normalized = PropertyKeyTrie.normalizeKey(key);
+        locationsByKey.computeIfAbsent(normalized, k -> new ArrayList<>(1)).add(new Location(key, element.getId()));
+        for (int dot = normalized.lastIndexOf('.'); dot > 0; dot = normalized.lastIndexOf('.', dot - 1)) {
+            if (!parentKeys.add(normalized.substring(0, dot))) {
+                break;
+            }
+        }
+    }
+}
@@ -16,25 +16,45 @@
 package org.openrewrite.java.spring;
 
 import lombok.Data;
+import lombok.Value;
 import org.openrewrite.*;
 import org.openrewrite.internal.lang.Nullable;
-import org.openrewrite.java.AnnotationMatcher;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.tree.*;
+import org.openrewrite.java.spring.internal.ApiEndpointVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.text.PlainText;
 import org.openrewrite.text.PlainTextParser;
 import org.openrewrite.text.PlainTextVisitor;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+/**
+ * Keeps {@code META-INF/api-manifest.txt} up-to-date with the endpoints that the application exposes. The manifest
+ * has a section for each source file that declares endpoints, ordered by source path. A section starts with a
+ * {@code # <source path> <fingerprint>} line, followed by the endpoints of the file as {@code <method> <path>} lines,
+ * ordered by path and method:
+ * <pre>
+ * # src/main/java/com/example/UsersController.java 9f86d081884c7d65
+ * GET /users
+ * POST /users
+ * </pre>
+ * The fingerprint is the source file's checksum or, for a source file without one, a hash of its content. The
+ * endpoints of a file whose fingerprint is unchanged are taken from the existing manifest rather than extracted again,
+ * and the manifest is only rewritten if its content changes. The endpoints of a source file that is scanned before the
+ * manifest are extracted right away, and dropped in favor of the manifest's section if the fingerprints match.
+ */
 @Incubating(since = "4.12.0")
 public class UpdateApiManifest extends ScanningRecipe<UpdateApiManifest.ApiManifest> {
-    private static final List<AnnotationMatcher> REST_ENDPOINTS = Stream.of("Request", "Get", "Post", "Put", "Delete", "Patch")
-            .map(method -> new AnnotationMatcher("@org.springframework.web.bind.annotation." + method + "Mapping"))
-            .collect(Collectors.toList());
+    private static final Path MANIFEST_PATH = Paths.get("META-INF/api-manifest.txt");
+
+    private static final Comparator<String> BY_PATH_AND_METHOD = Comparator
+            .comparing((String api) -> api.substring(api.indexOf(' ') + 1))
+            .thenComparing(api -> api.substring(0, Math.max(0, api.indexOf(' '))));
 
     @Override
     public String getDisplayName() {
@@ -57,9 +77,12 @@ public class UpdateApiManifest extends ScanningRecipe<UpdateApiManifest.ApiManif
             @Override
             public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
                 if (tree instanceof JavaSourceFile) {
-                    new SpringHttpEndpointCollector().visit(tree, acc.getApis());
-                } else if (tree instanceof PlainText && ((PlainText) tree).getSourcePath().equals(Paths.get("META-INF/api-manifest.txt"))) {
-                    acc.setGenerate(false);
+                    JavaSourceFile sourceFile = (JavaSourceFile) tree;
+                    if (ApiEndpointVisitor.mayDeclareEndpoints(sourceFile)) {
+                        acc.scan(sourceFile);
+                    }
+                } else if (tree instanceof PlainText && ((PlainText) tree).getSourcePath().equals(MANIFEST_PATH)) {
+                    acc.scan((PlainText) tree);
                 }
                 return tree;
             }
@@ -68,7 +91,7 @@ public class UpdateApiManifest extends ScanningRecipe<UpdateApiManifest.ApiManif
 
     @Override
     public Collection<SourceFile> generate(ApiManifest acc, ExecutionContext ctx) {
-        return acc.isGenerate() ? Collections.singletonList(generateManifest(acc.getApis())) : Collections.emptyList();
+        return acc.isGenerate() ? Collections.singletonList(generateManifest(acc.updated().print())) : Collections.emptyList();
     }
 
     @Override
@@ -76,90 +99,192 @@ public class UpdateApiManifest extends ScanningRecipe<UpdateApiManifest.ApiManif
         return Preconditions.check(!acc.isGenerate(), new PlainTextVisitor<ExecutionContext>() {
             @Override
             public PlainText visitText(PlainText text, ExecutionContext ctx) {
-                if (text.getSourcePath().equals(Paths.get("META-INF/api-manifest.txt"))) {
-                    return text.withText(generateManifest(acc.getApis()).getText());
+                if (text.getSourcePath().equals(MANIFEST_PATH)) {
+                    String updated = acc.updated().print();
+                    if (!updated.equals(text.getText())) {
+                        return text.withText(updated);
+                    }
                 }
                 return text;
             }
         });
     }
 
-    private PlainText generateManifest(List<String> apis) {
+    private PlainText generateManifest(String manifest) {
         //noinspection OptionalGetWithoutIsPresent
         return new PlainTextParser()
-                .parse(String.join("\n", apis))
+                .parse(manifest)
                 .findFirst()
                 .get()
-                .withSourcePath(Paths.get("META-INF/api-manifest.txt"));
+                .withSourcePath(MANIFEST_PATH);
     }
 
-    private String getArg(J.Annotation annotation, String key, String defaultValue) {
-        if (annotation.getArguments() != null) {
-            for (Expression argument : annotation.getArguments()) {
-                if (argument instanceof J.Literal) {
-                    //noinspection ConstantConditions
-                    return (String) ((J.Literal) argument).getValue();
-                } else if (argument instanceof J.Assignment) {
-                    J.Assignment arg = (J.Assignment) argument;
-                    if (((J.Identifier) arg.getVariable()).getSimpleName().equals(key)) {
-                        if (arg.getAssignment() instanceof J.FieldAccess) {
-                            return ((J.FieldAccess) arg.getAssignment()).getSimpleName();
-                        } else if (arg.getAssignment() instanceof J.Identifier) {
-                            return ((J.Identifier) arg.getAssignment()).getSimpleName();
-                        } else if (arg.getAssignment() instanceof J.Literal) {
-                            //noinspection ConstantConditions
-                            return (String) ((J.Literal) arg.getAssignment()).getValue();
-                        }
-                    }
-                }
-            }
+    /**
+     * @return The first bytes of the source file's checksum, or of a SHA-256 hash of its printed content if it has no
+     * checksum, in hex.
+     */
+    static String fingerprint(SourceFile sourceFile) {
+        Checksum checksum = sourceFile.getChecksum();
+        if (checksum != null) {
+            return hex(checksum.getValue());
+        }
+        try {
+            return hex(MessageDigest.getInstance("SHA-256")
+                    .digest(sourceFile.printAll().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] digest) {
+        int length = Math.min(8, digest.length);
+        StringBuilder hex = new StringBuilder(length * 2);
+        for (int i = 0; i < length; i++) {
+            hex.append(Character.forDigit((digest[i] >> 4) & 0xF, 16))
+                    .append(Character.forDigit(digest[i] & 0xF, 16));
         }
-        return defaultValue;
+        return hex.toString();
     }
 
     @Data
     static class ApiManifest {
         boolean generate = true;
-        List<String> apis = new ArrayList<>();
+
+        @Nullable
+        Manifest existing;
+
+        /**
+         * The sections of the scanned source files that declare endpoints, by source path.
+         */
+        SortedMap<String, Section> sections = new TreeMap<>();
+
+        /**
+         * The sections extracted from the source files scanned before the existing manifest, by source path. A section
+         * may have no endpoints.
+         */
+        Map<String, Section> pending = new HashMap<>();
+
+        /**
+         * Records the section of a source file that may declare endpoints. Once the manifest has been scanned, the
+         * endpoints are only extracted if the file's fingerprint differs from that of the manifest's section. Before
+         * that, they are extracted right away, so that the file itself is not held.
+         */
+        void scan(JavaSourceFile sourceFile) {
+            String sourcePath = sourceFile.getSourcePath().toString();
+            String fingerprint = fingerprint(sourceFile);
+            if (existing == null) {
+                pending.put(sourcePath, new Section(fingerprint, extract(sourceFile)));
+                return;
+            }
+            Section section = existing.getSections().get(sourcePath);
+            if (section == null || !section.getFingerprint().equals(fingerprint)) {
+                section = new Section(fingerprint, extract(sourceFile));
+            }
+            put(sourcePath, section);
+        }
+
+        void scan(PlainText manifest) {
+            generate = false;
+            existing = Manifest.parse(manifest.getText());
+            resolvePending();
+        }
+
+        /**
+         * @return The manifest of the scanned source files.
+         */
+        Manifest updated() {
+            resolvePending();
+            return new Manifest(sections);
+        }
+
+        /**
+         * Keeps the section of the existing manifest for each pending file whose fingerprint is unchanged, and the
+         * extracted section otherwise.
+         */
+        private void resolvePending() {
+            for (Map.Entry<String, Section> file : pending.entrySet()) {
+                Section section = existing == null ? null : existing.getSections().get(file.getKey());
+                put(file.getKey(), section != null && section.getFingerprint().equals(file.getValue().getFingerprint()) ?
+                        section : file.getValue());
+            }
+            pending.clear();
+        }
+
+        private void put(String sourcePath, Section section) {
+            if (section.getApis().isEmpty()) {
+                sections.remove(sourcePath);
+            } else {
+                sections.put(sourcePath, section);
+            }
+        }
+
+        private static List<String> extract(JavaSourceFile sourceFile) {
+            SortedSet<String> apis = new TreeSet<>(BY_PATH_AND_METHOD);
+            new SpringHttpEndpointCollector().visit(sourceFile, apis);
+            return new ArrayList<>(apis);
+        }
     }
 
-    private class SpringHttpEndpointCollector extends JavaIsoVisitor<List<String>> {
-        @Override
-        public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, List<String> apis) {
-            method.getAllAnnotations().stream()
-                    .filter(this::hasRequestMapping)
-                    .findAny()
-                    .ifPresent(mapping -> {
-                        String path =
-                                getCursor().getPathAsStream()
-                                        .filter(J.ClassDeclaration.class::isInstance)
-                                        .map(classDecl -> ((J.ClassDeclaration) classDecl).getAllAnnotations().stream()
-                                                .filter(this::hasRequestMapping)
-                                                .findAny()
-                                                .map(classMapping -> getArg(classMapping, "value", ""))
-                                                .orElse(null))
-                                        .filter(Objects::nonNull)
-                                        .collect(Collectors.joining("/")) +
-                                        getArg(mapping, "value", "");
-                        path = path.replace("//", "/");
-
-                        JavaType.FullyQualified type = TypeUtils.asFullyQualified(mapping.getType());
-                        assert type != null;
-                        String httpMethod = type.getClassName().startsWith("Request") ?
-                                getArg(mapping, "method", "GET") :
-                                type.getClassName().replace("Mapping", "").toUpperCase();
-                        apis.add(httpMethod + " " + path);
-                    });
-            return method;
+    @Value
+    static class Manifest {
+        /**
+         * The sections of the manifest by source path.
+         */
+        SortedMap<String, Section> sections;
+
+        static Manifest parse(String text) {
+            SortedMap<String, Section> sections = new TreeMap<>();
+            String sourcePath = null;
+            String fingerprint = null;
+            List<String> apis = new ArrayList<>();
+            for (String line : text.split("\r?\n")) {
+                if (line.startsWith("# ")) {
+                    if (sourcePath != null) {
+                        sections.put(sourcePath, new Section(fingerprint, apis));
+                    }
+                    int separator = line.lastIndexOf(' ');
+                    sourcePath = separator > 1 ? line.substring(2, separator) : line.substring(2);
+                    fingerprint = separator > 1 ? line.substring(separator + 1) : "";
+                    apis = new ArrayList<>();
+                } else if (sourcePath != null && !line.trim().isEmpty()) {
+                    apis.add(line.trim());
+                }
+            }
+            if (sourcePath != null) {
+                sections.put(sourcePath, new Section(fingerprint, apis));
+            }
+            return new Manifest(sections);
         }
 
-        private boolean hasRequestMapping(J.Annotation ann) {
-            for (AnnotationMatcher restEndpoint : REST_ENDPOINTS) {
-                if (restEndpoint.matches(ann)) {
-                    return true;
+        String print() {
+            StringJoiner manifest = new StringJoiner("\n");
+            for (Map.Entry<String, Section> section : sections.entrySet()) {
+                manifest.add("# " + section.getKey() + " " + section.getValue().getFingerprint());
+                for (String api : section.getValue().getApis()) {
+                    manifest.add(api);
                 }
             }
-            return false;
+            return manifest.toString();
+        }
+    }
+
+    @Value
+    static class Section {
+        String fingerprint;
+
+        /**
+         * The endpoints of the source file as {@code <method> <path>}, ordered by path and method.
+         */
+        List<String> apis;
+    }
+
+    private static class SpringHttpEndpointCollector extends ApiEndpointVisitor<Collection<String>> {
+        @Override
+        protected <T extends J> T visitEndpoints(T tree, List<Endpoint> endpoints, Collection<String> apis) {
+            for (Endpoint endpoint : endpoints) {
+                apis.add(endpoint.getHttpMethod() + " " + endpoint.getPath());
+            }
+            return tree;
         }
     }
 }
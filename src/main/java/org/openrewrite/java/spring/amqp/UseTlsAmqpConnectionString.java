@@ -26,12 +26,10 @@ import org.openrewrite.java.spring.SpringExecutionContextView;
 import org.openrewrite.marker.SearchResult;
 import org.openrewrite.properties.PropertiesIsoVisitor;
 import org.openrewrite.properties.PropertiesVisitor;
-import org.openrewrite.properties.search.FindProperties;
 import org.openrewrite.properties.tree.Properties;
 import org.openrewrite.yaml.JsonPathMatcher;
 import org.openrewrite.yaml.YamlIsoVisitor;
 import org.openrewrite.yaml.YamlVisitor;
-import org.openrewrite.yaml.search.FindProperty;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.net.URI;
@@ -118,21 +116,7 @@ public class UseTlsAmqpConnectionString extends Recipe {
             }
 
             private boolean sourcePathMatches(Path sourcePath, ExecutionContext ctx) {
-                List<String> expressions = pathExpressions;
-                if (expressions == null || pathExpressions.isEmpty()) {
-                    //If not defined, get reasonable defaults from the execution context.
-                    expressions = SpringExecutionContextView.view(ctx).getDefaultApplicationConfigurationPaths();
-                }
-                if (expressions.isEmpty()) {
-                    return true;
-                }
-                for (String filePattern : expressions) {
-                    if (PathUtils.matchesGlob(sourcePath, filePattern)) {
-                        return true;
-                    }
-                }
-
-                return false;
+                return SpringExecutionContextView.view(ctx).getConfigFileMatcher(pathExpressions).matches(sourcePath);
             }
         };
     }
@@ -168,7 +152,7 @@ public class UseTlsAmqpConnectionString extends Recipe {
             return Preconditions.check(new YamlVisitor<ExecutionContext>() {
                 @Override
                 public Yaml visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
-                    if (!FindProperty.find(documents, propertyKey, true).isEmpty()) {
+                    if (SpringExecutionContextView.view(ctx).getPropertyIndex(documents).mayContain(propertyKey)) {
                         return SearchResult.found(documents);
                     }
                     return documents;
@@ -268,7 +252,7 @@ public class UseTlsAmqpConnectionString extends Recipe {
             return Preconditions.check(new PropertiesVisitor<ExecutionContext>() {
                 @Override
                 public Properties visitFile(Properties.File file, ExecutionContext ctx) {
-                    if (!FindProperties.find(file, propertyKey, true).isEmpty()) {
+                    if (SpringExecutionContextView.view(ctx).getPropertyIndex(file).mayContain(propertyKey)) {
                         return SearchResult.found(file);
                     }
                     return file;
@@ -19,10 +19,10 @@ import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.DeclaresMethod;
+import org.openrewrite.java.spring.internal.SpringTemplates;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
@@ -80,12 +80,11 @@ public class MigrateItemWriterWrite extends Recipe {
                 // method to ensure that type info is accurate / List import can potentially be removed
                 // See: https://github.com/openrewrite/rewrite/issues/2819
 
-                m = JavaTemplate.builder("#{}\n #{} void write(#{} Chunk<#{}> #{}) throws Exception #{}")
+                m = SpringTemplates.builder("#{}\n #{} void write(#{} Chunk<#{}> #{}) throws Exception #{}")
                         .contextSensitive()
-                        .javaParser(JavaParser.fromJavaVersion()
-                                .classpathFromResources(ctx, "spring-batch-core-5.+", "spring-batch-infrastructure-5.+"))
+                        .classpathFromResources("spring-batch-core-5.+", "spring-batch-infrastructure-5.+")
                         .imports("org.springframework.batch.item.Chunk")
-                        .build()
+                        .build(ctx)
                         .apply(
                                 getCursor(),
                                 m.getCoordinates().replace(),
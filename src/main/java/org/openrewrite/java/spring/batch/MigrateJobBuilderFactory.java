@@ -22,6 +22,7 @@ import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.spring.SpringExecutionContextView;
 import org.openrewrite.java.tree.*;
 
 import java.util.List;
@@ -60,8 +61,7 @@ public class MigrateJobBuilderFactory extends Recipe {
                     return JavaTemplate
                         .builder("new JobBuilder(#{any(java.lang.String)}, jobRepository)")
                         .contextSensitive()
-                        .javaParser(JavaParser.fromJavaVersion()
-                            .classpathFromResources(ctx, "spring-batch-core-5.+"))
+                        .javaParser(SpringExecutionContextView.view(ctx).getJavaParser("spring-batch-core-5.+"))
                         .imports("org.springframework.batch.core.repository.JobRepository",
                             "org.springframework.batch.core.job.builder.JobBuilder")
                         .build().apply(
@@ -133,8 +133,7 @@ public class MigrateJobBuilderFactory extends Recipe {
                     .imports("org.springframework.batch.core.repository.JobRepository",
                             "org.springframework.batch.core.job.builder.JobBuilder",
                             "org.springframework.batch.core.Step")
-                    .javaParser(JavaParser.fromJavaVersion()
-                            .classpathFromResources(ctx, "spring-batch-core-5.+"))
+                    .javaParser(SpringExecutionContextView.view(ctx).getJavaParser("spring-batch-core-5.+"))
                     .build();
 
             md = paramsTemplate.apply(getCursor(), md.getCoordinates().replaceParameters(), params.toArray());
@@ -21,12 +21,12 @@ import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.search.UsesType;
-import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaType;
-import org.openrewrite.java.tree.Statement;
-import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.java.spring.SpringBeanIndex;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+import org.openrewrite.java.tree.*;
 
 import java.util.Comparator;
+import java.util.function.Predicate;
 
 public class AddConfigurationAnnotationIfBeansPresent extends Recipe {
 
@@ -54,7 +54,8 @@ public class AddConfigurationAnnotationIfBeansPresent extends Recipe {
             @Override
             public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
                 J.ClassDeclaration c = super.visitClassDeclaration(classDecl, ctx);
-                if (isApplicableClass(c, getCursor())) {
+                SpringBeanIndex beans = SpringExecutionContextView.view(ctx).getBeanIndex(getCursor().firstEnclosingOrThrow(JavaSourceFile.class));
+                if (isApplicableClass(c, getCursor(), beans)) {
                     c = addConfigurationAnnotation(c);
                 }
                 return c;
@@ -75,6 +76,18 @@ public class AddConfigurationAnnotationIfBeansPresent extends Recipe {
     }
 
     public static boolean isApplicableClass(J.ClassDeclaration classDecl, Cursor cursor) {
+        return isApplicableClass(classDecl, cursor, AddConfigurationAnnotationIfBeansPresent::isBeanMethod);
+    }
+
+    /**
+     * @param beans The bean index of the project, which the source file of the class has been scanned into.
+     */
+    public static boolean isApplicableClass(J.ClassDeclaration classDecl, Cursor cursor, SpringBeanIndex beans) {
+        return isApplicableClass(classDecl, cursor,
+                methodDecl -> !isAbstractOrStatic(methodDecl) && beans.getBeanMethod(methodDecl) != null);
+    }
+
+    private static boolean isApplicableClass(J.ClassDeclaration classDecl, Cursor cursor, Predicate<J.MethodDeclaration> isBeanMethod) {
         if (classDecl.getKind() != J.ClassDeclaration.Kind.Type.Class) {
             return false;
         }
@@ -107,7 +120,7 @@ public class AddConfigurationAnnotationIfBeansPresent extends Recipe {
         // No '@Configuration' present. Check if any methods have '@Bean' annotation
         for (Statement s : classDecl.getBody().getStatements()) {
             if (s instanceof J.MethodDeclaration) {
-                if (isBeanMethod((J.MethodDeclaration) s)) {
+                if (isBeanMethod.test((J.MethodDeclaration) s)) {
                     return true;
                 }
             }
@@ -117,10 +130,8 @@ public class AddConfigurationAnnotationIfBeansPresent extends Recipe {
     }
 
     private static boolean isBeanMethod(J.MethodDeclaration methodDecl) {
-        for (J.Modifier m : methodDecl.getModifiers()) {
-            if (m.getType() == J.Modifier.Type.Abstract || m.getType() == J.Modifier.Type.Static) {
-                return false;
-            }
+        if (isAbstractOrStatic(methodDecl)) {
+            return false;
         }
         for (J.Annotation a : methodDecl.getLeadingAnnotations()) {
             JavaType.FullyQualified aType = TypeUtils.asFullyQualified(a.getType());
@@ -130,4 +141,13 @@ public class AddConfigurationAnnotationIfBeansPresent extends Recipe {
         }
         return false;
     }
+
+    private static boolean isAbstractOrStatic(J.MethodDeclaration methodDecl) {
+        for (J.Modifier m : methodDecl.getModifiers()) {
+            if (m.getType() == J.Modifier.Type.Abstract || m.getType() == J.Modifier.Type.Static) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -21,6 +21,7 @@ import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.SpringExecutionContextView;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
 
@@ -72,10 +73,7 @@ public class ChangeEmbeddedServletContainerCustomizer extends Recipe {
         // Really no need to use a JavaTemplate in this recipe, we just compile a stubbed out class and extract
         // the J.ParameterizedType from the class's stub's implements.
         if (webFactoryCustomizerIdentifier == null) {
-            JavaParser parser = JavaParser
-                    .fromJavaVersion()
-                    .classpathFromResources(ctx, "spring-boot-2.*")
-                    .build();
+            JavaParser parser = SpringExecutionContextView.view(ctx).getJavaParser("spring-boot-2.*").build();
             J.CompilationUnit cu = parser.parse(
                     "import org.springframework.boot.web.server.WebServerFactoryCustomizer;\n" +
                             "import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;\n" +
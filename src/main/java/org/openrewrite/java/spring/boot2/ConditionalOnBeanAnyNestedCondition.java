@@ -18,9 +18,10 @@ package org.openrewrite.java.spring.boot2;
 import org.openrewrite.*;
 import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+import org.openrewrite.java.spring.internal.SpringTemplates;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Statement;
@@ -117,11 +118,10 @@ public class ConditionalOnBeanAnyNestedCondition extends Recipe {
                     }
 
                     if (anyConditionClassExists) {
-                        a = JavaTemplate.builder("@Conditional(#{}.class)")
+                        a = SpringTemplates.builder("@Conditional(#{}.class)")
                             .imports("org.springframework.context.annotation.Conditional")
-                            .javaParser(JavaParser.fromJavaVersion()
-                                .classpathFromResources(ctx, "spring-context-5.*", "spring-boot-autoconfigure-2.*"))
-                            .build()
+                            .classpathFromResources("spring-context-5.*", "spring-boot-autoconfigure-2.*")
+                            .build(ctx)
                             .apply(
                                 getCursor(),
                                 a.getCoordinates().replace(), conditionalClassName
@@ -151,8 +151,7 @@ public class ConditionalOnBeanAnyNestedCondition extends Recipe {
                     JavaTemplate t = JavaTemplate.builder(s)
                             .contextSensitive()
                             .imports("org.springframework.boot.autoconfigure.condition.AnyNestedCondition")
-                            .javaParser(JavaParser.fromJavaVersion()
-                                    .classpathFromResources(ctx, "spring-context-5.*", "spring-boot-autoconfigure-2.*"))
+                            .javaParser(SpringExecutionContextView.view(ctx).getJavaParser("spring-context-5.*", "spring-boot-autoconfigure-2.*"))
                             .build();
 
                     c = maybeAutoFormat(
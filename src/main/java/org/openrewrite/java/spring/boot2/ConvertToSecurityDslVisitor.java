@@ -15,6 +15,7 @@
  */
 package org.openrewrite.java.spring.boot2;
 
+import lombok.Value;
 import org.openrewrite.Cursor;
 import org.openrewrite.Tree;
 import org.openrewrite.internal.ListUtils;
@@ -37,28 +38,21 @@ public class ConvertToSecurityDslVisitor<P> extends JavaIsoVisitor<P> {
 
     private static final String MSG_TOP_INVOCATION = "top-method-invocation";
 
+    private static final String MSG_CONVERTED_LAMBDA = "http-security-dsl-converted-lambda";
+
+    private static final MethodMatcher DISABLE_MATCHER = new MethodMatcher("org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer disable()", true);
+
     public static final String FQN_CUSTOMIZER = "org.springframework.security.config.Customizer";
 
     private static final JavaType.FullyQualified CUSTOMIZER_SHALLOW_TYPE =
             (JavaType.ShallowClass) JavaType.buildType(FQN_CUSTOMIZER);
 
-    private final String securityFqn;
-
-    private final Collection<String> convertableMethods;
-
     /**
-     * Optionally used to determine the behavior for any convertableMethods which have an argument.
-     * Each key should be a method name from convertableMethods.
-     * A non-null value will be used to create a new methodInvocation with that name,
-     * and the existing arg will be moved to that new methodInvocation.
-     * A null value will keep the existing argument in the converted method.
+     * The specs with a convertable method of each name.
      */
-    private final Map<String, String> argReplacements;
+    private final Map<String, List<Spec>> specsByMethodName = new HashMap<>();
 
-    /**
-     * Optionally used to specify replacement method names if they do not match the original method names
-     */
-    private final Map<String, String> methodRenames;
+    private final boolean fused;
 
     public ConvertToSecurityDslVisitor(String securityFqn, Collection<String> convertableMethods) {
         this(securityFqn, convertableMethods, new HashMap<>());
@@ -71,32 +65,46 @@ public class ConvertToSecurityDslVisitor<P> extends JavaIsoVisitor<P> {
 
     public ConvertToSecurityDslVisitor(String securityFqn, Collection<String> convertableMethods,
             Map<String, String> argReplacements, Map<String, String> methodRenames) {
-        this.securityFqn = securityFqn;
-        this.convertableMethods = convertableMethods;
-        this.argReplacements = argReplacements;
-        this.methodRenames = methodRenames;
+        this(Collections.singletonList(new Spec(securityFqn, convertableMethods, argReplacements, methodRenames)));
+    }
+
+    /**
+     * Converts the chained calls of several security builders and configurers at once. A lambda created for one
+     * spec is converted for the other specs as soon as it is created, so a chain such as
+     * {@code http.headers().frameOptions().sameOrigin()} is converted all the way down in a single traversal, and each
+     * chain is formatted once, rather than once per spec as when a visitor per spec runs after another.
+     */
+    public ConvertToSecurityDslVisitor(Collection<Spec> specs) {
+        for (Spec spec : specs) {
+            for (String method : spec.getConvertableMethods()) {
+                specsByMethodName.computeIfAbsent(method, m -> new ArrayList<>(1)).add(spec);
+            }
+        }
+        this.fused = specs.size() > 1;
     }
 
     @Override
     public J.MethodInvocation visitMethodInvocation(J.MethodInvocation initialMethod, P executionContext) {
         J.MethodInvocation method = super.visitMethodInvocation(initialMethod, executionContext);
-        if (isApplicableMethod(method)) {
+        Spec spec = applicableSpec(method);
+        if (spec != null) {
             J.MethodInvocation m = method;
-            method = createDesiredReplacement(method)
+            method = createDesiredReplacement(m, spec)
                     .map(newMethodType -> {
-                        List<J.MethodInvocation> chain = computeAndMarkChain();
-                        boolean keepArg = keepArg(m.getSimpleName());
+                        List<J.MethodInvocation> chain = computeAndMarkChain(spec);
+                        boolean keepArg = spec.keepArg(m.getSimpleName());
                         String paramName = keepArg ? "configurer" : generateParamNameFromMethodName(m.getSimpleName());
-                        return m
+                        J.MethodInvocation converted = m
                                 .withMethodType(newMethodType)
-                                .withName(m.getName().withSimpleName(newMethodType.getName()))
-                                .withArguments(ListUtils.concat(
-                                                keepArg ? m.getArguments().get(0) : null,
-                                                Collections.singletonList(chain.isEmpty() ?
-                                                        createDefaultsCall() :
-                                                        createLambdaParam(paramName, newMethodType.getParameterTypes().get(keepArg ? 1 : 0), chain))
-                                        )
-                                );
+                                .withName(m.getName().withSimpleName(newMethodType.getName()));
+                        Expression customizer = chain.isEmpty() ?
+                                createDefaultsCall() :
+                                createLambdaParam(paramName, newMethodType.getParameterTypes().get(keepArg ? 1 : 0), chain);
+                        if (fused && customizer instanceof J.Lambda) {
+                            customizer = convertLambda((J.Lambda) customizer, converted, executionContext);
+                        }
+                        return converted.withArguments(ListUtils.concat(keepArg ? m.getArguments().get(0) : null,
+                                Collections.singletonList(customizer)));
                     })
                     .orElse(method);
         }
@@ -108,12 +116,28 @@ public class ConvertToSecurityDslVisitor<P> extends JavaIsoVisitor<P> {
         }
         // Auto-format the top invocation call if anything has changed down the tree
         Cursor grandParent = getCursor().getParent(2);
-        if (initialMethod != method && (grandParent == null || !(grandParent.getValue() instanceof J.MethodInvocation))) {
+        if (initialMethod != method && (grandParent == null || !(grandParent.getValue() instanceof J.MethodInvocation)) &&
+            getCursor().getNearestMessage(MSG_CONVERTED_LAMBDA) == null) {
             method = autoFormat(method, executionContext);
         }
         return method;
     }
 
+    /**
+     * Visits a lambda that was just created as the argument of a converted method, so that its body is converted for
+     * the other specs. The lambda is visited under the cursor it has once it is an argument of the method, and is not
+     * formatted, as it is formatted along with the chain it belongs to.
+     */
+    private Expression convertLambda(J.Lambda lambda, J.MethodInvocation method, P p) {
+        Cursor argument = new Cursor(new Cursor(getCursor(), method.getPadding().getArguments()),
+                new JRightPadded<>(lambda, Space.EMPTY, Markers.EMPTY));
+        argument.putMessage(MSG_CONVERTED_LAMBDA, true);
+        Cursor cursor = getCursor();
+        J converted = visit(lambda, p, argument);
+        setCursor(cursor);
+        return converted instanceof Expression ? (Expression) converted : lambda;
+    }
+
     private static String generateParamNameFromMethodName(String n) {
         int i = n.length() - 1;
         //noinspection StatementWithEmptyBody
@@ -156,54 +180,55 @@ public class ConvertToSecurityDslVisitor<P> extends JavaIsoVisitor<P> {
         return invocation;
     }
 
-    private boolean isApplicableMethod(J.MethodInvocation m) {
+    @Nullable
+    private Spec applicableSpec(J.MethodInvocation m) {
+        List<Spec> specs = specsByMethodName.get(m.getSimpleName());
         JavaType.Method type = m.getMethodType();
-        if (type != null) {
-            JavaType.FullyQualified declaringType = type.getDeclaringType();
-            return securityFqn.equals(declaringType.getFullyQualifiedName())
-                    && (type.getParameterTypes().isEmpty() || hasHandleableArg(m))
-                    && convertableMethods.contains(m.getSimpleName());
+        if (specs != null && type != null) {
+            String declaringType = type.getDeclaringType().getFullyQualifiedName();
+            for (Spec spec : specs) {
+                if (spec.getSecurityFqn().equals(declaringType)
+                    && (type.getParameterTypes().isEmpty() || hasHandleableArg(m, spec))) {
+                    return spec;
+                }
+            }
         }
-        return false;
+        return null;
     }
 
-    private boolean hasHandleableArg(J.MethodInvocation m) {
-        return argReplacements.containsKey(m.getSimpleName())
+    private boolean hasHandleableArg(J.MethodInvocation m, Spec spec) {
+        return spec.getArgReplacements().containsKey(m.getSimpleName())
                 && m.getMethodType() != null
                 && m.getMethodType().getParameterTypes().size() == 1
                 && !TypeUtils.isAssignableTo(FQN_CUSTOMIZER, m.getMethodType().getParameterTypes().get(0));
     }
 
-    private Optional<JavaType.Method> createDesiredReplacement(J.MethodInvocation m) {
+    private Optional<JavaType.Method> createDesiredReplacement(J.MethodInvocation m, Spec spec) {
         JavaType.Method methodType = m.getMethodType();
         if (methodType == null) {
             return Optional.empty();
         }
         JavaType.Parameterized customizerArgType = new JavaType.Parameterized(null,
                 CUSTOMIZER_SHALLOW_TYPE, Collections.singletonList(methodType.getReturnType()));
-        boolean keepArg = keepArg(m.getSimpleName());
+        boolean keepArg = spec.keepArg(m.getSimpleName());
         List<String> paramNames = keepArg ? ListUtils.concat(methodType.getParameterNames(), "arg1")
                 : Collections.singletonList("arg0");
         List<JavaType> paramTypes = keepArg ? ListUtils.concat(methodType.getParameterTypes(), customizerArgType)
                 : Collections.singletonList(customizerArgType);
         return Optional.of(methodType.withReturnType(methodType.getDeclaringType())
-                .withName(methodRenames.getOrDefault(methodType.getName(), methodType.getName()))
+                .withName(spec.getMethodRenames().getOrDefault(methodType.getName(), methodType.getName()))
                 .withParameterNames(paramNames)
                 .withParameterTypes(paramTypes)
         );
     }
 
-    private boolean keepArg(String methodName) {
-        return argReplacements.containsKey(methodName) && argReplacements.get(methodName) == null;
-    }
-
-    private Optional<JavaType.Method> createDesiredReplacementForArg(J.MethodInvocation m) {
+    private Optional<JavaType.Method> createDesiredReplacementForArg(J.MethodInvocation m, Spec spec) {
         JavaType.Method methodType = m.getMethodType();
-        if (methodType == null || !hasHandleableArg(m) || keepArg(m.getSimpleName()) || !(methodType.getReturnType() instanceof JavaType.Class)) {
+        if (methodType == null || !hasHandleableArg(m, spec) || spec.keepArg(m.getSimpleName()) || !(methodType.getReturnType() instanceof JavaType.Class)) {
             return Optional.empty();
         }
         return Optional.of(
-                methodType.withName(argReplacements.get(m.getSimpleName()))
+                methodType.withName(spec.getArgReplacements().get(m.getSimpleName()))
                         .withDeclaringType((JavaType.FullyQualified) methodType.getReturnType())
         );
     }
@@ -211,7 +236,7 @@ public class ConvertToSecurityDslVisitor<P> extends JavaIsoVisitor<P> {
     // this method is unused in this repo, but, useful in Spring Tool Suite integration
     @SuppressWarnings("unused")
     public boolean isApplicableTopLevelMethodInvocation(J.MethodInvocation m) {
-        if (isApplicableMethod(m)) {
+        if (applicableSpec(m) != null) {
             return true;
         } else if (m.getSelect() instanceof J.MethodInvocation) {
             return isApplicableTopLevelMethodInvocation((J.MethodInvocation) m.getSelect());
@@ -219,7 +244,7 @@ public class ConvertToSecurityDslVisitor<P> extends JavaIsoVisitor<P> {
         return false;
     }
 
-    private boolean isApplicableCallCursor(@Nullable Cursor c) {
+    private boolean isApplicableCallCursor(@Nullable Cursor c, Spec spec) {
         if (c == null) {
             return false;
         }
@@ -229,23 +254,23 @@ public class ConvertToSecurityDslVisitor<P> extends JavaIsoVisitor<P> {
         }
 
         J.MethodInvocation inv = c.getValue();
-        return !isAndMethod(inv) && !isDisableMethod(inv);
+        return !isAndMethod(inv, spec) && !isDisableMethod(inv);
     }
 
-    private List<J.MethodInvocation> computeAndMarkChain() {
+    private List<J.MethodInvocation> computeAndMarkChain(Spec spec) {
         List<J.MethodInvocation> chain = new ArrayList<>();
         Cursor cursor = getCursor();
         J.MethodInvocation initialMethodInvocation = cursor.getValue();
-        createDesiredReplacementForArg(initialMethodInvocation).ifPresent(methodType ->
+        createDesiredReplacementForArg(initialMethodInvocation, spec).ifPresent(methodType ->
                 chain.add(initialMethodInvocation.withName(
                         initialMethodInvocation.getName().withType(methodType).withSimpleName(methodType.getName()))));
         cursor = cursor.getParent(2);
-        for (; isApplicableCallCursor(cursor); cursor = cursor.getParent(2)) {
+        for (; isApplicableCallCursor(cursor, spec); cursor = cursor.getParent(2)) {
             cursor.putMessage(MSG_FLATTEN_CHAIN, true);
             chain.add(cursor.getValue());
         }
         if (cursor != null && cursor.getValue() instanceof J.MethodInvocation) {
-            if (isAndMethod(cursor.getValue())) {
+            if (isAndMethod(cursor.getValue(), spec)) {
                 cursor.putMessage(MSG_FLATTEN_CHAIN, true);
                 cursor = cursor.getParent(2);
             } else if (isDisableMethod(cursor.getValue())) {
@@ -266,14 +291,14 @@ public class ConvertToSecurityDslVisitor<P> extends JavaIsoVisitor<P> {
         return chain;
     }
 
-    private boolean isAndMethod(J.MethodInvocation method) {
+    private boolean isAndMethod(J.MethodInvocation method, Spec spec) {
         return "and".equals(method.getSimpleName()) &&
                 (method.getArguments().isEmpty() || method.getArguments().get(0) instanceof J.Empty) &&
-                TypeUtils.isAssignableTo(securityFqn, method.getType());
+                TypeUtils.isAssignableTo(spec.getSecurityFqn(), method.getType());
     }
 
     private boolean isDisableMethod(J.MethodInvocation method) {
-        return new MethodMatcher("org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer disable()", true).matches(method);
+        return DISABLE_MATCHER.matches(method);
     }
 
     private J.MethodInvocation createDefaultsCall() {
@@ -287,4 +312,43 @@ public class ConvertToSecurityDslVisitor<P> extends JavaIsoVisitor<P> {
                 .withSelect(null);
     }
 
+    /**
+     * The chained calls of one security builder or configurer to convert into lambda DSL calls.
+     */
+    @Value
+    public static class Spec {
+        String securityFqn;
+
+        Collection<String> convertableMethods;
+
+        /**
+         * Optionally used to determine the behavior for any convertableMethods which have an argument.
+         * Each key should be a method name from convertableMethods.
+         * A non-null value will be used to create a new methodInvocation with that name,
+         * and the existing arg will be moved to that new methodInvocation.
+         * A null value will keep the existing argument in the converted method.
+         */
+        Map<String, String> argReplacements;
+
+        /**
+         * Optionally used to specify replacement method names if they do not match the original method names
+         */
+        Map<String, String> methodRenames;
+
+        public Spec(String securityFqn, Collection<String> convertableMethods) {
+            this(securityFqn, convertableMethods, Collections.emptyMap(), Collections.emptyMap());
+        }
+
+        public Spec(String securityFqn, Collection<String> convertableMethods, Map<String, String> argReplacements,
+                    Map<String, String> methodRenames) {
+            this.securityFqn = securityFqn;
+            this.convertableMethods = convertableMethods;
+            this.argReplacements = argReplacements;
+            this.methodRenames = methodRenames;
+        }
+
+        boolean keepArg(String methodName) {
+            return argReplacements.containsKey(methodName) && argReplacements.get(methodName) == null;
+        }
+    }
 }
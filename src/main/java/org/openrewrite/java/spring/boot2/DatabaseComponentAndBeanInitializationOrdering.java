@@ -22,16 +22,16 @@ import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.SpringBeanIndex;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+import org.openrewrite.java.spring.internal.SpringTemplates;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
 
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
 
 public class DatabaseComponentAndBeanInitializationOrdering extends Recipe {
 
@@ -54,7 +54,6 @@ public class DatabaseComponentAndBeanInitializationOrdering extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         String javaxDataSourceFqn = "javax.sql.DataSource";
         AnnotationMatcher dataSourceAnnotationMatcher = new AnnotationMatcher("@org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization");
-        AnnotationMatcher beanAnnotationMatcher = new AnnotationMatcher("@org.springframework.context.annotation.Bean");
         List<AnnotationMatcher> componentAnnotationMatchers = Arrays.asList(
                 new AnnotationMatcher("@org.springframework.stereotype.Repository"),
                 new AnnotationMatcher("@org.springframework.stereotype.Component"),
@@ -83,13 +82,12 @@ public class DatabaseComponentAndBeanInitializationOrdering extends Recipe {
             public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
                 J.MethodDeclaration md = super.visitMethodDeclaration(method, ctx);
                 if (method.getMethodType() != null) {
-                    if (!isInitializationAnnoPresent(md.getLeadingAnnotations()) && isBean(md)
+                    if (!isInitializationAnnoPresent(md.getLeadingAnnotations()) && beans(ctx).getBeanMethod(method) != null
                             && requiresInitializationAnnotation(method.getMethodType().getReturnType())) {
-                        md = JavaTemplate.builder("@DependsOnDatabaseInitialization")
+                        md = SpringTemplates.builder("@DependsOnDatabaseInitialization")
                             .imports("org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization")
-                            .javaParser(JavaParser.fromJavaVersion()
-                                .classpathFromResources(ctx, "spring-boot-2.*"))
-                            .build()
+                            .classpathFromResources("spring-boot-2.*")
+                            .build(ctx)
                             .apply(
                                 getCursor(),
                                 md.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName))
@@ -105,11 +103,10 @@ public class DatabaseComponentAndBeanInitializationOrdering extends Recipe {
                 J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
                 if (!isInitializationAnnoPresent(cd.getLeadingAnnotations()) && isComponent(cd)
                         && requiresInitializationAnnotation(cd.getType())) {
-                    cd = JavaTemplate.builder("@DependsOnDatabaseInitialization")
+                    cd = SpringTemplates.builder("@DependsOnDatabaseInitialization")
                         .imports("org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization")
-                        .javaParser(JavaParser.fromJavaVersion()
-                            .classpathFromResources(ctx, "spring-boot-2.*"))
-                        .build()
+                        .classpathFromResources("spring-boot-2.*")
+                        .build(ctx)
                         .apply(
                             getCursor(),
                             cd.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName))
@@ -119,6 +116,10 @@ public class DatabaseComponentAndBeanInitializationOrdering extends Recipe {
                 return cd;
             }
 
+            private SpringBeanIndex beans(ExecutionContext ctx) {
+                return SpringExecutionContextView.view(ctx).getBeanIndex(getCursor().firstEnclosingOrThrow(JavaSourceFile.class));
+            }
+
             private boolean isComponent(J.ClassDeclaration cd) {
                 for (J.Annotation classAnno : cd.getLeadingAnnotations()) {
                     for (AnnotationMatcher componentMatcher : componentAnnotationMatchers) {
@@ -130,15 +131,6 @@ public class DatabaseComponentAndBeanInitializationOrdering extends Recipe {
                 return false;
             }
 
-            private boolean isBean(J.MethodDeclaration methodDeclaration) {
-                for (J.Annotation leadingAnnotation : methodDeclaration.getLeadingAnnotations()) {
-                    if (beanAnnotationMatcher.matches(leadingAnnotation)) {
-                        return true;
-                    }
-                }
-                return false;
-            }
-
             @SuppressWarnings("BooleanMethodIsAlwaysInverted")
             private boolean isInitializationAnnoPresent(@Nullable List<J.Annotation> annotations) {
                 return annotations != null && annotations.stream().anyMatch(dataSourceAnnotationMatcher::matches);
@@ -21,10 +21,10 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.spring.SpringExecutionContextView;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 
@@ -73,8 +73,7 @@ public class GetErrorAttributes extends Recipe {
                     mi = JavaTemplate.builder(template)
                         .contextSensitive()
                         .imports(parserImports)
-                        .javaParser(JavaParser.fromJavaVersion()
-                                            .classpathFromResources(ctx, "spring-boot-2.*", "spring-boot-autoconfigure-2.*", "spring-web-5.*"))
+                        .javaParser(SpringExecutionContextView.view(ctx).getJavaParser("spring-boot-2.*", "spring-boot-autoconfigure-2.*", "spring-web-5.*"))
                         .build().apply(
                             getCursor(),
                             mi.getCoordinates().replaceArguments(),
@@ -85,8 +84,7 @@ public class GetErrorAttributes extends Recipe {
                     mi = JavaTemplate.builder(template)
                         .contextSensitive()
                         .imports(parserImports)
-                        .javaParser(JavaParser.fromJavaVersion()
-                                            .classpathFromResources(ctx, "spring-boot-2.*", "spring-boot-autoconfigure-2.*", "spring-web-5.*"))
+                        .javaParser(SpringExecutionContextView.view(ctx).getJavaParser("spring-boot-2.*", "spring-boot-autoconfigure-2.*", "spring-web-5.*"))
                         .build()
                         .apply(
                             getCursor(),
@@ -98,8 +96,7 @@ public class GetErrorAttributes extends Recipe {
                     mi = JavaTemplate.builder(template)
                         .contextSensitive()
                         .imports(parserImports)
-                        .javaParser(JavaParser.fromJavaVersion()
-                                            .classpathFromResources(ctx, "spring-boot-2.*", "spring-boot-autoconfigure-2.*", "spring-web-5.*"))
+                        .javaParser(SpringExecutionContextView.view(ctx).getJavaParser("spring-boot-2.*", "spring-boot-autoconfigure-2.*", "spring-web-5.*"))
                         .build()
                         .apply(
                             getCursor(),
@@ -23,6 +23,7 @@ import org.openrewrite.java.search.UsesType;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -40,6 +41,10 @@ public final class HeadersConfigurerLambdaDsl extends Recipe {
         put("referrerPolicy", "policy");
     }};
 
+    public static final ConvertToSecurityDslVisitor.Spec SPEC =
+            new ConvertToSecurityDslVisitor.Spec(FQN_HEADERS_CONFIGURER, APPLICABLE_METHOD_NAMES,
+                    ARG_REPLACEMENTS, Collections.emptyMap());
+
     @Override
     public String getDisplayName() {
         return "Convert `HeadersConfigurer` chained calls into Lambda DSL";
@@ -54,7 +59,7 @@ public final class HeadersConfigurerLambdaDsl extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
                 new UsesType<>(FQN_HEADERS_CONFIGURER, true),
-                new ConvertToSecurityDslVisitor<>(FQN_HEADERS_CONFIGURER, APPLICABLE_METHOD_NAMES, ARG_REPLACEMENTS)
+                new ConvertToSecurityDslVisitor<>(Collections.singletonList(SPEC))
         );
     }
 
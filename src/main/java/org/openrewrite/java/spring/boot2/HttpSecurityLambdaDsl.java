@@ -23,6 +23,7 @@ import org.openrewrite.java.search.UsesType;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 
 public final class HttpSecurityLambdaDsl extends Recipe {
 
@@ -34,6 +35,9 @@ public final class HttpSecurityLambdaDsl extends Recipe {
             "openidLogin", "portMapper", "rememberMe", "requestCache", "requestMatchers", "requiresChannel",
             "saml2Login", "securityContext", "servletApi", "sessionManagement", "x509");
 
+    public static final ConvertToSecurityDslVisitor.Spec SPEC =
+            new ConvertToSecurityDslVisitor.Spec(FQN_HTTP_SECURITY, APPLICABLE_METHOD_NAMES);
+
     @Override
     public String getDisplayName() {
         return "Convert `HttpSecurity` chained calls into Lambda DSL";
@@ -48,7 +52,7 @@ public final class HttpSecurityLambdaDsl extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
                 new UsesType<>(FQN_HTTP_SECURITY, true),
-                new ConvertToSecurityDslVisitor<>(FQN_HTTP_SECURITY, APPLICABLE_METHOD_NAMES)
+                new ConvertToSecurityDslVisitor<>(Collections.singletonList(SPEC))
         );
     }
 
@@ -20,6 +20,7 @@ import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.spring.ExpandProperties;
+import org.openrewrite.java.spring.SpringExecutionContextView;
 import org.openrewrite.yaml.CoalescePropertiesVisitor;
 import org.openrewrite.yaml.MergeYamlVisitor;
 import org.openrewrite.yaml.search.FindProperty;
@@ -32,6 +33,8 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class MergeBootstrapYamlWithApplicationYaml extends ScanningRecipe<MergeBootstrapYamlWithApplicationYaml.Accumulator> {
+    private static final List<String> BOOTSTRAP_YML = Collections.singletonList("**/main/resources/bootstrap.yml");
+    private static final List<String> APPLICATION_YML = Collections.singletonList("**/main/resources/application.yml");
 
     @Override
     public String getDisplayName() {
@@ -58,11 +61,12 @@ public class MergeBootstrapYamlWithApplicationYaml extends ScanningRecipe<MergeB
                 }
                 SourceFile source = (SourceFile) tree;
                 Path sourcePath = source.getSourcePath();
+                SpringExecutionContextView view = SpringExecutionContextView.view(ctx);
                 if (acc.getBootstrapYaml() == null && source instanceof Yaml.Documents
-                        && PathUtils.matchesGlob(sourcePath, "**/main/resources/bootstrap.yml")) {
+                        && view.getConfigFileMatcher(BOOTSTRAP_YML).matches(sourcePath)) {
                     acc.setBootstrapYaml((Yaml.Documents) source);
                 } else if (acc.getApplicationYaml() == null
-                        && PathUtils.matchesGlob(sourcePath, "**/main/resources/application.yml")) {
+                        && view.getConfigFileMatcher(APPLICATION_YML).matches(sourcePath)) {
                     acc.setApplicationYaml((Yaml.Documents) source);
                 }
                 return source;
@@ -19,9 +19,8 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.spring.internal.SpringTemplates;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
@@ -62,13 +61,11 @@ public class MigrateActuatorMediaTypeToApiVersion extends Recipe {
                                 maybeAddImport("org.springframework.boot.actuate.endpoint.ApiVersion");
                                 maybeAddImport("org.springframework.http.MediaType");
                                 maybeRemoveImport("org.springframework.boot.actuate.endpoint.http.ActuatorMediaType");
-                                mi = JavaTemplate.builder("MediaType.asMediaType(ApiVersion.#{}.getProducedMimeType())")
-                                    .javaParser(JavaParser.fromJavaVersion()
-                                        .classpathFromResources(ctx, "spring-web-5.*", "spring-boot-actuator-2.5.*",
-                                            "spring-core-5.*"))
+                                mi = SpringTemplates.builder("MediaType.asMediaType(ApiVersion.#{}.getProducedMimeType())")
+                                    .classpathFromResources("spring-web-5.*", "spring-boot-actuator-2.5.*", "spring-core-5.*")
                                     .imports("org.springframework.http.MediaType",
                                         "org.springframework.boot.actuate.endpoint.ApiVersion")
-                                    .build().apply(
+                                    .build(ctx).apply(
                                         getCursor(),
                                         mi.getCoordinates().replace(),
                                         apiVersion);
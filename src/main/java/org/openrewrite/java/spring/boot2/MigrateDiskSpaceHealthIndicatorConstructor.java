@@ -19,10 +19,9 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.SpringTemplates;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
@@ -52,11 +51,10 @@ public class MigrateDiskSpaceHealthIndicatorConstructor extends Recipe {
                         TypeUtils.isOfType(newClass.getConstructorType().getParameterTypes().get(1), JavaType.Primitive.Long)) {
 
                     maybeAddImport("org.springframework.util.unit.DataSize");
-                    return JavaTemplate.builder("new DiskSpaceHealthIndicator(#{any(java.io.File)}, DataSize.ofBytes(#{any(long)}))")
+                    return SpringTemplates.builder("new DiskSpaceHealthIndicator(#{any(java.io.File)}, DataSize.ofBytes(#{any(long)}))")
                         .imports("org.springframework.util.unit.DataSize")
-                        .javaParser(JavaParser.fromJavaVersion()
-                            .classpathFromResources(ctx, "spring-boot-actuator-2.*", "spring-core-5.*"))
-                        .build().apply(
+                        .classpathFromResources("spring-boot-actuator-2.*", "spring-core-5.*")
+                        .build(ctx).apply(
                             getCursor(),
                             newClass.getCoordinates().replace(),
                             newClass.getArguments().get(0),
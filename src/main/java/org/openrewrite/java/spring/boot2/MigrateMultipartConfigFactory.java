@@ -20,10 +20,11 @@ import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+import org.openrewrite.java.spring.internal.SpringTemplates;
 import org.openrewrite.java.tree.J;
 
 public class MigrateMultipartConfigFactory extends Recipe {
@@ -54,11 +55,10 @@ public class MigrateMultipartConfigFactory extends Recipe {
                     public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                         J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
                         if (setMaxFileSizeByLong.matches(m) || setMaxRequestSizeByLong.matches(m) || setFileSizeThresholdByInt.matches(m)) {
-                            m = JavaTemplate.builder("DataSize.ofBytes(#{any()})")
+                            m = SpringTemplates.builder("DataSize.ofBytes(#{any()})")
                                             .imports("org.springframework.util.unit.DataSize")
-                                            .javaParser(JavaParser.fromJavaVersion()
-                                                    .classpathFromResources(ctx, "spring-core-5.*", "spring-boot-2.*"))
-                                            .build().apply(
+                                            .classpathFromResources("spring-core-5.*", "spring-boot-2.*")
+                                            .build(ctx).apply(
                                     getCursor(),
                                     m.getCoordinates().replaceArguments(),
                                     m.getArguments().get(0));
@@ -66,8 +66,7 @@ public class MigrateMultipartConfigFactory extends Recipe {
                             m = JavaTemplate
                                 .builder("DataSize.parse(#{any(java.lang.String)})")
                                 .imports("org.springframework.util.unit.DataSize")
-                                .javaParser(JavaParser.fromJavaVersion()
-                                    .classpathFromResources(ctx, "spring-core-5.*", "spring-boot-2.*"))
+                                .javaParser(SpringExecutionContextView.view(ctx).getJavaParser("spring-core-5.*", "spring-boot-2.*"))
                                 .build().apply(
                                     getCursor(),
                                     m.getCoordinates().replaceArguments(),
@@ -20,10 +20,10 @@ import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.SpringExecutionContextView;
 import org.openrewrite.java.tree.J;
 
 public class MigrateRestTemplateBuilderTimeoutByInt extends Recipe {
@@ -53,8 +53,7 @@ public class MigrateRestTemplateBuilderTimeoutByInt extends Recipe {
                             m = JavaTemplate
                                     .builder("Duration.ofMillis(#{any(int)})")
                                     .imports("java.time.Duration")
-                                    .javaParser(JavaParser.fromJavaVersion()
-                                            .classpathFromResources(ctx, "spring-boot-2.*"))
+                                    .javaParser(SpringExecutionContextView.view(ctx).getJavaParser("spring-boot-2.*"))
                                     .build()
                                     .apply(
                                             getCursor(),
@@ -20,9 +20,9 @@ import lombok.Value;
 import org.openrewrite.*;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.RemoveAnnotation;
+import org.openrewrite.java.spring.internal.SpringTemplates;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.marker.Marker;
 import org.openrewrite.text.PlainText;
@@ -274,11 +274,10 @@ public class MoveAutoConfigurationToImportsFile extends ScanningRecipe<MoveAutoC
             J.ClassDeclaration c = super.visitClassDeclaration(classDecl, ctx);
 
             if (c.getType() != null && fullyQualifiedConfigClasses.contains(c.getType().getFullyQualifiedName())) {
-                JavaTemplate addAnnotationTemplate = JavaTemplate.builder("@AutoConfiguration")
-                        .javaParser(JavaParser.fromJavaVersion()
-                                .classpathFromResources(ctx, "spring-boot-autoconfigure-2.7.*"))
+                JavaTemplate addAnnotationTemplate = SpringTemplates.builder("@AutoConfiguration")
+                        .classpathFromResources("spring-boot-autoconfigure-2.7.*")
                         .imports("org.springframework.boot.autoconfigure.AutoConfiguration")
-                        .build();
+                        .build(ctx);
 
                 doAfterVisit(new RemoveAnnotation("@org.springframework.context.annotation.Configuration").getVisitor());
                 c = addAnnotationTemplate.apply(getCursor(), c.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
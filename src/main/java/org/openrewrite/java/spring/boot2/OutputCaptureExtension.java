@@ -21,6 +21,7 @@ import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.FindMethods;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.SpringTemplates;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
@@ -91,12 +92,11 @@ public class OutputCaptureExtension extends Recipe {
                 updateCursor(c);
 
                 if (classDecl.getBody().getStatements().size() != c.getBody().getStatements().size()) {
-                    JavaTemplate addOutputCaptureExtension = JavaTemplate.builder("@ExtendWith(OutputCaptureExtension.class)")
-                            .javaParser(JavaParser.fromJavaVersion()
-                                    .classpathFromResources(ctx, "spring-boot-test-2.*", "junit-jupiter-api-5.*"))
+                    JavaTemplate addOutputCaptureExtension = SpringTemplates.builder("@ExtendWith(OutputCaptureExtension.class)")
+                            .classpathFromResources("spring-boot-test-2.*", "junit-jupiter-api-5.*")
                             .imports("org.junit.jupiter.api.extension.ExtendWith",
                                     "org.springframework.boot.test.system.OutputCaptureExtension")
-                            .build();
+                            .build(ctx);
 
                     c = addOutputCaptureExtension.apply(
                         getCursor(),
@@ -137,11 +137,10 @@ public class OutputCaptureExtension extends Recipe {
                 return m;
             }
 
-            JavaTemplate matchesTemplate = JavaTemplate.builder("#{any()}.matches(#{}.getAll())")
+            JavaTemplate matchesTemplate = SpringTemplates.builder("#{any()}.matches(#{}.getAll())")
                     .contextSensitive()
-                    .javaParser(JavaParser.fromJavaVersion()
-                            .classpathFromResources(ctx, "spring-boot-test-2.*", "junit-jupiter-api-5.*"))
-                    .build();
+                    .classpathFromResources("spring-boot-test-2.*", "junit-jupiter-api-5.*")
+                    .build(ctx);
             m = matchesTemplate.apply(getCursor(), m.getCoordinates().replace(), m.getArguments().get(0), variableName);
             return m;
         }
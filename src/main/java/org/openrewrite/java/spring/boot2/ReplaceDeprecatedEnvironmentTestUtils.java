@@ -21,11 +21,11 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.SemanticallyEqual;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.SpringExecutionContextView;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -253,8 +253,7 @@ public class ReplaceDeprecatedEnvironmentTestUtils extends Recipe {
                 ReplaceEnvironmentUtilsMarker marker = maybeMarker.get();
                 m = JavaTemplate.builder(marker.templateString)
                     .contextSensitive()
-                    .javaParser(JavaParser.fromJavaVersion()
-                        .classpathFromResources(ctx, "spring-boot-test-2.*"))
+                    .javaParser(SpringExecutionContextView.view(ctx).getJavaParser("spring-boot-test-2.*"))
                     .imports("org.springframework.boot.test.util.TestPropertyValues")
                     .build().apply(
                         getCursor(),
@@ -23,6 +23,7 @@ import org.openrewrite.java.search.UsesType;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 
 public final class ServerHttpSecurityLambdaDsl extends Recipe {
 
@@ -33,6 +34,9 @@ public final class ServerHttpSecurityLambdaDsl extends Recipe {
             "headers", "httpBasic", "logout", "oauth2Client", "oauth2Login", "oauth2ResourceServer",
             "redirectToHttps", "requestCache", "x509");
 
+    public static final ConvertToSecurityDslVisitor.Spec SPEC =
+            new ConvertToSecurityDslVisitor.Spec(FQN_SERVER_HTTP_SECURITY, APPLICABLE_METHOD_NAMES);
+
     @Override
     public String getDisplayName() {
         return "Convert `ServerHttpSecurity` chained calls into Lambda DSL";
@@ -47,7 +51,7 @@ public final class ServerHttpSecurityLambdaDsl extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
                 new UsesType<>(FQN_SERVER_HTTP_SECURITY, true),
-                new ConvertToSecurityDslVisitor<>(FQN_SERVER_HTTP_SECURITY, APPLICABLE_METHOD_NAMES)
+                new ConvertToSecurityDslVisitor<>(Collections.singletonList(SPEC))
         );
     }
 
@@ -15,6 +15,8 @@
  */
 package org.openrewrite.java.spring.boot2.search;
 
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
 import org.openrewrite.Tree;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
@@ -26,6 +28,7 @@ import org.openrewrite.marker.Marker;
 import org.openrewrite.marker.SearchResult;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -43,8 +46,15 @@ public class EntityIdForRepositoryVisitor<T> extends JavaIsoVisitor<T> {
     private static final AnnotationMatcher ID_ANNOTATION_MATCHER = new AnnotationMatcher("@" + ID, true);
     public static final String ID_CLASS = "idClass";
 
+    private static final String REPOSITORY_TYPES_CACHE = "org.openrewrite.java.spring.boot2.search.EntityIdForRepositoryVisitor.REPOSITORY_TYPES";
+
     final private boolean considerIdField;
 
+    /**
+     * Used when the visitor is not run with an {@link ExecutionContext} to keep the cache in.
+     */
+    private final RepositoryTypesCache cache = new RepositoryTypesCache();
+
     public EntityIdForRepositoryVisitor(boolean considerIdField) {
         this.considerIdField = considerIdField;
     }
@@ -64,71 +74,21 @@ public class EntityIdForRepositoryVisitor<T> extends JavaIsoVisitor<T> {
                     return classDecl.withLeadingAnnotations(ListUtils.map(classDecl.getLeadingAnnotations(), a -> a == repoDefAnnotation ? newRepoDefAnnotation : a));
                 }
             }
-            return handleRepoType(classDecl);
+            return handleRepoType(classDecl, p);
         }
         return super.visitClassDeclaration(classDecl, p);
     }
 
-    private J.ClassDeclaration handleRepoType(J.ClassDeclaration typeDecl) {
+    private J.ClassDeclaration handleRepoType(J.ClassDeclaration typeDecl, T p) {
         JavaType.FullyQualified type = TypeUtils.asFullyQualified(typeDecl.getType());
         if (type != null) {
-            List<JavaType.FullyQualified> repoTypeChain = findRepoTypeChain(type, Collections.emptyList());
-            if (repoTypeChain != null) {
-                JavaType domainType = null;
-                JavaType idType = null;
-                int domainTypeIndex = 0;
-                int idTypeIndex = 1;
-                int idTypeIndexInChain = repoTypeChain.size() - 1;
-                for (int i = repoTypeChain.size() - 1; i >= 0 && (idType == null || idType instanceof JavaType.GenericTypeVariable || domainType == null || domainType instanceof JavaType.GenericTypeVariable); i--) {
-                    JavaType.FullyQualified repoType = repoTypeChain.get(i);
-                    List<JavaType> typeParams = repoType.getTypeParameters();
-                    boolean domainTypeChanged = false;
-                    boolean idTypeChanged = false;
-                    if (repoType instanceof JavaType.Parameterized) {
-                        if (domainType instanceof JavaType.GenericTypeVariable || domainType == null) {
-                            int idx = domainType == null ? -1 : findTypeVarIndex(((JavaType.Parameterized) repoType).getType().getTypeParameters(), ((JavaType.GenericTypeVariable) domainType).getName());
-                            if (idx < 0) {
-                                domainType = typeParams.get(domainTypeIndex);
-                            } else {
-                                domainTypeIndex = idx;
-                                domainType = typeParams.get(domainTypeIndex);
-                            }
-                            domainTypeChanged = true;
-                        }
-                        if (idType instanceof JavaType.GenericTypeVariable || idType == null) {
-                            idTypeIndexInChain = i;
-                            int idx = idType == null ? -1 : findTypeVarIndex(((JavaType.Parameterized) repoType).getType().getTypeParameters(), ((JavaType.GenericTypeVariable) idType).getName());
-                            if (idx < 0) {
-                                idType = typeParams.get(idTypeIndex);
-                            } else {
-                                idTypeIndex = idx;
-                                idType = typeParams.get(idTypeIndex);
-                            }
-                            idTypeChanged = true;
-                        }
-                    } else {
-                        if (idType instanceof JavaType.GenericTypeVariable || idType == null) {
-                            idTypeIndexInChain = i;
-                            idType = typeParams.get(idTypeIndex);
-                            idTypeChanged = true;
-                        }
-                        if (domainType instanceof JavaType.GenericTypeVariable || domainType == null) {
-                            domainType = typeParams.get(domainTypeIndex);
-                            domainTypeChanged = true;
-                        }
-                    }
-                    // Adjust domainTypeIndex or idTypeIndex if needed as well as remaining expected number of parameters
-                    if (idType instanceof JavaType.FullyQualified && idTypeChanged) {
-                        if (domainType instanceof JavaType.GenericTypeVariable && domainTypeIndex > idTypeIndex) {
-                            domainTypeIndex--;
-                        }
-                    }
-                    if (domainType instanceof JavaType.FullyQualified && domainTypeChanged) {
-                        if (idType instanceof JavaType.GenericTypeVariable && idTypeIndex > domainTypeIndex) {
-                            idTypeIndex--;
-                        }
-                    }
-                }
+            RepositoryTypes repositoryTypes = repositoryTypes(type, p);
+            if (repositoryTypes != null) {
+                List<JavaType.FullyQualified> repoTypeChain = repositoryTypes.getRepoTypeChain();
+                JavaType domainType = repositoryTypes.getDomainType();
+                JavaType idType = repositoryTypes.getIdType();
+                int idTypeIndex = repositoryTypes.getIdTypeIndex();
+                int idTypeIndexInChain = repositoryTypes.getIdTypeIndexInChain();
                 JavaType.FullyQualified domainClassType;
                 if (domainType instanceof JavaType.GenericTypeVariable) {
                     domainClassType = TypeUtils.asFullyQualified(((JavaType.GenericTypeVariable) domainType).getBounds().get(0));
@@ -176,6 +136,82 @@ public class EntityIdForRepositoryVisitor<T> extends JavaIsoVisitor<T> {
         return typeDecl;
     }
 
+    /**
+     * @return The resolved domain and ID types of a repository, from the cache of the run if they were already
+     * resolved for a repository of the same fully qualified name, or null if the type is not a repository.
+     */
+    private @Nullable RepositoryTypes repositoryTypes(JavaType.FullyQualified type, T p) {
+        RepositoryTypesCache cache = p instanceof ExecutionContext ?
+                ((ExecutionContext) p).computeMessageIfAbsent(REPOSITORY_TYPES_CACHE, k -> new RepositoryTypesCache()) :
+                this.cache;
+        Optional<RepositoryTypes> repositoryTypes = cache.repositories.get(type.getFullyQualifiedName());
+        if (repositoryTypes == null) {
+            List<JavaType.FullyQualified> repoTypeChain = findRepoTypeChain(type, cache.superChains, new HashSet<>());
+            repositoryTypes = Optional.ofNullable(repoTypeChain == null ? null : resolveRepositoryTypes(repoTypeChain));
+            cache.repositories.put(type.getFullyQualifiedName(), repositoryTypes);
+        }
+        return repositoryTypes.orElse(null);
+    }
+
+    private static RepositoryTypes resolveRepositoryTypes(List<JavaType.FullyQualified> repoTypeChain) {
+        JavaType domainType = null;
+        JavaType idType = null;
+        int domainTypeIndex = 0;
+        int idTypeIndex = 1;
+        int idTypeIndexInChain = repoTypeChain.size() - 1;
+        for (int i = repoTypeChain.size() - 1; i >= 0 && (idType == null || idType instanceof JavaType.GenericTypeVariable || domainType == null || domainType instanceof JavaType.GenericTypeVariable); i--) {
+            JavaType.FullyQualified repoType = repoTypeChain.get(i);
+            List<JavaType> typeParams = repoType.getTypeParameters();
+            boolean domainTypeChanged = false;
+            boolean idTypeChanged = false;
+            if (repoType instanceof JavaType.Parameterized) {
+                if (domainType instanceof JavaType.GenericTypeVariable || domainType == null) {
+                    int idx = domainType == null ? -1 : findTypeVarIndex(((JavaType.Parameterized) repoType).getType().getTypeParameters(), ((JavaType.GenericTypeVariable) domainType).getName());
+                    if (idx < 0) {
+                        domainType = typeParams.get(domainTypeIndex);
+                    } else {
+                        domainTypeIndex = idx;
+                        domainType = typeParams.get(domainTypeIndex);
+                    }
+                    domainTypeChanged = true;
+                }
+                if (idType instanceof JavaType.GenericTypeVariable || idType == null) {
+                    idTypeIndexInChain = i;
+                    int idx = idType == null ? -1 : findTypeVarIndex(((JavaType.Parameterized) repoType).getType().getTypeParameters(), ((JavaType.GenericTypeVariable) idType).getName());
+                    if (idx < 0) {
+                        idType = typeParams.get(idTypeIndex);
+                    } else {
+                        idTypeIndex = idx;
+                        idType = typeParams.get(idTypeIndex);
+                    }
+                    idTypeChanged = true;
+                }
+            } else {
+                if (idType instanceof JavaType.GenericTypeVariable || idType == null) {
+                    idTypeIndexInChain = i;
+                    idType = typeParams.get(idTypeIndex);
+                    idTypeChanged = true;
+                }
+                if (domainType instanceof JavaType.GenericTypeVariable || domainType == null) {
+                    domainType = typeParams.get(domainTypeIndex);
+                    domainTypeChanged = true;
+                }
+            }
+            // Adjust domainTypeIndex or idTypeIndex if needed as well as remaining expected number of parameters
+            if (idType instanceof JavaType.FullyQualified && idTypeChanged) {
+                if (domainType instanceof JavaType.GenericTypeVariable && domainTypeIndex > idTypeIndex) {
+                    domainTypeIndex--;
+                }
+            }
+            if (domainType instanceof JavaType.FullyQualified && domainTypeChanged) {
+                if (idType instanceof JavaType.GenericTypeVariable && idTypeIndex > domainTypeIndex) {
+                    idTypeIndex--;
+                }
+            }
+        }
+        return new RepositoryTypes(repoTypeChain, domainType, idType, idTypeIndex, idTypeIndexInChain);
+    }
+
     private static TypeTree markTypeParam(TypeTree tt, int idx, Marker m) {
         if (tt instanceof J.ParameterizedType) {
             J.ParameterizedType pt = (J.ParameterizedType) tt;
@@ -200,26 +236,43 @@ public class EntityIdForRepositoryVisitor<T> extends JavaIsoVisitor<T> {
         return -1;
     }
 
-    private static @Nullable List<JavaType.FullyQualified> findRepoTypeChain(JavaType.FullyQualified type, List<JavaType.FullyQualified> visited) {
-        if (visited.contains(type)) {
-            return null;
+    /**
+     * @param superChains The chains from each type to the repository type, without the type itself, by the fully
+     *                    qualified name of the type. As the supertypes of a type do not depend on how it is
+     *                    parameterized, the base interfaces that many repositories share are only walked once.
+     * @param visiting    The types whose chain is being found, to stop on cyclic type hierarchies.
+     */
+    private static @Nullable List<JavaType.FullyQualified> findRepoTypeChain(JavaType.FullyQualified type,
+                                                                             Map<String, Optional<List<JavaType.FullyQualified>>> superChains,
+                                                                             Set<String> visiting) {
+        if (type instanceof JavaType.Parameterized && REPOSITORY.equals(((JavaType.Parameterized) type).getType().getFullyQualifiedName())) {
+            return Collections.singletonList(type);
         }
-        ArrayList<JavaType.FullyQualified> ls = new ArrayList<>(visited.size() + 1);
-        ls.addAll(visited);
-        ls.add(type);
-        if (type instanceof JavaType.Parameterized &&  REPOSITORY.equals(((JavaType.Parameterized) type).getType().getFullyQualifiedName())) {
-            return ls;
+        String fqn = type.getFullyQualifiedName();
+        Optional<List<JavaType.FullyQualified>> superChain = superChains.get(fqn);
+        if (superChain == null) {
+            if (!visiting.add(fqn)) {
+                return null;
+            }
+            superChain = Optional.ofNullable(findSuperRepoTypeChain(type, superChains, visiting));
+            visiting.remove(fqn);
+            superChains.put(fqn, superChain);
         }
+        return superChain.map(chain -> ListUtils.concat(type, chain)).orElse(null);
+    }
 
+    private static @Nullable List<JavaType.FullyQualified> findSuperRepoTypeChain(JavaType.FullyQualified type,
+                                                                                  Map<String, Optional<List<JavaType.FullyQualified>>> superChains,
+                                                                                  Set<String> visiting) {
         if (type.getSupertype() != null) {
-            List<JavaType.FullyQualified> superChain = findRepoTypeChain(type.getSupertype(), ls);
+            List<JavaType.FullyQualified> superChain = findRepoTypeChain(type.getSupertype(), superChains, visiting);
             if (superChain != null) {
                 return superChain;
             }
         }
 
         for (JavaType.FullyQualified it : type.getInterfaces()) {
-            List<JavaType.FullyQualified> superChain = findRepoTypeChain(it, ls);
+            List<JavaType.FullyQualified> superChain = findRepoTypeChain(it, superChains, visiting);
             if (superChain != null) {
                 return superChain;
             }
@@ -359,4 +412,26 @@ public class EntityIdForRepositoryVisitor<T> extends JavaIsoVisitor<T> {
         return f.getName();
     }
 
+    @Value
+    private static class RepositoryTypes {
+        /**
+         * The repository, followed by the types it extends up to {@code Repository}.
+         */
+        List<JavaType.FullyQualified> repoTypeChain;
+
+        @Nullable
+        JavaType domainType;
+
+        @Nullable
+        JavaType idType;
+
+        int idTypeIndex;
+
+        int idTypeIndexInChain;
+    }
+
+    private static class RepositoryTypesCache {
+        final Map<String, Optional<RepositoryTypes>> repositories = new ConcurrentHashMap<>();
+        final Map<String, Optional<List<JavaType.FullyQualified>>> superChains = new ConcurrentHashMap<>();
+    }
 }
@@ -24,6 +24,7 @@ import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.java.spring.SpringExecutionContextView;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.JavaType;
@@ -135,12 +136,9 @@ public class IntegrationSchedulerPoolRecipe extends ScanningRecipe<IntegrationSc
                     if (maybeMavenMarker.isPresent() && isApplicableMavenProject(xml)) {
                         acc.getApplicableProjects().add(javaProject);
                     }
-                } else if (source instanceof Properties && APP_PROPS_FILE_REGEX.matcher(fileName).matches()) {
-                    if (!FindProperties.find((Properties) source, PROPERTY_KEY, false).isEmpty()) {
-                        acc.getSourceToCommentByProject().put(javaProject, source.getSourcePath());
-                    }
-                } else if (source instanceof Yaml.Documents && APP_YAML_FILE_REGEX.matcher(fileName).matches()) {
-                    if (!FindProperty.find((Yaml) source, PROPERTY_KEY, false).isEmpty()) {
+                } else if (source instanceof Properties && APP_PROPS_FILE_REGEX.matcher(fileName).matches() ||
+                           source instanceof Yaml.Documents && APP_YAML_FILE_REGEX.matcher(fileName).matches()) {
+                    if (SpringExecutionContextView.view(ctx).getConfigurationModel(source).isSetIn(source.getSourcePath(), PROPERTY_KEY)) {
                         acc.getSourceToCommentByProject().put(javaProject, source.getSourcePath());
                     }
                 } else if (source instanceof JavaSourceFile && acc.getSourceToCommentByProject().get(javaProject) == null) {
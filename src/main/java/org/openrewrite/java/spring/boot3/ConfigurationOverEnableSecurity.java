@@ -20,6 +20,7 @@ import lombok.Value;
 import org.openrewrite.*;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.FindAnnotations;
+import org.openrewrite.java.spring.internal.SpringTemplates;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.JavaType;
@@ -117,11 +118,10 @@ public class ConfigurationOverEnableSecurity extends Recipe {
 
                 maybeAddImport(CONFIGURATION_FQN);
 
-                return JavaTemplate.builder("@Configuration")
+                return SpringTemplates.builder("@Configuration")
                     .imports(CONFIGURATION_FQN)
-                    .javaParser(JavaParser.fromJavaVersion()
-                        .classpathFromResources(ctx, "spring-context-5.3.+"))
-                    .build()
+                    .classpathFromResources("spring-context-5.3.+")
+                    .build(ctx)
                     .apply(
                         getCursor(),
                         c.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName))
@@ -18,10 +18,12 @@ package org.openrewrite.java.spring.boot3;
 import org.openrewrite.*;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.SpringBeanIndex;
+import org.openrewrite.java.spring.SpringExecutionContextView;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeTree;
-import org.openrewrite.java.tree.TypeUtils;
 
 public class PreciseBeanType extends Recipe {
     private static final String BEAN = "org.springframework.context.annotation.Bean";
@@ -45,7 +47,7 @@ public class PreciseBeanType extends Recipe {
             public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
                 J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
                 Object o = getCursor().pollMessage(MSG_KEY);
-                if (o != null && (method.getReturnTypeExpression() != null && !o.equals(method.getReturnTypeExpression().getType())) && isBeanMethod(m)) {
+                if (o != null && (method.getReturnTypeExpression() != null && !o.equals(method.getReturnTypeExpression().getType())) && beans(ctx).getBeanMethod(method) != null) {
                     if (o instanceof JavaType.FullyQualified) {
                         JavaType.FullyQualified actualType = (JavaType.FullyQualified) o;
                         if (m.getReturnTypeExpression() instanceof J.Identifier) {
@@ -88,15 +90,6 @@ public class PreciseBeanType extends Recipe {
                 return m;
             }
 
-            private boolean isBeanMethod(J.MethodDeclaration m) {
-                for (J.Annotation leadingAnnotation : m.getLeadingAnnotations()) {
-                    if (TypeUtils.isOfClassType(leadingAnnotation.getType(), BEAN)) {
-                        return true;
-                    }
-                }
-                return false;
-            }
-
             @Override
             public J.Return visitReturn(J.Return _return, ExecutionContext ctx) {
                 if (_return.getExpression() != null && _return.getExpression().getType() != null) {
@@ -110,6 +103,10 @@ public class PreciseBeanType extends Recipe {
                 }
                 return super.visitReturn(_return, ctx);
             }
+
+            private SpringBeanIndex beans(ExecutionContext ctx) {
+                return SpringExecutionContextView.view(ctx).getBeanIndex(getCursor().firstEnclosingOrThrow(JavaSourceFile.class));
+            }
         });
     }
 }
@@ -20,10 +20,10 @@ import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.SpringExecutionContextView;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
 
@@ -70,9 +70,7 @@ public class MigrateJpaSort extends Recipe {
 
                     return JavaTemplate.builder(template)
                         .contextSensitive()
-                        .javaParser(JavaParser.fromJavaVersion()
-                            .classpathFromResources(ctx, "spring-data-commons-2.*",
-                                "spring-data-jpa-2.3.*", "javax.persistence-api-2.*"))
+                        .javaParser(SpringExecutionContextView.view(ctx).getJavaParser("spring-data-commons-2.*", "spring-data-jpa-2.3.*", "javax.persistence-api-2.*"))
                         .imports("org.springframework.data.jpa.domain.JpaSort")
                         .build()
                         .apply(
@@ -20,10 +20,10 @@ import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.ChangeType;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.SpringExecutionContextView;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeTree;
@@ -76,12 +76,7 @@ public class MigrateQuerydslJpaRepository extends Recipe {
                     J.FieldAccess entityPathResolver = TypeTree.build("SimpleEntityPathResolver.INSTANCE");
                     return JavaTemplate.builder(template)
                         .imports(targetFqn)
-                        .javaParser(JavaParser.fromJavaVersion()
-                            .classpathFromResources(ctx,
-                                "javax.persistence-api-2.*",
-                                "spring-data-commons-2.*",
-                                "spring-data-jpa-2.*"
-                            ))
+                        .javaParser(SpringExecutionContextView.view(ctx).getJavaParser("javax.persistence-api-2.*", "spring-data-commons-2.*", "spring-data-jpa-2.*"))
                         .build().apply(
                             getCursor(),
                             newClass.getCoordinates().replace(),
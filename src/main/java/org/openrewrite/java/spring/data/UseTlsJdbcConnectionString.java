@@ -20,15 +20,14 @@ import lombok.Value;
 import org.openrewrite.*;
 import org.openrewrite.internal.NameCaseConvention;
 import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.SpringExecutionContextView;
 import org.openrewrite.marker.SearchResult;
 import org.openrewrite.properties.PropertiesIsoVisitor;
 import org.openrewrite.properties.PropertiesVisitor;
-import org.openrewrite.properties.search.FindProperties;
 import org.openrewrite.properties.tree.Properties;
 import org.openrewrite.yaml.JsonPathMatcher;
 import org.openrewrite.yaml.YamlIsoVisitor;
 import org.openrewrite.yaml.YamlVisitor;
-import org.openrewrite.yaml.search.FindProperty;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.net.URI;
@@ -137,7 +136,7 @@ public class UseTlsJdbcConnectionString extends Recipe {
             return new YamlVisitor<ExecutionContext>() {
                 @Override
                 public Yaml visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
-                    if (!FindProperty.find(documents, propertyKey, true).isEmpty()) {
+                    if (SpringExecutionContextView.view(ctx).getPropertyIndex(documents).mayContain(propertyKey)) {
                         return SearchResult.found(documents);
                     }
                     return documents;
@@ -204,7 +203,7 @@ public class UseTlsJdbcConnectionString extends Recipe {
             return new PropertiesVisitor<ExecutionContext>() {
                 @Override
                 public Properties visitFile(Properties.File file, ExecutionContext ctx) {
-                    if (!FindProperties.find(file, propertyKey, true).isEmpty()) {
+                    if (SpringExecutionContextView.view(ctx).getPropertyIndex(file).mayContain(propertyKey)) {
                         return SearchResult.found(file);
                     }
                     return file;
@@ -20,10 +20,10 @@ import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.SpringTemplates;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
@@ -56,12 +56,11 @@ public class MigrateWebMvcConfigurerAdapter extends Recipe {
                         cd = cd.withType(type.withSupertype(null));
                         updateCursor(cd);
                     }
-                    cd = JavaTemplate.builder("WebMvcConfigurer")
+                    cd = SpringTemplates.builder("WebMvcConfigurer")
                                     .contextSensitive()
                                     .imports("org.springframework.web.servlet.config.annotation.WebMvcConfigurer")
-                                    .javaParser(JavaParser.fromJavaVersion()
-                                            .classpathFromResources(ctx, "spring-webmvc-5.*"))
-                                    .build().apply(getCursor(), cd.getCoordinates().addImplementsClause());
+                                    .classpathFromResources("spring-webmvc-5.*")
+                                    .build(ctx).apply(getCursor(), cd.getCoordinates().addImplementsClause());
                     updateCursor(cd);
                     cd = (J.ClassDeclaration) new RemoveSuperStatementVisitor().visitNonNull(cd, ctx, getCursor().getParentOrThrow());
                     maybeRemoveImport("org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter");
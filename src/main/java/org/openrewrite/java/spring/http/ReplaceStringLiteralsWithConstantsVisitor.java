@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.http;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.ReplaceStringLiteralWithConstant;
+import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.java.spring.internal.SpringWebConstantCatalog;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+
+import java.util.*;
+
+/**
+ * Replaces string literals with any of a set of constants of one class in a single traversal. The literal values are
+ * looked up in a map from value to constant, which is built from the {@link SpringWebConstantCatalog} of the
+ * spring-web version that each source file's project depends on; constants missing from that version are simply not
+ * in the map. Source files of a project without spring-web are left unchanged.
+ */
+class ReplaceStringLiteralsWithConstantsVisitor extends JavaVisitor<ExecutionContext> {
+    private static final UUID NO_PROJECT = new UUID(0, 0);
+
+    private final String owningType;
+    private final List<String> constantNames;
+    private final Map<UUID, String> springWebVersions;
+    private final Map<String, Map<String, ReplaceStringLiteralWithConstant>> replacementsByCatalogVersion;
+
+    private Map<String, ReplaceStringLiteralWithConstant> replacementsByValue = Collections.emptyMap();
+
+    /**
+     * @param owningType                   The fully qualified name of the class declaring the constants.
+     * @param constantNames                The names of the constants, in order of preference when two have the same value.
+     * @param springWebVersions            The spring-web version of each project, keyed by {@link #projectId(SourceFile)}.
+     * @param replacementsByCatalogVersion The replacement maps already built, keyed by catalog version.
+     */
+    ReplaceStringLiteralsWithConstantsVisitor(String owningType, List<String> constantNames, Map<UUID, String> springWebVersions,
+                                              Map<String, Map<String, ReplaceStringLiteralWithConstant>> replacementsByCatalogVersion) {
+        this.owningType = owningType;
+        this.constantNames = constantNames;
+        this.springWebVersions = springWebVersions;
+        this.replacementsByCatalogVersion = replacementsByCatalogVersion;
+    }
+
+    /**
+     * @return The id of the {@link JavaProject} a source file belongs to, or a shared id for source files without one.
+     */
+    static UUID projectId(SourceFile sourceFile) {
+        return sourceFile.getMarkers().findFirst(JavaProject.class).map(JavaProject::getId).orElse(NO_PROJECT);
+    }
+
+    /**
+     * @param owningType    The fully qualified name of the class declaring the constants.
+     * @param constantNames The names of the constants, in order of preference when two have the same value.
+     * @param catalog       The constants that exist in the version of spring-web the project depends on.
+     * @return The replacement for each literal value, empty if the class is not in the catalog.
+     */
+    static Map<String, ReplaceStringLiteralWithConstant> replacementsByValue(String owningType, List<String> constantNames,
+                                                                             SpringWebConstantCatalog catalog) {
+        Map<String, String> constants = catalog.getConstants(owningType);
+        Map<String, ReplaceStringLiteralWithConstant> replacements = new HashMap<>();
+        for (String constantName : constantNames) {
+            String value = constants.get(constantName);
+            if (value != null) {
+                replacements.putIfAbsent(value, new ReplaceStringLiteralWithConstant(value, owningType + "." + constantName));
+            }
+        }
+        return Collections.unmodifiableMap(replacements);
+    }
+
+    @Override
+    public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+        if (tree instanceof JavaSourceFile) {
+            String version = springWebVersions.get(projectId((SourceFile) tree));
+            if (version == null) {
+                return (J) tree;
+            }
+            // constants missing from the project's version of Spring are left out of the map
+            SpringWebConstantCatalog catalog = SpringWebConstantCatalog.forVersion(version);
+            replacementsByValue = replacementsByCatalogVersion.computeIfAbsent(catalog.getVersion(),
+                    v -> replacementsByValue(owningType, constantNames, catalog));
+        }
+        return super.visit(tree, ctx);
+    }
+
+    @Override
+    public J visitLiteral(J.Literal literal, ExecutionContext ctx) {
+        if (literal.getValue() instanceof String) {
+            ReplaceStringLiteralWithConstant replacement = replacementsByValue.get(literal.getValue());
+            if (replacement != null) {
+                J replaced = (J) replacement.getVisitor().visit(literal, ctx, getCursor().getParentOrThrow());
+                if (replaced != literal) {
+                    maybeAddImport(owningType, false);
+                    return replaced;
+                }
+            }
+        }
+        return literal;
+    }
+}
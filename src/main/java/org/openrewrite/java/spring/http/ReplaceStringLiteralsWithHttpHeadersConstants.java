@@ -17,17 +17,18 @@ package org.openrewrite.java.spring.http;
 
 import org.openrewrite.*;
 import org.openrewrite.internal.lang.Nullable;
-import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.ReplaceStringLiteralWithConstant;
-import org.openrewrite.java.tree.J;
+import org.openrewrite.java.spring.internal.VersionUtils;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
-import static org.openrewrite.java.spring.http.ReplaceStringLiteralsWithMediaTypeConstants.declaresSpringWebDependency;
+import static org.openrewrite.java.spring.http.ReplaceStringLiteralsWithMediaTypeConstants.springWebVersion;
 
-public class ReplaceStringLiteralsWithHttpHeadersConstants extends ScanningRecipe<AtomicBoolean> {
+public class ReplaceStringLiteralsWithHttpHeadersConstants extends ScanningRecipe<Map<UUID, String>> {
 
     private static final List<String> MEDIA_TYPES = Arrays.asList(
             "ALL_VALUE",
@@ -61,6 +62,8 @@ public class ReplaceStringLiteralsWithHttpHeadersConstants extends ScanningRecip
             "TEXT_PLAIN_VALUE",
             "TEXT_XML_VALUE");
 
+    private static final Map<String, Map<String, ReplaceStringLiteralWithConstant>> REPLACEMENTS_BY_VERSION = new ConcurrentHashMap<>();
+
     @Override
     public String getDisplayName() {
         return "Replace String literals with `MediaType` constants";
@@ -72,17 +75,20 @@ public class ReplaceStringLiteralsWithHttpHeadersConstants extends ScanningRecip
     }
 
     @Override
-    public AtomicBoolean getInitialValue(ExecutionContext ctx) {
-        return new AtomicBoolean(false);
+    public Map<UUID, String> getInitialValue(ExecutionContext ctx) {
+        return new ConcurrentHashMap<>();
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getScanner(AtomicBoolean acc) {
+    public TreeVisitor<?, ExecutionContext> getScanner(Map<UUID, String> acc) {
         return new TreeVisitor<Tree, ExecutionContext>() {
             @Override
             public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
-                if (!acc.get() && tree instanceof SourceFile) {
-                    acc.set(declaresSpringWebDependency((SourceFile) tree, ctx));
+                if (tree instanceof SourceFile) {
+                    String version = springWebVersion((SourceFile) tree);
+                    if (version != null) {
+                        acc.merge(ReplaceStringLiteralsWithConstantsVisitor.projectId((SourceFile) tree), version, VersionUtils::oldest);
+                    }
                 }
                 return tree;
             }
@@ -90,20 +96,10 @@ public class ReplaceStringLiteralsWithHttpHeadersConstants extends ScanningRecip
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor(AtomicBoolean acc) {
-        return Preconditions.check(acc.get(), new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J preVisit(J tree, ExecutionContext ctx) {
-                stopAfterPreVisit();
-                for (String mediaType : MEDIA_TYPES) {
-                    try {
-                        doAfterVisit(new ReplaceStringLiteralWithConstant("org.springframework.http.MediaType." + mediaType).getVisitor());
-                    } catch (IllegalArgumentException ignore) {
-                        // this is typically a NoSuchFieldException when an older version of Spring is used
-                    }
-                }
-                return tree;
-            }
-        });
+    public TreeVisitor<?, ExecutionContext> getVisitor(Map<UUID, String> acc) {
+        if (acc.isEmpty()) {
+            return TreeVisitor.noop();
+        }
+        return new ReplaceStringLiteralsWithConstantsVisitor("org.springframework.http.MediaType", MEDIA_TYPES, acc, REPLACEMENTS_BY_VERSION);
     }
 }
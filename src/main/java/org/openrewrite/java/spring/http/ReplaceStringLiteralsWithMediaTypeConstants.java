@@ -16,17 +16,23 @@
 package org.openrewrite.java.spring.http;
 
 import org.openrewrite.*;
+import org.openrewrite.gradle.marker.GradleDependencyConfiguration;
+import org.openrewrite.gradle.marker.GradleProject;
 import org.openrewrite.internal.lang.Nullable;
-import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.ReplaceStringLiteralWithConstant;
-import org.openrewrite.java.tree.J;
-import org.openrewrite.maven.search.DependencyInsight;
+import org.openrewrite.java.spring.internal.VersionUtils;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.maven.tree.ResolvedDependency;
+import org.openrewrite.maven.tree.Scope;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class ReplaceStringLiteralsWithMediaTypeConstants extends ScanningRecipe<AtomicBoolean> {
+public class ReplaceStringLiteralsWithMediaTypeConstants extends ScanningRecipe<Map<UUID, String>> {
 
     private static final List<String> HEADERS = Arrays.asList(
             "ACCEPT",
@@ -91,6 +97,8 @@ public class ReplaceStringLiteralsWithMediaTypeConstants extends ScanningRecipe<
             "WARNING",
             "WWW_AUTHENTICATE");
 
+    private static final Map<String, Map<String, ReplaceStringLiteralWithConstant>> REPLACEMENTS_BY_VERSION = new ConcurrentHashMap<>();
+
     @Override
     public String getDisplayName() {
         return "Replace String literals with `HttpHeaders` constants";
@@ -102,17 +110,20 @@ public class ReplaceStringLiteralsWithMediaTypeConstants extends ScanningRecipe<
     }
 
     @Override
-    public AtomicBoolean getInitialValue(ExecutionContext ctx) {
-        return new AtomicBoolean(false);
+    public Map<UUID, String> getInitialValue(ExecutionContext ctx) {
+        return new ConcurrentHashMap<>();
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getScanner(AtomicBoolean acc) {
+    public TreeVisitor<?, ExecutionContext> getScanner(Map<UUID, String> acc) {
         return new TreeVisitor<Tree, ExecutionContext>() {
             @Override
             public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
-                if (!acc.get() && tree instanceof SourceFile) {
-                    acc.set(declaresSpringWebDependency((SourceFile) tree, ctx));
+                if (tree instanceof SourceFile) {
+                    String version = springWebVersion((SourceFile) tree);
+                    if (version != null) {
+                        acc.merge(ReplaceStringLiteralsWithConstantsVisitor.projectId((SourceFile) tree), version, VersionUtils::oldest);
+                    }
                 }
                 return tree;
             }
@@ -120,25 +131,38 @@ public class ReplaceStringLiteralsWithMediaTypeConstants extends ScanningRecipe<
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor(AtomicBoolean acc) {
-        return Preconditions.check(acc.get(), new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J preVisit(J tree, ExecutionContext ctx) {
-                stopAfterPreVisit();
-                for (String header : HEADERS) {
-                    doAfterVisit(new ReplaceStringLiteralWithConstant("org.springframework.http.HttpHeaders." + header).getVisitor());
-                }
-                return tree;
-            }
-        });
+    public TreeVisitor<?, ExecutionContext> getVisitor(Map<UUID, String> acc) {
+        if (acc.isEmpty()) {
+            return TreeVisitor.noop();
+        }
+        return new ReplaceStringLiteralsWithConstantsVisitor("org.springframework.http.HttpHeaders", HEADERS, acc, REPLACEMENTS_BY_VERSION);
     }
 
-    static boolean declaresSpringWebDependency(SourceFile sourceFile, ExecutionContext ctx) {
-        TreeVisitor<?, ExecutionContext> visitor = new DependencyInsight("org.springframework", "spring-web", "compile", null, null).getVisitor();
-        if (visitor.isAcceptable(sourceFile, ctx) && visitor.visit(sourceFile, ctx) != sourceFile) {
-            return true;
+    /**
+     * @return The version of spring-web on the compile classpath of the Maven or Gradle project a build file describes,
+     * or null if the source file is not a build file or the project does not depend on spring-web.
+     */
+    static @Nullable String springWebVersion(SourceFile sourceFile) {
+        Optional<MavenResolutionResult> maven = sourceFile.getMarkers().findFirst(MavenResolutionResult.class);
+        if (maven.isPresent()) {
+            List<ResolvedDependency> springWeb = maven.get().findDependencies("org.springframework", "spring-web", Scope.Compile);
+            if (!springWeb.isEmpty()) {
+                return springWeb.get(0).getVersion();
+            }
+        }
+        Optional<GradleProject> gradle = sourceFile.getMarkers().findFirst(GradleProject.class);
+        if (gradle.isPresent()) {
+            GradleDependencyConfiguration compileClasspath = gradle.get().getConfiguration("compileClasspath");
+            if (compileClasspath != null) {
+                for (ResolvedDependency dependency : compileClasspath.getResolved()) {
+                    ResolvedDependency springWeb = "org.springframework".equals(dependency.getGroupId()) && "spring-web".equals(dependency.getArtifactId()) ?
+                            dependency : dependency.findDependency("org.springframework", "spring-web");
+                    if (springWeb != null) {
+                        return springWeb.getVersion();
+                    }
+                }
+            }
         }
-        visitor = new org.openrewrite.gradle.search.DependencyInsight("org.springframework", "spring-web", "compileClasspath", null).getVisitor();
-        return visitor.isAcceptable(sourceFile, ctx) && visitor.visit(sourceFile, ctx) != sourceFile;
+        return null;
     }
 }
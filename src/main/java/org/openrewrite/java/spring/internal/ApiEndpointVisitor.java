@@ -0,0 +1,481 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import lombok.Value;
+import org.openrewrite.Cursor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.*;
+
+import java.util.*;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Extracts the HTTP endpoints that a Spring application exposes, in a single pass over each source file. Endpoints
+ * are either handler methods of Spring MVC and WebFlux controllers, mapped with {@code @RequestMapping} and its
+ * shortcuts such as {@code @GetMapping}, or functional routes defined with the WebFlux or WebMvc.fn
+ * {@code RouterFunctions}, both with the route builder and with {@code RequestPredicates}.
+ * <P>
+ * The mapping of a class is computed once, when the class is entered, and handed down to its handler methods and
+ * nested classes, so each handler method only reads the mapping annotation it carries itself. Paths and media types
+ * may be given as arrays, as string literals, as concatenations of them, or as constants, which are resolved with
+ * {@link ConstantStringUtils}. A constant that cannot be resolved is reported as it is written in the source. A
+ * handler method or route without an HTTP method is reported as a GET endpoint.
+ */
+public abstract class ApiEndpointVisitor<P> extends JavaIsoVisitor<P> {
+    private static final String CLASS_MAPPING = ApiEndpointVisitor.class.getName() + ".classMapping";
+
+    private static final String ANNOTATION_PACKAGE = "org.springframework.web.bind.annotation.";
+    private static final String REQUEST_MAPPING = ANNOTATION_PACKAGE + "RequestMapping";
+
+    public static final Set<String> MAPPING_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            REQUEST_MAPPING,
+            ANNOTATION_PACKAGE + "GetMapping",
+            ANNOTATION_PACKAGE + "PostMapping",
+            ANNOTATION_PACKAGE + "PutMapping",
+            ANNOTATION_PACKAGE + "DeleteMapping",
+            ANNOTATION_PACKAGE + "PatchMapping"));
+
+    private static final String DEFAULT_HTTP_METHOD = "GET";
+
+    private static final Set<String> HTTP_METHODS = new HashSet<>(Arrays.asList(
+            "GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+
+    private static final List<String> FUNCTION_PACKAGES = Arrays.asList(
+            "org.springframework.web.reactive.function.server.",
+            "org.springframework.web.servlet.function.");
+
+    private static final Map<String, RouterType> ROUTER_TYPES = new HashMap<>();
+
+    static {
+        for (String functionPackage : FUNCTION_PACKAGES) {
+            ROUTER_TYPES.put(functionPackage + "RouterFunctions", RouterType.ROUTER_FUNCTIONS);
+            ROUTER_TYPES.put(functionPackage + "RouterFunctions$Builder", RouterType.BUILDER);
+            ROUTER_TYPES.put(functionPackage + "RouterFunction", RouterType.ROUTER_FUNCTION);
+            ROUTER_TYPES.put(functionPackage + "RequestPredicates", RouterType.REQUEST_PREDICATES);
+            ROUTER_TYPES.put(functionPackage + "RequestPredicate", RouterType.REQUEST_PREDICATE);
+        }
+    }
+
+    private enum RouterType {
+        ROUTER_FUNCTIONS, BUILDER, ROUTER_FUNCTION, REQUEST_PREDICATES, REQUEST_PREDICATE
+    }
+
+    @Value
+    public static class Endpoint {
+        /**
+         * The name of the handler method, or for a functional route the name of the method referenced as its handler
+         * or else of the method that defines the route.
+         */
+        String handler;
+
+        String httpMethod;
+        String path;
+        List<String> consumes;
+        List<String> produces;
+    }
+
+    /**
+     * @return Whether the source file uses any of the types that endpoints are declared with, which a file must do to
+     * declare any endpoint. It is answered from the types in use of the file, without visiting it.
+     */
+    public static boolean mayDeclareEndpoints(JavaSourceFile sourceFile) {
+        for (JavaType type : sourceFile.getTypesInUse().getTypesInUse()) {
+            JavaType.FullyQualified fq = TypeUtils.asFullyQualified(type);
+            if (fq != null && (MAPPING_ANNOTATIONS.contains(fq.getFullyQualifiedName()) ||
+                               ROUTER_TYPES.containsKey(fq.getFullyQualifiedName()))) {
+                return true;
+            }
+        }
+        for (JavaType.Method method : sourceFile.getTypesInUse().getUsedMethods()) {
+            if (ROUTER_TYPES.containsKey(method.getDeclaringType().getFullyQualifiedName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Called for every handler method declaration, after its body has been visited, and for every method invocation
+     * that defines a functional route, with one endpoint for each combination of path and HTTP method it maps.
+     *
+     * @return The tree, which may be marked.
+     */
+    protected abstract <T extends J> T visitEndpoints(T tree, List<Endpoint> endpoints, P p);
+
+    @Override
+    public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, P p) {
+        J.Annotation annotation = findMapping(classDecl.getAllAnnotations());
+        if (annotation != null) {
+            // constants of the class itself are in scope of its annotations
+            Cursor bodyCursor = new Cursor(new Cursor(getCursor(), classDecl.getBody()), annotation);
+            Mapping mapping = Mapping.of(annotation, bodyCursor);
+            Mapping outer = getCursor().getNearestMessage(CLASS_MAPPING);
+            getCursor().putMessage(CLASS_MAPPING, outer == null ? mapping : outer.combine(mapping));
+        }
+        return super.visitClassDeclaration(classDecl, p);
+    }
+
+    @Override
+    public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, P p) {
+        J.MethodDeclaration m = super.visitMethodDeclaration(method, p);
+        J.Annotation annotation = findMapping(m.getAllAnnotations());
+        if (annotation == null) {
+            return m;
+        }
+
+        Mapping mapping = Mapping.of(annotation, getCursor());
+        Mapping classMapping = getCursor().getNearestMessage(CLASS_MAPPING);
+        if (classMapping != null) {
+            mapping = classMapping.combine(mapping);
+        }
+        return visitEndpoints(m, mapping.endpoints(m.getSimpleName()), p);
+    }
+
+    @Override
+    public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, P p) {
+        J.MethodInvocation m = super.visitMethodInvocation(method, p);
+        List<Mapping> routes = routes(m);
+        if (routes.isEmpty()) {
+            return m;
+        }
+
+        Mapping prefix = routePrefix();
+        String handler = handler(m);
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (Mapping route : routes) {
+            endpoints.addAll((prefix == null ? route : prefix.combine(route)).endpoints(handler));
+        }
+        return visitEndpoints(m, endpoints, p);
+    }
+
+    /**
+     * @return The first of the annotations that maps a handler, or null if there is none.
+     */
+    private static @Nullable J.Annotation findMapping(Iterable<J.Annotation> annotations) {
+        for (J.Annotation annotation : annotations) {
+            JavaType.FullyQualified type = TypeUtils.asFullyQualified(annotation.getType());
+            if (type != null && MAPPING_ANNOTATIONS.contains(type.getFullyQualifiedName())) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The routes that the invocation defines, or none if it does not define a functional route.
+     */
+    private List<Mapping> routes(J.MethodInvocation method) {
+        RouterType routerType = routerType(method);
+        if (routerType == null) {
+            return emptyList();
+        }
+        String name = method.getSimpleName();
+        List<Expression> args = arguments(method);
+        switch (routerType) {
+            case BUILDER:
+                if (HTTP_METHODS.contains(name)) {
+                    Mapping route = new Mapping(singletonList(""), singletonList(name), emptyList(), emptyList());
+                    List<Mapping> routes = singletonList(route);
+                    for (Expression arg : args) {
+                        if (TypeUtils.isString(arg.getType())) {
+                            routes = singletonList(route.combine(new Mapping(
+                                    singletonList(ConstantStringUtils.resolve(arg, getCursor())), emptyList(), emptyList(), emptyList())));
+                        } else if (isRequestPredicate(arg)) {
+                            routes = combine(routes, predicate(arg));
+                        }
+                    }
+                    return routes;
+                } else if ("route".equals(name) && args.size() == 2) {
+                    return predicate(args.get(0));
+                }
+                return emptyList();
+            case ROUTER_FUNCTIONS:
+            case ROUTER_FUNCTION:
+                if (("route".equals(name) || "andRoute".equals(name)) && args.size() == 2) {
+                    return predicate(args.get(0));
+                }
+                return emptyList();
+            default:
+                return emptyList();
+        }
+    }
+
+    /**
+     * @return The path that encloses a functional route because it is defined inside a {@code path} or {@code nest}
+     * route, or null if there is none.
+     */
+    private @Nullable Mapping routePrefix() {
+        Mapping prefix = null;
+        Object child = getCursor().getValue();
+        for (Cursor c = getCursor().getParent(); c != null; c = c.getParent()) {
+            Object value = c.getValue();
+            if (value instanceof J.MethodDeclaration || value instanceof J.ClassDeclaration) {
+                break;
+            }
+            // only routes defined in the arguments of a nesting route are nested, not those it is chained to
+            if (value instanceof J.MethodInvocation && child instanceof JContainer) {
+                Mapping nesting = nesting((J.MethodInvocation) value, c);
+                if (nesting != null) {
+                    prefix = prefix == null ? nesting : nesting.combine(prefix);
+                }
+            }
+            child = value;
+        }
+        return prefix;
+    }
+
+    private @Nullable Mapping nesting(J.MethodInvocation method, Cursor cursor) {
+        RouterType routerType = routerType(method);
+        List<Expression> args = arguments(method);
+        if (routerType == null || args.size() != 2) {
+            return null;
+        }
+        String name = method.getSimpleName();
+        if (routerType == RouterType.BUILDER && "path".equals(name)) {
+            return new Mapping(singletonList(ConstantStringUtils.resolve(args.get(0), cursor)), emptyList(), emptyList(), emptyList());
+        } else if ((routerType == RouterType.BUILDER || routerType == RouterType.ROUTER_FUNCTIONS) && "nest".equals(name) ||
+                   routerType == RouterType.ROUTER_FUNCTION && "andNest".equals(name)) {
+            List<Mapping> predicate = predicate(args.get(0), cursor);
+            return predicate.isEmpty() ? null : predicate.get(0);
+        }
+        return null;
+    }
+
+    private List<Mapping> predicate(Expression predicate) {
+        return predicate(predicate, getCursor());
+    }
+
+    /**
+     * @return The alternative routes that a request predicate matches, of which there is more than one if the
+     * predicate is composed with {@code or}.
+     */
+    private List<Mapping> predicate(Expression predicate, Cursor cursor) {
+        Mapping any = new Mapping(singletonList(""), emptyList(), emptyList(), emptyList());
+        Expression unwrapped = ConstantStringUtils.unwrap(predicate);
+        if (!(unwrapped instanceof J.MethodInvocation)) {
+            return singletonList(any);
+        }
+        J.MethodInvocation method = (J.MethodInvocation) unwrapped;
+        RouterType routerType = routerType(method);
+        String name = method.getSimpleName();
+        List<Expression> args = arguments(method);
+        if (routerType == RouterType.REQUEST_PREDICATES) {
+            if (HTTP_METHODS.contains(name) && args.size() == 1) {
+                return singletonList(new Mapping(singletonList(ConstantStringUtils.resolve(args.get(0), cursor)),
+                        singletonList(name), emptyList(), emptyList()));
+            } else if ("path".equals(name) && args.size() == 1) {
+                return singletonList(new Mapping(singletonList(ConstantStringUtils.resolve(args.get(0), cursor)),
+                        emptyList(), emptyList(), emptyList()));
+            } else if ("method".equals(name) || "methods".equals(name)) {
+                List<String> methods = new ArrayList<>();
+                for (Expression arg : args) {
+                    methods.addAll(names(arg));
+                }
+                return singletonList(new Mapping(singletonList(""), methods, emptyList(), emptyList()));
+            } else if ("accept".equals(name) || "contentType".equals(name)) {
+                List<String> mediaTypes = new ArrayList<>();
+                for (Expression arg : args) {
+                    mediaTypes.addAll(resolveStrings(arg, cursor));
+                }
+                return singletonList("accept".equals(name) ?
+                        new Mapping(singletonList(""), emptyList(), emptyList(), mediaTypes) :
+                        new Mapping(singletonList(""), emptyList(), mediaTypes, emptyList()));
+            }
+        } else if (routerType == RouterType.REQUEST_PREDICATE && method.getSelect() != null && args.size() == 1) {
+            if ("and".equals(name)) {
+                return combine(predicate(method.getSelect(), cursor), predicate(args.get(0), cursor));
+            } else if ("or".equals(name)) {
+                List<Mapping> alternatives = new ArrayList<>(predicate(method.getSelect(), cursor));
+                alternatives.addAll(predicate(args.get(0), cursor));
+                return alternatives;
+            }
+        }
+        return singletonList(any);
+    }
+
+    private static List<Mapping> combine(List<Mapping> outer, List<Mapping> inner) {
+        List<Mapping> combined = new ArrayList<>(outer.size() * inner.size());
+        for (Mapping o : outer) {
+            for (Mapping i : inner) {
+                combined.add(o.combine(i));
+            }
+        }
+        return combined;
+    }
+
+    private String handler(J.MethodInvocation method) {
+        List<Expression> args = arguments(method);
+        if (!args.isEmpty() && args.get(args.size() - 1) instanceof J.MemberReference) {
+            return ((J.MemberReference) args.get(args.size() - 1)).getReference().getSimpleName();
+        }
+        J.MethodDeclaration enclosing = getCursor().firstEnclosing(J.MethodDeclaration.class);
+        return enclosing == null ? "" : enclosing.getSimpleName();
+    }
+
+    private static boolean isRequestPredicate(Expression expression) {
+        JavaType.FullyQualified type = TypeUtils.asFullyQualified(expression.getType());
+        return type != null && ROUTER_TYPES.get(type.getFullyQualifiedName()) == RouterType.REQUEST_PREDICATE;
+    }
+
+    private static @Nullable RouterType routerType(J.MethodInvocation method) {
+        return method.getMethodType() == null ? null :
+                ROUTER_TYPES.get(method.getMethodType().getDeclaringType().getFullyQualifiedName());
+    }
+
+    private static List<Expression> arguments(J.MethodInvocation method) {
+        List<Expression> args = method.getArguments();
+        return args.size() == 1 && args.get(0) instanceof J.Empty ? emptyList() : args;
+    }
+
+    /**
+     * The paths, HTTP methods and media types that a mapping annotation, a route or a request predicate matches.
+     * An empty list of HTTP methods or media types matches any.
+     */
+    @Value
+    private static class Mapping {
+        List<String> paths;
+        List<String> methods;
+        List<String> consumes;
+        List<String> produces;
+
+        static Mapping of(J.Annotation annotation, Cursor cursor) {
+            List<String> paths = resolveStrings(attribute(annotation, "value", "path"), cursor);
+            List<String> methods;
+            JavaType.FullyQualified type = TypeUtils.asFullyQualified(annotation.getType());
+            if (type == null || REQUEST_MAPPING.equals(type.getFullyQualifiedName())) {
+                methods = names(attribute(annotation, "method"));
+            } else {
+                methods = singletonList(type.getClassName().replace("Mapping", "").toUpperCase());
+            }
+            return new Mapping(paths.isEmpty() ? singletonList("") : paths, methods,
+                    resolveStrings(attribute(annotation, "consumes"), cursor),
+                    resolveStrings(attribute(annotation, "produces"), cursor));
+        }
+
+        /**
+         * @return The mapping of a handler method or route nested in this one. Paths are appended to this mapping's
+         * paths, whereas HTTP methods and media types replace this mapping's, unless the nested mapping has none.
+         */
+        Mapping combine(Mapping nested) {
+            List<String> combinedPaths = new ArrayList<>(paths.size() * nested.getPaths().size());
+            for (String path : paths) {
+                for (String nestedPath : nested.getPaths()) {
+                    combinedPaths.add(combinePaths(path, nestedPath));
+                }
+            }
+            return new Mapping(combinedPaths,
+                    nested.getMethods().isEmpty() ? methods : nested.getMethods(),
+                    nested.getConsumes().isEmpty() ? consumes : nested.getConsumes(),
+                    nested.getProduces().isEmpty() ? produces : nested.getProduces());
+        }
+
+        List<Endpoint> endpoints(String handler) {
+            List<String> httpMethods = methods.isEmpty() ? singletonList(DEFAULT_HTTP_METHOD) : methods;
+            List<Endpoint> endpoints = new ArrayList<>(paths.size() * httpMethods.size());
+            for (String path : paths) {
+                for (String httpMethod : httpMethods) {
+                    endpoints.add(new Endpoint(handler, httpMethod, path, consumes, produces));
+                }
+            }
+            return endpoints;
+        }
+    }
+
+    /**
+     * @return The paths joined by exactly one slash, unless either is empty.
+     */
+    public static String combinePaths(String path, String nested) {
+        if (path.isEmpty()) {
+            return nested;
+        } else if (nested.isEmpty()) {
+            return path;
+        }
+        boolean pathEndsWithSlash = path.endsWith("/");
+        boolean nestedStartsWithSlash = nested.startsWith("/");
+        if (pathEndsWithSlash && nestedStartsWithSlash) {
+            return path + nested.substring(1);
+        } else if (pathEndsWithSlash || nestedStartsWithSlash) {
+            return path + nested;
+        }
+        return path + "/" + nested;
+    }
+
+    /**
+     * @return The value of the first of the named attributes that the annotation sets, where an argument without a
+     * name sets the {@code value} attribute.
+     */
+    private static @Nullable Expression attribute(J.Annotation annotation, String... names) {
+        if (annotation.getArguments() == null) {
+            return null;
+        }
+        for (String name : names) {
+            for (Expression argument : annotation.getArguments()) {
+                if (argument instanceof J.Assignment) {
+                    J.Assignment assignment = (J.Assignment) argument;
+                    if (assignment.getVariable() instanceof J.Identifier &&
+                        name.equals(((J.Identifier) assignment.getVariable()).getSimpleName())) {
+                        return assignment.getAssignment();
+                    }
+                } else if ("value".equals(name) && !(argument instanceof J.Empty)) {
+                    return argument;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The names of the enum constants, such as {@code RequestMethod.POST}, that the expression lists.
+     */
+    private static List<String> names(@Nullable Expression expression) {
+        if (expression instanceof J.NewArray) {
+            List<String> names = new ArrayList<>();
+            for (Expression element : elements((J.NewArray) expression)) {
+                names.addAll(names(element));
+            }
+            return names;
+        } else if (expression instanceof J.FieldAccess) {
+            return singletonList(((J.FieldAccess) expression).getSimpleName());
+        } else if (expression instanceof J.Identifier) {
+            return singletonList(((J.Identifier) expression).getSimpleName());
+        }
+        return emptyList();
+    }
+
+    /**
+     * @return The strings that the expression evaluates to, which are several if it is an array.
+     */
+    private static List<String> resolveStrings(@Nullable Expression expression, Cursor cursor) {
+        if (expression == null || expression instanceof J.Empty) {
+            return emptyList();
+        } else if (expression instanceof J.NewArray) {
+            List<String> strings = new ArrayList<>();
+            for (Expression element : elements((J.NewArray) expression)) {
+                strings.addAll(resolveStrings(element, cursor));
+            }
+            return strings;
+        }
+        return singletonList(ConstantStringUtils.resolve(expression, cursor));
+    }
+
+    private static List<Expression> elements(J.NewArray array) {
+        return array.getInitializer() == null ? emptyList() : array.getInitializer();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.Map;
+
+/**
+ * Evaluates the string expressions that recipes report, such as request mapping paths and URI templates, from
+ * literals, concatenations and constants. Constants are resolved with {@link LocalVariableUtils} when they are
+ * declared in the same file, evaluating each initializer in the scope of its own declaration, and from the
+ * {@link SpringWebConstantCatalog} when they are spring-web constants such as {@code MediaType.APPLICATION_JSON_VALUE}.
+ */
+public class ConstantStringUtils {
+    private static final int MAX_DEPTH = 8;
+
+    /**
+     * @return The compile-time value of the expression, or the expression as it is written if it has none.
+     */
+    public static String resolve(Expression expression, Cursor cursor) {
+        String value = evaluate(expression, cursor);
+        return value == null ? expression.printTrimmed(cursor) : value;
+    }
+
+    /**
+     * @return The compile-time value of the expression, or null if it cannot be determined.
+     */
+    public static @Nullable String evaluate(Expression expression, Cursor cursor) {
+        return evaluate(expression, cursor, 0);
+    }
+
+    private static @Nullable String evaluate(Expression expression, Cursor cursor, int depth) {
+        Expression e = unwrap(expression);
+        if (e instanceof J.Literal) {
+            Object value = ((J.Literal) e).getValue();
+            return value == null ? null : value.toString();
+        } else if (e instanceof J.Binary && ((J.Binary) e).getOperator() == J.Binary.Type.Addition) {
+            String left = evaluate(((J.Binary) e).getLeft(), cursor, depth);
+            String right = left == null ? null : evaluate(((J.Binary) e).getRight(), cursor, depth);
+            return right == null ? null : left + right;
+        } else if ((e instanceof J.Identifier || e instanceof J.FieldAccess) && depth < MAX_DEPTH) {
+            String catalogValue = catalogValue(e);
+            if (catalogValue != null) {
+                return catalogValue;
+            }
+            Cursor initializer = LocalVariableUtils.resolveInitializer(e, cursor);
+            return initializer == null ? null : evaluate(initializer.getValue(), initializer, depth + 1);
+        }
+        return null;
+    }
+
+    /**
+     * @return The value of a spring-web constant, such as {@code MediaType.APPLICATION_JSON_VALUE}, or, for a
+     * {@code MediaType} constant such as {@code MediaType.APPLICATION_JSON}, the value of its string counterpart.
+     */
+    private static @Nullable String catalogValue(Expression constant) {
+        JavaType.Variable fieldType = constant instanceof J.Identifier ?
+                ((J.Identifier) constant).getFieldType() :
+                ((J.FieldAccess) constant).getName().getFieldType();
+        JavaType.FullyQualified owner = fieldType == null ? null : TypeUtils.asFullyQualified(fieldType.getOwner());
+        if (owner == null) {
+            return null;
+        }
+        Map<String, String> constants = SpringWebConstantCatalog.forVersion(null).getConstants(owner.getFullyQualifiedName());
+        String value = constants.get(fieldType.getName());
+        return value != null ? value : constants.get(fieldType.getName() + "_VALUE");
+    }
+
+    /**
+     * @return The expression without any parentheses around it.
+     */
+    public static Expression unwrap(Expression expression) {
+        Expression e = expression;
+        while (e instanceof J.Parentheses && ((J.Parentheses<?>) e).getTree() instanceof Expression) {
+            e = (Expression) ((J.Parentheses<?>) e).getTree();
+        }
+        return e;
+    }
+}
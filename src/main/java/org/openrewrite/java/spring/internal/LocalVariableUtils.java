@@ -19,21 +19,32 @@ import lombok.Value;
 import org.openrewrite.Cursor;
 import org.openrewrite.SourceFile;
 import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
-import org.openrewrite.java.tree.Statement;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 
 // TODO Add in some form to the `rewrite-java` module
 public class LocalVariableUtils {
 
+    private static final String SCOPE_MESSAGE = LocalVariableUtils.class.getName() + ".scope";
+
     public static Expression resolveExpression(Expression expression, Cursor cursor) {
+        Cursor initializer = resolveInitializer(expression, cursor);
+        return initializer != null ? initializer.getValue() : expression;
+    }
+
+    /**
+     * @return A cursor positioned on the initializer of the final or effectively final variable that the expression
+     * references, whose
+     * parents are the variable's declaration and the scope it is declared in, or null if the variable cannot be
+     * resolved. Names in the initializer must be resolved with this cursor rather than the cursor of the expression,
+     * since a local variable at the expression may shadow the variable that the initializer refers to.
+     */
+    public static @Nullable Cursor resolveInitializer(Expression expression, Cursor cursor) {
         JavaType.Variable fieldType = null;
         if (expression instanceof J.Identifier) {
             fieldType = ((J.Identifier) expression).getFieldType();
@@ -41,29 +52,46 @@ public class LocalVariableUtils {
             fieldType = ((J.FieldAccess) expression).getName().getFieldType();
         }
         if (fieldType == null) {
-            return expression;
+            return null;
         }
         JavaType owner = getRootOwner(fieldType);
-        JavaType localRootType = getRootOwner(cursor);
-        if (Objects.equals(owner, localRootType)) {
-            Expression resolvedVariable = resolveVariable(fieldType.getName(), cursor);
-            return resolvedVariable != null ? resolvedVariable : expression;
-        } else {
-            return expression;
-        }
-    }
 
-    @Nullable
-    private static JavaType getRootOwner(Cursor cursor) {
-        Cursor parent = cursor.dropParentUntil(is -> is instanceof J.MethodDeclaration || is instanceof J.ClassDeclaration || is instanceof SourceFile);
-        Object parentValue = parent.getValue();
-        if (parentValue instanceof SourceFile) {
+        // a single walk up the cursor both finds the declaration and the owner of the enclosing method or class
+        String name = fieldType.getName();
+        J prior = cursor.getValue();
+        VariableMatch match = null;
+        Scope matchedScope = null;
+        Cursor matchScope = null;
+        JavaType localRootType = null;
+        boolean localRootFound = false;
+        for (Cursor scope = cursor.getParentTreeCursor(); !(scope.getValue() instanceof SourceFile); scope = scope.getParentTreeCursor()) {
+            J value = scope.getValue();
+            if (!localRootFound && (value instanceof J.MethodDeclaration || value instanceof J.ClassDeclaration)) {
+                localRootType = value instanceof J.MethodDeclaration ?
+                        getRootOwner(((J.MethodDeclaration) value).getMethodType()) :
+                        getRootOwner(((J.ClassDeclaration) value).getType());
+                localRootFound = true;
+            }
+            if (match == null) {
+                Cursor scopeCursor = scope;
+                matchedScope = scope.computeMessageIfAbsent(SCOPE_MESSAGE, k -> Scope.of(value, scopeCursor));
+                match = matchedScope.find(name, prior);
+                matchScope = scope;
+            }
+            if (match != null && localRootFound) {
+                break;
+            }
+            prior = value;
+        }
+        if (match == null || match.getVariable().getInitializer() == null ||
+            !(match.isFinal() || matchedScope.isEffectivelyFinal(match, matchScope.getValue())) ||
+            !Objects.equals(owner, localRootType)) {
             return null;
-        } else if (parentValue instanceof J.MethodDeclaration) {
-            return getRootOwner(((J.MethodDeclaration) parentValue).getMethodType());
-        } else {
-            return getRootOwner(((J.ClassDeclaration) parentValue).getType());
         }
+        Cursor declaration = matchScope.getValue() == match.getDeclaration() ?
+                matchScope :
+                new Cursor(matchScope, match.getDeclaration());
+        return new Cursor(new Cursor(declaration, match.getVariable()), match.getVariable().getInitializer());
     }
 
     private static JavaType getRootOwner(JavaType type) {
@@ -80,60 +108,148 @@ public class LocalVariableUtils {
     }
 
     /**
-     * Resolves a variable reference (by name) to the initializer expression of the corresponding declaration, provided that the
-     * variable is declared as `final`. In all other cases `null` will be returned.
+     * The variables declared directly in a method, block, for loop, try-with-resources, lambda or variable
+     * declaration, by name. A scope is built the first time a variable is looked up in it, and is kept as a message
+     * of the scope's cursor, so that it is shared by all lookups made while the scope is being visited.
      */
-    @Nullable
-    private static Expression resolveVariable(String name, Cursor cursor) {
-        return resolveVariable0(name, cursor.getValue(), cursor.getParentTreeCursor());
-    }
+    private static class Scope {
+        private static final Scope EMPTY = new Scope(Collections.emptyMap(), null, false);
 
-    @Nullable
-    private static Expression resolveVariable0(String name, J prior, Cursor cursor) {
-        Optional<VariableMatch> found = Optional.empty();
-        J value = cursor.getValue();
-        if (value instanceof SourceFile) {
-            return null;
-        } else if (value instanceof J.MethodDeclaration) {
-            found = findVariable(((J.MethodDeclaration) value).getParameters(), name);
-        } else if (value instanceof J.Block) {
-            J.Block block = (J.Block) value;
-            List<Statement> statements = block.getStatements();
-            boolean checkAllStatements = cursor.getParentTreeCursor().getValue() instanceof J.ClassDeclaration;
-            if (!checkAllStatements) {
-                @SuppressWarnings("SuspiciousMethodCalls") int index = statements.indexOf(prior);
-                statements = index != -1 ? statements.subList(0, index) : statements;
+        private final Map<String, VariableMatch> variables;
+
+        /**
+         * Whether the variables are local variables or parameters, which are effectively final if the scope never
+         * assigns them, rather than fields, which can be assigned from anywhere.
+         */
+        private final boolean local;
+
+        /**
+         * The names of the variables that are assigned anywhere in the scope, collected on the first lookup of a
+         * variable that is not declared final.
+         */
+        @Nullable
+        private Set<String> assignedNames;
+
+        /**
+         * The position of each statement of a block in which a variable is only visible to the statements that
+         * follow its declaration, or null if every variable of the scope is visible everywhere in it.
+         */
+        @Nullable
+        private final Map<J, Integer> statementIndexes;
+
+        private Scope(Map<String, VariableMatch> variables, @Nullable Map<J, Integer> statementIndexes, boolean local) {
+            this.variables = variables;
+            this.statementIndexes = statementIndexes;
+            this.local = local;
+        }
+
+        static Scope of(J value, Cursor cursor) {
+            if (value instanceof J.MethodDeclaration) {
+                return of(((J.MethodDeclaration) value).getParameters(), false, true);
+            } else if (value instanceof J.Block) {
+                boolean checkAllStatements = cursor.getParentTreeCursor().getValue() instanceof J.ClassDeclaration;
+                return of(((J.Block) value).getStatements(), !checkAllStatements, !checkAllStatements);
+            } else if (value instanceof J.ForLoop) {
+                return of(((J.ForLoop) value).getControl().getInit(), false, true);
+            } else if (value instanceof J.Try && ((J.Try) value).getResources() != null) {
+                return of(((J.Try) value).getResources().stream().map(J.Try.Resource::getVariableDeclarations).collect(Collectors.toList()), false, true);
+            } else if (value instanceof J.Lambda) {
+                return of(((J.Lambda) value).getParameters().getParameters(), false, true);
+            } else if (value instanceof J.VariableDeclarations) {
+                // the rest of the variable's scope is not known here
+                return of(Collections.singletonList(value), false, false);
             }
-            found = findVariable(statements, name);
-        } else if (value instanceof J.ForLoop) {
-            found = findVariable(((J.ForLoop) value).getControl().getInit(), name);
-        } else if (value instanceof J.Try && ((J.Try) value).getResources() != null) {
-            found = findVariable(((J.Try) value).getResources().stream().map(J.Try.Resource::getVariableDeclarations).collect(Collectors.toList()), name);
-        } else if (value instanceof J.Lambda) {
-            found = findVariable(((J.Lambda) value).getParameters().getParameters(), name);
-        } else if (value instanceof J.VariableDeclarations) {
-            found = findVariable(Collections.singletonList(((J.VariableDeclarations) value)), name);
+            return EMPTY;
         }
-        return found.map(f -> f.isFinal ? f.variable.getInitializer() : null).orElseGet(() -> resolveVariable0(name, value, cursor.getParentTreeCursor()));
-    }
 
-    private static Optional<VariableMatch> findVariable(List<? extends J> list, String name) {
-        for (J j : list) {
-            if (j instanceof J.VariableDeclarations) {
-                J.VariableDeclarations declaration = (J.VariableDeclarations) j;
-                for (J.VariableDeclarations.NamedVariable variable : declaration.getVariables()) {
-                    if (variable.getSimpleName().equals(name)) {
-                        return Optional.of(new VariableMatch(variable, declaration.hasModifier(J.Modifier.Type.Final)));
+        private static Scope of(List<? extends J> list, boolean ordered, boolean local) {
+            Map<String, VariableMatch> variables = new HashMap<>();
+            Map<J, Integer> statementIndexes = ordered ? new HashMap<>(list.size()) : null;
+            for (int i = 0; i < list.size(); i++) {
+                J j = list.get(i);
+                if (statementIndexes != null) {
+                    statementIndexes.putIfAbsent(j, i);
+                }
+                if (j instanceof J.VariableDeclarations) {
+                    J.VariableDeclarations declaration = (J.VariableDeclarations) j;
+                    for (J.VariableDeclarations.NamedVariable variable : declaration.getVariables()) {
+                        variables.putIfAbsent(variable.getSimpleName(),
+                                new VariableMatch(declaration, variable, declaration.hasModifier(J.Modifier.Type.Final), i));
                     }
                 }
             }
+            return new Scope(variables, statementIndexes, local);
+        }
+
+        /**
+         * @param prior The element of the scope that the variable is referenced from.
+         */
+        @Nullable
+        VariableMatch find(String name, J prior) {
+            VariableMatch match = variables.get(name);
+            if (match != null && statementIndexes != null) {
+                Integer index = statementIndexes.get(prior);
+                if (index != null && match.getIndex() >= index) {
+                    return null;
+                }
+            }
+            return match;
+        }
+
+        /**
+         * @param scope The method, block, for loop, try or lambda that this scope was built from.
+         * @return true if the variable is a local variable or parameter that is never assigned in its scope.
+         */
+        boolean isEffectivelyFinal(VariableMatch match, J scope) {
+            if (!local) {
+                return false;
+            }
+            if (assignedNames == null) {
+                assignedNames = new HashSet<>();
+                new JavaIsoVisitor<Set<String>>() {
+                    @Override
+                    public J.Assignment visitAssignment(J.Assignment assignment, Set<String> names) {
+                        addName(assignment.getVariable(), names);
+                        return super.visitAssignment(assignment, names);
+                    }
+
+                    @Override
+                    public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, Set<String> names) {
+                        addName(assignOp.getVariable(), names);
+                        return super.visitAssignmentOperation(assignOp, names);
+                    }
+
+                    @Override
+                    public J.Unary visitUnary(J.Unary unary, Set<String> names) {
+                        switch (unary.getOperator()) {
+                            case PreIncrement:
+                            case PreDecrement:
+                            case PostIncrement:
+                            case PostDecrement:
+                                addName(unary.getExpression(), names);
+                                break;
+                            default:
+                                break;
+                        }
+                        return super.visitUnary(unary, names);
+                    }
+
+                    private void addName(Expression variable, Set<String> names) {
+                        if (variable instanceof J.Identifier) {
+                            names.add(((J.Identifier) variable).getSimpleName());
+                        }
+                    }
+                }.visit(scope, assignedNames);
+            }
+            return !assignedNames.contains(match.getVariable().getSimpleName());
         }
-        return Optional.empty();
     }
 
     @Value
     private static class VariableMatch {
+        J.VariableDeclarations declaration;
         J.VariableDeclarations.NamedVariable variable;
         boolean isFinal;
+        int index;
     }
 }
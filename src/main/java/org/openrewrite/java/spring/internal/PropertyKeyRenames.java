@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.BatchChangeSpringPropertyKey.PropertyKeyChange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * An ordered table of property key renames that is applied to individual keys, such as the keys that Java code refers
+ * to in placeholders. A key is renamed by the first change whose old key is equal to, or a parent of, the key, then by
+ * the first later change that matches the result, and so on, just as the changes are applied to configuration files.
+ * <P>
+ * Changes with a glob in their old key are not applied to individual keys, because the part of the key that a glob
+ * stands for cannot be carried over to the new key.
+ */
+public class PropertyKeyRenames {
+    private final List<PropertyKeyChange> changes;
+    private final List<Pattern> excepts;
+    private final PropertyKeyTrie<Integer> trie = new PropertyKeyTrie<>();
+
+    public PropertyKeyRenames(List<PropertyKeyChange> changes) {
+        this.changes = changes;
+        this.excepts = new ArrayList<>(changes.size());
+        for (int i = 0; i < changes.size(); i++) {
+            PropertyKeyChange change = changes.get(i);
+            List<String> except = change.getExcept();
+            excepts.add(except == null || except.isEmpty() ? null : Pattern.compile(String.join("|", except)));
+            if (change.getOldPropertyKey().indexOf('*') < 0) {
+                trie.put(change.getOldPropertyKey(), i);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return trie.isEmpty();
+    }
+
+    /**
+     * @param key A property key, matched using relaxed binding.
+     * @return The renamed key, or null if no change applies to it.
+     */
+    public @Nullable String rename(String key) {
+        String renamed = key;
+        int from = 0;
+        while (true) {
+            int applied = -1;
+            for (Integer index : trie.findPrefixesOf(renamed)) {
+                if (index >= from && (applied < 0 || index < applied) && isApplicable(index, renamed)) {
+                    applied = index;
+                }
+            }
+            if (applied < 0) {
+                return renamed.equals(key) ? null : renamed;
+            }
+            PropertyKeyChange change = changes.get(applied);
+            renamed = change.getNewPropertyKey() + suffix(renamed, change.getOldPropertyKey());
+            from = applied + 1;
+        }
+    }
+
+    private boolean isApplicable(int index, String key) {
+        Pattern except = excepts.get(index);
+        if (except == null) {
+            return true;
+        }
+        String suffix = suffix(key, changes.get(index).getOldPropertyKey());
+        if (suffix.isEmpty()) {
+            return true;
+        }
+        int end = suffix.indexOf('.', 1);
+        // like the configuration file recipes, the exceptions apply to the direct children of the old key
+        return !except.matcher(suffix.substring(1, end < 0 ? suffix.length() : end)).matches();
+    }
+
+    /**
+     * @return The part of the key below the old key, including its leading '.', or an empty string if the key is the
+     * old key itself.
+     */
+    private static String suffix(String key, String oldPropertyKey) {
+        int segments = 1;
+        for (int i = 0; i < oldPropertyKey.length(); i++) {
+            if (oldPropertyKey.charAt(i) == '.') {
+                segments++;
+            }
+        }
+        int end = -1;
+        for (int i = 0; i < segments; i++) {
+            end = key.indexOf('.', end + 1);
+            if (end < 0) {
+                return "";
+            }
+        }
+        return key.substring(end);
+    }
+}
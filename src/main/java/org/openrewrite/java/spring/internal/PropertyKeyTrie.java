@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.util.*;
+
+/**
+ * A prefix tree over dot-separated Spring property keys. Each key is inserted with a value, and lookups return the values
+ * of every inserted key that is equal to, or a parent of, the queried key.
+ * <p>
+ * Segments are compared using a relaxed form of Spring's binding rules (case-insensitive, ignoring '-' and '_'), and a
+ * segment containing a '*' matches one or more segments. This makes the trie a conservative filter: it never misses a key
+ * that relaxed binding would consider a match, but it may report candidates that a precise matcher rejects.
+ *
+ * @param <V> The type of value associated with each key.
+ */
+public class PropertyKeyTrie<V> {
+    private final Node<V> root = new Node<>();
+
+    public void put(String key, V value) {
+        Node<V> node = root;
+        for (String segment : segments(key)) {
+            if (segment.indexOf('*') >= 0) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node<>();
+                }
+                node = node.wildcard;
+            } else {
+                node = node.children.computeIfAbsent(segment, s -> new Node<>());
+            }
+        }
+        node.values.add(value);
+    }
+
+    /**
+     * @param key A dot-separated property key.
+     * @return The values of all keys that are equal to, or a parent of, the given key.
+     */
+    public List<V> findPrefixesOf(String key) {
+        List<V> matches = new ArrayList<>();
+        collect(root, segments(key), 0, matches);
+        return matches;
+    }
+
+    public boolean isEmpty() {
+        return root.children.isEmpty() && root.wildcard == null && root.values.isEmpty();
+    }
+
+    private static <V> void collect(Node<V> node, String[] segments, int depth, List<V> matches) {
+        matches.addAll(node.values);
+        if (depth == segments.length) {
+            return;
+        }
+        Node<V> child = node.children.get(segments[depth]);
+        if (child != null) {
+            collect(child, segments, depth + 1, matches);
+        }
+        if (node.wildcard != null) {
+            // a glob may span more than one segment of the key
+            for (int next = depth + 1; next <= segments.length; next++) {
+                collect(node.wildcard, segments, next, matches);
+            }
+        }
+    }
+
+    /**
+     * @param key A dot-separated property key.
+     * @return The key in the relaxed form that the trie uses to compare segments.
+     */
+    public static String normalizeKey(String key) {
+        return String.join(".", segments(key));
+    }
+
+    private static String[] segments(String key) {
+        String[] segments = key.split("\\.");
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = normalize(segments[i]);
+        }
+        return segments;
+    }
+
+    private static String normalize(String segment) {
+        StringBuilder normalized = null;
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '-' || c == '_' || Character.isUpperCase(c)) {
+                if (normalized == null) {
+                    normalized = new StringBuilder(segment.length()).append(segment, 0, i);
+                }
+                if (c != '-' && c != '_') {
+                    normalized.append(Character.toLowerCase(c));
+                }
+            } else if (normalized != null) {
+                normalized.append(c);
+            }
+        }
+        return normalized == null ? segment : normalized.toString();
+    }
+
+    private static class Node<V> {
+        final Map<String, Node<V>> children = new HashMap<>();
+        final List<V> values = new ArrayList<>(1);
+
+        @Nullable
+        Node<V> wildcard;
+    }
+}
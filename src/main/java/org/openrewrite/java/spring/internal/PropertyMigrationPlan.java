@@ -0,0 +1,238 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.BatchChangeSpringPropertyKey.PropertyKeyChange;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A flattened table of Spring Boot property key changes across a chain of versions.
+ * <P>
+ * Each version contributes an ordered list of key changes, which applied one after the other reproduce the effect of
+ * running every version's property migration in sequence. When a change renames the result of an earlier change
+ * (a&rarr;b followed by b&rarr;c), the two are collapsed into a single a&rarr;c entry that is valid from the later version on.
+ * Every entry records the range of target versions for which it applies, so that one table serves all upgrade targets.
+ */
+@Value
+public class PropertyMigrationPlan {
+    public static final String RESOURCE = "/META-INF/rewrite/spring-boot-property-migration-plan.tsv";
+
+    private static final String HEADER = "since\tuntil\toldPropertyKey\tnewPropertyKey\texcept";
+
+    List<Entry> entries;
+
+    /**
+     * Changes that were dropped from the plan because an earlier change to the same key already moves it elsewhere.
+     */
+    List<Conflict> conflicts;
+
+    @Value
+    public static class Step {
+        String version;
+        List<PropertyKeyChange> changes;
+    }
+
+    @Value
+    public static class Conflict {
+        String version;
+        PropertyKeyChange change;
+        String shadowedSince;
+        PropertyKeyChange shadowedBy;
+
+        public String getMessage() {
+            return String.format("Version %s renames '%s' to '%s', but version %s already renames it to '%s'",
+                    version, change.getOldPropertyKey(), change.getNewPropertyKey(),
+                    shadowedSince, shadowedBy.getNewPropertyKey());
+        }
+    }
+
+    @Value
+    public static class Entry {
+        String since;
+
+        @Nullable
+        String until;
+
+        PropertyKeyChange change;
+
+        boolean appliesTo(String targetVersion) {
+            return VersionUtils.compare(since, targetVersion) <= 0 &&
+                   (until == null || VersionUtils.compare(targetVersion, until) < 0);
+        }
+    }
+
+    /**
+     * @param steps The property changes of each version, ordered from the oldest to the newest version.
+     * @return A flattened plan covering every version in the chain.
+     * @throws IllegalStateException If the changes rename a key back to itself.
+     */
+    public static PropertyMigrationPlan compile(List<Step> steps) {
+        List<MutableEntry> entries = new ArrayList<>();
+        List<Conflict> conflicts = new ArrayList<>();
+        for (Step step : steps) {
+            for (PropertyKeyChange change : step.getChanges()) {
+                if (change.getOldPropertyKey().equals(change.getNewPropertyKey())) {
+                    throw new IllegalStateException("Version " + step.getVersion() + " renames '" +
+                                                    change.getOldPropertyKey() + "' to itself");
+                }
+
+                MutableEntry shadowedBy = null;
+                for (MutableEntry entry : entries) {
+                    // an earlier change with exceptions leaves those subproperties behind for this one to move
+                    if (entry.until == null && entry.change.getOldPropertyKey().equals(change.getOldPropertyKey()) &&
+                        (entry.change.getExcept() == null || entry.change.getExcept().isEmpty())) {
+                        shadowedBy = entry;
+                        break;
+                    }
+                }
+                if (shadowedBy != null) {
+                    // the earlier change already moved every key that this one would match
+                    if (!shadowedBy.change.getNewPropertyKey().equals(change.getNewPropertyKey())) {
+                        conflicts.add(new Conflict(step.getVersion(), change, shadowedBy.since, shadowedBy.change));
+                    }
+                    continue;
+                }
+
+                for (int i = 0; i < entries.size(); i++) {
+                    MutableEntry entry = entries.get(i);
+                    if (entry.until == null && entry.change.getNewPropertyKey().equals(change.getOldPropertyKey()) &&
+                        isComposable(entry.change, change) && !isTouchedAfter(entries, i, change)) {
+                        if (entry.change.getOldPropertyKey().equals(change.getNewPropertyKey())) {
+                            throw new IllegalStateException(String.format("Version %s renames '%s' back to '%s', which version %s renamed it from",
+                                    step.getVersion(), change.getOldPropertyKey(), change.getNewPropertyKey(), entry.since));
+                        }
+                        entry.until = step.getVersion();
+                        entries.add(++i, new MutableEntry(step.getVersion(), null,
+                                new PropertyKeyChange(entry.change.getOldPropertyKey(), change.getNewPropertyKey(), null)));
+                    }
+                }
+
+                entries.add(new MutableEntry(step.getVersion(), null, change));
+            }
+        }
+
+        List<Entry> plan = new ArrayList<>(entries.size());
+        for (MutableEntry entry : entries) {
+            // entries composed within the same version never apply to any target
+            if (!entry.since.equals(entry.until)) {
+                plan.add(new Entry(entry.since, entry.until, entry.change));
+            }
+        }
+        return new PropertyMigrationPlan(plan, conflicts);
+    }
+
+    /**
+     * Only changes without globs or exceptions are collapsed. Any other chain is kept as two ordered entries, which is
+     * always correct, just not as cheap to apply.
+     */
+    private static boolean isComposable(PropertyKeyChange first, PropertyKeyChange second) {
+        return first.getOldPropertyKey().indexOf('*') < 0 && second.getOldPropertyKey().indexOf('*') < 0 &&
+               (first.getExcept() == null || first.getExcept().isEmpty()) &&
+               (second.getExcept() == null || second.getExcept().isEmpty());
+    }
+
+    /**
+     * A collapsed entry takes the place of the entry it replaces, so it is only correct if none of the entries after that
+     * one would have changed the intermediate or the final key in between.
+     */
+    private static boolean isTouchedAfter(List<MutableEntry> entries, int index, PropertyKeyChange change) {
+        for (int i = index + 1; i < entries.size(); i++) {
+            MutableEntry entry = entries.get(i);
+            if (entry.until == null) {
+                String oldKey = entry.change.getOldPropertyKey();
+                if (oldKey.indexOf('*') >= 0 ||
+                    isSameOrParent(oldKey, change.getOldPropertyKey()) ||
+                    isSameOrParent(oldKey, change.getNewPropertyKey())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSameOrParent(String parent, String key) {
+        return key.equals(parent) || key.startsWith(parent + ".");
+    }
+
+    /**
+     * @param targetVersion A Spring Boot major.minor version, such as "3.2".
+     * @return The ordered property key changes that migrate a project from the start of the chain to the target version.
+     */
+    public List<PropertyKeyChange> changesFor(String targetVersion) {
+        List<PropertyKeyChange> changes = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.appliesTo(targetVersion)) {
+                changes.add(entry.getChange());
+            }
+        }
+        return changes;
+    }
+
+    public String print() {
+        StringBuilder tsv = new StringBuilder(HEADER).append('\n');
+        for (Entry entry : entries) {
+            PropertyKeyChange change = entry.getChange();
+            tsv.append(entry.getSince()).append('\t')
+                    .append(entry.getUntil() == null ? "" : entry.getUntil()).append('\t')
+                    .append(change.getOldPropertyKey()).append('\t')
+                    .append(change.getNewPropertyKey()).append('\t')
+                    .append(change.getExcept() == null ? "" : String.join(",", change.getExcept()))
+                    .append('\n');
+        }
+        return tsv.toString();
+    }
+
+    public static PropertyMigrationPlan read(InputStream tsv) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(tsv, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.equals(HEADER)) {
+                    continue;
+                }
+                String[] columns = line.split("\t", -1);
+                if (columns.length != 5) {
+                    throw new IOException("Malformed property migration plan entry: " + line);
+                }
+                entries.add(new Entry(
+                        columns[0],
+                        columns[1].isEmpty() ? null : columns[1],
+                        new PropertyKeyChange(columns[2], columns[3],
+                                columns[4].isEmpty() ? null : Arrays.asList(columns[4].split(",")))));
+            }
+        }
+        return new PropertyMigrationPlan(entries, Collections.emptyList());
+    }
+
+    @AllArgsConstructor
+    private static class MutableEntry {
+        final String since;
+
+        @Nullable
+        String until;
+
+        final PropertyKeyChange change;
+    }
+}
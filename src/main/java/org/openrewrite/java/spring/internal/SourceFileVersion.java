@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Identifies the version of a source file that something was derived from, without keeping the source file alive for
+ * the rest of the run. Source files are immutable, so any change to a file produces a new instance that this version
+ * no longer matches.
+ */
+public class SourceFileVersion {
+    private final WeakReference<SourceFile> sourceFile;
+
+    public SourceFileVersion(@Nullable SourceFile sourceFile) {
+        this.sourceFile = new WeakReference<>(sourceFile);
+    }
+
+    public boolean isOf(SourceFile sourceFile) {
+        return this.sourceFile.get() == sourceFile;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A registry of {@link JavaTemplate}s shared by the Spring recipes, so that a template built inside a visit method is
+ * built, along with the parser classpath it resolves from resources, once rather than once per match.
+ * <P>
+ * Templates are keyed by their code, imports and classpath artifacts. There is one registry per
+ * {@link ExecutionContext}, because a template keeps the parser it was built with, and that parser uses the classpath
+ * and type cache of the run that built it. The registry is safe to share across threads, holds at most a fixed number
+ * of templates, evicting the least recently used one, and counts its hits, misses and evictions. Templates built from the same key are interchangeable, so two threads that miss on the same key at the
+ * same time may both build it, and one of the two is kept.
+ * <P>
+ * Typical usage mirrors {@link JavaTemplate#builder(String)}:
+ * <pre>{@code
+ * SpringTemplates.builder("@Configuration")
+ *         .imports("org.springframework.context.annotation.Configuration")
+ *         .classpathFromResources("spring-context-5.3.+")
+ *         .build(ctx)
+ *         .apply(getCursor(), c.getCoordinates().addAnnotation(comparator));
+ * }</pre>
+ */
+public class SpringTemplates {
+    private static final int MAXIMUM_SIZE = 512;
+
+    private static final String TEMPLATES = "org.openrewrite.java.spring.templates";
+
+    private final Map<Key, JavaTemplate> templates;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    SpringTemplates(int maximumSize) {
+        this.templates = new LinkedHashMap<Key, JavaTemplate>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, JavaTemplate> eldest) {
+                if (size() > maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static Builder builder(String code) {
+        return new Builder(code);
+    }
+
+    /**
+     * @return The hits, misses and evictions of the registry shared by all recipes running with the execution context.
+     */
+    public static Stats getStats(ExecutionContext ctx) {
+        return registry(ctx).stats();
+    }
+
+    static SpringTemplates registry(ExecutionContext ctx) {
+        return ctx.computeMessageIfAbsent(TEMPLATES, k -> new SpringTemplates(MAXIMUM_SIZE));
+    }
+
+    JavaTemplate get(Key key, ExecutionContext ctx) {
+        JavaTemplate template;
+        synchronized (templates) {
+            template = templates.get(key);
+        }
+        if (template != null) {
+            hits.increment();
+            return template;
+        }
+        misses.increment();
+
+        // built outside the lock, as resolving the classpath may extract jars from resources
+        JavaTemplate built = key.build(ctx);
+        synchronized (templates) {
+            template = templates.putIfAbsent(key, built);
+        }
+        return template == null ? built : template;
+    }
+
+    Stats stats() {
+        int size;
+        synchronized (templates) {
+            size = templates.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    @Value
+    public static class Stats {
+        long hits;
+        long misses;
+        long evictions;
+        int size;
+    }
+
+    @Value
+    static class Key {
+        String code;
+        boolean contextSensitive;
+        List<String> imports;
+        List<String> staticImports;
+        List<String> classpath;
+
+        JavaTemplate build(ExecutionContext ctx) {
+            JavaTemplate.Builder builder = JavaTemplate.builder(code)
+                    .imports(imports.toArray(new String[0]))
+                    .staticImports(staticImports.toArray(new String[0]));
+            if (contextSensitive) {
+                builder.contextSensitive();
+            }
+            if (!classpath.isEmpty()) {
+                builder.javaParser(SpringExecutionContextView.view(ctx).getJavaParser(classpath.toArray(new String[0])));
+            }
+            return builder.build();
+        }
+    }
+
+    public static class Builder {
+        private final String code;
+        private boolean contextSensitive;
+        private List<String> imports = Collections.emptyList();
+        private List<String> staticImports = Collections.emptyList();
+        private List<String> classpath = Collections.emptyList();
+
+        private Builder(String code) {
+            this.code = code;
+        }
+
+        public Builder contextSensitive() {
+            this.contextSensitive = true;
+            return this;
+        }
+
+        public Builder imports(String... fullyQualifiedTypeNames) {
+            this.imports = Arrays.asList(fullyQualifiedTypeNames);
+            return this;
+        }
+
+        public Builder staticImports(String... fullyQualifiedMemberTypeNames) {
+            this.staticImports = Arrays.asList(fullyQualifiedMemberTypeNames);
+            return this;
+        }
+
+        /**
+         * @param artifactNamesWithVersions The classpath jars bundled in {@code META-INF/rewrite/classpath} to parse
+         *                                  the template against, as passed to
+         *                                  {@link JavaParser.Builder#classpathFromResources(ExecutionContext, String...)}.
+         */
+        public Builder classpathFromResources(String... artifactNamesWithVersions) {
+            this.classpath = Arrays.asList(artifactNamesWithVersions);
+            return this;
+        }
+
+        /**
+         * @param ctx The execution context whose registry holds the template, and which is used to resolve the
+         *            classpath when the template is not yet in the registry.
+         * @return The shared template for this code, imports and classpath.
+         */
+        public JavaTemplate build(ExecutionContext ctx) {
+            return registry(ctx).get(key(), ctx);
+        }
+
+        Key key() {
+            return new Key(code, contextSensitive, imports, staticImports, classpath);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import lombok.Value;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The string constants that a version of spring-web declares, such as the values of {@code MediaType} and
+ * {@code HttpHeaders}. The constants are extracted at build time from the spring-web jars bundled in
+ * {@code META-INF/rewrite/classpath}, so that recipes can tell which constants exist in a project's version of
+ * spring-web without loading any spring-web class.
+ */
+@Value
+public class SpringWebConstantCatalog {
+    public static final String RESOURCE = "/META-INF/rewrite/spring-web-constants.tsv";
+
+    public static final List<String> TYPES = Collections.unmodifiableList(Arrays.asList(
+            "org.springframework.http.HttpHeaders",
+            "org.springframework.http.MediaType"));
+
+    private static final String HEADER = "version\ttype\tconstant\tvalue";
+
+    /**
+     * The spring-web version the constants were extracted from, without any qualifier such as ".RELEASE".
+     */
+    String version;
+
+    /**
+     * The constant values by constant name of each type, in declaration order.
+     */
+    Map<String, Map<String, String>> constantsByType;
+
+    /**
+     * @param type The fully qualified name of a type.
+     * @return The string constants the type declares by name, in declaration order, empty if the type is not cataloged.
+     */
+    public Map<String, String> getConstants(String type) {
+        Map<String, String> constants = constantsByType.get(type);
+        return constants == null ? Collections.emptyMap() : constants;
+    }
+
+    /**
+     * @param springWebVersion The version of spring-web a project depends on, or null if it is not known.
+     * @return The catalog of the newest cataloged version that is not newer than the given version, the oldest catalog
+     * if every cataloged version is newer, or the newest catalog if the version is not known.
+     */
+    public static SpringWebConstantCatalog forVersion(@Nullable String springWebVersion) {
+        List<SpringWebConstantCatalog> catalogs = CatalogHolder.CATALOGS;
+        String version = springWebVersion == null ? null : VersionUtils.numericVersion(springWebVersion);
+        if (version == null) {
+            return catalogs.get(catalogs.size() - 1);
+        }
+        SpringWebConstantCatalog match = catalogs.get(0);
+        for (SpringWebConstantCatalog catalog : catalogs) {
+            if (VersionUtils.compare(catalog.getVersion(), version) <= 0) {
+                match = catalog;
+            }
+        }
+        return match;
+    }
+
+    /**
+     * @return Every cataloged version, ordered from the oldest to the newest.
+     */
+    public static List<SpringWebConstantCatalog> all() {
+        return CatalogHolder.CATALOGS;
+    }
+
+    public static String print(List<SpringWebConstantCatalog> catalogs) {
+        StringBuilder tsv = new StringBuilder(HEADER).append('\n');
+        for (SpringWebConstantCatalog catalog : catalogs) {
+            for (Map.Entry<String, Map<String, String>> type : catalog.getConstantsByType().entrySet()) {
+                for (Map.Entry<String, String> constant : type.getValue().entrySet()) {
+                    tsv.append(catalog.getVersion()).append('\t')
+                            .append(type.getKey()).append('\t')
+                            .append(constant.getKey()).append('\t')
+                            .append(constant.getValue())
+                            .append('\n');
+                }
+            }
+        }
+        return tsv.toString();
+    }
+
+    /**
+     * @return The catalogs in the resource, ordered from the oldest to the newest version.
+     */
+    public static List<SpringWebConstantCatalog> read(InputStream tsv) throws IOException {
+        Map<String, Map<String, Map<String, String>>> constantsByVersion = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(tsv, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.equals(HEADER)) {
+                    continue;
+                }
+                String[] columns = line.split("\t", -1);
+                if (columns.length != 4) {
+                    throw new IOException("Malformed spring-web constant catalog entry: " + line);
+                }
+                constantsByVersion
+                        .computeIfAbsent(columns[0], v -> new LinkedHashMap<>())
+                        .computeIfAbsent(columns[1].intern(), t -> new LinkedHashMap<>())
+                        .put(columns[2], columns[3]);
+            }
+        }
+        List<SpringWebConstantCatalog> catalogs = new ArrayList<>(constantsByVersion.size());
+        for (Map.Entry<String, Map<String, Map<String, String>>> version : constantsByVersion.entrySet()) {
+            Map<String, Map<String, String>> constantsByType = new LinkedHashMap<>();
+            version.getValue().forEach((type, constants) -> constantsByType.put(type, Collections.unmodifiableMap(constants)));
+            catalogs.add(new SpringWebConstantCatalog(version.getKey(), Collections.unmodifiableMap(constantsByType)));
+        }
+        catalogs.sort((c1, c2) -> VersionUtils.compare(c1.getVersion(), c2.getVersion()));
+        return Collections.unmodifiableList(catalogs);
+    }
+
+    private static class CatalogHolder {
+        static final List<SpringWebConstantCatalog> CATALOGS = load();
+
+        private static List<SpringWebConstantCatalog> load() {
+            try (InputStream tsv = SpringWebConstantCatalog.class.getResourceAsStream(RESOURCE)) {
+                List<SpringWebConstantCatalog> catalogs = read(requireNonNull(tsv, "Missing " + RESOURCE));
+                if (catalogs.isEmpty()) {
+                    throw new IllegalStateException("Empty " + RESOURCE);
+                }
+                return catalogs;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
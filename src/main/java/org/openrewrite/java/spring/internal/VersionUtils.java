@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the dotted numeric versions of dependencies and recipe manifests, such as the spring-web version of a
+ * project or the Spring Boot version a property migration applies to.
+ */
+public class VersionUtils {
+    private static final Pattern NUMERIC_VERSION = Pattern.compile("^\\d+(\\.\\d+)*");
+
+    /**
+     * Compares two numeric versions, such as "2.7" and "2.7.1", part by part. Missing parts count as 0.
+     *
+     * @throws NumberFormatException if a version has a part that is not a number.
+     */
+    public static int compare(String v1, String v2) {
+        String[] parts1 = v1.split("\\.");
+        String[] parts2 = v2.split("\\.");
+        for (int i = 0; i < Math.max(parts1.length, parts2.length); i++) {
+            int p1 = i < parts1.length ? Integer.parseInt(parts1[i]) : 0;
+            int p2 = i < parts2.length ? Integer.parseInt(parts2[i]) : 0;
+            if (p1 != p2) {
+                return Integer.compare(p1, p2);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return The leading numeric part of a version, such as "5.3.27" for "5.3.27-SNAPSHOT", or null if there is none.
+     */
+    public static @Nullable String numericVersion(String version) {
+        Matcher matcher = NUMERIC_VERSION.matcher(version);
+        return matcher.find() ? matcher.group() : null;
+    }
+
+    /**
+     * @return The older of two versions by their numeric parts. A version without a numeric part is never considered
+     * older than one with a numeric part.
+     */
+    public static String oldest(@Nullable String version1, String version2) {
+        if (version1 == null) {
+            return version2;
+        }
+        String numeric1 = numericVersion(version1);
+        String numeric2 = numericVersion(version2);
+        if (numeric1 == null || numeric2 == null) {
+            return numeric1 == null ? version2 : version1;
+        }
+        return compare(numeric2, numeric1) < 0 ? version2 : version1;
+    }
+}
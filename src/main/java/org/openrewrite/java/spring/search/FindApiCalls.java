@@ -17,60 +17,265 @@ package org.openrewrite.java.spring.search;
 
 import lombok.EqualsAndHashCode;
 import lombok.Value;
-import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
-import org.openrewrite.SourceFile;
-import org.openrewrite.TreeVisitor;
+import org.openrewrite.*;
+import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.ApiEndpointVisitor;
+import org.openrewrite.java.spring.internal.ConstantStringUtils;
+import org.openrewrite.java.spring.internal.LocalVariableUtils;
 import org.openrewrite.java.spring.table.ApiCalls;
-import org.openrewrite.java.tree.Expression;
-import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.SearchResult;
 
+import java.util.*;
+
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class FindApiCalls extends Recipe {
+    private static final String HTTP_METHOD = "org.springframework.http.HttpMethod";
+    private static final String REQUEST_ENTITY = "org.springframework.http.RequestEntity";
+    private static final String HTTP_EXCHANGE = "org.springframework.web.service.annotation.HttpExchange";
+    private static final String UNKNOWN = "UNKNOWN";
+    private static final String EXCHANGE_URL = FindApiCalls.class.getName() + ".exchangeUrl";
+
+    private static final MethodMatcher REST_TEMPLATE_CALL = new MethodMatcher("org.springframework.web.client.RestOperations *(..)", true);
+    private static final MethodMatcher URI_CREATE = new MethodMatcher("java.net.URI create(String)");
+    private static final MethodMatcher NEW_URI = new MethodMatcher("java.net.URI <constructor>(String)");
+
+    /**
+     * The types declaring the {@code uri(..)} methods of the fluent clients, by client name.
+     */
+    private static final Map<String, String> URI_SPECS = new HashMap<>();
+
+    /**
+     * The {@code @HttpExchange} annotation and its shortcuts, by the HTTP method they imply.
+     */
+    private static final Map<String, String> EXCHANGE_ANNOTATIONS = new HashMap<>();
+
+    static {
+        URI_SPECS.put("org.springframework.web.reactive.function.client.WebClient.UriSpec", "WebClient");
+        URI_SPECS.put("org.springframework.web.client.RestClient.UriSpec", "RestClient");
+
+        EXCHANGE_ANNOTATIONS.put(HTTP_EXCHANGE, "");
+        for (String method : Arrays.asList("Get", "Post", "Put", "Patch", "Delete")) {
+            EXCHANGE_ANNOTATIONS.put("org.springframework.web.service.annotation." + method + "Exchange", method.toUpperCase());
+        }
+    }
+
     transient ApiCalls calls = new ApiCalls(this);
 
     @Override
     public String getDisplayName() {
-        return "Find HTTP API calls via `RestTemplate`";
+        return "Find HTTP API calls";
     }
 
     @Override
     public String getDescription() {
         //language=markdown
-        return "Find outbound HTTP API calls made via Spring's `RestTemplate` class.";
+        return "Find outbound HTTP API calls made via Spring's `RestTemplate`, `WebClient` and `RestClient`, and " +
+               "declared by `@HttpExchange` interfaces. URI templates are resolved from literals and constants where " +
+               "possible, and every call is listed with the method it is made from.";
     }
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaIsoVisitor<ExecutionContext>() {
-            final MethodMatcher restTemplateCall = new MethodMatcher("org.springframework.web.client.RestTemplate *For*(..)");
-            final MethodMatcher restTemplateExchange = new MethodMatcher("org.springframework.web.client.RestTemplate exchange(String, ..)");
-            final MethodMatcher webClientUri = new MethodMatcher("org.springframework.web.reactive.function.client.WebClient.UriSpec(String, ..)");
+        return Preconditions.check(new UsesType<>("org.springframework.web..*", true), new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+                // computed once per class, so that each exchange method only reads its own annotation
+                getCursor().putMessage(EXCHANGE_URL, exchangeUrl(classDecl.getLeadingAnnotations(),
+                        new Cursor(new Cursor(getCursor(), classDecl.getBody()), classDecl)));
+                return super.visitClassDeclaration(classDecl, ctx);
+            }
+
+            @Override
+            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
+                for (J.Annotation annotation : method.getLeadingAnnotations()) {
+                    String httpMethod = exchangeMethod(annotation);
+                    if (httpMethod != null) {
+                        String url = ApiEndpointVisitor.combinePaths(getCursor().getNearestMessage(EXCHANGE_URL, ""),
+                                exchangeUrl(Collections.singletonList(annotation), getCursor()));
+                        return found(m, "HttpExchange", httpMethod, url, ctx);
+                    }
+                }
+                return m;
+            }
 
             @Override
             public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
-                if (restTemplateCall.matches(method)) {
-                    String httpMethod = method.getSimpleName().substring(0, method.getSimpleName().indexOf("For")).toUpperCase();
-                    Expression uri = method.getArguments().get(0);
-                    String uriValue = uri instanceof J.Literal ?
-                            String.valueOf(((J.Literal) uri).getValue()) :
-                            uri.printTrimmed(getCursor());
-                    m = SearchResult.found(m, httpMethod + " " + uriValue);
-                    calls.insertRow(ctx, new ApiCalls.Row(
-                            getCursor().firstEnclosingOrThrow(SourceFile.class).getSourcePath().toString(),
-                            httpMethod,
-                            uriValue
-                    ));
-                } else if (restTemplateExchange.matches(method)) {
-
+                JavaType.Method methodType = method.getMethodType();
+                if (methodType == null || method.getArguments().isEmpty() || method.getArguments().get(0) instanceof J.Empty) {
+                    return m;
+                }
+                String uriSpec = URI_SPECS.get(methodType.getDeclaringType().getFullyQualifiedName().replace('$', '.'));
+                if (uriSpec != null && "uri".equals(method.getSimpleName())) {
+                    return found(m, uriSpec, clientMethod(method.getSelect()), uri(method.getArguments().get(0)), ctx);
+                } else if (REST_TEMPLATE_CALL.matches(method)) {
+                    String name = method.getSimpleName();
+                    List<Expression> args = method.getArguments();
+                    if (name.contains("For")) {
+                        return found(m, "RestTemplate", name.substring(0, name.indexOf("For")).toUpperCase(), uri(args.get(0)), ctx);
+                    } else if ("put".equals(name) || "delete".equals(name)) {
+                        return found(m, "RestTemplate", name.toUpperCase(), uri(args.get(0)), ctx);
+                    } else if (("exchange".equals(name) || "execute".equals(name)) && args.size() > 1 &&
+                               TypeUtils.isOfClassType(args.get(1).getType(), HTTP_METHOD)) {
+                        return found(m, "RestTemplate", httpMethod(args.get(1)), uri(args.get(0)), ctx);
+                    } else if ("exchange".equals(name) && TypeUtils.isAssignableTo(REQUEST_ENTITY, args.get(0).getType())) {
+                        J.MethodInvocation builder = requestEntityBuilder(args.get(0));
+                        return builder == null ?
+                                found(m, "RestTemplate", UNKNOWN, UNKNOWN, ctx) :
+                                found(m, "RestTemplate", clientMethod(builder), uri(builder.getArguments().get(0)), ctx);
+                    }
                 }
                 return m;
             }
-        };
+
+            private <T extends J> T found(T tree, String client, String httpMethod, String uri, ExecutionContext ctx) {
+                calls.insertRow(ctx, new ApiCalls.Row(
+                        getCursor().firstEnclosingOrThrow(SourceFile.class).getSourcePath().toString(),
+                        client,
+                        httpMethod,
+                        uri,
+                        enclosingMethod()
+                ));
+                return SearchResult.found(tree, httpMethod + " " + uri);
+            }
+
+            private String enclosingMethod() {
+                J.MethodDeclaration enclosing = getCursor().firstEnclosing(J.MethodDeclaration.class);
+                if (enclosing == null) {
+                    J.ClassDeclaration enclosingClass = getCursor().firstEnclosing(J.ClassDeclaration.class);
+                    return enclosingClass == null || enclosingClass.getType() == null ? "" :
+                            enclosingClass.getType().getFullyQualifiedName();
+                }
+                return enclosing.getMethodType() == null ? enclosing.getSimpleName() : MethodMatcher.methodPattern(enclosing);
+            }
+
+            private String uri(Expression uri) {
+                Expression e = ConstantStringUtils.unwrap(uri);
+                if (e instanceof J.Lambda || e instanceof J.MemberReference) {
+                    // built by a UriBuilder function
+                    return UNKNOWN;
+                } else if (e instanceof J.MethodInvocation && URI_CREATE.matches((J.MethodInvocation) e)) {
+                    return uri(((J.MethodInvocation) e).getArguments().get(0));
+                } else if (e instanceof J.NewClass && NEW_URI.matches((J.NewClass) e) && ((J.NewClass) e).getArguments().size() == 1) {
+                    return uri(((J.NewClass) e).getArguments().get(0));
+                } else if (e instanceof J.Identifier && TypeUtils.isOfClassType(e.getType(), "java.net.URI")) {
+                    Expression initializer = LocalVariableUtils.resolveExpression(e, getCursor());
+                    return initializer == e ? UNKNOWN : uri(initializer);
+                } else if (TypeUtils.isOfClassType(e.getType(), "java.net.URI")) {
+                    // built in a way that is not followed, such as by a UriComponentsBuilder
+                    return UNKNOWN;
+                }
+                return ConstantStringUtils.resolve(e, getCursor());
+            }
+
+            /**
+             * @return The HTTP method that a fluent client request starts with, such as {@code get()} or
+             * {@code method(HttpMethod.GET)}.
+             */
+            private String clientMethod(@Nullable Expression select) {
+                Expression e = select == null ? null : ConstantStringUtils.unwrap(select);
+                if (!(e instanceof J.MethodInvocation)) {
+                    return UNKNOWN;
+                }
+                J.MethodInvocation method = (J.MethodInvocation) e;
+                if ("method".equals(method.getSimpleName()) && method.getArguments().size() == 1) {
+                    return httpMethod(method.getArguments().get(0));
+                }
+                String name = method.getSimpleName().toUpperCase();
+                return Arrays.asList("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS").contains(name) ? name : UNKNOWN;
+            }
+
+            /**
+             * @return The name of the {@code HttpMethod} constant that the expression refers to, directly or through
+             * a final or effectively final variable.
+             */
+            private String httpMethod(Expression expression) {
+                Expression e = ConstantStringUtils.unwrap(expression);
+                JavaType.Variable fieldType = e instanceof J.Identifier ? ((J.Identifier) e).getFieldType() :
+                        e instanceof J.FieldAccess ? ((J.FieldAccess) e).getName().getFieldType() : null;
+                if (fieldType != null && TypeUtils.isOfClassType(fieldType.getOwner(), HTTP_METHOD)) {
+                    return fieldType.getName();
+                } else if (e instanceof J.MethodInvocation && "valueOf".equals(((J.MethodInvocation) e).getSimpleName()) &&
+                           ((J.MethodInvocation) e).getArguments().size() == 1) {
+                    String name = ConstantStringUtils.evaluate(((J.MethodInvocation) e).getArguments().get(0), getCursor());
+                    return name == null ? UNKNOWN : name;
+                } else if (e instanceof J.Identifier) {
+                    Expression initializer = LocalVariableUtils.resolveExpression(e, getCursor());
+                    return initializer == e ? UNKNOWN : httpMethod(initializer);
+                }
+                return UNKNOWN;
+            }
+
+            /**
+             * @return The {@code RequestEntity.get(uri)} style call a request entity is built from, if it is built in
+             * place or in a final or effectively final variable.
+             */
+            private @Nullable J.MethodInvocation requestEntityBuilder(Expression requestEntity) {
+                Expression e = ConstantStringUtils.unwrap(requestEntity);
+                if (e instanceof J.Identifier) {
+                    Expression initializer = LocalVariableUtils.resolveExpression(e, getCursor());
+                    e = initializer == e ? null : ConstantStringUtils.unwrap(initializer);
+                }
+                while (e instanceof J.MethodInvocation) {
+                    J.MethodInvocation method = (J.MethodInvocation) e;
+                    if (method.getMethodType() != null && method.getMethodType().hasFlags(Flag.Static) &&
+                        TypeUtils.isOfClassType(method.getMethodType().getDeclaringType(), REQUEST_ENTITY) &&
+                        !method.getArguments().isEmpty()) {
+                        return method;
+                    }
+                    e = method.getSelect();
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @return The HTTP method an exchange annotation declares, which is {@code UNKNOWN} for an {@code @HttpExchange}
+     * without one, or null if the annotation is not an exchange annotation.
+     */
+    private static @Nullable String exchangeMethod(J.Annotation annotation) {
+        JavaType.FullyQualified type = TypeUtils.asFullyQualified(annotation.getType());
+        String httpMethod = type == null ? null : EXCHANGE_ANNOTATIONS.get(type.getFullyQualifiedName());
+        if (httpMethod == null || !httpMethod.isEmpty()) {
+            return httpMethod;
+        }
+        if (annotation.getArguments() != null) {
+            for (Expression arg : annotation.getArguments()) {
+                if (arg instanceof J.Assignment && "method".equals(((J.Identifier) ((J.Assignment) arg).getVariable()).getSimpleName()) &&
+                    ((J.Assignment) arg).getAssignment() instanceof J.Literal) {
+                    return String.valueOf(((J.Literal) ((J.Assignment) arg).getAssignment()).getValue());
+                }
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * @return The URL of the first exchange annotation, given either as its {@code value} or {@code url}.
+     */
+    private static String exchangeUrl(List<J.Annotation> annotations, Cursor cursor) {
+        for (J.Annotation annotation : annotations) {
+            if (exchangeMethod(annotation) == null || annotation.getArguments() == null) {
+                continue;
+            }
+            for (Expression arg : annotation.getArguments()) {
+                if (arg instanceof J.Assignment) {
+                    String name = ((J.Identifier) ((J.Assignment) arg).getVariable()).getSimpleName();
+                    if ("value".equals(name) || "url".equals(name)) {
+                        return ConstantStringUtils.resolve(((J.Assignment) arg).getAssignment(), cursor);
+                    }
+                } else if (!(arg instanceof J.Empty)) {
+                    return ConstantStringUtils.resolve(arg, cursor);
+                }
+            }
+        }
+        return "";
     }
 }
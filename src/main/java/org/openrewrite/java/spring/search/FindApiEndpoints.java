@@ -20,26 +20,18 @@ import lombok.Value;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.AnnotationMatcher;
-import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.spring.internal.ApiEndpointVisitor;
 import org.openrewrite.java.spring.table.ApiEndpoints;
-import org.openrewrite.java.tree.*;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.marker.SearchResult;
 
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-import static java.util.stream.Collectors.toList;
+import java.util.StringJoiner;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class FindApiEndpoints extends Recipe {
-    private static final List<AnnotationMatcher> REST_ENDPOINTS = Stream.of("Request", "Get", "Post", "Put", "Delete", "Patch")
-            .map(method -> new AnnotationMatcher("@org.springframework.web.bind.annotation." + method + "Mapping"))
-            .collect(toList());
-
     transient ApiEndpoints apis = new ApiEndpoints(this);
 
     @Override
@@ -52,83 +44,30 @@ public class FindApiEndpoints extends Recipe {
         //language=markdown
         return "Find all HTTP API endpoints exposed by Spring applications. " +
                "More specifically, this marks method declarations annotated with `@RequestMapping`, `@GetMapping`, " +
-               "`@PostMapping`, `@PutMapping`, `@DeleteMapping`, and `@PatchMapping` as search results.";
+               "`@PostMapping`, `@PutMapping`, `@DeleteMapping`, and `@PatchMapping` as search results, " +
+               "as well as the WebFlux and WebMvc.fn functional routes defined with `RouterFunctions`.";
     }
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaIsoVisitor<ExecutionContext>() {
+        return new ApiEndpointVisitor<ExecutionContext>() {
             @Override
-            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
-                J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
-
-                for (J.Annotation annotation : m.getAllAnnotations()) {
-                    if (hasRequestMapping(annotation)) {
-                        String path =
-                                getCursor().getPathAsStream()
-                                        .filter(J.ClassDeclaration.class::isInstance)
-                                        .map(classDecl -> ((J.ClassDeclaration) classDecl).getAllAnnotations().stream()
-                                                .filter(this::hasRequestMapping)
-                                                .findAny()
-                                                .map(classMapping -> getArg(classMapping, "value", ""))
-                                                .orElse(null))
-                                        .filter(Objects::nonNull)
-                                        .collect(Collectors.joining("/")) +
-                                getArg(annotation, "value", "");
-                        path = path.replace("//", "/");
-
-                        JavaType.FullyQualified type = TypeUtils.asFullyQualified(annotation.getType());
-                        assert type != null;
-                        String httpMethod = type.getClassName().startsWith("Request") ?
-                                getArg(annotation, "method", "GET") :
-                                type.getClassName().replace("Mapping", "").toUpperCase();
-
-                        apis.insertRow(ctx, new ApiEndpoints.Row(
-                                getCursor().firstEnclosingOrThrow(JavaSourceFile.class).getSourcePath().toString(),
-                                method.getSimpleName(),
-                                httpMethod,
-                                path
-                        ));
-
-                        m = SearchResult.found(m, httpMethod + " " + path);
-                        break;
-                    }
+            protected <T extends J> T visitEndpoints(T tree, List<Endpoint> endpoints, ExecutionContext ctx) {
+                String sourcePath = getCursor().firstEnclosingOrThrow(JavaSourceFile.class).getSourcePath().toString();
+                StringJoiner description = new StringJoiner(", ");
+                for (Endpoint endpoint : endpoints) {
+                    apis.insertRow(ctx, new ApiEndpoints.Row(
+                            sourcePath,
+                            endpoint.getHandler(),
+                            endpoint.getHttpMethod(),
+                            endpoint.getPath(),
+                            String.join(",", endpoint.getConsumes()),
+                            String.join(",", endpoint.getProduces())
+                    ));
+                    description.add(endpoint.getHttpMethod() + " " + endpoint.getPath());
                 }
-                return m;
-            }
-
-            private boolean hasRequestMapping(J.Annotation ann) {
-                for (AnnotationMatcher restEndpoint : REST_ENDPOINTS) {
-                    if (restEndpoint.matches(ann)) {
-                        return true;
-                    }
-                }
-                return false;
+                return SearchResult.found(tree, description.toString());
             }
         };
     }
-
-    private String getArg(J.Annotation annotation, String key, String defaultValue) {
-        if (annotation.getArguments() != null) {
-            for (Expression argument : annotation.getArguments()) {
-                if (argument instanceof J.Literal) {
-                    //noinspection ConstantConditions
-                    return (String) ((J.Literal) argument).getValue();
-                } else if (argument instanceof J.Assignment) {
-                    J.Assignment arg = (J.Assignment) argument;
-                    if (((J.Identifier) arg.getVariable()).getSimpleName().equals(key)) {
-                        if (arg.getAssignment() instanceof J.FieldAccess) {
-                            return ((J.FieldAccess) arg.getAssignment()).getSimpleName();
-                        } else if (arg.getAssignment() instanceof J.Identifier) {
-                            return ((J.Identifier) arg.getAssignment()).getSimpleName();
-                        } else if (arg.getAssignment() instanceof J.Literal) {
-                            //noinspection ConstantConditions
-                            return (String) ((J.Literal) arg.getAssignment()).getValue();
-                        }
-                    }
-                }
-            }
-        }
-        return defaultValue;
-    }
 }
@@ -22,9 +22,12 @@ import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.search.FindAnnotations;
+import org.openrewrite.java.spring.SpringBeanIndex;
+import org.openrewrite.java.spring.SpringExecutionContextView;
 import org.openrewrite.java.spring.table.SpringComponentRelationships;
 import org.openrewrite.java.spring.table.SpringComponents;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.Statement;
 import org.openrewrite.java.tree.TypeUtils;
@@ -53,16 +56,14 @@ public class FindSpringComponents extends Recipe {
             @Override
             public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
                 J.ClassDeclaration c = super.visitClassDeclaration(classDecl, ctx);
-                for (J.Annotation annotation : classDecl.getLeadingAnnotations()) {
-                    if (TypeUtils.isAssignableTo("org.springframework.stereotype.Component", annotation.getType())) {
-                        c = SearchResult.found(c, "component");
-                        springComponents.insertRow(ctx, new SpringComponents.Row(
-                                getCursor().firstEnclosingOrThrow(SourceFile.class).getSourcePath().toString(),
-                                requireNonNull(classDecl.getType()).getFullyQualifiedName()
-                        ));
-                        recordConstructorInjections(c, ctx);
-                        break;
-                    }
+                SpringBeanIndex.Bean component = beans(ctx).getComponent(classDecl.getType());
+                if (component != null && SpringBeanIndex.FQN_COMPONENT.equals(component.getStereotype())) {
+                    c = SearchResult.found(c, "component");
+                    springComponents.insertRow(ctx, new SpringComponents.Row(
+                            getCursor().firstEnclosingOrThrow(SourceFile.class).getSourcePath().toString(),
+                            component.getType()
+                    ));
+                    recordConstructorInjections(c, ctx);
                 }
                 return c;
             }
@@ -70,8 +71,7 @@ public class FindSpringComponents extends Recipe {
             @Override
             public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
                 J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
-                if (!FindAnnotations.find(m, "@org.springframework.context.annotation.Bean").isEmpty() &&
-                    m.getReturnTypeExpression() != null) {
+                if (beans(ctx).getBeanMethod(method) != null && m.getReturnTypeExpression() != null) {
 
                     m = SearchResult.found(m, "bean");
                     recordDependencies(TypeUtils.asFullyQualified(requireNonNull(m.getReturnTypeExpression()).getType()), m, ctx);
@@ -79,6 +79,10 @@ public class FindSpringComponents extends Recipe {
                 return m;
             }
 
+            private SpringBeanIndex beans(ExecutionContext ctx) {
+                return SpringExecutionContextView.view(ctx).getBeanIndex(getCursor().firstEnclosingOrThrow(JavaSourceFile.class));
+            }
+
             private void recordConstructorInjections(J.ClassDeclaration c, ExecutionContext ctx) {
                 int ctorCount = 0;
                 J.MethodDeclaration ctor = null;
@@ -21,10 +21,9 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.spring.RemoveMethodInvocationsVisitor;
+import org.openrewrite.java.spring.internal.SpringTemplates;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 
@@ -61,11 +60,10 @@ public class ReplaceGlobalMethodSecurityWithMethodSecurity extends Recipe {
                         if (ENABLE_GLOBAL_METHOD_SECURITY_MATCHER.matches(annotation)) {
                             maybeAddImport(EnableMethodSecurityFqn);
                             maybeRemoveImport(EnableGlobalMethodSecurityFqn);
-                            J.Annotation replacementAnnotation = JavaTemplate.builder("@EnableMethodSecurity(prePostEnabled = false)")
-                                    .javaParser(JavaParser.fromJavaVersion()
-                                            .classpathFromResources(ctx, "spring-security-config-5.8.+"))
+                            J.Annotation replacementAnnotation = SpringTemplates.builder("@EnableMethodSecurity(prePostEnabled = false)")
+                                    .classpathFromResources("spring-security-config-5.8.+")
                                     .imports(EnableMethodSecurityFqn)
-                                    .build()
+                                    .build(ctx)
                                     .apply(getCursor(), annotation.getCoordinates().replace());
 
                             List<Expression> oldArgs = annotation.getArguments();
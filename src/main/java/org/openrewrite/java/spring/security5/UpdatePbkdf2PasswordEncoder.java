@@ -21,11 +21,11 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.SpringTemplates;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
@@ -150,28 +150,25 @@ public class UpdatePbkdf2PasswordEncoder extends Recipe {
             }
 
             private JavaTemplate newFactoryMethodTemplate(ExecutionContext ctx) {
-                return JavaTemplate.builder("Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()")
+                return SpringTemplates.builder("Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()")
                         .imports(PBKDF2_PASSWORD_ENCODER_CLASS)
-                        .javaParser(JavaParser.fromJavaVersion()
-                                .classpathFromResources(ctx, "spring-security-crypto-5.8.+"))
-                        .build();
+                        .classpathFromResources("spring-security-crypto-5.8.+")
+                        .build(ctx);
             }
 
             private JavaTemplate newConstructorTemplate(ExecutionContext ctx, String algorithm) {
-                return JavaTemplate.builder("new Pbkdf2PasswordEncoder(#{any(java.lang.CharSequence)}, #{any(int)}, #{any(int)}, " + algorithm + ")")
+                return SpringTemplates.builder("new Pbkdf2PasswordEncoder(#{any(java.lang.CharSequence)}, #{any(int)}, #{any(int)}, " + algorithm + ")")
                         .imports(PBKDF2_PASSWORD_ENCODER_CLASS)
                         .staticImports(PBKDF2_PASSWORD_ENCODER_CLASS + ".SecretKeyFactoryAlgorithm." + algorithm)
-                        .javaParser(JavaParser.fromJavaVersion()
-                                .classpathFromResources(ctx, "spring-security-crypto-5.8.+"))
-                        .build();
+                        .classpathFromResources("spring-security-crypto-5.8.+")
+                        .build(ctx);
             }
 
             private JavaTemplate newDeprecatedConstructorTemplate(ExecutionContext ctx) {
-                return JavaTemplate.builder("new Pbkdf2PasswordEncoder(#{any(java.lang.CharSequence)}, #{any(int)}, #{any(int)}, #{any(int)})")
+                return SpringTemplates.builder("new Pbkdf2PasswordEncoder(#{any(java.lang.CharSequence)}, #{any(int)}, #{any(int)}, #{any(int)})")
                         .imports(PBKDF2_PASSWORD_ENCODER_CLASS)
-                        .javaParser(JavaParser.fromJavaVersion()
-                                .classpathFromResources(ctx, "spring-security-crypto-5.8.+"))
-                        .build();
+                        .classpathFromResources("spring-security-crypto-5.8.+")
+                        .build(ctx);
             }
         });
     }
@@ -21,11 +21,11 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.SpringTemplates;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
@@ -113,19 +113,17 @@ public class UpdateSCryptPasswordEncoder extends Recipe {
             }
 
             private JavaTemplate newV41FactoryMethodTemplate(ExecutionContext ctx) {
-                return JavaTemplate.builder("SCryptPasswordEncoder.defaultsForSpringSecurity_v4_1()")
+                return SpringTemplates.builder("SCryptPasswordEncoder.defaultsForSpringSecurity_v4_1()")
                         .imports(SCRYPT_PASSWORD_ENCODER_CLASS)
-                        .javaParser(JavaParser.fromJavaVersion()
-                                .classpathFromResources(ctx, "spring-security-crypto-5.8.+"))
-                        .build();
+                        .classpathFromResources("spring-security-crypto-5.8.+")
+                        .build(ctx);
             }
 
             private JavaTemplate newV58FactoryMethodTemplate(ExecutionContext ctx) {
-                return JavaTemplate.builder("SCryptPasswordEncoder.defaultsForSpringSecurity_v5_8()")
+                return SpringTemplates.builder("SCryptPasswordEncoder.defaultsForSpringSecurity_v5_8()")
                         .imports(SCRYPT_PASSWORD_ENCODER_CLASS)
-                        .javaParser(JavaParser.fromJavaVersion()
-                                .classpathFromResources(ctx, "spring-security-crypto-5.8.+"))
-                        .build();
+                        .classpathFromResources("spring-security-crypto-5.8.+")
+                        .build(ctx);
             }
         });
     }
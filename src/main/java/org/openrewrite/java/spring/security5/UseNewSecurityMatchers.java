@@ -22,10 +22,10 @@ import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.SpringTemplates;
 import org.openrewrite.java.tree.J;
 
 @Value
@@ -62,11 +62,10 @@ public class UseNewSecurityMatchers extends Recipe {
             }
 
             private JavaTemplate securityMatcherTemplate(ExecutionContext ctx) {
-                return JavaTemplate.builder("securityMatcher(#{any(String)})")
+                return SpringTemplates.builder("securityMatcher(#{any(String)})")
                         .contextSensitive()
-                        .javaParser(JavaParser.fromJavaVersion()
-                                .classpathFromResources(ctx, "spring-security-web-5.8.+", "spring-security-config-5.8.+"))
-                        .build();
+                        .classpathFromResources("spring-security-web-5.8.+", "spring-security-config-5.8.+")
+                        .build(ctx);
             }
         });
     }
@@ -42,6 +42,10 @@ public class ApplyToWithLambdaDsl extends Recipe {
         put("apply", "with");
     }};
 
+    public static final ConvertToSecurityDslVisitor.Spec SPEC =
+            new ConvertToSecurityDslVisitor.Spec(FQN_ABSTRACT_CONFIGURED_SECURITY_BUILDER, APPLICABLE_METHOD_NAMES,
+                    ARG_REPLACEMENTS, METHOD_RENAMES);
+
     @Override
     public String getDisplayName() {
         return "Convert `HttpSecurity::apply` chained calls into `HttpSecurity::with` Lambda DSL";
@@ -56,8 +60,7 @@ public class ApplyToWithLambdaDsl extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
           new UsesType<>(FQN_ABSTRACT_CONFIGURED_SECURITY_BUILDER, true),
-          new ConvertToSecurityDslVisitor<>(FQN_ABSTRACT_CONFIGURED_SECURITY_BUILDER,
-                  APPLICABLE_METHOD_NAMES, ARG_REPLACEMENTS, METHOD_RENAMES)
+          new ConvertToSecurityDslVisitor<>(Collections.singletonList(SPEC))
         );
     }
 }
@@ -18,7 +18,6 @@ package org.openrewrite.java.spring.security6;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.spring.RemoveMethodInvocationsVisitor;
 import org.openrewrite.java.tree.Expression;
 
@@ -41,9 +40,9 @@ public class RemoveFilterSecurityInterceptorOncePerRequest extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        Map<MethodMatcher, Predicate<List<Expression>>> matchers = new HashMap<>();
-        matchers.put(new MethodMatcher("org.springframework.security.config.annotation.web.configurers.AbstractInterceptUrlConfigurer.AbstractInterceptUrlRegistry filterSecurityInterceptorOncePerRequest(boolean)"
-            ), RemoveMethodInvocationsVisitor.isFalseArgument());
-        return new RemoveMethodInvocationsVisitor(matchers);
+        Map<String, Predicate<List<Expression>>> matchers = new HashMap<>();
+        matchers.put("org.springframework.security.config.annotation.web.configurers.AbstractInterceptUrlConfigurer.AbstractInterceptUrlRegistry filterSecurityInterceptorOncePerRequest(boolean)",
+            RemoveMethodInvocationsVisitor.isFalseArgument());
+        return RemoveMethodInvocationsVisitor.withSignatures(matchers);
     }
 }
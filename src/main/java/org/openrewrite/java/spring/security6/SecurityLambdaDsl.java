@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.security6;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.boot2.ConvertToSecurityDslVisitor;
+import org.openrewrite.java.spring.boot2.HeadersConfigurerLambdaDsl;
+import org.openrewrite.java.spring.boot2.HttpSecurityLambdaDsl;
+import org.openrewrite.java.spring.boot2.ServerHttpSecurityLambdaDsl;
+import org.openrewrite.java.spring.security6.oauth2.client.OAuth2ClientLambdaDsl;
+import org.openrewrite.java.spring.security6.oauth2.client.OAuth2LoginLambdaDsl;
+import org.openrewrite.java.spring.security6.oauth2.server.resource.OAuth2ResourceServerLambdaDsl;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class SecurityLambdaDsl extends Recipe {
+
+    private static final List<ConvertToSecurityDslVisitor.Spec> SPECS = Arrays.asList(
+            HttpSecurityLambdaDsl.SPEC,
+            ServerHttpSecurityLambdaDsl.SPEC,
+            HeadersConfigurerLambdaDsl.SPEC,
+            OAuth2LoginLambdaDsl.SPEC,
+            OAuth2ClientLambdaDsl.SPEC,
+            OAuth2ResourceServerLambdaDsl.SPEC);
+
+    @Override
+    public String getDisplayName() {
+        return "Convert Spring Security chained calls into Lambda DSL";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Converts `HttpSecurity`, `ServerHttpSecurity`, `HeadersConfigurer` and OAuth2 configurer chained calls " +
+               "from Spring Security pre 5.2.x into new lambda DSL style calls and removes `and()` methods. Converts " +
+               "each chain in a single pass, with the same result as running the recipe of each type one after another.";
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(
+                Preconditions.or(SPECS.stream()
+                        .map(spec -> new UsesType<>(spec.getSecurityFqn(), true))
+                        .toArray(TreeVisitor[]::new)),
+                new ConvertToSecurityDslVisitor<>(SPECS)
+        );
+    }
+}
@@ -34,6 +34,9 @@ public class OAuth2ClientLambdaDsl extends Recipe {
 
     private static final Collection<String> APPLICABLE_METHODS = Collections.singletonList("authorizationCodeGrant");
 
+    public static final ConvertToSecurityDslVisitor.Spec SPEC =
+            new ConvertToSecurityDslVisitor.Spec(FQN_OAUTH2_CLIENT_CONFIGURER, APPLICABLE_METHODS);
+
     @Override
     public String getDisplayName() {
         return "Convert `OAuth2ClientConfigurer` chained calls into Lambda DSL";
@@ -48,7 +51,7 @@ public class OAuth2ClientLambdaDsl extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
                 new UsesType<>(FQN_OAUTH2_CLIENT_CONFIGURER, true),
-                new ConvertToSecurityDslVisitor<>(FQN_OAUTH2_CLIENT_CONFIGURER, APPLICABLE_METHODS)
+                new ConvertToSecurityDslVisitor<>(Collections.singletonList(SPEC))
         );
     }
 }
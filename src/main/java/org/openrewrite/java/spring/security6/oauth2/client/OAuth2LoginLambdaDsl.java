@@ -26,6 +26,7 @@ import org.openrewrite.java.spring.boot2.ConvertToSecurityDslVisitor;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
@@ -34,6 +35,10 @@ public class OAuth2LoginLambdaDsl extends Recipe {
 
     private static final Collection<String> APPLICABLE_METHOD_NAMES = Arrays.asList("authorizationEndpoint", "redirectionEndpoint",
             "tokenEndpoint", "userInfoEndpoint");
+
+    public static final ConvertToSecurityDslVisitor.Spec SPEC =
+            new ConvertToSecurityDslVisitor.Spec(FQN_OAUTH2_LOGIN_CONFIGURER, APPLICABLE_METHOD_NAMES);
+
     @Override
     public String getDisplayName() {
         return "Convert `OAuth2LoginConfigurer` chained calls into Lambda DSL";
@@ -48,7 +53,7 @@ public class OAuth2LoginLambdaDsl extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
                 new UsesType<>(FQN_OAUTH2_LOGIN_CONFIGURER, true),
-                new ConvertToSecurityDslVisitor<>(FQN_OAUTH2_LOGIN_CONFIGURER, APPLICABLE_METHOD_NAMES)
+                new ConvertToSecurityDslVisitor<>(Collections.singletonList(SPEC))
         );
     }
 }
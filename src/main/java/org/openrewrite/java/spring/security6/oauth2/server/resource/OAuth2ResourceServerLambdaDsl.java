@@ -26,6 +26,7 @@ import org.openrewrite.java.spring.boot2.ConvertToSecurityDslVisitor;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
@@ -34,6 +35,9 @@ public class OAuth2ResourceServerLambdaDsl extends Recipe {
 
     private static final Collection<String> APPLICABLE_METHODS = Arrays.asList("jwt", "opaqueToken");
 
+    public static final ConvertToSecurityDslVisitor.Spec SPEC =
+            new ConvertToSecurityDslVisitor.Spec(FQN_OAUTH2_CLIENT_CONFIGURER, APPLICABLE_METHODS);
+
     @Override
     public String getDisplayName() {
         return "Convert `OAuth2ResourceServerConfigurer` chained calls into Lambda DSL";
@@ -48,7 +52,7 @@ public class OAuth2ResourceServerLambdaDsl extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
                 new UsesType<>(FQN_OAUTH2_CLIENT_CONFIGURER, true),
-                new ConvertToSecurityDslVisitor<>(FQN_OAUTH2_CLIENT_CONFIGURER, APPLICABLE_METHODS)
+                new ConvertToSecurityDslVisitor<>(Collections.singletonList(SPEC))
         );
     }
 }
@@ -26,7 +26,7 @@ public class ApiCalls extends DataTable<ApiCalls.Row> {
 
     public ApiCalls(Recipe recipe) {
         super(recipe, Row.class, ApiCalls.class.getName(),
-                "API endpoints", "The API endpoints that applications expose.");
+                "API calls", "The outbound HTTP API calls that applications make.");
     }
 
     @Value
@@ -35,12 +35,20 @@ public class ApiCalls extends DataTable<ApiCalls.Row> {
                 description = "The path to the source file containing the API call.")
         String sourcePath;
 
+        @Column(displayName = "Client",
+                description = "The client making the API call, such as `RestTemplate`, `WebClient`, `RestClient` or `HttpExchange`.")
+        String client;
+
         @Column(displayName = "Method",
-                description = "The HTTP method of the API endpoint.")
+                description = "The HTTP method of the API call, or `UNKNOWN` if it cannot be determined.")
         String method;
 
         @Column(displayName = "Path",
-                description = "The path of the API endpoint.")
+                description = "The URI template of the API call, with constants resolved where possible.")
         String path;
+
+        @Column(displayName = "Enclosing method",
+                description = "The method the API call is made from, or that declares it on an `@HttpExchange` interface.")
+        String enclosingMethod;
     }
 }
@@ -46,5 +46,13 @@ public class ApiEndpoints extends DataTable<ApiEndpoints.Row> {
         @Column(displayName = "Path",
                 description = "The path of the API endpoint.")
         String path;
+
+        @Column(displayName = "Consumes",
+                description = "The media types of the request bodies that the API endpoint accepts, separated by commas, or empty if it accepts any.")
+        String consumes;
+
+        @Column(displayName = "Produces",
+                description = "The media types of the responses that the API endpoint produces, separated by commas, or empty if it produces any.")
+        String produces;
     }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.java.spring.AddSpringProperties.SpringProperty;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.List;
+
+import static org.openrewrite.properties.Assertions.properties;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class AddSpringPropertiesTest implements RewriteTest {
+
+    @DocumentExample
+    @Test
+    void addSeveralProperties() {
+        rewriteRun(
+          spec -> spec.recipe(new AddSpringProperties(List.of(
+            new SpringProperty("server.servlet.path", "/tmp/my-server-path", null),
+            new SpringProperty("server.shutdown", "graceful", null),
+            new SpringProperty("fred", "fred", null)
+          ), List.of("*"))),
+          //language=properties
+          properties(
+            """
+              server.port=8080
+              """,
+            """
+              fred=fred
+              server.port=8080
+              server.servlet.path=/tmp/my-server-path
+              server.shutdown=graceful
+              """
+          ),
+          //language=yaml
+          yaml(
+            """
+              server:
+                port: 8080
+              """,
+            """
+              server:
+                port: 8080
+                servlet:
+                  path: /tmp/my-server-path
+                shutdown: graceful
+              fred: fred
+              """
+          )
+        );
+    }
+
+    @Test
+    void onlyMissingProperties() {
+        rewriteRun(
+          spec -> spec.recipe(new AddSpringProperties(List.of(
+            new SpringProperty("server.port", "9090", null),
+            new SpringProperty("server.shutdown", "graceful", null)
+          ), List.of("*"))),
+          //language=properties
+          properties(
+            """
+              server.port=8080
+              """,
+            """
+              server.port=8080
+              server.shutdown=graceful
+              """
+          ),
+          //language=yaml
+          yaml(
+            """
+              server:
+                port: 8080
+              """,
+            """
+              server:
+                port: 8080
+                shutdown: graceful
+              """
+          )
+        );
+    }
+
+    @Test
+    void allPropertiesAlreadyExist() {
+        rewriteRun(
+          spec -> spec.recipe(new AddSpringProperties(List.of(
+            new SpringProperty("server.port", "9090", null),
+            new SpringProperty("fred", "fred", null)
+          ), List.of("*"))),
+          //language=properties
+          properties(
+            """
+              server.port=8080
+              fred=doNotChangeThis
+              """
+          ),
+          //language=yaml
+          yaml(
+            """
+              server:
+                port: 8080
+              fred: doNotChangeThis
+              """
+          )
+        );
+    }
+
+    @Test
+    void insertPropertiesWithCommentsInOrder() {
+        rewriteRun(
+          spec -> spec.recipe(new AddSpringProperties(List.of(
+            new SpringProperty("server.shutdown", "graceful", null),
+            new SpringProperty("management.server.port", "9090", "The actuator port")
+          ), List.of("*"))),
+          //language=properties
+          properties(
+            """
+              # The application port
+              server.port=8080
+              """,
+            """
+              # The actuator port
+              management.server.port=9090
+              # The application port
+              server.port=8080
+              server.shutdown=graceful
+              """
+          )
+        );
+    }
+}
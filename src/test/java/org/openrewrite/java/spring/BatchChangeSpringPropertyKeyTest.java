@@ -0,0 +1,389 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.spring.BatchChangeSpringPropertyKey.PropertyKeyChange;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.List;
+
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.properties.Assertions.properties;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class BatchChangeSpringPropertyKeyTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new BatchChangeSpringPropertyKey(List.of(
+          new PropertyKeyChange("server.servlet-path", "server.servlet.path", null),
+          new PropertyKeyChange("spring.resources", "spring.web.resources", null),
+          new PropertyKeyChange("spring.profiles", "spring.config.activate.on-profile", List.of("active", "default", "group", "include")),
+          new PropertyKeyChange("management.metrics.binders.*.enabled", "management.metrics.enable.process.files", null)
+        )));
+    }
+
+    @DocumentExample
+    @Test
+    void changeManyKeys() {
+        rewriteRun(
+          //language=properties
+          properties(
+            """
+              server.servlet-path=/tmp/my-server-path
+              spring.resources.chain.strategy.content.enabled=true
+              spring.profiles=dev
+              """,
+            """
+              server.servlet.path=/tmp/my-server-path
+              spring.web.resources.chain.strategy.content.enabled=true
+              spring.config.activate.on-profile=dev
+              """
+          ),
+          //language=yaml
+          yaml(
+            """
+              server:
+                servlet-path: /tmp/my-server-path
+              spring:
+                resources:
+                  chain:
+                    enabled: true
+              """,
+            """
+              server:
+                servlet.path: /tmp/my-server-path
+              spring:
+                web.resources:
+                  chain:
+                    enabled: true
+              """
+          )
+        );
+    }
+
+    @Test
+    void glob() {
+        rewriteRun(
+          //language=properties
+          properties(
+            """
+              management.metrics.binders.files.enabled=true
+              """,
+            """
+              management.metrics.enable.process.files=true
+              """
+          )
+        );
+    }
+
+    @Test
+    void except() {
+        rewriteRun(
+          //language=properties
+          properties(
+            """
+              spring.profiles.group.local= local-security, local-db
+              """
+          ),
+          //language=yaml
+          yaml(
+            """
+              spring:
+                profiles:
+                  active: dev
+              """
+          )
+        );
+    }
+
+    @Test
+    void laterChangesSeeEarlierOnes() {
+        rewriteRun(
+          spec -> spec.recipe(new BatchChangeSpringPropertyKey(List.of(
+            new PropertyKeyChange("a.b", "c.d", null),
+            new PropertyKeyChange("c.d", "e.f", null)
+          ))),
+          //language=properties
+          properties(
+            """
+              a.b=value
+              """,
+            """
+              e.f=value
+              """
+          )
+        );
+    }
+
+    @Test
+    void noMatchingKeys() {
+        rewriteRun(
+          //language=properties
+          properties(
+            """
+              server.port=8080
+              """
+          ),
+          //language=yaml
+          yaml(
+            """
+              server:
+                port: 8080
+              """
+          )
+        );
+    }
+
+    @Test
+    void javaReferences() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "spring-beans-5.+", "spring-core-5.+", "spring-context-5.+")),
+          //language=java
+          java(
+            """
+              import org.springframework.beans.factory.annotation.Value;
+              import org.springframework.context.annotation.PropertySource;
+              import org.springframework.core.env.Environment;
+
+              @PropertySource("classpath:${spring.resources.location}/app.properties")
+              class Config {
+                  @Value("${server.servlet-path:${spring.profiles.active}}")
+                  String path;
+
+                  @Value("${spring.profiles.custom}")
+                  String custom;
+
+                  String cache(Environment environment) {
+                      return environment.getProperty("spring.resources.cache.period");
+                  }
+              }
+              """,
+            """
+              import org.springframework.beans.factory.annotation.Value;
+              import org.springframework.context.annotation.PropertySource;
+              import org.springframework.core.env.Environment;
+
+              @PropertySource("classpath:${spring.web.resources.location}/app.properties")
+              class Config {
+                  @Value("${server.servlet.path:${spring.profiles.active}}")
+                  String path;
+
+                  @Value("${spring.config.activate.on-profile.custom}")
+                  String custom;
+
+                  String cache(Environment environment) {
+                      return environment.getProperty("spring.web.resources.cache.period");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void valuePlaceholders() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "spring-beans-5.+")),
+          //language=java
+          java(
+            """
+              import org.springframework.beans.factory.annotation.Value;
+
+              class Config {
+                  @Value("${server.servlet-path}")
+                  String path;
+
+                  @Value("prefix-${spring.resources.location:${server.port}}-suffix")
+                  String location;
+
+                  @Value("${server.servlet-path-suffix}")
+                  String unrelated;
+
+                  Config(@Value("${spring.profiles}") String profiles) {
+                  }
+              }
+              """,
+            """
+              import org.springframework.beans.factory.annotation.Value;
+
+              class Config {
+                  @Value("${server.servlet.path}")
+                  String path;
+
+                  @Value("prefix-${spring.web.resources.location:${server.port}}-suffix")
+                  String location;
+
+                  @Value("${server.servlet-path-suffix}")
+                  String unrelated;
+
+                  Config(@Value("${spring.config.activate.on-profile}") String profiles) {
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void testPropertySource() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion()
+            //language=java
+            .dependsOn(
+              """
+                package org.springframework.test.context;
+                public @interface TestPropertySource {
+                    String[] value() default {};
+                    String[] locations() default {};
+                    String[] properties() default {};
+                }
+                """
+            )),
+          //language=java
+          java(
+            """
+              import org.springframework.test.context.TestPropertySource;
+
+              @TestPropertySource(
+                      locations = "classpath:${spring.resources.location}/test.properties",
+                      properties = {"server.servlet-path=/test", "spring.profiles: dev", "server.port=${spring.resources.port}"})
+              class ConfigTest {
+              }
+              """,
+            """
+              import org.springframework.test.context.TestPropertySource;
+
+              @TestPropertySource(
+                      locations = "classpath:${spring.web.resources.location}/test.properties",
+                      properties = {"server.servlet.path=/test", "spring.config.activate.on-profile: dev", "server.port=${spring.web.resources.port}"})
+              class ConfigTest {
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void springBootTestProperties() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion()
+            //language=java
+            .dependsOn(
+              """
+                package org.springframework.boot.test.context;
+                public @interface SpringBootTest {
+                    String[] value() default {};
+                    String[] properties() default {};
+                    Class<?>[] classes() default {};
+                }
+                """
+            )),
+          //language=java
+          java(
+            """
+              import org.springframework.boot.test.context.SpringBootTest;
+
+              @SpringBootTest(properties = "server.servlet-path=/test", classes = ConfigTest.class)
+              class ConfigTest {
+              }
+              """,
+            """
+              import org.springframework.boot.test.context.SpringBootTest;
+
+              @SpringBootTest(properties = "server.servlet.path=/test", classes = ConfigTest.class)
+              class ConfigTest {
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              import org.springframework.boot.test.context.SpringBootTest;
+
+              @SpringBootTest({"spring.profiles=dev", "server.port=0"})
+              class OtherTest {
+              }
+              """,
+            """
+              import org.springframework.boot.test.context.SpringBootTest;
+
+              @SpringBootTest({"spring.config.activate.on-profile=dev", "server.port=0"})
+              class OtherTest {
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void configurationPropertiesPrefix() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion()
+            //language=java
+            .dependsOn(
+              """
+                package org.springframework.boot.context.properties;
+                public @interface ConfigurationProperties {
+                    String value() default "";
+                    String prefix() default "";
+                }
+                """
+            )),
+          //language=java
+          java(
+            """
+              import org.springframework.boot.context.properties.ConfigurationProperties;
+
+              @ConfigurationProperties(prefix = "spring.resources.chain")
+              class ChainProperties {
+              }
+              """,
+            """
+              import org.springframework.boot.context.properties.ConfigurationProperties;
+
+              @ConfigurationProperties(prefix = "spring.web.resources.chain")
+              class ChainProperties {
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              import org.springframework.boot.context.properties.ConfigurationProperties;
+
+              @ConfigurationProperties("spring.resources")
+              class ResourceProperties {
+              }
+              """,
+            """
+              import org.springframework.boot.context.properties.ConfigurationProperties;
+
+              @ConfigurationProperties("spring.web.resources")
+              class ResourceProperties {
+              }
+              """
+          )
+        );
+    }
+}
@@ -18,11 +18,14 @@ package org.openrewrite.java.spring;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Issue;
+import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RewriteTest;
 
 import java.util.List;
 
+import static org.openrewrite.java.Assertions.java;
 import static org.openrewrite.properties.Assertions.properties;
 import static org.openrewrite.yaml.Assertions.yaml;
 
@@ -155,6 +158,26 @@ class ChangeSpringPropertyKeyTest implements RewriteTest {
         );
     }
 
+    @Test
+    void exceptOnlyAppliesToDirectChildren() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyKey("spring.profiles", "spring.config.activate.on-profile", List.of("active", "default", "group", "include"))),
+          //language=properties
+          properties(
+            """
+              spring.profiles.active=dev
+              spring.profiles.custom=value
+              spring.profilesx=unrelated
+              """,
+            """
+              spring.profiles.active=dev
+              spring.config.activate.on-profile.custom=value
+              spring.profilesx=unrelated
+              """
+          )
+        );
+    }
+
     @Test
     void avoidRegenerativeChanges() {
         rewriteRun(
@@ -223,6 +246,26 @@ class ChangeSpringPropertyKeyTest implements RewriteTest {
         );
     }
 
+    @Test
+    void javaReferencesAreLeftAlone() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyKey("server.servlet-path", "server.servlet.path", null))
+            .parser(JavaParser.fromJavaVersion()
+              .classpathFromResources(new InMemoryExecutionContext(), "spring-beans-5.+")),
+          //language=java
+          java(
+            """
+              import org.springframework.beans.factory.annotation.Value;
+
+              class Config {
+                  @Value("${server.servlet-path}")
+                  String path;
+              }
+              """
+          )
+        );
+    }
+
     @Test
     @Disabled
     @Issue("https://github.com/openrewrite/rewrite-spring/issues/436")
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.Recipe;
+import org.openrewrite.config.Environment;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.properties.Assertions.properties;
+
+class MigrateSpringBootPropertiesTest implements RewriteTest {
+
+    @DocumentExample
+    @Test
+    void migrateToTargetVersion() {
+        rewriteRun(
+          spec -> spec.recipe(new MigrateSpringBootProperties("2.3")),
+          //language=properties
+          properties(
+            """
+              spring.data.cassandra.connect-timeout-millis=5000
+              """,
+            """
+              spring.data.cassandra.connection.init-query-timeout=5000
+              """
+          )
+        );
+    }
+
+    @Test
+    void collapseRenamesAcrossVersions() {
+        rewriteRun(
+          spec -> spec.recipe(new MigrateSpringBootProperties("3.0")),
+          //language=properties
+          properties(
+            """
+              spring.data.cassandra.connect-timeout-millis=5000
+              """,
+            """
+              spring.cassandra.connection.init-query-timeout=5000
+              """
+          )
+        );
+    }
+
+    @Test
+    void upgradeChainMigratesPropertiesAtEachVersion() {
+        Recipe upgrade = Environment.builder().scanRuntimeClasspath("org.openrewrite.java.spring").build()
+          .activateRecipes("org.openrewrite.java.spring.boot3.UpgradeSpringBoot_3_0");
+        List<String> recipes = new ArrayList<>();
+        collectNames(upgrade, recipes);
+
+        // recipes interleaved with the property migrations match on the keys as they are at that version
+        assertThat(recipes)
+          .doesNotContain(MigrateSpringBootProperties.class.getName())
+          .containsSubsequence(
+            "org.openrewrite.java.spring.boot2.SpringBootProperties_2_6",
+            "org.openrewrite.java.spring.boot2.SpringBootProperties_2_7",
+            "org.openrewrite.java.spring.boot2.SamlRelyingPartyPropertyApplicationPropertiesMove",
+            "org.openrewrite.java.spring.boot3.SpringBootProperties_3_0"
+          );
+    }
+
+    private static void collectNames(Recipe recipe, List<String> names) {
+        names.add(recipe.getName());
+        for (Recipe child : recipe.getRecipeList()) {
+            collectNames(child, names);
+        }
+    }
+}
@@ -253,6 +253,39 @@ class RenameBeanTest implements RewriteTest {
                 );
             }
 
+            @Test
+            void explicitNameAliases() {
+                rewriteRun(
+                  java(
+                    """
+                    package sample;
+                    
+                    import org.springframework.context.annotation.Bean;
+                    import sample.MyType;
+                    
+                    class A {
+                        @Bean({ "foo", "somethingElse" })
+                        public MyType foo() {
+                            return new MyType();
+                        }
+                    }
+                    """, """
+                    package sample;
+                    
+                    import org.springframework.context.annotation.Bean;
+                    import sample.MyType;
+                    
+                    class A {
+                        @Bean({ "bar", "somethingElse" })
+                        public MyType foo() {
+                            return new MyType();
+                        }
+                    }
+                    """
+                  )
+                );
+            }
+
             @Test
             void qualifierName() {
                 rewriteRun(
@@ -0,0 +1,424 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.List;
+
+import static org.openrewrite.java.Assertions.java;
+
+class RenameBeansTest implements RewriteTest {
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .recipe(new RenameBeans(List.of(
+            new RenameBeans.BeanRename("sample.MyType", "foo", "bar"),
+            new RenameBeans.BeanRename(null, "first", "primary"),
+            new RenameBeans.BeanRename(null, "second", "secondary"),
+            new RenameBeans.BeanRename("sample.OtherType", "myType", "renamed")
+          )))
+          .parser(
+            JavaParser.fromJavaVersion()
+              .logCompilationWarningsAndErrors(true)
+              .dependsOn(
+                """
+                      package sample;
+                      class MyType {}
+                  """, """
+                      package sample;
+                      class OtherType {}
+                  """
+              )
+              .classpathFromResources(new InMemoryExecutionContext(), "spring-context-6.+", "spring-beans-6.+")
+          );
+    }
+
+    @DocumentExample
+    @Test
+    void renameManyBeansInOneCycle() {
+        rewriteRun(
+          spec -> spec.cycles(1).expectedCyclesThatMakeChanges(1),
+          java(
+            """
+            package sample;
+            
+            import org.springframework.beans.factory.annotation.Qualifier;
+            import org.springframework.context.annotation.Bean;
+            import sample.MyType;
+            
+            class A {
+                @Qualifier("first")
+                private MyType field;
+            
+                @Bean
+                public MyType foo() {
+                    return new MyType();
+                }
+            
+                @Bean(name = { "first", "second" })
+                public MyType aliased() {
+                    return new MyType();
+                }
+            
+                @Bean
+                public MyType myType(@Qualifier("second") MyType other) {
+                    return other;
+                }
+            }
+            """, """
+            package sample;
+            
+            import org.springframework.beans.factory.annotation.Qualifier;
+            import org.springframework.context.annotation.Bean;
+            import sample.MyType;
+            
+            class A {
+                @Qualifier("primary")
+                private MyType field;
+            
+                @Bean
+                public MyType bar() {
+                    return new MyType();
+                }
+            
+                @Bean(name = { "primary", "secondary" })
+                public MyType aliased() {
+                    return new MyType();
+                }
+            
+                @Bean
+                public MyType myType(@Qualifier("secondary") MyType other) {
+                    return other;
+                }
+            }
+            """
+          )
+        );
+    }
+
+    @Test
+    void typeFilteredRename() {
+        rewriteRun(
+          spec -> spec.recipe(new RenameBeans(List.of(
+            new RenameBeans.BeanRename("sample.MyType", "foo", "bar")
+          ))),
+          java(
+            """
+            package sample;
+            
+            import org.springframework.context.annotation.Bean;
+            import sample.MyType;
+            import sample.OtherType;
+            
+            class A {
+                @Bean
+                public MyType foo() {
+                    return new MyType();
+                }
+            
+                @Bean("foo")
+                public OtherType other() {
+                    return new OtherType();
+                }
+            }
+            """, """
+            package sample;
+            
+            import org.springframework.context.annotation.Bean;
+            import sample.MyType;
+            import sample.OtherType;
+            
+            class A {
+                @Bean
+                public MyType bar() {
+                    return new MyType();
+                }
+            
+                @Bean("foo")
+                public OtherType other() {
+                    return new OtherType();
+                }
+            }
+            """
+          )
+        );
+    }
+
+    @Test
+    void qualifiersOnParametersAndFields() {
+        rewriteRun(
+          spec -> spec.recipe(new RenameBeans(List.of(
+            new RenameBeans.BeanRename("sample.MyType", "foo", "bar"),
+            new RenameBeans.BeanRename(null, "first", "primary")
+          ))),
+          java(
+            """
+            package sample;
+            
+            import org.springframework.beans.factory.annotation.Qualifier;
+            import sample.MyType;
+            import sample.OtherType;
+            
+            class A {
+                @Qualifier("foo")
+                private MyType myType;
+            
+                @Qualifier("foo")
+                private OtherType otherType;
+            
+                @Qualifier(value = "first")
+                private OtherType first;
+            
+                A(@Qualifier("foo") MyType myType, @Qualifier("first") OtherType first, @Qualifier("unknown") MyType unknown) {
+                }
+            }
+            """, """
+            package sample;
+            
+            import org.springframework.beans.factory.annotation.Qualifier;
+            import sample.MyType;
+            import sample.OtherType;
+            
+            class A {
+                @Qualifier("bar")
+                private MyType myType;
+            
+                @Qualifier("foo")
+                private OtherType otherType;
+            
+                @Qualifier(value = "primary")
+                private OtherType first;
+            
+                A(@Qualifier("bar") MyType myType, @Qualifier("primary") OtherType first, @Qualifier("unknown") MyType unknown) {
+                }
+            }
+            """
+          )
+        );
+    }
+
+    @Test
+    void renameBeanClassesWithChangeType() {
+        rewriteRun(
+          spec -> spec.recipe(new RenameBeans(List.of(
+            new RenameBeans.BeanRename("sample.Foo", "foo", "bar"),
+            new RenameBeans.BeanRename(null, "baz", "qux")
+          ))),
+          java(
+            """
+            package sample;
+            
+            import org.springframework.context.annotation.Configuration;
+            
+            @Configuration
+            class Foo {
+            }
+            """, """
+            package sample;
+            
+            import org.springframework.context.annotation.Configuration;
+            
+            @Configuration
+            class Bar {
+            }
+            """
+          ),
+          java(
+            """
+            package sample;
+            
+            import org.springframework.stereotype.Component;
+            
+            @Component
+            class Baz {
+            }
+            """, """
+            package sample;
+            
+            import org.springframework.stereotype.Component;
+            
+            @Component
+            class Qux {
+            }
+            """
+          )
+        );
+    }
+
+    @Test
+    void aliasArrays() {
+        rewriteRun(
+          spec -> spec.recipe(new RenameBeans(List.of(
+            new RenameBeans.BeanRename(null, "first", "primary"),
+            new RenameBeans.BeanRename(null, "third", "tertiary")
+          ))),
+          java(
+            """
+            package sample;
+            
+            import org.springframework.context.annotation.Bean;
+            import sample.MyType;
+            
+            class A {
+                @Bean({"first", "second", "third"})
+                public MyType value() {
+                    return new MyType();
+                }
+            
+                @Bean(name = {"second", "first"})
+                public MyType name() {
+                    return new MyType();
+                }
+            }
+            """, """
+            package sample;
+            
+            import org.springframework.context.annotation.Bean;
+            import sample.MyType;
+            
+            class A {
+                @Bean({"primary", "second", "tertiary"})
+                public MyType value() {
+                    return new MyType();
+                }
+            
+                @Bean(name = {"second", "primary"})
+                public MyType name() {
+                    return new MyType();
+                }
+            }
+            """
+          )
+        );
+    }
+
+    @Test
+    void duplicateOldNamesWithDifferentTypes() {
+        rewriteRun(
+          spec -> spec.recipe(new RenameBeans(List.of(
+            new RenameBeans.BeanRename("sample.MyType", "thing", "myThing"),
+            new RenameBeans.BeanRename("sample.OtherType", "thing", "otherThing")
+          ))),
+          java(
+            """
+            package sample;
+            
+            import org.springframework.beans.factory.annotation.Qualifier;
+            import org.springframework.context.annotation.Bean;
+            import sample.MyType;
+            import sample.OtherType;
+            
+            class A {
+                @Bean("thing")
+                public MyType my() {
+                    return new MyType();
+                }
+            
+                @Bean("thing")
+                public OtherType other() {
+                    return new OtherType();
+                }
+            
+                A(@Qualifier("thing") MyType my, @Qualifier("thing") OtherType other) {
+                }
+            }
+            """, """
+            package sample;
+            
+            import org.springframework.beans.factory.annotation.Qualifier;
+            import org.springframework.context.annotation.Bean;
+            import sample.MyType;
+            import sample.OtherType;
+            
+            class A {
+                @Bean("myThing")
+                public MyType my() {
+                    return new MyType();
+                }
+            
+                @Bean("otherThing")
+                public OtherType other() {
+                    return new OtherType();
+                }
+            
+                A(@Qualifier("myThing") MyType my, @Qualifier("otherThing") OtherType other) {
+                }
+            }
+            """
+          )
+        );
+    }
+
+    @Test
+    void renameQualifierOfBeanDeclaredElsewhereInTheProject() {
+        rewriteRun(
+          java(
+            """
+            package sample;
+            
+            import org.springframework.context.annotation.Bean;
+            import sample.MyType;
+            
+            class Config {
+                @Bean
+                public MyType foo() {
+                    return new MyType();
+                }
+            }
+            """, """
+            package sample;
+            
+            import org.springframework.context.annotation.Bean;
+            import sample.MyType;
+            
+            class Config {
+                @Bean
+                public MyType bar() {
+                    return new MyType();
+                }
+            }
+            """
+          ),
+          java(
+            """
+            package sample;
+            
+            import org.springframework.beans.factory.annotation.Qualifier;
+            
+            class Consumer {
+                @Qualifier("foo")
+                private Object target;
+            }
+            """, """
+            package sample;
+            
+            import org.springframework.beans.factory.annotation.Qualifier;
+            
+            class Consumer {
+                @Qualifier("bar")
+                private Object target;
+            }
+            """
+          )
+        );
+    }
+}
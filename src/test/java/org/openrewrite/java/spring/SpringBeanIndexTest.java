@@ -0,0 +1,220 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpringBeanIndexTest {
+
+    private final ExecutionContext ctx = new InMemoryExecutionContext();
+
+    @Test
+    void componentsAndBeanMethods() {
+        List<J.CompilationUnit> cus = java(
+          """
+            package sample;
+            public interface Greeter {}
+            """,
+          """
+            package sample;
+            import org.springframework.stereotype.Service;
+            @Service
+            public class GreeterService implements Greeter {}
+            """,
+          """
+            package sample;
+            import org.springframework.beans.factory.annotation.Qualifier;
+            import org.springframework.context.annotation.Bean;
+            import org.springframework.context.annotation.Configuration;
+            import org.springframework.context.annotation.Primary;
+            @Configuration("config")
+            class Config {
+                @Bean(name = {"english", "british"})
+                @Qualifier("formal")
+                @Primary
+                Greeter english() {
+                    return new GreeterService();
+                }
+                @Bean
+                GreeterService french() {
+                    return new GreeterService();
+                }
+            }
+            """
+        );
+        SpringBeanIndex index = new SpringBeanIndex();
+        for (J.CompilationUnit cu : cus) {
+            index.scan(cu);
+        }
+
+        assertThat(index.getComponent(cus.get(0).getClasses().get(0).getType())).isNull();
+
+        SpringBeanIndex.Bean service = index.getComponent(cus.get(1).getClasses().get(0).getType());
+        assertThat(service).isNotNull();
+        assertThat(service.getName()).isEqualTo("greeterService");
+        assertThat(service.getStereotype()).isEqualTo("org.springframework.stereotype.Service");
+        assertThat(service.getType()).isEqualTo("sample.GreeterService");
+        assertThat(service.isBeanMethod()).isFalse();
+        assertThat(index.getBeansByName("greeterService")).containsExactly(service);
+
+        J.ClassDeclaration config = cus.get(2).getClasses().get(0);
+        assertThat(index.getComponent(config.getType()))
+          .extracting(SpringBeanIndex.Bean::getStereotype)
+          .isEqualTo("org.springframework.context.annotation.Configuration");
+        assertThat(index.getBeansByName("config")).hasSize(1);
+
+        SpringBeanIndex.Bean english = index.getBeanMethod((J.MethodDeclaration) config.getBody().getStatements().get(0));
+        assertThat(english).isNotNull();
+        assertThat(english.getName()).isEqualTo("english");
+        assertThat(english.getAliases()).containsExactly("british");
+        assertThat(english.getQualifiers()).containsExactly("formal");
+        assertThat(english.isPrimary()).isTrue();
+        assertThat(english.getStereotype()).isEqualTo(SpringBeanIndex.FQN_BEAN);
+        assertThat(english.getType()).isEqualTo("sample.Greeter");
+        assertThat(english.getDeclaringType()).isEqualTo("sample.Config");
+        assertThat(english.getMethod()).isEqualTo("english");
+        assertThat(index.getBeansByName("british")).containsExactly(english);
+
+        assertThat(index.getBeansByType("sample.Greeter")).extracting(SpringBeanIndex.Bean::getName)
+          .containsExactlyInAnyOrder("greeterService", "english", "french");
+        assertThat(index.getBeansByType("sample.GreeterService")).extracting(SpringBeanIndex.Bean::getName)
+          .containsExactlyInAnyOrder("greeterService", "french");
+        assertThat(index.getBeans()).hasSize(4);
+    }
+
+    @Test
+    void metaAnnotatedBeanMethods() {
+        J.CompilationUnit cu = java(
+          """
+            package sample;
+            import java.lang.annotation.Retention;
+            import java.lang.annotation.RetentionPolicy;
+            import org.springframework.context.annotation.Bean;
+            import org.springframework.context.annotation.Configuration;
+            @Configuration
+            class Config {
+                @Retention(RetentionPolicy.RUNTIME)
+                @Bean
+                @interface MyBean {}
+
+                @MyBean
+                String greeting() {
+                    return "hello";
+                }
+            }
+            """
+        ).get(0);
+        SpringBeanIndex index = new SpringBeanIndex();
+        index.scan(cu);
+
+        assertThat(index.getBeansByName("greeting")).extracting(SpringBeanIndex.Bean::getType)
+          .containsExactly("java.lang.String");
+    }
+
+    @Test
+    void overloadsOfBeanMethodsAreNotBeans() {
+        J.CompilationUnit cu = java(
+          """
+            package sample;
+            import org.springframework.context.annotation.Bean;
+            import org.springframework.context.annotation.Configuration;
+            @Configuration
+            class Config {
+                @Bean
+                public String greeting() {
+                    return greeting("hello");
+                }
+                public String greeting(String text) {
+                    return text;
+                }
+            }
+            """
+        ).get(0);
+        SpringBeanIndex index = new SpringBeanIndex();
+        index.scan(cu);
+
+        List<J.MethodDeclaration> methods = cu.getClasses().get(0).getBody().getStatements().stream()
+          .map(J.MethodDeclaration.class::cast)
+          .collect(toList());
+        assertThat(index.getBeanMethod(methods.get(0))).isNotNull();
+        assertThat(index.getBeanMethod(methods.get(1))).isNull();
+        assertThat(index.getBeansByName("greeting")).hasSize(1);
+    }
+
+    @Test
+    void rescansChangedFiles() {
+        SpringBeanIndex index = new SpringBeanIndex();
+        J.CompilationUnit before = java(
+          """
+            package sample;
+            import org.springframework.stereotype.Component;
+            @Component
+            class A {}
+            """
+        ).get(0);
+        assertThat(index.scan(before)).isTrue();
+        assertThat(index.scan(before)).isFalse();
+        assertThat(index.getComponent(before.getClasses().get(0).getType())).isNotNull();
+
+        J.CompilationUnit after = java(
+          """
+            package sample;
+            import org.springframework.stereotype.Component;
+            @Component("renamed")
+            class A {}
+            """
+        ).get(0);
+        assertThat(index.scan(after)).isTrue();
+        assertThat(index.getBeansByName("a")).isEmpty();
+        assertThat(index.getBeansByName("renamed")).hasSize(1);
+        assertThat(index.getBeansByType("sample.A")).hasSize(1);
+
+        J.CompilationUnit removed = java(
+          """
+            package sample;
+            class A {}
+            """
+        ).get(0);
+        assertThat(index.scan(removed)).isTrue();
+        assertThat(index.getComponent(removed.getClasses().get(0).getType())).isNull();
+        assertThat(index.getBeansByType("sample.A")).isEmpty();
+    }
+
+    @Test
+    void defaultComponentName() {
+        assertThat(SpringBeanIndex.defaultComponentName("MyService")).isEqualTo("myService");
+        assertThat(SpringBeanIndex.defaultComponentName("Outer.Inner")).isEqualTo("outer.Inner");
+        assertThat(SpringBeanIndex.defaultComponentName("URLResolver")).isEqualTo("URLResolver");
+    }
+
+    private List<J.CompilationUnit> java(String... sources) {
+        return JavaParser.fromJavaVersion()
+          .classpathFromResources(ctx, "spring-context-6.+", "spring-beans-6.+")
+          .build()
+          .parse(ctx, sources)
+          .map(J.CompilationUnit.class::cast)
+          .collect(toList());
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpringConfigFileMatcherTest {
+
+    @Test
+    void literalFileNames() {
+        SpringConfigFileMatcher matcher = new SpringConfigFileMatcher(List.of("**/application.yml", "**/application.properties"));
+
+        assertThat(matcher.matches(Paths.get("src/main/resources/application.yml"))).isTrue();
+        assertThat(matcher.matches(Paths.get("src/main/resources/application.properties"))).isTrue();
+        assertThat(matcher.matches(Paths.get("src/main/resources/application-dev.yml"))).isFalse();
+        assertThat(matcher.matches(Paths.get("src/main/resources/bootstrap.yml"))).isFalse();
+    }
+
+    @Test
+    void globFileNames() {
+        SpringConfigFileMatcher matcher = new SpringConfigFileMatcher(List.of("**/application.yml", "**/application-*.yml"));
+
+        assertThat(matcher.matches(Paths.get("src/main/resources/application.yml"))).isTrue();
+        assertThat(matcher.matches(Paths.get("src/main/resources/application-dev.yml"))).isTrue();
+        assertThat(matcher.matches(Paths.get("src/main/resources/bootstrap.yml"))).isFalse();
+    }
+
+    @Test
+    void noExpressionsMatchEverything() {
+        assertThat(new SpringConfigFileMatcher(List.of()).matches(Paths.get("build.gradle"))).isTrue();
+    }
+
+    @Test
+    void sharedPerExpressions() {
+        SpringExecutionContextView view = SpringExecutionContextView.view(new InMemoryExecutionContext());
+
+        assertThat(view.getConfigFileMatcher(null)).isSameAs(view.getConfigFileMatcher(List.of()));
+        assertThat(view.getConfigFileMatcher(List.of("**/custom.yml")))
+          .isSameAs(view.getConfigFileMatcher(List.of("**/custom.yml")))
+          .isNotSameAs(view.getConfigFileMatcher(null));
+        assertThat(view.getConfigFileMatcher(null).matches(Paths.get("src/main/resources/application.yaml"))).isTrue();
+    }
+}
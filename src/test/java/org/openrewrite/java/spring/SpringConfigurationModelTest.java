@@ -0,0 +1,169 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.properties.PropertiesParser;
+import org.openrewrite.yaml.YamlParser;
+
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpringConfigurationModelTest {
+
+    private final ExecutionContext ctx = new InMemoryExecutionContext();
+
+    @Test
+    void profilesFromDocumentsAndFileNames() {
+        SpringConfigurationModel model = new SpringConfigurationModel();
+        model.scan(yaml("src/main/resources/application.yml",
+          """
+            server:
+              port: 8080
+            ---
+            spring:
+              config:
+                activate:
+                  on-profile: dev
+            server:
+              port: 8081
+            """
+        ));
+        model.scan(properties("src/main/resources/application-prod.properties", "server.port=80"));
+
+        assertThat(model.getProfiles()).containsExactly("default", "dev", "prod");
+        assertThat(model.getValue("default", "server.port")).isEqualTo("8080");
+        assertThat(model.getValue("dev", "server.port")).isEqualTo("8081");
+        assertThat(model.getValue("prod", "server.port")).isEqualTo("80");
+        assertThat(model.getValue("test", "server.port")).isEqualTo("8080");
+    }
+
+    @Test
+    void documentForSeveralProfiles() {
+        SpringConfigurationModel model = new SpringConfigurationModel();
+        model.scan(yaml("src/main/resources/application.yml",
+          """
+            server:
+              port: 8080
+            ---
+            spring:
+              config:
+                activate:
+                  on-profile: dev, test
+            server:
+              port: 8081
+            """
+        ));
+
+        assertThat(model.getProfiles()).containsExactly("default", "dev", "test");
+        assertThat(model.getValue("dev", "server.port")).isEqualTo("8081");
+        assertThat(model.getValue("test", "server.port")).isEqualTo("8081");
+    }
+
+    @Test
+    void precedence() {
+        SpringConfigurationModel model = new SpringConfigurationModel();
+        model.scan(properties("src/main/resources/application.properties", "spring.application.name=from-properties"));
+        model.scan(yaml("src/main/resources/application.yml",
+          """
+            spring:
+              application:
+                name: from-yaml
+              cloud:
+                config:
+                  uri: http://localhost:8888
+            """
+        ));
+        model.scan(yaml("src/main/resources/bootstrap.yml",
+          """
+            spring:
+              application:
+                name: from-bootstrap
+            """
+        ));
+
+        assertThat(model.getValue("default", "spring.application.name")).isEqualTo("from-properties");
+        assertThat(model.getValue("default", "spring.cloud.config.uri")).isEqualTo("http://localhost:8888");
+        assertThat(model.findAll("spring.application.name")).hasSize(3);
+    }
+
+    @Test
+    void relaxedBindingAndSequences() {
+        SpringConfigurationModel model = new SpringConfigurationModel();
+        model.scan(yaml("src/main/resources/application-dev.yml",
+          """
+            spring:
+              task:
+                scheduling:
+                  pool:
+                    size: 10
+              profiles:
+                include:
+                  - db
+                  - security
+            """
+        ));
+
+        assertThat(model.isSetInAnyProfile("spring.task.scheduling.pool.size")).isTrue();
+        assertThat(model.isSetInAnyProfile("spring.task.scheduling.pool.max-size")).isFalse();
+        assertThat(model.getValue("dev", "spring.profiles.include[1]")).isEqualTo("security");
+    }
+
+    @Test
+    void setInFileMatchesKeysExactly() {
+        SpringConfigurationModel model = new SpringConfigurationModel();
+        SourceFile application = yaml("src/main/resources/application.yml",
+          """
+            spring:
+              task:
+                scheduling:
+                  pool:
+                    size: 10
+            """
+        );
+        SourceFile relaxed = properties("src/main/resources/application-dev.properties", "spring.task.scheduling.pool.SIZE=10");
+        model.scan(application);
+        model.scan(relaxed);
+
+        assertThat(model.isSetIn(application.getSourcePath(), "spring.task.scheduling.pool.size")).isTrue();
+        assertThat(model.isSetIn(relaxed.getSourcePath(), "spring.task.scheduling.pool.size")).isFalse();
+        assertThat(model.isSetIn(Paths.get("src/main/resources/application-prod.yml"), "spring.task.scheduling.pool.size")).isFalse();
+    }
+
+    @Test
+    void ignoresOtherFilesAndRescansChangedOnes() {
+        SpringConfigurationModel model = new SpringConfigurationModel();
+        SourceFile application = properties("src/main/resources/application.properties", "server.port=8080");
+
+        assertThat(model.scan(properties("src/main/resources/messages.properties", "greeting=hello"))).isFalse();
+        assertThat(model.scan(application)).isTrue();
+        assertThat(model.scan(application)).isFalse();
+        assertThat(model.scan(properties("src/main/resources/application.properties", "server.port=9090"))).isTrue();
+        assertThat(model.getValue("default", "server.port")).isEqualTo("9090");
+    }
+
+    private SourceFile yaml(String path, String yaml) {
+        return YamlParser.builder().build().parse(ctx, yaml).findFirst().orElseThrow().withSourcePath(Paths.get(path));
+    }
+
+    private SourceFile properties(String path, String properties) {
+        return PropertiesParser.builder().build().parse(ctx, properties).findFirst().orElseThrow().withSourcePath(Paths.get(path));
+    }
+}
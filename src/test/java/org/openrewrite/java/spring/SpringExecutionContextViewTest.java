@@ -0,0 +1,53 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpringExecutionContextViewTest {
+
+    @Test
+    void resolveParserClasspathOncePerRun() {
+        SpringExecutionContextView ctx = SpringExecutionContextView.view(new InMemoryExecutionContext());
+        List<Path> classpath = ctx.getParserClasspath("spring-boot-2.*", "spring-core-5.*");
+        assertThat(classpath).extracting(path -> path.getFileName().toString())
+          .containsExactly("spring-boot-2.7.11.jar", "spring-core-5.3.27.jar");
+
+        // another view of the same run shares the resolved paths
+        List<Path> again = SpringExecutionContextView.view(new SpringExecutionContextView(ctx)).getParserClasspath("spring-boot-2.*");
+        assertThat(again.get(0)).isSameAs(classpath.get(0));
+    }
+
+    @Test
+    void parseAgainstBundledClasspath() {
+        SpringExecutionContextView ctx = SpringExecutionContextView.view(new InMemoryExecutionContext());
+        J.CompilationUnit cu = ctx.getJavaParser("spring-core-5.*").build()
+          .parse(ctx, "class A { org.springframework.util.unit.DataSize size; }")
+          .map(J.CompilationUnit.class::cast)
+          .findFirst()
+          .orElseThrow();
+        J.VariableDeclarations field = (J.VariableDeclarations) cu.getClasses().get(0).getBody().getStatements().get(0);
+        assertThat(TypeUtils.isOfClassType(field.getType(), "org.springframework.util.unit.DataSize")).isTrue();
+    }
+}
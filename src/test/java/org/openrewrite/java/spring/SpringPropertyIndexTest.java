@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.properties.PropertiesParser;
+import org.openrewrite.text.PlainTextParser;
+import org.openrewrite.yaml.YamlParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpringPropertyIndexTest {
+
+    private final ExecutionContext ctx = new InMemoryExecutionContext();
+
+    @Test
+    void yamlKeysAtEveryLevel() {
+        SpringPropertyIndex index = SpringPropertyIndex.build(yaml(
+          """
+            spring:
+              datasource:
+                url: jdbc:h2:mem:test
+            """
+        ));
+
+        assertThat(index.getKeys()).containsExactlyInAnyOrder("spring", "spring.datasource", "spring.datasource.url");
+        assertThat(index.find("spring.datasource.url")).hasSize(1);
+        assertThat(index.find("spring.datasource.username")).isEmpty();
+    }
+
+    @Test
+    void relaxedBinding() {
+        SpringPropertyIndex index = SpringPropertyIndex.build(properties(
+          """
+            server.servlet-path=/tmp
+            spring.main.allowBeanDefinitionOverriding=true
+            """
+        ));
+
+        assertThat(index.find("server.servletPath")).hasSize(1);
+        assertThat(index.find("spring.main.allow-bean-definition-overriding")).hasSize(1);
+    }
+
+    @Test
+    void mayContain() {
+        SpringPropertyIndex index = SpringPropertyIndex.build(properties(
+          """
+            management.metrics.binders.files.enabled=true
+            """
+        ));
+
+        assertThat(index.mayContain("management.metrics")).isTrue();
+        assertThat(index.mayContain("management.metrics.binders.files.enabled")).isTrue();
+        assertThat(index.mayContain("management.metrics.binders.*.enabled")).isTrue();
+        assertThat(index.mayContain("management.metrics.binders.files.enabled.extra")).isFalse();
+        assertThat(index.mayContain("server")).isFalse();
+        assertThat(index.mayContain("server.*")).isFalse();
+    }
+
+    @Test
+    void rebuiltWhenSourceFileChanges() {
+        SourceFile file = properties("server.port=8080");
+        SpringExecutionContextView view = SpringExecutionContextView.view(ctx);
+
+        SpringPropertyIndex index = view.getPropertyIndex(file);
+        assertThat(view.getPropertyIndex(file)).isSameAs(index);
+
+        SourceFile changed = properties("server.address=localhost").withId(file.getId());
+        assertThat(view.getPropertyIndex(changed)).isNotSameAs(index);
+        assertThat(view.getPropertyIndex(changed).find("server.address")).hasSize(1);
+    }
+
+    @Test
+    void otherSourceFilesShareAnEmptyIndex() {
+        SpringExecutionContextView view = SpringExecutionContextView.view(ctx);
+        SourceFile text = PlainTextParser.builder().build().parse(ctx, "server.port=8080").findFirst().orElseThrow();
+
+        assertThat(view.getPropertyIndex(text).getKeys()).isEmpty();
+        assertThat(view.getPropertyIndex(text)).isSameAs(SpringPropertyIndex.EMPTY);
+    }
+
+    private SourceFile yaml(String yaml) {
+        return YamlParser.builder().build().parse(ctx, yaml).findFirst().orElseThrow();
+    }
+
+    private SourceFile properties(String properties) {
+        return PropertiesParser.builder().build().parse(ctx, properties).findFirst().orElseThrow();
+    }
+}
@@ -122,14 +122,15 @@ class GeneratePropertiesMigratorConfiguration {
                         tags:
                           - spring
                           - boot
-                        recipeList:""".formatted(majorMinor[0], majorMinor[1]),
+                        recipeList:
+                          - org.openrewrite.java.spring.BatchChangeSpringPropertyKey:
+                              changes:""".formatted(majorMinor[0], majorMinor[1]),
                       StandardOpenOption.APPEND);
 
                     Files.writeString(config, replacements.stream()
                         .map(r -> """
-                            - org.openrewrite.java.spring.ChangeSpringPropertyKey:
-                                oldPropertyKey: %s
-                                newPropertyKey: %s
+                                  - oldPropertyKey: %s
+                                    newPropertyKey: %s
                           """.formatted(
                           r.name(), requireNonNull(r.deprecation()).replacement())
                         )
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.Recipe;
+import org.openrewrite.config.Environment;
+import org.openrewrite.java.spring.BatchChangeSpringPropertyKey;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Flattens the `SpringBootProperties_X_Y` recipes into the property migration plan used by
+ * {@link org.openrewrite.java.spring.MigrateSpringBootProperties}.
+ * Run it whenever one of the `spring-boot-*-properties.yml` manifests changes.
+ */
+class GeneratePropertyMigrationPlan {
+    private static final Pattern PROPERTIES_RECIPE = Pattern.compile("org\\.openrewrite\\.java\\.spring\\.boot\\d\\.SpringBootProperties_(\\d+)_(\\d+)");
+
+    /**
+     * Old property keys whose later rename is known to be shadowed by an earlier one. Boot 2.6 moves these Dynatrace
+     * keys under `v1`, so running the versions in sequence never applies the Boot 3.0 rename of the original key.
+     */
+    static final Set<String> REVIEWED_CONFLICTS = new HashSet<>(Arrays.asList(
+            "management.metrics.export.dynatrace.device-id",
+            "management.metrics.export.dynatrace.group",
+            "management.metrics.export.dynatrace.technology-type"
+    ));
+
+    public static void main(String[] args) throws IOException {
+        PropertyMigrationPlan plan = compile();
+        Files.writeString(Paths.get("src/main/resources" + PropertyMigrationPlan.RESOURCE), plan.print());
+    }
+
+    /**
+     * @throws IllegalStateException If a change is shadowed by an earlier one and has not been reviewed.
+     */
+    static PropertyMigrationPlan compile() {
+        PropertyMigrationPlan plan = PropertyMigrationPlan.compile(steps());
+        List<String> unreviewed = new ArrayList<>();
+        for (PropertyMigrationPlan.Conflict conflict : plan.getConflicts()) {
+            if (!REVIEWED_CONFLICTS.contains(conflict.getChange().getOldPropertyKey())) {
+                unreviewed.add(conflict.getMessage());
+            }
+        }
+        if (!unreviewed.isEmpty()) {
+            throw new IllegalStateException("Conflicting property changes:\n  " + String.join("\n  ", unreviewed));
+        }
+        return plan;
+    }
+
+    static List<PropertyMigrationPlan.Step> steps() {
+        Environment env = Environment.builder().scanRuntimeClasspath("org.openrewrite.java.spring").build();
+        List<PropertyMigrationPlan.Step> steps = new ArrayList<>();
+        for (Recipe recipe : env.listRecipes()) {
+            Matcher matcher = PROPERTIES_RECIPE.matcher(recipe.getName());
+            if (matcher.matches()) {
+                List<BatchChangeSpringPropertyKey.PropertyKeyChange> changes = new ArrayList<>();
+                collectChanges(recipe, changes);
+                steps.add(new PropertyMigrationPlan.Step(matcher.group(1) + "." + matcher.group(2), changes));
+            }
+        }
+        steps.sort(Comparator.comparing(PropertyMigrationPlan.Step::getVersion, VersionUtils::compare));
+        return steps;
+    }
+
+    private static void collectChanges(Recipe recipe, List<BatchChangeSpringPropertyKey.PropertyKeyChange> changes) {
+        if (recipe instanceof BatchChangeSpringPropertyKey) {
+            changes.addAll(((BatchChangeSpringPropertyKey) recipe).getChanges());
+        }
+        for (Recipe child : recipe.getRecipeList()) {
+            collectChanges(child, changes);
+        }
+    }
+}
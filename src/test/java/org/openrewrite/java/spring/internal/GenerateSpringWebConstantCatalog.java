@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Extracts the string constants of the {@link SpringWebConstantCatalog#TYPES} from the spring-web jars bundled in
+ * `META-INF/rewrite/classpath` into the spring-web constant catalog. The constant values are read from the class files
+ * rather than by loading the classes, so every version can be extracted in one run. Run it whenever a spring-web jar
+ * is added to or updated in the bundled classpath.
+ */
+class GenerateSpringWebConstantCatalog {
+    private static final Path CLASSPATH = Paths.get("src/main/resources/META-INF/rewrite/classpath");
+    private static final Pattern SPRING_WEB_JAR = Pattern.compile("spring-web-(\\d.*)\\.jar");
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_FINAL = 0x0010;
+
+    public static void main(String[] args) throws IOException {
+        List<SpringWebConstantCatalog> catalogs = new ArrayList<>();
+        try (DirectoryStream<Path> jars = Files.newDirectoryStream(CLASSPATH, "spring-web-*.jar")) {
+            for (Path jar : jars) {
+                Matcher matcher = SPRING_WEB_JAR.matcher(jar.getFileName().toString());
+                if (matcher.matches()) {
+                    catalogs.add(extract(requireNonNull(VersionUtils.numericVersion(matcher.group(1))), jar));
+                }
+            }
+        }
+        catalogs.sort((c1, c2) -> VersionUtils.compare(c1.getVersion(), c2.getVersion()));
+        Files.write(Paths.get("src/main/resources" + SpringWebConstantCatalog.RESOURCE),
+                SpringWebConstantCatalog.print(catalogs).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SpringWebConstantCatalog extract(String version, Path jar) throws IOException {
+        Map<String, Map<String, String>> constantsByType = new LinkedHashMap<>();
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            for (String type : SpringWebConstantCatalog.TYPES) {
+                ZipEntry entry = jarFile.getEntry(type.replace('.', '/') + ".class");
+                if (entry != null) {
+                    try (InputStream classFile = jarFile.getInputStream(entry)) {
+                        constantsByType.put(type, stringConstants(classFile));
+                    }
+                }
+            }
+        }
+        return new SpringWebConstantCatalog(version, constantsByType);
+    }
+
+    /**
+     * @return The value of every public static final String field with a constant value, in declaration order.
+     */
+    static Map<String, String> stringConstants(InputStream classFile) throws IOException {
+        DataInputStream in = new DataInputStream(classFile);
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+
+        int constantPoolCount = in.readUnsignedShort();
+        String[] utf8 = new String[constantPoolCount];
+        int[] stringIndex = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = in.readUTF();
+                    break;
+                case 8: // String
+                    stringIndex[i] = in.readUnsignedShort();
+                    break;
+                case 7: // Class
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    in.skipBytes(2);
+                    break;
+                case 15: // MethodHandle
+                    in.skipBytes(3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    in.skipBytes(4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    in.skipBytes(8);
+                    i++; // takes up two entries
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        in.skipBytes(6); // access flags, this class, super class
+        in.skipBytes(2 * in.readUnsignedShort()); // interfaces
+
+        Map<String, String> constants = new LinkedHashMap<>();
+        int fieldCount = in.readUnsignedShort();
+        for (int f = 0; f < fieldCount; f++) {
+            int accessFlags = in.readUnsignedShort();
+            String name = utf8[in.readUnsignedShort()];
+            String descriptor = utf8[in.readUnsignedShort()];
+            int attributeCount = in.readUnsignedShort();
+            for (int a = 0; a < attributeCount; a++) {
+                String attributeName = utf8[in.readUnsignedShort()];
+                int length = in.readInt();
+                if ("ConstantValue".equals(attributeName) && "Ljava/lang/String;".equals(descriptor) &&
+                    (accessFlags & (ACC_PUBLIC | ACC_STATIC | ACC_FINAL)) == (ACC_PUBLIC | ACC_STATIC | ACC_FINAL)) {
+                    constants.put(name, utf8[stringIndex[in.readUnsignedShort()]]);
+                } else {
+                    in.skipBytes(length);
+                }
+            }
+        }
+        return constants;
+    }
+}
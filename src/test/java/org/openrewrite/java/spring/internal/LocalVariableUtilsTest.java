@@ -0,0 +1,184 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class LocalVariableUtilsTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(toRecipe(() -> new JavaIsoVisitor<>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+                if (!"use".equals(m.getSimpleName())) {
+                    return m;
+                }
+                return m.withArguments(ListUtils.map(m.getArguments(),
+                  arg -> LocalVariableUtils.resolveExpression(arg, getCursor()).withPrefix(arg.getPrefix())));
+            }
+        }));
+    }
+
+    @DocumentExample
+    @Test
+    void resolveFinalVariables() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              class Test {
+                  static final String FIELD = "field";
+
+                  void use(String s) {
+                  }
+
+                  void test(String parameter) {
+                      final String local = "local";
+                      String mutable = "mutable";
+                      mutable += "!";
+                      use(FIELD);
+                      use(local);
+                      use(mutable);
+                      use(parameter);
+                      for (final String loop = "loop"; ; ) {
+                          use(loop);
+                          use(local);
+                      }
+                  }
+              }
+              """,
+            """
+              class Test {
+                  static final String FIELD = "field";
+
+                  void use(String s) {
+                  }
+
+                  void test(String parameter) {
+                      final String local = "local";
+                      String mutable = "mutable";
+                      mutable += "!";
+                      use("field");
+                      use("local");
+                      use(mutable);
+                      use(parameter);
+                      for (final String loop = "loop"; ; ) {
+                          use("loop");
+                          use("local");
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void resolveEffectivelyFinalVariables() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              class Test {
+                  String field = "field";
+
+                  void use(String s) {
+                  }
+
+                  void test() {
+                      String local = "local";
+                      String reassigned = "reassigned";
+                      String incremented = "incremented";
+                      use(field);
+                      use(local);
+                      use(reassigned);
+                      use(incremented);
+                      reassigned = "again";
+                      incremented += "!";
+                  }
+              }
+              """,
+            """
+              class Test {
+                  String field = "field";
+
+                  void use(String s) {
+                  }
+
+                  void test() {
+                      String local = "local";
+                      String reassigned = "reassigned";
+                      String incremented = "incremented";
+                      use(field);
+                      use("local");
+                      use(reassigned);
+                      use(incremented);
+                      reassigned = "again";
+                      incremented += "!";
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void innerDeclarationShadowsField() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              class Test {
+                  static final String NAME = "field";
+
+                  void use(String s) {
+                  }
+
+                  void test() {
+                      String NAME = "local";
+                      use(NAME);
+                  }
+              }
+              """,
+            """
+              class Test {
+                  static final String NAME = "field";
+
+                  void use(String s) {
+                  }
+
+                  void test() {
+                      String NAME = "local";
+                      use("local");
+                  }
+              }
+              """
+          )
+        );
+    }
+}
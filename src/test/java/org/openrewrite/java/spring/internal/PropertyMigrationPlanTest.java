@@ -0,0 +1,119 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.spring.BatchChangeSpringPropertyKey.PropertyKeyChange;
+import org.openrewrite.java.spring.internal.PropertyMigrationPlan.Step;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PropertyMigrationPlanTest {
+
+    @Test
+    void collapseTransitiveRenames() {
+        PropertyMigrationPlan plan = PropertyMigrationPlan.compile(List.of(
+          new Step("2.0", List.of(new PropertyKeyChange("a", "b", null))),
+          new Step("3.0", List.of(new PropertyKeyChange("b", "c", null)))
+        ));
+
+        assertThat(plan.changesFor("2.7")).containsExactly(new PropertyKeyChange("a", "b", null));
+        assertThat(plan.changesFor("3.0")).containsExactly(
+          new PropertyKeyChange("a", "c", null),
+          new PropertyKeyChange("b", "c", null)
+        );
+    }
+
+    @Test
+    void keepChainsWithExceptionsInOrder() {
+        PropertyMigrationPlan plan = PropertyMigrationPlan.compile(List.of(
+          new Step("2.0", List.of(new PropertyKeyChange("a", "b", null))),
+          new Step("3.0", List.of(new PropertyKeyChange("b", "c", List.of("d"))))
+        ));
+
+        assertThat(plan.changesFor("3.0")).containsExactly(
+          new PropertyKeyChange("a", "b", null),
+          new PropertyKeyChange("b", "c", List.of("d"))
+        );
+    }
+
+    @Test
+    void doNotCollapseOverInterveningRenames() {
+        PropertyMigrationPlan plan = PropertyMigrationPlan.compile(List.of(
+          new Step("2.0", List.of(new PropertyKeyChange("a", "b", null))),
+          new Step("2.5", List.of(new PropertyKeyChange("c", "d", null))),
+          new Step("3.0", List.of(new PropertyKeyChange("b", "c", null)))
+        ));
+
+        assertThat(plan.changesFor("3.0")).containsExactly(
+          new PropertyKeyChange("a", "b", null),
+          new PropertyKeyChange("c", "d", null),
+          new PropertyKeyChange("b", "c", null)
+        );
+    }
+
+    @Test
+    void reportShadowedRenames() {
+        PropertyMigrationPlan plan = PropertyMigrationPlan.compile(List.of(
+          new Step("2.6", List.of(new PropertyKeyChange("a", "a.v1", null))),
+          new Step("3.0", List.of(new PropertyKeyChange("a", "b", null)))
+        ));
+
+        assertThat(plan.changesFor("3.0")).containsExactly(new PropertyKeyChange("a", "a.v1", null));
+        assertThat(plan.getConflicts()).singleElement()
+          .extracting(PropertyMigrationPlan.Conflict::getShadowedSince)
+          .isEqualTo("2.6");
+    }
+
+    @Test
+    void renameSubpropertiesLeftBehindByExceptions() {
+        PropertyMigrationPlan plan = PropertyMigrationPlan.compile(List.of(
+          new Step("2.6", List.of(new PropertyKeyChange("a", "b", List.of("c")))),
+          new Step("3.0", List.of(new PropertyKeyChange("a", "d", null)))
+        ));
+
+        assertThat(plan.changesFor("3.0")).containsExactly(
+          new PropertyKeyChange("a", "b", List.of("c")),
+          new PropertyKeyChange("a", "d", null)
+        );
+        assertThat(plan.getConflicts()).isEmpty();
+    }
+
+    @Test
+    void rejectCycles() {
+        assertThatThrownBy(() -> PropertyMigrationPlan.compile(List.of(
+          new Step("2.0", List.of(new PropertyKeyChange("a", "b", null))),
+          new Step("3.0", List.of(new PropertyKeyChange("b", "a", null)))
+        ))).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void planResourceIsUpToDate() throws IOException {
+        PropertyMigrationPlan plan = GeneratePropertyMigrationPlan.compile();
+        try (InputStream resource = getClass().getResourceAsStream(PropertyMigrationPlan.RESOURCE)) {
+            assertThat(resource).isNotNull();
+            assertThat(new String(resource.readAllBytes(), StandardCharsets.UTF_8))
+              .as("Run GeneratePropertyMigrationPlan to regenerate the plan")
+              .isEqualTo(plan.print());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpringTemplatesTest {
+    private final ExecutionContext ctx = new InMemoryExecutionContext();
+
+    @Test
+    void reuseTemplateForSameKey() {
+        SpringTemplates templates = new SpringTemplates(8);
+        SpringTemplates.Key key = SpringTemplates.builder("@Configuration")
+          .imports("org.springframework.context.annotation.Configuration")
+          .classpathFromResources("spring-context-5.3.+")
+          .key();
+
+        JavaTemplate template = templates.get(key, ctx);
+        assertThat(templates.get(key, ctx)).isSameAs(template);
+        assertThat(templates.stats()).isEqualTo(new SpringTemplates.Stats(1, 1, 0, 1));
+    }
+
+    @Test
+    void classpathIsPartOfKey() {
+        SpringTemplates templates = new SpringTemplates(8);
+        JavaTemplate spring5 = templates.get(SpringTemplates.builder("@Configuration")
+          .classpathFromResources("spring-context-5.3.+").key(), ctx);
+        JavaTemplate spring6 = templates.get(SpringTemplates.builder("@Configuration")
+          .classpathFromResources("spring-context-6.+").key(), ctx);
+        assertThat(spring6).isNotSameAs(spring5);
+        assertThat(templates.stats().getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        SpringTemplates templates = new SpringTemplates(2);
+        SpringTemplates.Key a = SpringTemplates.builder("a()").key();
+        SpringTemplates.Key b = SpringTemplates.builder("b()").key();
+        SpringTemplates.Key c = SpringTemplates.builder("c()").key();
+
+        JavaTemplate first = templates.get(a, ctx);
+        templates.get(b, ctx);
+        templates.get(a, ctx);
+        templates.get(c, ctx);
+
+        assertThat(templates.stats()).isEqualTo(new SpringTemplates.Stats(1, 3, 1, 2));
+        assertThat(templates.get(a, ctx)).isSameAs(first);
+        templates.get(b, ctx);
+        assertThat(templates.stats().getMisses()).isEqualTo(4);
+    }
+
+    @Test
+    void registryIsScopedToExecutionContext() {
+        SpringTemplates.Builder builder = SpringTemplates.builder("@Configuration")
+          .imports("org.springframework.context.annotation.Configuration")
+          .classpathFromResources("spring-context-5.3.+");
+
+        JavaTemplate template = builder.build(ctx);
+        assertThat(builder.build(ctx)).isSameAs(template);
+        assertThat(SpringTemplates.getStats(ctx)).isEqualTo(new SpringTemplates.Stats(1, 1, 0, 1));
+
+        ExecutionContext otherRun = new InMemoryExecutionContext();
+        assertThat(builder.build(otherRun)).isNotSameAs(template);
+        assertThat(SpringTemplates.getStats(otherRun)).isEqualTo(new SpringTemplates.Stats(0, 1, 0, 1));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpringWebConstantCatalogTest {
+
+    @Test
+    void selectNewestCatalogNotNewerThanVersion() {
+        assertThat(SpringWebConstantCatalog.forVersion("4.1.9.RELEASE").getVersion()).isEqualTo("4.3.30");
+        assertThat(SpringWebConstantCatalog.forVersion("5.2.22.RELEASE").getVersion()).isEqualTo("4.3.30");
+        assertThat(SpringWebConstantCatalog.forVersion("5.3.31").getVersion()).isEqualTo("5.3.27");
+        assertThat(SpringWebConstantCatalog.forVersion("6.1.0-M1").getVersion()).isEqualTo("6.0.8");
+        assertThat(SpringWebConstantCatalog.forVersion(null).getVersion()).isEqualTo("6.0.8");
+    }
+
+    @Test
+    void constantsDependOnVersion() {
+        String mediaType = "org.springframework.http.MediaType";
+        assertThat(SpringWebConstantCatalog.forVersion("4.3.30").getConstants(mediaType))
+          .containsEntry("APPLICATION_JSON_VALUE", "application/json")
+          .doesNotContainKey("APPLICATION_GRAPHQL_VALUE");
+        assertThat(SpringWebConstantCatalog.forVersion("6.0.8").getConstants(mediaType))
+          .containsEntry("APPLICATION_GRAPHQL_RESPONSE_VALUE", "application/graphql-response+json");
+        assertThat(SpringWebConstantCatalog.forVersion("6.0.8").getConstants("org.springframework.http.HttpStatus")).isEmpty();
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        List<SpringWebConstantCatalog> catalogs = SpringWebConstantCatalog.all();
+        String tsv = SpringWebConstantCatalog.print(catalogs);
+        assertThat(SpringWebConstantCatalog.read(new ByteArrayInputStream(tsv.getBytes(StandardCharsets.UTF_8))))
+          .isEqualTo(catalogs);
+    }
+
+    @Test
+    void catalogMatchesBundledJars() throws IOException {
+        Path classpath = Paths.get("src/main/resources/META-INF/rewrite/classpath");
+        assertThat(GenerateSpringWebConstantCatalog.extract("6.0.8", classpath.resolve("spring-web-6.0.8.jar")))
+          .isEqualTo(SpringWebConstantCatalog.forVersion("6.0.8"));
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import java.io.*;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * Reduces the jars in `META-INF/rewrite/classpath` to the type signatures that templates are compiled against. Each
+ * class keeps its constant pool, its non-private fields and methods, and every attribute that describes them, such as
+ * generic signatures, annotations and thrown exceptions. Method bodies, private members, source file information,
+ * anonymous and local classes, and all resources other than classes are removed, except for the license and notice
+ * files under {@code META-INF} that the jars' licenses require to be redistributed with them. The stripped jars are
+ * still jars, so they are loaded exactly like the full jars were, but they are a fraction of the size and javac reads
+ * much less of them. Run it, with the `stripParserClasspath` task, whenever the jars are downloaded again. Stripping a
+ * jar that is already stripped leaves it unchanged.
+ */
+class StripParserClasspath {
+    private static final Path CLASSPATH = Paths.get("src/main/resources/META-INF/rewrite/classpath");
+
+    private static final int ACC_PRIVATE = 0x0002;
+
+    private static final Set<String> STRIPPED_FIELD_ATTRIBUTES = new HashSet<>();
+    private static final Set<String> STRIPPED_METHOD_ATTRIBUTES = new HashSet<>(Arrays.asList("Code"));
+    private static final Set<String> STRIPPED_CLASS_ATTRIBUTES = new HashSet<>(Arrays.asList("SourceFile", "SourceDebugExtension"));
+
+    public static void main(String[] args) throws IOException {
+        try (DirectoryStream<Path> jars = Files.newDirectoryStream(CLASSPATH, "*.jar")) {
+            for (Path jar : jars) {
+                long before = Files.size(jar);
+                Path stripped = Files.createTempFile(jar.getFileName().toString(), ".stripped");
+                try {
+                    strip(jar, stripped);
+                    Files.move(stripped, jar, StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    Files.deleteIfExists(stripped);
+                }
+                System.out.printf("%s: %d -> %d bytes%n", jar.getFileName(), before, Files.size(jar));
+            }
+        }
+    }
+
+    static void strip(Path jar, Path target) throws IOException {
+        try (JarFile in = new JarFile(jar.toFile());
+             JarOutputStream out = new JarOutputStream(Files.newOutputStream(target))) {
+            out.setLevel(Deflater.BEST_COMPRESSION);
+            for (JarEntry entry : (Iterable<JarEntry>) in.stream()::iterator) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                if (isLegalNotice(entry.getName())) {
+                    try (InputStream notice = in.getInputStream(entry)) {
+                        ZipEntry copy = new ZipEntry(entry.getName());
+                        copy.setTime(entry.getTime());
+                        out.putNextEntry(copy);
+                        out.write(notice.readAllBytes());
+                        out.closeEntry();
+                    }
+                    continue;
+                }
+                if (!entry.getName().endsWith(".class") || isAnonymousOrLocal(entry.getName())) {
+                    continue;
+                }
+                try (InputStream classFile = in.getInputStream(entry)) {
+                    ZipEntry stripped = new ZipEntry(entry.getName());
+                    stripped.setTime(entry.getTime());
+                    out.putNextEntry(stripped);
+                    out.write(stripClass(classFile));
+                    out.closeEntry();
+                }
+            }
+        }
+    }
+
+    /**
+     * License and notice files, such as {@code META-INF/LICENSE}, {@code META-INF/NOTICE.txt} or
+     * {@code META-INF/license.txt}, are kept as they are.
+     */
+    static boolean isLegalNotice(String entryName) {
+        if (!entryName.startsWith("META-INF/")) {
+            return false;
+        }
+        String fileName = entryName.substring(entryName.lastIndexOf('/') + 1).toUpperCase(Locale.ROOT);
+        return fileName.contains("LICENSE") || fileName.contains("NOTICE");
+    }
+
+    /**
+     * Anonymous and local classes are named after their enclosing class followed by '$' and a number, such as
+     * {@code Outer$1} or {@code Outer$1Local}, and cannot be referred to from outside their enclosing class.
+     */
+    static boolean isAnonymousOrLocal(String classFileName) {
+        int dollar = classFileName.lastIndexOf('$');
+        return dollar >= 0 && dollar + 1 < classFileName.length() && Character.isDigit(classFileName.charAt(dollar + 1));
+    }
+
+    static byte[] stripClass(InputStream classFile) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(classFile));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        int magic = in.readInt();
+        if (magic != 0xCAFEBABE) {
+            throw new IOException("Not a class file");
+        }
+        out.writeInt(magic);
+        out.writeShort(in.readUnsignedShort()); // minor version
+        out.writeShort(in.readUnsignedShort()); // major version
+
+        int constantPoolCount = in.readUnsignedShort();
+        out.writeShort(constantPoolCount);
+        String[] utf8 = new String[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = in.readUnsignedByte();
+            out.writeByte(tag);
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = in.readUTF();
+                    out.writeUTF(utf8[i]);
+                    break;
+                case 7: // Class
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    copy(in, out, 2);
+                    break;
+                case 15: // MethodHandle
+                    copy(in, out, 3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    copy(in, out, 4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    copy(in, out, 8);
+                    i++; // takes up two entries
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        copy(in, out, 6); // access flags, this class, super class
+        int interfaceCount = in.readUnsignedShort();
+        out.writeShort(interfaceCount);
+        copy(in, out, 2 * interfaceCount);
+
+        copyMembers(in, out, utf8, STRIPPED_FIELD_ATTRIBUTES);
+        copyMembers(in, out, utf8, STRIPPED_METHOD_ATTRIBUTES);
+        copyAttributes(in, out, utf8, STRIPPED_CLASS_ATTRIBUTES);
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void copyMembers(DataInputStream in, DataOutputStream out, String[] utf8, Set<String> strippedAttributes) throws IOException {
+        int count = in.readUnsignedShort();
+        ByteArrayOutputStream members = new ByteArrayOutputStream();
+        DataOutputStream membersOut = new DataOutputStream(members);
+        int kept = 0;
+        for (int m = 0; m < count; m++) {
+            int accessFlags = in.readUnsignedShort();
+            int name = in.readUnsignedShort();
+            int descriptor = in.readUnsignedShort();
+            if ((accessFlags & ACC_PRIVATE) != 0) {
+                copyAttributes(in, new DataOutputStream(new ByteArrayOutputStream()), utf8, strippedAttributes);
+                continue;
+            }
+            membersOut.writeShort(accessFlags);
+            membersOut.writeShort(name);
+            membersOut.writeShort(descriptor);
+            copyAttributes(in, membersOut, utf8, strippedAttributes);
+            kept++;
+        }
+        membersOut.flush();
+        out.writeShort(kept);
+        members.writeTo(out);
+    }
+
+    private static void copyAttributes(DataInputStream in, DataOutputStream out, String[] utf8, Set<String> strippedAttributes) throws IOException {
+        int count = in.readUnsignedShort();
+        ByteArrayOutputStream attributes = new ByteArrayOutputStream();
+        DataOutputStream attributesOut = new DataOutputStream(attributes);
+        int kept = 0;
+        for (int a = 0; a < count; a++) {
+            int name = in.readUnsignedShort();
+            int length = in.readInt();
+            if (strippedAttributes.contains(utf8[name])) {
+                in.skipNBytes(length);
+                continue;
+            }
+            attributesOut.writeShort(name);
+            attributesOut.writeInt(length);
+            copy(in, attributesOut, length);
+            kept++;
+        }
+        attributesOut.flush();
+        out.writeShort(kept);
+        attributes.writeTo(out);
+    }
+
+    private static void copy(DataInputStream in, DataOutputStream out, int length) throws IOException {
+        byte[] buffer = new byte[length];
+        in.readFully(buffer);
+        out.write(buffer);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripParserClasspathTest {
+
+    @Test
+    void anonymousAndLocalClasses() {
+        assertThat(StripParserClasspath.isAnonymousOrLocal("org/example/Outer$1.class")).isTrue();
+        assertThat(StripParserClasspath.isAnonymousOrLocal("org/example/Outer$1Local.class")).isTrue();
+        assertThat(StripParserClasspath.isAnonymousOrLocal("org/example/Outer$Inner.class")).isFalse();
+        assertThat(StripParserClasspath.isAnonymousOrLocal("org/example/Outer.class")).isFalse();
+    }
+
+    @Test
+    void legalNotices() {
+        assertThat(StripParserClasspath.isLegalNotice("META-INF/LICENSE")).isTrue();
+        assertThat(StripParserClasspath.isLegalNotice("META-INF/LICENSE.txt")).isTrue();
+        assertThat(StripParserClasspath.isLegalNotice("META-INF/notice.txt")).isTrue();
+        assertThat(StripParserClasspath.isLegalNotice("META-INF/license/LICENSE.asm.txt")).isTrue();
+        assertThat(StripParserClasspath.isLegalNotice("META-INF/MANIFEST.MF")).isFalse();
+        assertThat(StripParserClasspath.isLegalNotice("LICENSE")).isFalse();
+    }
+
+    /**
+     * Fails when the jars have been downloaded again without running the `stripParserClasspath` task.
+     */
+    @Test
+    void bundledJarsAreStripped() throws IOException {
+        try (DirectoryStream<Path> jars = Files.newDirectoryStream(Paths.get("src/main/resources/META-INF/rewrite/classpath"), "*.jar")) {
+            for (Path jar : jars) {
+                try (JarFile jarFile = new JarFile(jar.toFile())) {
+                    for (JarEntry entry : (Iterable<JarEntry>) jarFile.stream()::iterator) {
+                        if (StripParserClasspath.isLegalNotice(entry.getName())) {
+                            continue;
+                        }
+                        assertThat(entry.getName()).as(jar.getFileName().toString()).endsWith(".class");
+                        byte[] classFile;
+                        try (InputStream in = jarFile.getInputStream(entry)) {
+                            classFile = in.readAllBytes();
+                        }
+                        assertThat(StripParserClasspath.stripClass(new ByteArrayInputStream(classFile)))
+                          .as(jar.getFileName() + "!" + entry.getName())
+                          .isEqualTo(classFile);
+                    }
+                }
+            }
+        }
+    }
+}
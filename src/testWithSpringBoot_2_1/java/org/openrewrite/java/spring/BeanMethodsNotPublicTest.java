@@ -131,4 +131,41 @@ class BeanMethodsNotPublicTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void leaveOverloadsOfBeanMethodsPublic() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.springframework.context.annotation.Bean;
+              
+              public class GreetingConfiguration {
+                  @Bean
+                  public String greeting() {
+                      return greeting("hello");
+                  }
+              
+                  public String greeting(String text) {
+                      return text;
+                  }
+              }
+              """,
+            """
+              import org.springframework.context.annotation.Bean;
+              
+              public class GreetingConfiguration {
+                  @Bean
+                  String greeting() {
+                      return greeting("hello");
+                  }
+              
+                  public String greeting(String text) {
+                      return text;
+                  }
+              }
+              """
+          )
+        );
+    }
 }
@@ -113,4 +113,73 @@ class ExpandPropertiesTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void expandAndCoalesceAcrossLevels() {
+        rewriteRun(
+          yaml(
+            //language=yml
+            """
+              spring.datasource.url: jdbc:h2:mem:test
+              server.port: 8080
+              spring.datasource.username: sa
+              spring:
+                jpa.show-sql: true
+              """,
+            //language=yml
+            """
+              spring:
+                datasource:
+                  url: jdbc:h2:mem:test
+                  username: sa
+                jpa:
+                  show-sql: true
+              server:
+                port: 8080
+              """,
+            spec -> spec.path("application.yml")
+          )
+        );
+    }
+
+    @Test
+    void noDottedKeys() {
+        rewriteRun(
+          yaml(
+            //language=yml
+            """
+              spring:
+                application:
+                  name: main
+              spring:
+                profiles: dev
+              """,
+            spec -> spec.path("application.yml")
+          )
+        );
+    }
+
+    @Test
+    void formatOnlyExpandedEntries() {
+        rewriteRun(
+          yaml(
+            //language=yml
+            """
+              list:
+              - a
+              - b
+              spring.application.name: main
+              """,
+            """
+              list:
+              - a
+              - b
+              spring:
+                application:
+                  name: main
+              """,
+            spec -> spec.path("application.yml")
+          )
+        );
+    }
 }
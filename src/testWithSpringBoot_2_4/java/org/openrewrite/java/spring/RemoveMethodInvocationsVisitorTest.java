@@ -18,10 +18,14 @@ package org.openrewrite.java.spring;
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.Recipe;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.J;
 import org.openrewrite.test.RewriteTest;
 
 import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 import static org.openrewrite.test.RewriteTest.toRecipe;
 
@@ -422,4 +426,51 @@ class RemoveMethodInvocationsVisitorTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void methodNameOfSignature() {
+        assertThat(RemoveMethodInvocationsVisitor.methodName("java.lang.StringBuilder toString()")).isEqualTo("toString");
+        assertThat(RemoveMethodInvocationsVisitor.methodName("java.lang.StringBuilder#append(..)")).isEqualTo("append");
+        assertThat(RemoveMethodInvocationsVisitor.methodName("java.lang.StringBuilder append*(..)")).isNull();
+        assertThat(RemoveMethodInvocationsVisitor.methodName("java.lang.StringBuilder *(..)")).isNull();
+    }
+
+    @Test
+    void methodNameOfMatcher() {
+        assertThat(RemoveMethodInvocationsVisitor.methodName(new MethodMatcher("java.lang.StringBuilder append(..)"))).isEqualTo("append");
+        assertThat(RemoveMethodInvocationsVisitor.methodName(new MethodMatcher("java.lang.StringBuilder append*(..)"))).isNull();
+    }
+
+    @Test
+    void patternAndArgumentMatchers() {
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> RemoveMethodInvocationsVisitor.withSignatures(Map.of(
+            "java.lang.StringBuilder rev*()", args -> true,
+            "java.lang.StringBuilder append(java.lang.String)", args -> args.get(0) instanceof J.Literal && " ".equals(((J.Literal) args.get(0)).getValue())
+          )))),
+          //language=java
+          java(
+            """
+              public class Test {
+                  void method() {
+                      StringBuilder sb = new StringBuilder();
+                      sb.append("Hello")
+                          .append(" ")
+                          .reverse()
+                          .append("World");
+                  }
+              }
+              """,
+            """
+              public class Test {
+                  void method() {
+                      StringBuilder sb = new StringBuilder();
+                      sb.append("Hello")
+                          .append("World");
+                  }
+              }
+              """
+          )
+        );
+    }
 }
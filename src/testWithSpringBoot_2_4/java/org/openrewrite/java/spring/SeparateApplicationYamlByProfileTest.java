@@ -19,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import static org.openrewrite.java.Assertions.mavenProject;
 import static org.openrewrite.java.Assertions.srcMainResources;
 import static org.openrewrite.yaml.Assertions.yaml;
 
@@ -75,4 +76,139 @@ class SeparateApplicationYamlByProfileTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void separateProfileFromYamlExtension() {
+        rewriteRun(
+          srcMainResources(
+            yaml(
+              //language=yaml
+              """
+                name: main
+                ---
+                spring:
+                  config:
+                    activate:
+                      on-profile: test
+                name: test
+                """,
+              """
+              name: main
+              """,
+              spec -> spec.path("application.yaml").noTrim()
+            ),
+            yaml(
+              null,
+              "name: test",
+              spec -> spec.path("application-test.yaml")
+            )
+          )
+        );
+    }
+
+    @Test
+    void multiModule() {
+        rewriteRun(
+          mavenProject("service-a",
+            srcMainResources(
+              yaml(
+                //language=yaml
+                """
+                  name: a
+                  ---
+                  spring:
+                    config:
+                      activate:
+                        on-profile: test
+                  name: a-test
+                  """,
+                """
+                name: a
+                """,
+                spec -> spec.path("application.yml").noTrim()
+              ),
+              yaml(
+                null,
+                "name: a-test",
+                spec -> spec.path("application-test.yml")
+              )
+            )
+          ),
+          mavenProject("service-b",
+            srcMainResources(
+              yaml(
+                //language=yaml
+                """
+                  name: b
+                  ---
+                  spring:
+                    config:
+                      activate:
+                        on-profile: test
+                  name: b-test
+                  """,
+                """
+                name: b
+                """,
+                spec -> spec.path("application.yml").noTrim()
+              ),
+              yaml(
+                null,
+                "name: b-test",
+                spec -> spec.path("application-test.yml")
+              )
+            )
+          )
+        );
+    }
+
+    @Test
+    void keepDocumentWhenProfileFileExists() {
+        rewriteRun(
+          srcMainResources(
+            yaml(
+              //language=yaml
+              """
+                name: main
+                ---
+                spring:
+                  config:
+                    activate:
+                      on-profile: test
+                name: test
+                """,
+              spec -> spec.path("application.yml")
+            ),
+            yaml(
+              "name: existing",
+              spec -> spec.path("application-test.yml")
+            )
+          )
+        );
+    }
+
+    @Test
+    void keepDocumentWhenProfileFileWithOtherExtensionExists() {
+        rewriteRun(
+          srcMainResources(
+            yaml(
+              //language=yaml
+              """
+                name: main
+                ---
+                spring:
+                  config:
+                    activate:
+                      on-profile: dev
+                name: dev
+                """,
+              spec -> spec.path("application.yml")
+            ),
+            yaml(
+              "name: existing",
+              spec -> spec.path("application-dev.yaml")
+            )
+          )
+        );
+    }
 }
@@ -16,10 +16,18 @@
 package org.openrewrite.java.spring;
 
 import org.junit.jupiter.api.Test;
+import org.openrewrite.Checksum;
+import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
+import org.openrewrite.test.SourceSpec;
+import org.openrewrite.text.PlainText;
 
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 import static org.openrewrite.test.SourceSpecs.text;
 
@@ -52,11 +60,209 @@ class UpdateApiManifestTest implements RewriteTest {
               }
               """
           ),
+          text(null, "", manifest("UsersController.java", "POST /users/post"))
+        );
+    }
+
+    @Test
+    void classMappingAppliesToEveryHandler() {
+        rewriteRun(
+          spec -> spec.cycles(1).expectedCyclesThatMakeChanges(1),
+          //language=java
+          java(
+            """
+              import org.springframework.web.bind.annotation.*;
+
+              @RestController
+              @RequestMapping("/orders")
+              public class OrdersController {
+                  @GetMapping
+                  public String list() {
+                      return null;
+                  }
+
+                  @PostMapping("/submit")
+                  public String submit() {
+                      return null;
+                  }
+
+                  @DeleteMapping("/{id}")
+                  public void delete() {
+                  }
+              }
+              """
+          ),
+          text(null, "", manifest("OrdersController.java",
+            """
+              GET /orders
+              POST /orders/submit
+              DELETE /orders/{id}
+              """))
+        );
+    }
+
+    @Test
+    void constantsAndPathArrays() {
+        rewriteRun(
+          spec -> spec.cycles(1).expectedCyclesThatMakeChanges(1),
+          //language=java
+          java(
+            """
+              import org.springframework.http.MediaType;
+              import org.springframework.web.bind.annotation.*;
+
+              @RestController
+              @RequestMapping(path = {ItemsController.V1, "/v2"}, produces = MediaType.APPLICATION_JSON_VALUE)
+              public class ItemsController {
+                  static final String V1 = "/v1";
+                  private static final String ITEMS = "/items";
+
+                  @RequestMapping(value = ITEMS + "/{id}", method = {RequestMethod.GET, RequestMethod.HEAD})
+                  public String get() {
+                      return null;
+                  }
+              }
+              """
+          ),
+          text(null, "", manifest("ItemsController.java",
+            """
+              GET /v1/items/{id}
+              HEAD /v1/items/{id}
+              GET /v2/items/{id}
+              HEAD /v2/items/{id}
+              """))
+        );
+    }
+
+    @Test
+    void functionalRoutes() {
+        rewriteRun(
+          spec -> spec.cycles(1).expectedCyclesThatMakeChanges(1)
+            .parser(JavaParser.fromJavaVersion().classpath("spring-web", "spring-webmvc")),
+          //language=java
+          java(
+            """
+              import org.springframework.http.MediaType;
+              import org.springframework.web.servlet.function.*;
+
+              import static org.springframework.web.servlet.function.RequestPredicates.*;
+
+              class Routes {
+                  RouterFunction<ServerResponse> routes(UserHandler handler) {
+                      return RouterFunctions.route()
+                        .GET("/users", handler::list)
+                        .path("/admin", builder -> builder
+                          .POST("/users", accept(MediaType.APPLICATION_JSON), handler::create))
+                        .build()
+                        .and(RouterFunctions.route(DELETE("/users/{id}"), handler::delete));
+                  }
+              }
+
+              interface UserHandler {
+                  ServerResponse list(ServerRequest request);
+                  ServerResponse create(ServerRequest request);
+                  ServerResponse delete(ServerRequest request);
+              }
+              """
+          ),
+          text(null, "", manifest("Routes.java",
+            """
+              POST /admin/users
+              GET /users
+              DELETE /users/{id}
+              """))
+        );
+    }
+
+    @Test
+    void keepEndpointsOfUnchangedFiles() {
+        String fingerprint = fingerprint(PING_CONTROLLER);
+        rewriteRun(
+          //language=java
+          java(PING_CONTROLLER),
+          text(
+            """
+              # PingController.java %s
+              GET /ping
+              GET /unchanged
+              """.formatted(fingerprint).trim(),
+            spec -> spec.path("META-INF/api-manifest.txt")
+          )
+        );
+    }
+
+    @Test
+    void keepEndpointsOfUnchangedFilesScannedAfterTheManifest() {
+        String fingerprint = fingerprint(PING_CONTROLLER);
+        rewriteRun(
+          text(
+            """
+              # PingController.java %s
+              GET /ping
+              GET /unchanged
+              """.formatted(fingerprint).trim(),
+            spec -> spec.path("META-INF/api-manifest.txt")
+          ),
+          //language=java
+          java(PING_CONTROLLER)
+        );
+    }
+
+    @Test
+    void updateEndpointsOfChangedFiles() {
+        rewriteRun(
+          //language=java
+          java(PING_CONTROLLER),
           text(
-            null,
-            "POST /users/post",
+            """
+              # Old.java 0000000000000000
+              GET /old
+              # PingController.java 0000000000000000
+              GET /unchanged
+              """.trim(),
+            """
+              # PingController.java %s
+              GET /ping
+              """.formatted(fingerprint(PING_CONTROLLER)).trim(),
             spec -> spec.path("META-INF/api-manifest.txt")
           )
         );
     }
+
+    @Test
+    void fingerprintIsTheChecksumWhenPresent() {
+        byte[] sha256 = new byte[32];
+        for (int i = 0; i < sha256.length; i++) {
+            sha256[i] = (byte) (i * 17);
+        }
+        assertThat(UpdateApiManifest.fingerprint(JavaParser.fromJavaVersion().classpath("spring-web").build()
+          .parse(new InMemoryExecutionContext(), PING_CONTROLLER).findFirst().orElseThrow()
+          .withChecksum(new Checksum("SHA-256", sha256))))
+          .isEqualTo("0011223344556677");
+    }
+
+    //language=java
+    private static final String PING_CONTROLLER = """
+      import org.springframework.web.bind.annotation.*;
+
+      @RestController
+      public class PingController {
+          @GetMapping("/ping")
+          public String ping() {
+              return "pong";
+          }
+      }
+      """;
+
+    private static String fingerprint(String source) {
+        return UpdateApiManifest.fingerprint(JavaParser.fromJavaVersion().classpath("spring-web").build()
+          .parse(new InMemoryExecutionContext(), source).findFirst().orElseThrow());
+    }
+
+    private static Consumer<SourceSpec<PlainText>> manifest(String sourcePath, String apis) {
+        return spec -> spec.path("META-INF/api-manifest.txt").after(actual -> {
+            assertThat(actual).matches("# " + Pattern.quote(sourcePath) + " [0-9a-f]{16}\n" + Pattern.quote(apis.trim()));
+            return actual;
+        });
+    }
 }
@@ -409,4 +409,42 @@ class DatabaseComponentAndBeanInitializationOrderingTest implements RewriteTest
           )
         );
     }
+
+    @Test
+    void componentWithAnotherStereotypeFirstDoesDdl() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import javax.sql.DataSource;
+              import org.springframework.stereotype.Component;
+              import org.springframework.stereotype.Controller;
+              
+              @Controller
+              @Component
+              public class MyDbInitializerComponent {
+                  
+                  public void initSchema(DataSource ds) {
+                  }
+              }
+              """,
+            """
+              import javax.sql.DataSource;
+              
+              import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+              import org.springframework.stereotype.Component;
+              import org.springframework.stereotype.Controller;
+              
+              @Controller
+              @Component
+              @DependsOnDatabaseInitialization
+              public class MyDbInitializerComponent {
+                  
+                  public void initSchema(DataSource ds) {
+                  }
+              }
+              """
+          )
+        );
+    }
 }
@@ -997,4 +997,51 @@ class EntityIdForRepositoryVisitorTest implements RewriteTest {
         );
     }
 
+    @Test
+    void sharedIntermediateRepo() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+            package demo;
+            
+            import org.springframework.data.annotation.Id;
+            
+            public class Customer {
+                @Id String id;
+            }
+            """
+          ),
+          java(
+                """
+            package demo;
+            
+            import org.springframework.data.repository.NoRepositoryBean;
+            import org.springframework.data.repository.Repository;
+            
+            @NoRepositoryBean
+            interface MyIntermediateRepository<T extends Customer, ID> extends Repository<T, ID>{}
+            """
+          ),
+          java(
+            """
+              package demo;
+              
+              interface MyConcreteRepository extends MyIntermediateRepository<Customer, Long>{}
+              """,
+            """
+              package demo;
+              
+              interface MyConcreteRepository extends MyIntermediateRepository<Customer, /*~~(Expected Domain Type ID is 'java.lang.String')~~>*/Long>{}
+              """
+          ),
+          java(
+            """
+              package demo;
+              
+              interface MyOtherConcreteRepository extends MyIntermediateRepository<Customer, String>{}
+              """
+          )
+        );
+    }
 }
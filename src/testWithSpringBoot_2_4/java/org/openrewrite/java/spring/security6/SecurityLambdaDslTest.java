@@ -0,0 +1,278 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.security6;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.spring.boot2.HeadersConfigurerLambdaDsl;
+import org.openrewrite.java.spring.boot2.HttpSecurityLambdaDsl;
+import org.openrewrite.java.spring.boot2.ServerHttpSecurityLambdaDsl;
+import org.openrewrite.java.spring.security6.oauth2.client.OAuth2ClientLambdaDsl;
+import org.openrewrite.java.spring.security6.oauth2.client.OAuth2LoginLambdaDsl;
+import org.openrewrite.java.spring.security6.oauth2.server.resource.OAuth2ResourceServerLambdaDsl;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class SecurityLambdaDslTest implements RewriteTest {
+
+    //language=java
+    private static final String MIXED_CHAIN_BEFORE = """
+      import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+      import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+      import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+      
+      @EnableWebSecurity
+      public class ConventionalSecurityConfig extends WebSecurityConfigurerAdapter {
+          @Override
+          protected void configure(HttpSecurity http) throws Exception {
+              http
+                      .headers()
+                              .contentSecurityPolicy("foobar")
+                              .and()
+                              .and()
+                      .oauth2ResourceServer()
+                              .jwt()
+                                      .jwkSetUri("")
+                                      .and()
+                              .and()
+                      .formLogin();
+          }
+      }
+      """;
+
+    //language=java
+    private static final String MIXED_CHAIN_AFTER = """
+      import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+      import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+      import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+      
+      import static org.springframework.security.config.Customizer.withDefaults;
+      
+      @EnableWebSecurity
+      public class ConventionalSecurityConfig extends WebSecurityConfigurerAdapter {
+          @Override
+          protected void configure(HttpSecurity http) throws Exception {
+              http
+                      .headers(headers -> headers
+                              .contentSecurityPolicy(policy -> policy
+                                      .policyDirectives("foobar")))
+                      .oauth2ResourceServer(server -> server
+                              .jwt(jwt -> jwt
+                                      .jwkSetUri("")))
+                      .formLogin(withDefaults());
+          }
+      }
+      """;
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new SecurityLambdaDsl())
+          .parser(JavaParser.fromJavaVersion()
+            .classpath("spring-beans", "spring-context", "spring-boot", "spring-security", "spring-web", "tomcat-embed", "spring-core"));
+    }
+
+    @DocumentExample
+    @Test
+    void convertNestedConfigurersInOnePass() {
+        //language=java
+        rewriteRun(
+          spec -> spec.cycles(1).expectedCyclesThatMakeChanges(1),
+          java(
+            """
+              import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+              import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+              import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+              
+              @EnableWebSecurity
+              public class ConventionalSecurityConfig extends WebSecurityConfigurerAdapter {
+                  @Override
+                  protected void configure(HttpSecurity http) throws Exception {
+                      http
+                              .headers()
+                                      .contentSecurityPolicy("foobar")
+                                      .and()
+                                      .and()
+                              .formLogin();
+                  }
+              }
+              """,
+            """
+              import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+              import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+              import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+              
+              import static org.springframework.security.config.Customizer.withDefaults;
+              
+              @EnableWebSecurity
+              public class ConventionalSecurityConfig extends WebSecurityConfigurerAdapter {
+                  @Override
+                  protected void configure(HttpSecurity http) throws Exception {
+                      http
+                              .headers(headers -> headers
+                                      .contentSecurityPolicy(policy -> policy
+                                              .policyDirectives("foobar")))
+                              .formLogin(withDefaults());
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void serverHttpSecurity() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.springframework.context.annotation.Bean;
+              import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+              import org.springframework.security.config.web.server.ServerHttpSecurity;
+              import org.springframework.security.web.server.SecurityWebFilterChain;
+
+              @EnableWebFluxSecurity
+              public class SecurityConfig {
+                  @Bean
+                  SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
+                      http
+                              .authorizeExchange()
+                                      .pathMatchers("/blog/**").permitAll()
+                                      .anyExchange().authenticated()
+                                      .and()
+                              .httpBasic()
+                                      .and()
+                              .formLogin()
+                                      .loginPage("/login");
+                      return http.build();
+                  }
+              }
+              """,
+            """
+              import org.springframework.context.annotation.Bean;
+              import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+              import org.springframework.security.config.web.server.ServerHttpSecurity;
+              import org.springframework.security.web.server.SecurityWebFilterChain;
+
+              import static org.springframework.security.config.Customizer.withDefaults;
+
+              @EnableWebFluxSecurity
+              public class SecurityConfig {
+                  @Bean
+                  SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
+                      http
+                              .authorizeExchange(exchange -> exchange
+                                      .pathMatchers("/blog/**").permitAll()
+                                      .anyExchange().authenticated())
+                              .httpBasic(withDefaults())
+                              .formLogin(login -> login
+                                      .loginPage("/login"));
+                      return http.build();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void oauth2Configurers() {
+        rewriteRun(
+          spec -> spec.cycles(1).expectedCyclesThatMakeChanges(1),
+          //language=java
+          java(
+            """
+              import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+              import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+              import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+              
+              @EnableWebSecurity
+              public class ConventionalSecurityConfig extends WebSecurityConfigurerAdapter {
+                  @Override
+                  protected void configure(HttpSecurity http) throws Exception {
+                      http
+                              .oauth2Login()
+                                      .tokenEndpoint()
+                                              .accessTokenResponseClient(authorizationGrantRequest -> null)
+                                              .and()
+                                      .userInfoEndpoint()
+                                              .userAuthoritiesMapper(authorities -> null)
+                                              .and()
+                                      .and()
+                              .oauth2Client()
+                                      .authorizationCodeGrant()
+                                              .accessTokenResponseClient(null)
+                                              .and()
+                                      .and()
+                              .oauth2ResourceServer()
+                                      .jwt()
+                                              .jwkSetUri("")
+                                              .and()
+                                      .opaqueToken()
+                                              .introspectionUri("");
+                  }
+              }
+              """,
+            """
+              import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+              import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+              import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+              
+              @EnableWebSecurity
+              public class ConventionalSecurityConfig extends WebSecurityConfigurerAdapter {
+                  @Override
+                  protected void configure(HttpSecurity http) throws Exception {
+                      http
+                              .oauth2Login(login -> login
+                                      .tokenEndpoint(endpoint -> endpoint
+                                              .accessTokenResponseClient(authorizationGrantRequest -> null))
+                                      .userInfoEndpoint(endpoint -> endpoint
+                                              .userAuthoritiesMapper(authorities -> null)))
+                              .oauth2Client(client -> client
+                                      .authorizationCodeGrant(grant -> grant
+                                              .accessTokenResponseClient(null)))
+                              .oauth2ResourceServer(server -> server
+                                      .jwt(jwt -> jwt
+                                              .jwkSetUri(""))
+                                      .opaqueToken(token -> token
+                                              .introspectionUri("")));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void sameResultAsRecipesInSequence() {
+        rewriteRun(
+          spec -> spec.recipes(
+            new HttpSecurityLambdaDsl(),
+            new ServerHttpSecurityLambdaDsl(),
+            new HeadersConfigurerLambdaDsl(),
+            new OAuth2LoginLambdaDsl(),
+            new OAuth2ClientLambdaDsl(),
+            new OAuth2ResourceServerLambdaDsl()),
+          java(MIXED_CHAIN_BEFORE, MIXED_CHAIN_AFTER)
+        );
+        rewriteRun(
+          spec -> spec.cycles(1).expectedCyclesThatMakeChanges(1),
+          java(MIXED_CHAIN_BEFORE, MIXED_CHAIN_AFTER)
+        );
+    }
+}
@@ -190,4 +190,148 @@ class ReplaceLiteralsTest implements RewriteTest {
         );
     }
 
+    @Test
+    void shouldNotIntroduceConstantsMissingFromProjectVersion() {
+        rewriteRun(
+          mavenProject("project",
+            srcMainJava(
+              //language=Java
+              java("""
+                import java.util.Map;
+                import org.springframework.web.bind.annotation.GetMapping;
+                
+                class Foo {
+                    @GetMapping(path = "/foo", produces = "application/json")
+                    Map<String, Object> foo() {
+                        return Map.of("foo", "bar");
+                    }
+                
+                    @GetMapping(path = "/bar", produces = "application/cbor")
+                    Map<String, Object> bar() {
+                        return Map.of("bar", "baz");
+                    }
+                }
+                """, """
+                import java.util.Map;
+                
+                import org.springframework.http.MediaType;
+                import org.springframework.web.bind.annotation.GetMapping;
+                
+                class Foo {
+                    @GetMapping(path = "/foo", produces = MediaType.APPLICATION_JSON_VALUE)
+                    Map<String, Object> foo() {
+                        return Map.of("foo", "bar");
+                    }
+                
+                    @GetMapping(path = "/bar", produces = "application/cbor")
+                    Map<String, Object> bar() {
+                        return Map.of("bar", "baz");
+                    }
+                }
+                """),
+              //language=XML
+              pomXml("""
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>acme</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.springframework</groupId>
+                            <artifactId>spring-web</artifactId>
+                            <version>4.3.30.RELEASE</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """
+              )
+            )
+          )
+        );
+    }
+
+    @Test
+    void useSpringWebVersionOfEachProject() {
+        rewriteRun(
+          mavenProject("legacy",
+            srcMainJava(
+              //language=Java
+              java("""
+                import java.util.Map;
+                import org.springframework.web.bind.annotation.GetMapping;
+                
+                class Legacy {
+                    @GetMapping(path = "/bar", produces = "application/cbor")
+                    Map<String, Object> bar() {
+                        return Map.of("bar", "baz");
+                    }
+                }
+                """),
+              //language=XML
+              pomXml("""
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>legacy</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.springframework</groupId>
+                            <artifactId>spring-web</artifactId>
+                            <version>4.3.30.RELEASE</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """
+              )
+            )
+          ),
+          mavenProject("modern",
+            srcMainJava(
+              //language=Java
+              java("""
+                import java.util.Map;
+                import org.springframework.web.bind.annotation.GetMapping;
+                
+                class Modern {
+                    @GetMapping(path = "/bar", produces = "application/cbor")
+                    Map<String, Object> bar() {
+                        return Map.of("bar", "baz");
+                    }
+                }
+                """, """
+                import java.util.Map;
+                
+                import org.springframework.http.MediaType;
+                import org.springframework.web.bind.annotation.GetMapping;
+                
+                class Modern {
+                    @GetMapping(path = "/bar", produces = MediaType.APPLICATION_CBOR_VALUE)
+                    Map<String, Object> bar() {
+                        return Map.of("bar", "baz");
+                    }
+                }
+                """),
+              //language=XML
+              pomXml("""
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>modern</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.springframework</groupId>
+                            <artifactId>spring-web</artifactId>
+                            <version>5.3.27</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """
+              )
+            )
+          )
+        );
+    }
 }
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.search;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.spring.table.ApiEndpoints;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class FindApiEndpointsTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new FindApiEndpoints())
+          .parser(JavaParser.fromJavaVersion()
+            .classpath("spring-web", "spring-webmvc", "spring-webflux", "reactor-core"));
+    }
+
+    @DocumentExample
+    @Test
+    void pathArraysAndMediaTypes() {
+        rewriteRun(
+          spec -> spec.dataTable(ApiEndpoints.Row.class, rows -> assertThat(rows).containsExactly(
+            new ApiEndpoints.Row("ItemsController.java", "create", "POST", "/v1/items", "application/json,application/xml", "application/json"),
+            new ApiEndpoints.Row("ItemsController.java", "create", "POST", "/v2/items", "application/json,application/xml", "application/json"),
+            new ApiEndpoints.Row("ItemsController.java", "get", "GET", "/v1/items/{id}", "", "text/plain"),
+            new ApiEndpoints.Row("ItemsController.java", "get", "HEAD", "/v1/items/{id}", "", "text/plain"),
+            new ApiEndpoints.Row("ItemsController.java", "get", "GET", "/v2/items/{id}", "", "text/plain"),
+            new ApiEndpoints.Row("ItemsController.java", "get", "HEAD", "/v2/items/{id}", "", "text/plain")
+          )),
+          //language=java
+          java(
+            """
+              import org.springframework.http.MediaType;
+              import org.springframework.web.bind.annotation.*;
+
+              @RestController
+              @RequestMapping(path = {"/v1", "/v2"}, produces = MediaType.APPLICATION_JSON_VALUE)
+              class ItemsController {
+                  @PostMapping(path = "/items", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/xml"})
+                  public String create() {
+                      return null;
+                  }
+
+                  @RequestMapping(value = "/items/{id}", method = {RequestMethod.GET, RequestMethod.HEAD}, produces = "text/plain")
+                  public String get() {
+                      return null;
+                  }
+              }
+              """,
+            """
+              import org.springframework.http.MediaType;
+              import org.springframework.web.bind.annotation.*;
+
+              @RestController
+              @RequestMapping(path = {"/v1", "/v2"}, produces = MediaType.APPLICATION_JSON_VALUE)
+              class ItemsController {
+                  /*~~(POST /v1/items, POST /v2/items)~~>*/@PostMapping(path = "/items", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/xml"})
+                  public String create() {
+                      return null;
+                  }
+
+                  /*~~(GET /v1/items/{id}, HEAD /v1/items/{id}, GET /v2/items/{id}, HEAD /v2/items/{id})~~>*/@RequestMapping(value = "/items/{id}", method = {RequestMethod.GET, RequestMethod.HEAD}, produces = "text/plain")
+                  public String get() {
+                      return null;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void bareRequestMappingIsAPath() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.springframework.web.bind.annotation.*;
+
+              @RestController
+              class PingController {
+                  @RequestMapping("/ping")
+                  public String ping() {
+                      return "pong";
+                  }
+              }
+              """,
+            """
+              import org.springframework.web.bind.annotation.*;
+
+              @RestController
+              class PingController {
+                  /*~~(GET /ping)~~>*/@RequestMapping("/ping")
+                  public String ping() {
+                      return "pong";
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void constants() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              public class Paths {
+                  public static final String ORDERS = "/orders";
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              import org.springframework.web.bind.annotation.*;
+
+              @RestController
+              @RequestMapping(OrdersController.BASE)
+              class OrdersController {
+                  static final String BASE = "/api";
+                  private static final String ID = "/{id}";
+                  private static final String ORDER = "/order" + ID;
+
+                  @GetMapping(ORDER)
+                  public String get() {
+                      return null;
+                  }
+
+                  @GetMapping(Paths.ORDERS)
+                  public String list() {
+                      return null;
+                  }
+              }
+              """,
+            """
+              import org.springframework.web.bind.annotation.*;
+
+              @RestController
+              @RequestMapping(OrdersController.BASE)
+              class OrdersController {
+                  static final String BASE = "/api";
+                  private static final String ID = "/{id}";
+                  private static final String ORDER = "/order" + ID;
+
+                  /*~~(GET /api/order/{id})~~>*/@GetMapping(ORDER)
+                  public String get() {
+                      return null;
+                  }
+
+                  /*~~(GET /api/Paths.ORDERS)~~>*/@GetMapping(Paths.ORDERS)
+                  public String list() {
+                      return null;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void constantInitializersAreNotShadowedByLocalVariables() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.springframework.web.servlet.function.*;
+
+              import static org.springframework.web.servlet.function.RequestPredicates.GET;
+
+              class Routes {
+                  static final String BASE = "/api";
+                  static final String USERS = BASE + "/users";
+
+                  RouterFunction<ServerResponse> routes(HandlerFunction<ServerResponse> handler) {
+                      final String BASE = "/shadowed";
+                      return RouterFunctions.route(GET(USERS), handler);
+                  }
+              }
+              """,
+            """
+              import org.springframework.web.servlet.function.*;
+
+              import static org.springframework.web.servlet.function.RequestPredicates.GET;
+
+              class Routes {
+                  static final String BASE = "/api";
+                  static final String USERS = BASE + "/users";
+
+                  RouterFunction<ServerResponse> routes(HandlerFunction<ServerResponse> handler) {
+                      final String BASE = "/shadowed";
+                      return /*~~(GET /api/users)~~>*/RouterFunctions.route(GET(USERS), handler);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void webMvcFunctionalRoutes() {
+        rewriteRun(
+          spec -> spec.dataTable(ApiEndpoints.Row.class, rows -> assertThat(rows).containsExactly(
+            new ApiEndpoints.Row("Routes.java", "list", "GET", "/admin/users", "", ""),
+            new ApiEndpoints.Row("Routes.java", "create", "POST", "/users", "application/json", ""),
+            new ApiEndpoints.Row("Routes.java", "create", "PUT", "/users", "application/json", "")
+          )),
+          //language=java
+          java(
+            """
+              import org.springframework.http.MediaType;
+              import org.springframework.web.servlet.function.*;
+
+              import static org.springframework.web.servlet.function.RequestPredicates.*;
+
+              class Routes {
+                  RouterFunction<ServerResponse> admin(UserHandler handler) {
+                      return RouterFunctions.route()
+                        .path("/admin", builder -> builder
+                          .GET("/users", handler::list))
+                        .build();
+                  }
+
+                  RouterFunction<ServerResponse> users(UserHandler handler) {
+                      return RouterFunctions.route((POST("/users").or(PUT("/users"))).and(contentType(MediaType.APPLICATION_JSON)), handler::create);
+                  }
+              }
+
+              interface UserHandler {
+                  ServerResponse list(ServerRequest request);
+                  ServerResponse create(ServerRequest request);
+              }
+              """,
+            """
+              import org.springframework.http.MediaType;
+              import org.springframework.web.servlet.function.*;
+
+              import static org.springframework.web.servlet.function.RequestPredicates.*;
+
+              class Routes {
+                  RouterFunction<ServerResponse> admin(UserHandler handler) {
+                      return RouterFunctions.route()
+                        .path("/admin", builder -> /*~~(GET /admin/users)~~>*/builder
+                          .GET("/users", handler::list))
+                        .build();
+                  }
+
+                  RouterFunction<ServerResponse> users(UserHandler handler) {
+                      return /*~~(POST /users, PUT /users)~~>*/RouterFunctions.route((POST("/users").or(PUT("/users"))).and(contentType(MediaType.APPLICATION_JSON)), handler::create);
+                  }
+              }
+
+              interface UserHandler {
+                  ServerResponse list(ServerRequest request);
+                  ServerResponse create(ServerRequest request);
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void webFluxFunctionalRoutes() {
+        rewriteRun(
+          spec -> spec.dataTable(ApiEndpoints.Row.class, rows -> assertThat(rows).containsExactly(
+            new ApiEndpoints.Row("Routes.java", "get", "GET", "/users/{id}", "", "application/json")
+          )),
+          //language=java
+          java(
+            """
+              import org.springframework.http.MediaType;
+              import org.springframework.web.reactive.function.server.*;
+              import reactor.core.publisher.Mono;
+
+              import static org.springframework.web.reactive.function.server.RequestPredicates.*;
+
+              class Routes {
+                  RouterFunction<ServerResponse> routes(UserHandler handler) {
+                      return RouterFunctions.nest(path("/users"),
+                        RouterFunctions.route(GET("/{id}").and(accept(MediaType.APPLICATION_JSON)), handler::get));
+                  }
+              }
+
+              interface UserHandler {
+                  Mono<ServerResponse> get(ServerRequest request);
+              }
+              """,
+            """
+              import org.springframework.http.MediaType;
+              import org.springframework.web.reactive.function.server.*;
+              import reactor.core.publisher.Mono;
+
+              import static org.springframework.web.reactive.function.server.RequestPredicates.*;
+
+              class Routes {
+                  RouterFunction<ServerResponse> routes(UserHandler handler) {
+                      return RouterFunctions.nest(path("/users"),
+                        /*~~(GET /users/{id})~~>*/RouterFunctions.route(GET("/{id}").and(accept(MediaType.APPLICATION_JSON)), handler::get));
+                  }
+              }
+
+              interface UserHandler {
+                  Mono<ServerResponse> get(ServerRequest request);
+              }
+              """
+          )
+        );
+    }
+}
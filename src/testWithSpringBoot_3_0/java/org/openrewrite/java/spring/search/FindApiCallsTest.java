@@ -15,57 +15,33 @@
  */
 package org.openrewrite.java.spring.search;
 
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.spring.table.ApiCalls;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 
-@Disabled
-// TODO work in progress
 class FindApiCallsTest implements RewriteTest {
 
     @Override
     public void defaults(RecipeSpec spec) {
         spec.recipe(new FindApiCalls())
-          .parser(JavaParser.fromJavaVersion().classpath("spring-webflux", "spring-web", "spring-boot"));
-    }
-
-    @Test
-    void webClient() {
-        rewriteRun(
-          //language=java
-          java(
-            """
-              import org.springframework.web.reactive.function.client.WebClient;
-              class Test {
-                  WebClient.Builder webClientBuilder;
-                  void test() {
-                      webClientBuilder.build()
-                        .get()
-                        .uri(base() + "/getThing");
-                        
-                      webClientBuilder.build()
-                        .post()
-                        .uri(base() + "/postThing");
-                  }
-                  
-                  String base() {
-                      return "https://base";
-                  }
-              }
-              """
-          )
-        );
+          .parser(JavaParser.fromJavaVersion().classpath("spring-web"));
     }
 
     @DocumentExample
     @Test
     void restTemplate() {
         rewriteRun(
+          spec -> spec.dataTable(ApiCalls.Row.class, rows -> assertThat(rows).containsExactly(
+            new ApiCalls.Row("Test.java", "RestTemplate", "GET", "base() + \"/getThing\"", "Test test()"),
+            new ApiCalls.Row("Test.java", "RestTemplate", "POST", "base() + \"/postThing\"", "Test test()"),
+            new ApiCalls.Row("Test.java", "RestTemplate", "DELETE", "https://base/things/{id}", "Test test()")
+          )),
           //language=java
           java(
             """
@@ -75,8 +51,9 @@ class FindApiCallsTest implements RewriteTest {
                   void test() {
                       restTemplate.getForObject(base() + "/getThing", String.class);
                       restTemplate.postForEntity(base() + "/postThing", null, String.class);
+                      restTemplate.delete("https://base/things/{id}", 1);
                   }
-                  
+
                   String base() {
                       return "https://base";
                   }
@@ -89,8 +66,9 @@ class FindApiCallsTest implements RewriteTest {
                   void test() {
                       /*~~(GET base() + "/getThing")~~>*/restTemplate.getForObject(base() + "/getThing", String.class);
                       /*~~(POST base() + "/postThing")~~>*/restTemplate.postForEntity(base() + "/postThing", null, String.class);
+                      /*~~(DELETE https://base/things/{id})~~>*/restTemplate.delete("https://base/things/{id}", 1);
                   }
-                  
+
                   String base() {
                       return "https://base";
                   }
@@ -107,27 +85,31 @@ class FindApiCallsTest implements RewriteTest {
           java(
             """
               import org.springframework.http.HttpMethod;
+              import org.springframework.http.RequestEntity;
               import org.springframework.web.client.RestTemplate;
               class Test {
                   RestTemplate restTemplate;
                   void test(HttpMethod in) {
                       HttpMethod m = HttpMethod.GET;
-                      restTemplate.exchange("/getThing", HttpMethod.GET, String.class);
-                      restTemplate.exchange("/getThing", m, String.class);
-                      restTemplate.exchange("/getThing", in, String.class);
+                      restTemplate.exchange("/getThing", HttpMethod.GET, null, String.class);
+                      restTemplate.exchange("/getThing", m, null, String.class);
+                      restTemplate.exchange("/getThing", in, null, String.class);
+                      restTemplate.exchange(RequestEntity.post("/postThing").body("thing"), String.class);
                   }
               }
               """,
             """
               import org.springframework.http.HttpMethod;
+              import org.springframework.http.RequestEntity;
               import org.springframework.web.client.RestTemplate;
               class Test {
                   RestTemplate restTemplate;
                   void test(HttpMethod in) {
                       HttpMethod m = HttpMethod.GET;
-                      /*~~(GET /getThing)~~>*/restTemplate.exchange("/getThing", HttpMethod.GET, String.class);
-                      /*~~(GET /getThing)~~>*/restTemplate.exchange("/getThing", m, String.class);
-                      /*~~(UNKNOWN /getThing)~~>*/restTemplate.exchange("/getThing", in, String.class);
+                      /*~~(GET /getThing)~~>*/restTemplate.exchange("/getThing", HttpMethod.GET, null, String.class);
+                      /*~~(GET /getThing)~~>*/restTemplate.exchange("/getThing", m, null, String.class);
+                      /*~~(UNKNOWN /getThing)~~>*/restTemplate.exchange("/getThing", in, null, String.class);
+                      /*~~(POST /postThing)~~>*/restTemplate.exchange(RequestEntity.post("/postThing").body("thing"), String.class);
                   }
               }
               """
@@ -148,7 +130,7 @@ class FindApiCallsTest implements RewriteTest {
                   RestTemplate restTemplate;
                   void test(URI in) {
                       URI local = URI.create("/getThing");
-                      restTemplate.exchange(URI.create("/getThing"), HttpMethod.GET, String.class);
+                      restTemplate.exchange(URI.create("/getThing"), HttpMethod.GET, null, String.class);
                       restTemplate.getForObject(local, String.class);
                       restTemplate.getForObject(in, String.class);
                   }
@@ -162,7 +144,7 @@ class FindApiCallsTest implements RewriteTest {
                   RestTemplate restTemplate;
                   void test(URI in) {
                       URI local = URI.create("/getThing");
-                      /*~~(GET /getThing)~~>*/restTemplate.exchange(URI.create("/getThing"), HttpMethod.GET, String.class);
+                      /*~~(GET /getThing)~~>*/restTemplate.exchange(URI.create("/getThing"), HttpMethod.GET, null, String.class);
                       /*~~(GET /getThing)~~>*/restTemplate.getForObject(local, String.class);
                       /*~~(GET UNKNOWN)~~>*/restTemplate.getForObject(in, String.class);
                   }
@@ -171,4 +153,64 @@ class FindApiCallsTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void httpExchangeInterface() {
+        rewriteRun(
+          spec -> spec.dataTable(ApiCalls.Row.class, rows -> assertThat(rows).extracting(ApiCalls.Row::getEnclosingMethod)
+            .containsExactly("Things getThing(java.lang.String)", "Things addThing(java.lang.String)")),
+          //language=java
+          java(
+            """
+              import org.springframework.web.service.annotation.GetExchange;
+              import org.springframework.web.service.annotation.HttpExchange;
+              @HttpExchange("https://base/things")
+              interface Things {
+                  @GetExchange("/{id}")
+                  String getThing(String id);
+
+                  @HttpExchange(method = "POST")
+                  void addThing(String thing);
+              }
+              """,
+            """
+              import org.springframework.web.service.annotation.GetExchange;
+              import org.springframework.web.service.annotation.HttpExchange;
+              @HttpExchange("https://base/things")
+              interface Things {
+                  /*~~(GET https://base/things/{id})~~>*/@GetExchange("/{id}")
+                  String getThing(String id);
+
+                  /*~~(POST https://base/things)~~>*/@HttpExchange(method = "POST")
+                  void addThing(String thing);
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void httpExchangeWithoutMethod() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.springframework.web.service.annotation.HttpExchange;
+              @HttpExchange("https://base/things")
+              interface Things {
+                  @HttpExchange
+                  String things();
+              }
+              """,
+            """
+              import org.springframework.web.service.annotation.HttpExchange;
+              @HttpExchange("https://base/things")
+              interface Things {
+                  /*~~(UNKNOWN https://base/things)~~>*/@HttpExchange
+                  String things();
+              }
+              """
+          )
+        );
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.search;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.spring.table.ApiCalls;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class FindApiCallsTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new FindApiCalls())
+          .parser(JavaParser.fromJavaVersion().classpath("spring-web", "spring-webflux"));
+    }
+
+    @Test
+    void webClient() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.springframework.http.HttpMethod;
+              import org.springframework.web.reactive.function.client.WebClient;
+              class Test {
+                  private static final String BASE = "https://base";
+                  WebClient webClient;
+                  void test() {
+                      webClient
+                        .get()
+                        .uri(BASE + "/getThing");
+                      webClient
+                        .post()
+                        .uri(base() + "/postThing");
+                      webClient
+                        .method(HttpMethod.PUT)
+                        .uri("/putThing/{id}", 1);
+                  }
+                  String base() {
+                      return BASE;
+                  }
+              }
+              """,
+            """
+              import org.springframework.http.HttpMethod;
+              import org.springframework.web.reactive.function.client.WebClient;
+              class Test {
+                  private static final String BASE = "https://base";
+                  WebClient webClient;
+                  void test() {
+                      /*~~(GET https://base/getThing)~~>*/webClient
+                        .get()
+                        .uri(BASE + "/getThing");
+                      /*~~(POST base() + "/postThing")~~>*/webClient
+                        .post()
+                        .uri(base() + "/postThing");
+                      /*~~(PUT /putThing/{id})~~>*/webClient
+                        .method(HttpMethod.PUT)
+                        .uri("/putThing/{id}", 1);
+                  }
+                  String base() {
+                      return BASE;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void restClient() {
+        rewriteRun(
+          spec -> spec.dataTable(ApiCalls.Row.class, rows -> assertThat(rows).containsExactly(
+            new ApiCalls.Row("Test.java", "RestClient", "GET", "https://base/things/{id}", "Test test()"),
+            new ApiCalls.Row("Test.java", "RestClient", "POST", "https://base/things", "Test test()"),
+            new ApiCalls.Row("Test.java", "RestClient", "DELETE", "https://base/things/{id}", "Test test()")
+          )),
+          //language=java
+          java(
+            """
+              import java.net.URI;
+              import org.springframework.http.HttpMethod;
+              import org.springframework.web.client.RestClient;
+              class Test {
+                  private static final String THINGS = "https://base/things";
+                  RestClient restClient;
+                  void test() {
+                      restClient
+                        .get()
+                        .uri(THINGS + "/{id}", 1);
+                      restClient
+                        .post()
+                        .uri(URI.create(THINGS));
+                      restClient
+                        .method(HttpMethod.DELETE)
+                        .uri(THINGS + "/{id}", 1);
+                  }
+              }
+              """,
+            """
+              import java.net.URI;
+              import org.springframework.http.HttpMethod;
+              import org.springframework.web.client.RestClient;
+              class Test {
+                  private static final String THINGS = "https://base/things";
+                  RestClient restClient;
+                  void test() {
+                      /*~~(GET https://base/things/{id})~~>*/restClient
+                        .get()
+                        .uri(THINGS + "/{id}", 1);
+                      /*~~(POST https://base/things)~~>*/restClient
+                        .post()
+                        .uri(URI.create(THINGS));
+                      /*~~(DELETE https://base/things/{id})~~>*/restClient
+                        .method(HttpMethod.DELETE)
+                        .uri(THINGS + "/{id}", 1);
+                  }
+              }
+              """
+          )
+        );
+    }
+}